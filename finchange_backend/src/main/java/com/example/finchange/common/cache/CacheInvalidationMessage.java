@@ -0,0 +1,7 @@
+package com.example.finchange.common.cache;
+
+/**
+ * Düğümler arası önbellek silme bildirimi. {@code key} null ise önbelleğin tamamı temizlenir.
+ */
+public record CacheInvalidationMessage(String origin, String cacheName, String key) {
+}
@@ -0,0 +1,227 @@
+package com.example.finchange.common.cache;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.support.AbstractValueAdaptingCache;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.ScanOptions;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Yerel Caffeine katmanı ve isteğe bağlı paylaşımlı Redis katmanından oluşan önbellek.
+ * Okumalar önce yerel katmana, ardından Redis'e bakar; silmeler her iki katmana uygulanır ve
+ * diğer düğümlerin yerel katmanlarını temizlemeleri için {@link TwoLevelCacheManager}
+ * üzerinden yayınlanır. Redis erişim hataları önbelleği devre dışı bırakmaz, yalnızca
+ * yerel katmanla devam edilir.
+ */
+@Slf4j
+public class TwoLevelCache extends AbstractValueAdaptingCache {
+
+    private final String name;
+    private final Cache<Object, Object> local;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration redisTtl;
+    private final TwoLevelCacheManager manager;
+
+    private final LongAdder remoteHits = new LongAdder();
+    private final LongAdder remoteMisses = new LongAdder();
+    private final LongAdder remoteErrors = new LongAdder();
+
+    TwoLevelCache(String name, Cache<Object, Object> local, RedisTemplate<String, Object> redisTemplate,
+                  Duration redisTtl, TwoLevelCacheManager manager) {
+        super(true);
+        this.name = name;
+        this.local = local;
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.manager = manager;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return local;
+    }
+
+    @Override
+    protected Object lookup(Object key) {
+        Object value = local.getIfPresent(key);
+        if (value != null) {
+            return value;
+        }
+        value = remoteGet(key);
+        if (value != null) {
+            local.put(key, value);
+        }
+        return value;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        Object storeValue = local.get(key, k -> {
+            Object remote = remoteGet(k);
+            if (remote != null) {
+                return remote;
+            }
+            Object loaded = toStoreValue(load(k, valueLoader));
+            remotePut(k, loaded);
+            return loaded;
+        });
+        return (T) fromStoreValue(storeValue);
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        local.put(key, storeValue);
+        remotePut(key, storeValue);
+    }
+
+    @Override
+    public ValueWrapper putIfAbsent(Object key, Object value) {
+        Object storeValue = toStoreValue(value);
+        Object existing = local.asMap().putIfAbsent(key, storeValue);
+        if (existing == null) {
+            remotePut(key, storeValue);
+        }
+        return toValueWrapper(existing);
+    }
+
+    @Override
+    public void evict(Object key) {
+        local.invalidate(key);
+        remoteDelete(key);
+        manager.publishEviction(name, key);
+    }
+
+    @Override
+    public void clear() {
+        local.invalidateAll();
+        remoteClear();
+        manager.publishClear(name);
+    }
+
+    /**
+     * Başka bir düğümden gelen silme bildirimi. Anahtarlar mesajda metin olarak taşındığı için
+     * yerel anahtarlar da metin karşılıklarıyla eşleştirilir.
+     */
+    void evictLocal(String key) {
+        local.asMap().keySet().removeIf(k -> k.toString().equals(key));
+    }
+
+    void clearLocal() {
+        local.invalidateAll();
+    }
+
+    long estimatedSize() {
+        return local.estimatedSize();
+    }
+
+    CacheStats localStats() {
+        return local.stats();
+    }
+
+    long remoteHitCount() {
+        return remoteHits.sum();
+    }
+
+    long remoteMissCount() {
+        return remoteMisses.sum();
+    }
+
+    long remoteErrorCount() {
+        return remoteErrors.sum();
+    }
+
+    private <T> T load(Object key, Callable<T> valueLoader) {
+        try {
+            return valueLoader.call();
+        } catch (Exception e) {
+            throw new ValueRetrievalException(key, valueLoader, e);
+        }
+    }
+
+    private Object remoteGet(Object key) {
+        if (redisTemplate == null) {
+            return null;
+        }
+        try {
+            Object value = redisTemplate.opsForValue().get(redisKey(key));
+            if (value != null) {
+                remoteHits.increment();
+            } else {
+                remoteMisses.increment();
+            }
+            return value;
+        } catch (Exception e) {
+            remoteFailure("okuma", e);
+            return null;
+        }
+    }
+
+    private void remotePut(Object key, Object storeValue) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.opsForValue().set(redisKey(key), storeValue, redisTtl);
+        } catch (Exception e) {
+            remoteFailure("yazma", e);
+        }
+    }
+
+    private void remoteDelete(Object key) {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            redisTemplate.delete(redisKey(key));
+        } catch (Exception e) {
+            remoteFailure("silme", e);
+        }
+    }
+
+    private void remoteClear() {
+        if (redisTemplate == null) {
+            return;
+        }
+        try {
+            // KEYS tüm anahtar uzayını bloklayarak taradığı için SCAN ile sayfalı silinir.
+            ScanOptions options = ScanOptions.scanOptions().match(redisKeyPrefix() + "*").count(500).build();
+            List<String> keys = new ArrayList<>();
+            try (Cursor<String> cursor = redisTemplate.scan(options)) {
+                cursor.forEachRemaining(keys::add);
+            }
+            if (!keys.isEmpty()) {
+                redisTemplate.delete(keys);
+            }
+        } catch (Exception e) {
+            remoteFailure("temizleme", e);
+        }
+    }
+
+    private void remoteFailure(String operation, Exception e) {
+        remoteErrors.increment();
+        log.warn("'{}' önbelleği için Redis {} işlemi başarısız, yerel katmanla devam ediliyor: {}", name, operation, e.getMessage());
+    }
+
+    private String redisKeyPrefix() {
+        return "cache:" + name + "::";
+    }
+
+    private String redisKey(Object key) {
+        return redisKeyPrefix() + key;
+    }
+}
@@ -0,0 +1,152 @@
+package com.example.finchange.common.cache;
+
+import com.example.finchange.common.model.dto.CacheStatsDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.transaction.AbstractTransactionSupportingCacheManager;
+import org.springframework.cache.transaction.TransactionAwareCacheDecorator;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * {@link TwoLevelCache} örneklerini isim bazında dinamik olarak oluşturur. Transaction
+ * farkındadır: {@code @CacheEvict} ve {@code @CachePut} işlemleri commit sonrasına ertelenir,
+ * böylece diğer düğümler henüz commit edilmemiş veriyi yeniden önbelleğe almaz.
+ * <p>
+ * Silme bildirimleri Redis pub/sub kanalına yayınlanır; aynı kanalı dinleyen diğer düğümler
+ * yalnızca yerel katmanlarını temizler. Kendi yayınladığı mesajlar {@code nodeId} ile ayıklanır.
+ */
+@Slf4j
+public class TwoLevelCacheManager extends AbstractTransactionSupportingCacheManager implements MessageListener {
+
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Duration localTtl;
+    private final long localMaximumSize;
+    private final RedisTemplate<String, Object> redisTemplate;
+    private final Duration redisTtl;
+    private final StringRedisTemplate invalidationTemplate;
+    private final String invalidationChannel;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * @param redisTemplate        paylaşımlı katman; null ise yalnızca yerel katman kullanılır
+     * @param invalidationTemplate silme bildirimleri için; null ise bildirim yayınlanmaz
+     */
+    public TwoLevelCacheManager(Duration localTtl, long localMaximumSize,
+                                RedisTemplate<String, Object> redisTemplate, Duration redisTtl,
+                                StringRedisTemplate invalidationTemplate, String invalidationChannel,
+                                ObjectMapper objectMapper) {
+        this.localTtl = localTtl;
+        this.localMaximumSize = localMaximumSize;
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.invalidationTemplate = invalidationTemplate;
+        this.invalidationChannel = invalidationChannel;
+        this.objectMapper = objectMapper;
+        setTransactionAware(true);
+    }
+
+    @Override
+    protected Collection<? extends Cache> loadCaches() {
+        return List.of();
+    }
+
+    @Override
+    protected Cache getMissingCache(String name) {
+        return new TwoLevelCache(name,
+                Caffeine.newBuilder()
+                        .expireAfterWrite(localTtl)
+                        .maximumSize(localMaximumSize)
+                        .recordStats()
+                        .build(),
+                redisTemplate, redisTtl, this);
+    }
+
+    void publishEviction(String cacheName, Object key) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, String.valueOf(key)));
+    }
+
+    void publishClear(String cacheName) {
+        publish(new CacheInvalidationMessage(nodeId, cacheName, null));
+    }
+
+    private void publish(CacheInvalidationMessage message) {
+        if (invalidationTemplate == null) {
+            return;
+        }
+        try {
+            invalidationTemplate.convertAndSend(invalidationChannel, objectMapper.writeValueAsString(message));
+        } catch (Exception e) {
+            log.warn("Önbellek silme bildirimi yayınlanamadı ({}:{}): {}", message.cacheName(), message.key(), e.getMessage());
+        }
+    }
+
+    @Override
+    public void onMessage(Message message, byte[] pattern) {
+        CacheInvalidationMessage invalidation;
+        try {
+            invalidation = objectMapper.readValue(new String(message.getBody(), StandardCharsets.UTF_8), CacheInvalidationMessage.class);
+        } catch (Exception e) {
+            log.warn("Geçersiz önbellek silme bildirimi yok sayıldı: {}", e.getMessage());
+            return;
+        }
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+
+        TwoLevelCache cache = lookupTwoLevelCache(invalidation.cacheName());
+        if (cache == null) {
+            return;
+        }
+        if (invalidation.key() == null) {
+            cache.clearLocal();
+        } else {
+            cache.evictLocal(invalidation.key());
+        }
+        log.debug("Diğer düğümden gelen bildirimle '{}' önbelleği temizlendi (anahtar: {}).", invalidation.cacheName(), invalidation.key());
+    }
+
+    public List<CacheStatsDto> getStats() {
+        List<CacheStatsDto> stats = new ArrayList<>();
+        for (String name : getCacheNames()) {
+            TwoLevelCache cache = lookupTwoLevelCache(name);
+            if (cache == null) {
+                continue;
+            }
+            CacheStats local = cache.localStats();
+            stats.add(CacheStatsDto.builder()
+                    .name(name)
+                    .localSize(cache.estimatedSize())
+                    .localHitCount(local.hitCount())
+                    .localMissCount(local.missCount())
+                    .localHitRate(local.hitRate())
+                    .localEvictionCount(local.evictionCount())
+                    .remoteHitCount(cache.remoteHitCount())
+                    .remoteMissCount(cache.remoteMissCount())
+                    .remoteErrorCount(cache.remoteErrorCount())
+                    .build());
+        }
+        return stats;
+    }
+
+    private TwoLevelCache lookupTwoLevelCache(String name) {
+        Cache cache = lookupCache(name);
+        if (cache instanceof TransactionAwareCacheDecorator decorator) {
+            cache = decorator.getTargetCache();
+        }
+        return cache instanceof TwoLevelCache twoLevelCache ? twoLevelCache : null;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.finchange.common.config;
+
+import com.example.finchange.common.cache.TwoLevelCacheManager;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.StringRedisSerializer;
+
+import java.time.Duration;
+
+/**
+ * Uygulama önbelleği: her düğümde TTL ve boyut sınırlı yerel Caffeine katmanı, isteğe bağlı
+ * paylaşımlı Redis katmanı ve Redis pub/sub üzerinden düğümler arası silme bildirimi.
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    @Value("${cache.local.ttl-seconds:300}")
+    private long localTtlSeconds;
+
+    @Value("${cache.local.maximum-size:1000}")
+    private long localMaximumSize;
+
+    @Value("${cache.redis.enabled:false}")
+    private boolean redisEnabled;
+
+    @Value("${cache.redis.ttl-seconds:900}")
+    private long redisTtlSeconds;
+
+    @Value("${cache.invalidation.enabled:true}")
+    private boolean invalidationEnabled;
+
+    @Value("${cache.invalidation.channel:finchange:cache:invalidation}")
+    private String invalidationChannel;
+
+    @Bean
+    public TwoLevelCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                             StringRedisTemplate stringRedisTemplate,
+                                             RedisMessageListenerContainer listenerContainer,
+                                             ObjectMapper objectMapper) {
+        RedisTemplate<String, Object> cacheRedisTemplate = null;
+        if (redisEnabled) {
+            cacheRedisTemplate = new RedisTemplate<>();
+            cacheRedisTemplate.setConnectionFactory(connectionFactory);
+            cacheRedisTemplate.setKeySerializer(new StringRedisSerializer());
+            cacheRedisTemplate.setValueSerializer(new GenericJackson2JsonRedisSerializer());
+            cacheRedisTemplate.afterPropertiesSet();
+        }
+        TwoLevelCacheManager cacheManager = new TwoLevelCacheManager(
+                Duration.ofSeconds(localTtlSeconds), localMaximumSize,
+                cacheRedisTemplate, Duration.ofSeconds(redisTtlSeconds),
+                invalidationEnabled ? stringRedisTemplate : null, invalidationChannel,
+                objectMapper);
+        if (invalidationEnabled) {
+            listenerContainer.addMessageListener(cacheManager, new ChannelTopic(invalidationChannel));
+        }
+        return cacheManager;
+    }
+}
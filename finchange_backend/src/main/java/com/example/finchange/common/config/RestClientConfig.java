@@ -3,22 +3,27 @@ package com.example.finchange.common.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.JdkClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.net.Proxy;
+import java.net.http.HttpClient;
+import java.time.Duration;
 
 @Configuration
 public class RestClientConfig {
 
     @Bean
     public RestTemplate restTemplate() {
-        // Ana sınıftan kopyaladığımız kodun aynısı buraya taşındı.
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(5000);    // Bağlantı zaman aşımı: 5 saniye
-        factory.setReadTimeout(15000);      // Okuma zaman aşımı: 15 saniye
-        factory.setProxy(Proxy.NO_PROXY);   // Proxy kullanımını devre dışı bırak
+        // JDK HttpClient bağlantıları havuzda tutar ve yeniden kullanır; paralel OHLC toplama gibi
+        // sanal thread'lerden gelen çok sayıda istek her seferinde yeni bağlantı açmaz.
+        HttpClient httpClient = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))   // Bağlantı zaman aşımı: 5 saniye
+                .proxy(HttpClient.Builder.NO_PROXY)      // Proxy kullanımını devre dışı bırak
+                .version(HttpClient.Version.HTTP_1_1)
+                .build();
+        JdkClientHttpRequestFactory factory = new JdkClientHttpRequestFactory(httpClient);
+        factory.setReadTimeout(Duration.ofSeconds(15));  // Okuma zaman aşımı: 15 saniye
 
         return new RestTemplate(factory);
     }
-}
\ No newline at end of file
+}
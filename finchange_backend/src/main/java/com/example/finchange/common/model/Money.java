@@ -0,0 +1,252 @@
+package com.example.finchange.common.model;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Tutar ve fiyatlar için 4 ondalık basamaklı (veritabanındaki precision = 18, scale = 4
+ * kolonlarıyla aynı) sabit noktalı, değişmez değer tipi. Değer 10^4 ile ölçeklenmiş bir
+ * long olarak tutulur; toplama/çıkarma/lot çarpımı taşma kontrollüdür ve BigDecimal
+ * üretmez. BigDecimal'e dönüşüm yalnızca API ve veritabanı sınırlarında yapılmalıdır.
+ */
+@JsonSerialize(using = Money.Serializer.class)
+@JsonDeserialize(using = Money.Deserializer.class)
+public final class Money implements Comparable<Money>, Serializable {
+
+    public static final int SCALE = 4;
+    public static final long ONE_UNIT = 10_000L;
+
+    public static final Money ZERO = new Money(0L);
+
+    private static final long[] POWERS_OF_TEN = {
+            1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L,
+            1_000_000_000L, 10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L
+    };
+
+    private final long units;
+
+    private Money(long units) {
+        this.units = units;
+    }
+
+    public static Money ofUnits(long units) {
+        return units == 0 ? ZERO : new Money(units);
+    }
+
+    public static Money ofWhole(long amount) {
+        return ofUnits(Math.multiplyExact(amount, ONE_UNIT));
+    }
+
+    /**
+     * BigDecimal'i 4 basamağa HALF_UP yuvarlayarak dönüştürür; long aralığını aşan değerlerde
+     * ArithmeticException fırlatır.
+     */
+    public static Money of(BigDecimal value) {
+        if (value == null) {
+            return null;
+        }
+        return ofUnits(value.setScale(SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact());
+    }
+
+    /**
+     * "123.45" biçimindeki metni (ör. Redis'teki canlı fiyat) BigDecimal oluşturmadan çözer.
+     * 4'ten fazla ondalık basamak varsa HALF_UP yuvarlanır.
+     */
+    public static Money parse(CharSequence text) {
+        if (text == null) {
+            return null;
+        }
+        int length = text.length();
+        int i = 0;
+        boolean negative = false;
+        if (length > 0 && (text.charAt(0) == '-' || text.charAt(0) == '+')) {
+            negative = text.charAt(0) == '-';
+            i++;
+        }
+        if (i >= length) {
+            throw new NumberFormatException("Geçersiz tutar: " + text);
+        }
+
+        long whole = 0;
+        boolean digitSeen = false;
+        for (; i < length && text.charAt(i) != '.'; i++) {
+            whole = Math.addExact(Math.multiplyExact(whole, 10L), digit(text, i));
+            digitSeen = true;
+        }
+
+        long fraction = 0;
+        int fractionDigits = 0;
+        boolean roundUp = false;
+        if (i < length) {
+            i++;
+            for (; i < length; i++) {
+                int d = digit(text, i);
+                digitSeen = true;
+                if (fractionDigits < SCALE) {
+                    fraction = fraction * 10 + d;
+                    fractionDigits++;
+                } else if (fractionDigits == SCALE) {
+                    roundUp = d >= 5;
+                    fractionDigits++;
+                }
+            }
+        }
+        if (!digitSeen) {
+            throw new NumberFormatException("Geçersiz tutar: " + text);
+        }
+
+        long units = Math.addExact(Math.multiplyExact(whole, ONE_UNIT), fraction * POWERS_OF_TEN[SCALE - Math.min(fractionDigits, SCALE)]);
+        if (roundUp) {
+            units = Math.addExact(units, 1L);
+        }
+        return ofUnits(negative ? -units : units);
+    }
+
+    private static int digit(CharSequence text, int index) {
+        char c = text.charAt(index);
+        if (c < '0' || c > '9') {
+            throw new NumberFormatException("Geçersiz tutar: " + text);
+        }
+        return c - '0';
+    }
+
+    public long units() {
+        return units;
+    }
+
+    public Money plus(Money other) {
+        return ofUnits(Math.addExact(units, other.units));
+    }
+
+    public Money minus(Money other) {
+        return ofUnits(Math.subtractExact(units, other.units));
+    }
+
+    public Money negate() {
+        return ofUnits(Math.negateExact(units));
+    }
+
+    /**
+     * Lot adedi gibi tam sayılarla çarpım; sonuç tam olduğu için yuvarlama gerekmez.
+     */
+    public Money times(long quantity) {
+        return ofUnits(Math.multiplyExact(units, quantity));
+    }
+
+    /**
+     * Komisyon oranı gibi keyfi ölçekli bir çarpanla çarpar ve sonucu 4 basamağa HALF_UP yuvarlar.
+     */
+    public Money multiply(BigDecimal factor) {
+        int factorScale = factor.scale();
+        if (factorScale >= 0 && factorScale < POWERS_OF_TEN.length && factor.precision() <= 18) {
+            long factorUnscaled = factor.unscaledValue().longValue();
+            long high = Math.multiplyHigh(units, factorUnscaled);
+            long low = units * factorUnscaled;
+            if (high == (low >> 63)) {
+                return ofUnits(divideHalfUp(low, POWERS_OF_TEN[factorScale]));
+            }
+        }
+        return of(toBigDecimal().multiply(factor));
+    }
+
+    private static long divideHalfUp(long dividend, long divisor) {
+        long quotient = dividend / divisor;
+        long remainder = dividend % divisor;
+        if (Math.abs(remainder) * 2 >= divisor) {
+            quotient += dividend < 0 ? -1 : 1;
+        }
+        return quotient;
+    }
+
+    public boolean isMultipleOf(Money step) {
+        return step.units != 0 && units % step.units == 0;
+    }
+
+    public boolean isZero() {
+        return units == 0;
+    }
+
+    public boolean isPositive() {
+        return units > 0;
+    }
+
+    public boolean isNegative() {
+        return units < 0;
+    }
+
+    public boolean isGreaterThan(Money other) {
+        return units > other.units;
+    }
+
+    public boolean isLessThan(Money other) {
+        return units < other.units;
+    }
+
+    public Money max(Money other) {
+        return units >= other.units ? this : other;
+    }
+
+    public Money min(Money other) {
+        return units <= other.units ? this : other;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(units, SCALE);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        return Long.compare(units, other.units);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof Money other && units == other.units);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(units);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString();
+    }
+
+    public static class Serializer extends JsonSerializer<Money> {
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeNumber(value.toBigDecimal());
+        }
+    }
+
+    public static class Deserializer extends JsonDeserializer<Money> {
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            JsonToken token = parser.currentToken();
+            if (token == JsonToken.VALUE_NUMBER_INT) {
+                return Money.ofWhole(parser.getLongValue());
+            }
+            if (token == JsonToken.VALUE_NUMBER_FLOAT) {
+                return Money.of(parser.getDecimalValue());
+            }
+            if (token == JsonToken.VALUE_STRING) {
+                return Money.parse(parser.getText().trim());
+            }
+            return (Money) ctxt.handleUnexpectedToken(Money.class, parser);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.example.finchange.common.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+import org.springframework.data.annotation.CreatedDate;
+import org.springframework.data.annotation.LastModifiedBy;
+import org.springframework.data.annotation.LastModifiedDate;
+import org.springframework.data.jpa.domain.support.AuditingEntityListener;
+import java.time.LocalDateTime;
+
+/**
+ * Yüksek hacimli tablolar için denetim alanlı temel sınıf. Kimlik değeri IDENTITY yerine
+ * veritabanı sequence'ından havuzlanarak alınır; böylece Hibernate INSERT'leri toplu
+ * (JDBC batch) gönderebilir. Kimlik alanı ve sequence üreteci her alt sınıfta kendi adıyla
+ * (ör. {@code Emirler_SEQ}) tanımlanır; üreteç adları varlıklar arasında paylaşılmaz.
+ */
+@Getter
+@Setter
+@MappedSuperclass
+@EntityListeners(AuditingEntityListener.class)
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public abstract class SequenceAuditableBaseEntity {
+
+    @CreatedDate
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private LocalDateTime createdAt;
+
+    @LastModifiedDate
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    @LastModifiedBy
+    @Column(name = "last_modified_by")
+    private Integer lastModifiedBy;
+}
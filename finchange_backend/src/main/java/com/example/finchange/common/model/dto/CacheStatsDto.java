@@ -0,0 +1,22 @@
+package com.example.finchange.common.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheStatsDto {
+    private String name;
+    private long localSize;
+    private long localHitCount;
+    private long localMissCount;
+    private double localHitRate;
+    private long localEvictionCount;
+    private long remoteHitCount;
+    private long remoteMissCount;
+    private long remoteErrorCount;
+}
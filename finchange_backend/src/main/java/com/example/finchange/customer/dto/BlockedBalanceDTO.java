@@ -0,0 +1,9 @@
+package com.example.finchange.customer.dto;
+
+import com.example.finchange.common.model.Money;
+
+public interface BlockedBalanceDTO {
+    Integer getId();
+    Money getBalance();
+    Money getBlockedBalance();
+}
@@ -1,11 +1,10 @@
 package com.example.finchange.customer.model;
 
 import com.example.finchange.common.model.AuditableBaseEntity;
+import com.example.finchange.common.model.Money;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
-
 @Entity
 @Table(name = "MusteriHesaplari")
 @Getter
@@ -28,11 +27,13 @@ public class CustomerAccount extends AuditableBaseEntity {
     @Column(name = "currency", length = 3, nullable = false)
     private String currency;
 
+    // Bakiye ve blokaj, emir blokajı ve takasın sıcak yolunda okunduğu için MoneyConverter ile
+    // doğrudan Money olarak yüklenir; BigDecimal'e dönüşüm yalnızca API sınırında yapılır.
     @Column(name = "balance", precision = 18, scale = 4, nullable = false)
-    private BigDecimal balance = BigDecimal.ZERO;
+    private Money balance = Money.ZERO;
 
     @Column(name = "blockedBalance", precision = 18, scale = 4, nullable = false)
-    private BigDecimal blockedBalance = BigDecimal.ZERO;
+    private Money blockedBalance = Money.ZERO;
 
     @Column(name = "isActive", nullable = false)
     private boolean active = true;
@@ -1,11 +1,11 @@
 package com.example.finchange.customer.model.mapper;
 
+import com.example.finchange.common.model.Money;
 import com.example.finchange.customer.dto.CreateCustomerAccountRequest;
 import com.example.finchange.customer.dto.CustomerAccountResponse;
 import com.example.finchange.customer.model.CustomerAccount;
 import com.example.finchange.customer.model.Customers;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.stream.Collectors;
 
@@ -19,9 +19,9 @@ public class CustomerAccountMapper {
                 .accountNumber(account.getAccountNumber())
                 .accountName(account.getAccountName())
                 .currency(account.getCurrency())
-                .balance(account.getBalance())
+                .balance(account.getBalance().toBigDecimal())
                 .isActive(account.isActive())
-                .blockedBalance(account.getBlockedBalance())
+                .blockedBalance(account.getBlockedBalance().toBigDecimal())
                 .createdAt(account.getCreatedAt())
                 .updatedAt(account.getUpdatedAt())
                 .lastModifiedBy(account.getLastModifiedBy())
@@ -40,9 +40,9 @@ public class CustomerAccountMapper {
                 .accountNumber(accountNumber)
                 .accountName(request.getAccountName())
                 .currency(request.getCurrency())
-                .balance(request.getInitialBalance())
+                .balance(Money.of(request.getInitialBalance()))
                 .active(true)
-                .blockedBalance(BigDecimal.ZERO)
+                .blockedBalance(Money.ZERO)
                 .version(0L)
                 .build();
     }
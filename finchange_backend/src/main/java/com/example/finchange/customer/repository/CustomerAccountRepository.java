@@ -1,12 +1,18 @@
 package com.example.finchange.customer.repository;
 
+import com.example.finchange.common.model.Money;
+import com.example.finchange.customer.dto.BlockedBalanceDTO;
 import com.example.finchange.customer.dto.CurrencyBalanceDTO;
 import com.example.finchange.customer.model.CustomerAccount;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface CustomerAccountRepository extends JpaRepository<CustomerAccount, Integer> {
@@ -15,6 +21,9 @@ public interface CustomerAccountRepository extends JpaRepository<CustomerAccount
     boolean existsByCustomer_IdAndAccountName(Integer customerId, String accountName);
     List<CustomerAccount> findByCustomerIdIn(List<Integer> customerIds);
 
+    @Query("SELECT ca FROM CustomerAccount ca JOIN FETCH ca.customer WHERE ca.id IN :ids")
+    List<CustomerAccount> findAllWithCustomerByIdIn(@Param("ids") Collection<Integer> ids);
+
     @Query("SELECT CASE WHEN (ca.balance - ca.blockedBalance) >= :amount THEN true ELSE false END " +
             "FROM CustomerAccount ca WHERE ca.id = :accountId")
     boolean hasSufficientAvailableBalance(@Param("accountId") Integer accountId, @Param("amount") BigDecimal amount);
@@ -28,6 +37,24 @@ public interface CustomerAccountRepository extends JpaRepository<CustomerAccount
             "WHERE ca.customer.id = :customerId " +
             "GROUP BY ca.currency")
     List<CurrencyBalanceDTO> findTotalBalancesByCurrency(@Param("customerId") Integer customerId);
+
+    long countByBlockedBalanceGreaterThan(Money amount);
+
+    @Query("SELECT ca.id FROM CustomerAccount ca WHERE ca.id > :afterId AND ca.blockedBalance > 0 ORDER BY ca.id")
+    List<Integer> findIdsWithBlockedBalanceAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    // Satırları kilitler ve versiyonu artırır; eski versiyonu okumuş eşzamanlı güncellemeler optimistic lock ile düşer
+    @Modifying
+    @Query("UPDATE CustomerAccount ca SET ca.version = ca.version + 1 WHERE ca.id IN :ids AND ca.blockedBalance > 0")
+    int lockBlockedForRelease(@Param("ids") Collection<Integer> ids);
+
+    @Query("SELECT ca.id AS id, ca.balance AS balance, ca.blockedBalance AS blockedBalance " +
+            "FROM CustomerAccount ca WHERE ca.id IN :ids AND ca.blockedBalance > 0 ORDER BY ca.id")
+    List<BlockedBalanceDTO> findBlockedBalancesByIdIn(@Param("ids") Collection<Integer> ids);
+
+    @Modifying
+    @Query("UPDATE CustomerAccount ca SET ca.blockedBalance = 0, ca.updatedAt = :now WHERE ca.id IN :ids")
+    int releaseBlockedBalances(@Param("ids") Collection<Integer> ids, @Param("now") LocalDateTime now);
 }
 
 
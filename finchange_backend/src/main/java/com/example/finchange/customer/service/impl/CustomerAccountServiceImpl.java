@@ -169,7 +169,7 @@ public class CustomerAccountServiceImpl implements CustomerAccountService {
         CustomerAccount account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new AccountNotFoundException("Hesap bulunamadı: " + accountId));
 
-        if (!isActive && account.getBalance().compareTo(BigDecimal.ZERO) > 0) {
+        if (!isActive && account.getBalance().isPositive()) {
             throw new AccountHasBalanceException("Bakiyesi olan hesap pasif yapılamaz. Hesap ID: " + accountId);
         }
 
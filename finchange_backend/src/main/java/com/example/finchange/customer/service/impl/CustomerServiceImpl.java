@@ -388,8 +388,8 @@ public class CustomerServiceImpl implements CustomerService {
                     .id(account.getId())
                     .accountName(account.getAccountName())
                     .currency(account.getCurrency())
-                    .balance(account.getBalance())
-                    .blockedBalance(account.getBlockedBalance())
+                    .balance(account.getBalance().toBigDecimal())
+                    .blockedBalance(account.getBlockedBalance().toBigDecimal())
                     .build()
             ).collect(Collectors.toList());
 
@@ -0,0 +1,27 @@
+package com.example.finchange.execution.controller;
+
+import com.example.finchange.common.model.dto.response.SuccessResponse;
+import com.example.finchange.execution.dto.MatchingShardStatsDto;
+import com.example.finchange.execution.matching.ShardedMatchingEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/matching")
+@RequiredArgsConstructor
+public class MatchingEngineController {
+
+    private final ShardedMatchingEngine shardedMatchingEngine;
+
+    @GetMapping("/shards")
+    @PreAuthorize("hasAuthority('order:read:all')")
+    public ResponseEntity<SuccessResponse<List<MatchingShardStatsDto>>> getShardStats() {
+        return ResponseEntity.ok(SuccessResponse.success(shardedMatchingEngine.getStats()));
+    }
+}
@@ -0,0 +1,22 @@
+package com.example.finchange.execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class MatchingShardStatsDto {
+    private int shardIndex;
+    private int queueDepth;
+    private int queueCapacity;
+    private long processedCount;
+    private long conflatedCount;
+    private long failedCount;
+    private long averageLatencyMicros;
+    private long maxLatencyMicros;
+    private long lastLatencyMicros;
+}
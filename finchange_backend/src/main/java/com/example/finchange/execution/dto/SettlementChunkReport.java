@@ -0,0 +1,20 @@
+package com.example.finchange.execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementChunkReport {
+    private int chunkIndex;
+    private int accountCount;
+    private int executionCount;
+    private int settledExecutionCount;
+    private int failedAccountCount;
+    private long durationMillis;
+    private boolean retriedPerAccount;
+}
@@ -0,0 +1,31 @@
+package com.example.finchange.execution.dto;
+
+import com.example.finchange.execution.model.enums.OrderStatus;
+import com.example.finchange.execution.model.enums.TransactionType;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Takas için gereken alanların JPQL constructor projeksiyonu. Entity yüklenmediği için
+ * persistence context'e girmez ve günün tüm işlemleri hafif satırlar olarak akıtılabilir.
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class SettlementExecutionView {
+    private final Long executionId;
+    private final Integer orderId;
+    private final int customerAccountId;
+    private final Integer customerId;
+    private final int assetId;
+    private final TransactionType transactionType;
+    private final OrderStatus orderStatus;
+    private final int executedLotAmount;
+    private final BigDecimal executedPrice;
+    private final BigDecimal commissionAmount;
+    private final LocalDate settlementDate;
+}
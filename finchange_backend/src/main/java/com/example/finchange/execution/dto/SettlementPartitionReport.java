@@ -0,0 +1,26 @@
+package com.example.finchange.execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementPartitionReport {
+    private int partitionIndex;
+    private int accountCount;
+    private int executionCount;
+    private int settledExecutionCount;
+    private int failedAccountCount;
+    private int attempts;
+    private long durationMillis;
+    private double executionsPerSecond;
+    @Builder.Default
+    private List<SettlementChunkReport> chunks = new ArrayList<>();
+}
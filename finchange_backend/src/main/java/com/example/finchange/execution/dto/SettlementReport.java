@@ -0,0 +1,31 @@
+package com.example.finchange.execution.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class SettlementReport {
+    private LocalDate settlementDate;
+    private boolean catchUp;
+    private LocalDateTime startedAt;
+    private long collectMillis;
+    private long totalMillis;
+    private int executionCount;
+    private int overdueExecutionCount;
+    private int accountCount;
+    private int settledExecutionCount;
+    private int failedAccountCount;
+    private int parallelism;
+    @Builder.Default
+    private List<SettlementPartitionReport> partitions = new ArrayList<>();
+}
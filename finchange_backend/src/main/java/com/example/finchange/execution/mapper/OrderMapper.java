@@ -1,5 +1,6 @@
 package com.example.finchange.execution.mapper;
 
+import com.example.finchange.common.model.Money;
 import com.example.finchange.customer.model.CustomerType;
 import com.example.finchange.execution.dto.OrderResponseDto;
 import com.example.finchange.execution.model.Order;
@@ -7,6 +8,8 @@ import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 import org.mapstruct.Named;
 
+import java.math.BigDecimal;
+
 @Mapper(componentModel = "spring")
 public interface OrderMapper {
 
@@ -35,4 +38,8 @@ public interface OrderMapper {
                 ? customer.getName() + " " + customer.getLastName()
                 : customer.getCompanyTitle();
     }
+
+    default BigDecimal toBigDecimal(Money money) {
+        return money == null ? null : money.toBigDecimal();
+    }
 }
\ No newline at end of file
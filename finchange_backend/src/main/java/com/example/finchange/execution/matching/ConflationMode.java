@@ -0,0 +1,7 @@
+package com.example.finchange.execution.matching;
+
+public enum ConflationMode {
+    NONE,
+    LATEST,
+    RANGE
+}
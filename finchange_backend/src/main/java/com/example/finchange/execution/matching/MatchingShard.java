@@ -0,0 +1,151 @@
+package com.example.finchange.execution.matching;
+
+import com.example.finchange.execution.dto.MatchingShardStatsDto;
+import com.example.finchange.execution.service.OrderMatchingService;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Tek bir eşleştirme parçası: sınırlı bir kuyruk ve onu tüketen tek bir thread.
+ * Aynı parçaya düşen varlıkların fiyatları geliş sırasıyla, kilitsiz işlenir.
+ * <p>
+ * Birleştirme (conflation) açıkken kuyrukta varlık başına en fazla bir kayıt bulunur;
+ * işlenmeyi bekleyen bir varlığa yeni tick gelirse mevcut bekleyen kayıtla birleştirilir.
+ */
+@Slf4j
+class MatchingShard implements Runnable {
+
+    private record ShardTask(PriceUpdateEvent event, long enqueuedAtNanos) {}
+
+    private final int index;
+    private final int capacity;
+    private final ConflationMode conflationMode;
+    private final BlockingQueue<ShardTask> queue;
+    private final Map<String, PendingTick> pendingTicks = new ConcurrentHashMap<>();
+    private final OrderMatchingService orderMatchingService;
+    private final Thread thread;
+    private volatile boolean running = true;
+
+    private final AtomicLong processedCount = new AtomicLong();
+    private final AtomicLong conflatedCount = new AtomicLong();
+    private final AtomicLong failedCount = new AtomicLong();
+    private final AtomicLong totalLatencyNanos = new AtomicLong();
+    private final AtomicLong maxLatencyNanos = new AtomicLong();
+    private volatile long lastLatencyNanos;
+
+    MatchingShard(int index, int capacity, ConflationMode conflationMode, OrderMatchingService orderMatchingService) {
+        this.index = index;
+        this.capacity = capacity;
+        this.conflationMode = conflationMode;
+        this.queue = new ArrayBlockingQueue<>(capacity);
+        this.orderMatchingService = orderMatchingService;
+        this.thread = new Thread(this, "matching-shard-" + index);
+        this.thread.setDaemon(true);
+    }
+
+    void start() {
+        thread.start();
+    }
+
+    /**
+     * Kuyruk doluysa çağıran thread (Kafka consumer) yer açılana kadar bekler;
+     * böylece geri basınç doğrudan tüketiciye yansır.
+     */
+    void submit(PriceUpdateEvent event) throws InterruptedException {
+        long now = System.nanoTime();
+        if (conflationMode == ConflationMode.NONE) {
+            queue.put(new ShardTask(event, now));
+            return;
+        }
+
+        boolean[] newlyPending = new boolean[1];
+        pendingTicks.compute(event.getAssetCode(), (code, existing) -> {
+            if (existing == null) {
+                newlyPending[0] = true;
+                return PendingTick.of(event, now);
+            }
+            conflatedCount.incrementAndGet();
+            return existing.merge(event);
+        });
+        if (newlyPending[0]) {
+            queue.put(new ShardTask(event, now));
+        }
+    }
+
+    void stop() {
+        running = false;
+        thread.interrupt();
+    }
+
+    @Override
+    public void run() {
+        while (running) {
+            ShardTask task;
+            try {
+                task = queue.poll(500, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+            if (task == null) {
+                continue;
+            }
+            long enqueuedAtNanos = task.enqueuedAtNanos();
+            try {
+                if (conflationMode == ConflationMode.NONE) {
+                    orderMatchingService.handlePriceUpdate(task.event());
+                } else {
+                    PendingTick pending = pendingTicks.remove(task.event().getAssetCode());
+                    if (pending == null) {
+                        continue;
+                    }
+                    enqueuedAtNanos = pending.firstEnqueuedAtNanos();
+                    process(pending);
+                }
+            } catch (Exception e) {
+                failedCount.incrementAndGet();
+                log.error("Eşleştirme parçası {} fiyat güncellemesini işlerken hata oluştu: {}", index, e.getMessage(), e);
+            } finally {
+                recordLatency(System.nanoTime() - enqueuedAtNanos);
+            }
+        }
+        log.info("Eşleştirme parçası {} durduruldu. Kuyrukta kalan: {}", index, queue.size());
+    }
+
+    private void process(PendingTick pending) {
+        if (conflationMode == ConflationMode.RANGE && pending.tickCount() > 1) {
+            orderMatchingService.handlePriceRange(pending.latest().getAssetCode(), pending.low(), pending.high());
+        } else {
+            orderMatchingService.handlePriceUpdate(pending.latest());
+        }
+    }
+
+    private void recordLatency(long latencyNanos) {
+        processedCount.incrementAndGet();
+        totalLatencyNanos.addAndGet(latencyNanos);
+        maxLatencyNanos.accumulateAndGet(latencyNanos, Math::max);
+        lastLatencyNanos = latencyNanos;
+    }
+
+    MatchingShardStatsDto getStats() {
+        long processed = processedCount.get();
+        return MatchingShardStatsDto.builder()
+                .shardIndex(index)
+                .queueDepth(queue.size())
+                .queueCapacity(capacity)
+                .processedCount(processed)
+                .conflatedCount(conflatedCount.get())
+                .failedCount(failedCount.get())
+                .averageLatencyMicros(processed == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(totalLatencyNanos.get() / processed))
+                .maxLatencyMicros(TimeUnit.NANOSECONDS.toMicros(maxLatencyNanos.get()))
+                .lastLatencyMicros(TimeUnit.NANOSECONDS.toMicros(lastLatencyNanos))
+                .build();
+    }
+}
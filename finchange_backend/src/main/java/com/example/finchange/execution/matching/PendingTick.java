@@ -0,0 +1,25 @@
+package com.example.finchange.execution.matching;
+
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+
+import java.math.BigDecimal;
+
+/**
+ * Bir varlık için henüz işlenmemiş tick'lerin birleşik hali: en son fiyat ve
+ * atlanan tick'lerin gördüğü en yüksek/en düşük fiyat.
+ */
+record PendingTick(PriceUpdateEvent latest, BigDecimal high, BigDecimal low, int tickCount, long firstEnqueuedAtNanos) {
+
+    static PendingTick of(PriceUpdateEvent event, long enqueuedAtNanos) {
+        return new PendingTick(event, event.getPrice(), event.getPrice(), 1, enqueuedAtNanos);
+    }
+
+    PendingTick merge(PriceUpdateEvent event) {
+        return new PendingTick(
+                event,
+                high.max(event.getPrice()),
+                low.min(event.getPrice()),
+                tickCount + 1,
+                firstEnqueuedAtNanos);
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.finchange.execution.matching;
+
+import com.example.finchange.execution.dto.MatchingShardStatsDto;
+import com.example.finchange.execution.service.OrderMatchingService;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Fiyat güncellemelerini bistCode'a göre sabit bir parçaya yönlendirir. Her parçanın
+ * tek bir thread'i olduğundan aynı varlığın tick'leri sırayla, farklı varlıklar ise
+ * paralel işlenir.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class ShardedMatchingEngine {
+
+    private final OrderMatchingService orderMatchingService;
+
+    @Value("${matching.sharding.enabled:true}")
+    private boolean enabled;
+
+    @Value("${matching.sharding.shard-count:4}")
+    private int shardCount;
+
+    @Value("${matching.sharding.queue-capacity:1024}")
+    private int queueCapacity;
+
+    @Value("${matching.conflation.mode:LATEST}")
+    private ConflationMode conflationMode;
+
+    private MatchingShard[] shards = new MatchingShard[0];
+
+    @PostConstruct
+    public void start() {
+        if (!enabled) {
+            log.info("Parçalı eşleştirme kapalı. Fiyat güncellemeleri Kafka listener thread'inde işlenecek.");
+            return;
+        }
+        int count = Math.max(1, shardCount);
+        shards = new MatchingShard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new MatchingShard(i, queueCapacity, conflationMode, orderMatchingService);
+            shards[i].start();
+        }
+        log.info("Parçalı eşleştirme başlatıldı: {} parça, parça başına kuyruk kapasitesi {}, birleştirme modu {}.", count, queueCapacity, conflationMode);
+    }
+
+    @PreDestroy
+    public void stop() {
+        for (MatchingShard shard : shards) {
+            shard.stop();
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled && shards.length > 0;
+    }
+
+    public void submit(PriceUpdateEvent event) {
+        try {
+            shards[shardFor(event.getAssetCode())].submit(event);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            log.warn("{} için fiyat güncellemesi kuyruğa alınırken thread kesildi.", event.getAssetCode());
+        }
+    }
+
+    public int shardFor(String assetCode) {
+        return Math.floorMod(assetCode.hashCode(), shards.length);
+    }
+
+    public List<MatchingShardStatsDto> getStats() {
+        List<MatchingShardStatsDto> stats = new ArrayList<>(shards.length);
+        for (MatchingShard shard : shards) {
+            stats.add(shard.getStats());
+        }
+        return stats;
+    }
+}
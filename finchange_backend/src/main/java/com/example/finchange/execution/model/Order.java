@@ -1,6 +1,7 @@
 package com.example.finchange.execution.model;
 
-import com.example.finchange.common.model.AuditableBaseEntity;
+import com.example.finchange.common.model.Money;
+import com.example.finchange.common.model.SequenceAuditableBaseEntity;
 import com.example.finchange.customer.model.CustomerAccount;
 import com.example.finchange.execution.model.enums.OrderStatus;
 import com.example.finchange.execution.model.enums.OrderType;
@@ -11,8 +12,6 @@ import lombok.*;
 import lombok.experimental.SuperBuilder;
 import org.springframework.data.annotation.CreatedBy;
 
-import java.math.BigDecimal;
-
 @Getter
 @Setter
 @SuperBuilder
@@ -21,7 +20,12 @@ import java.math.BigDecimal;
 @ToString
 @Entity
 @Table(name = "Emirler")
-public class Order extends AuditableBaseEntity {
+public class Order extends SequenceAuditableBaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "Emirler_SEQ")
+    @SequenceGenerator(name = "Emirler_SEQ", sequenceName = "Emirler_SEQ", allocationSize = 50)
+    private Integer id;
 
     @Column(name = "order_code", unique = true, nullable = false, length = 36)
     private String orderCode;
@@ -62,7 +66,7 @@ public class Order extends AuditableBaseEntity {
     private int filledLotAmount;
 
     @Column(name = "limit_price", precision = 18, scale = 4)
-    private BigDecimal limitPrice;
+    private Money limitPrice;
 
     @Column(name = "validity_type", length = 10)
     private String validityType;
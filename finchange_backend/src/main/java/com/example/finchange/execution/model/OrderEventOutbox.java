@@ -0,0 +1,72 @@
+package com.example.finchange.execution.model;
+
+import com.example.finchange.execution.model.enums.OrderEventOutboxStatus;
+import com.example.finchange.execution.model.enums.OrderEventType;
+import jakarta.persistence.*;
+import lombok.*;
+import lombok.experimental.SuperBuilder;
+
+import java.time.LocalDateTime;
+
+/**
+ * Emir olaylarının Kafka'ya gönderilmeden önce iş transaction'ı ile birlikte yazıldığı
+ * giden kutusu. Müşteri ve varlık kodu zenginleştirmesi relay tarafında toplu yapılır.
+ * Gönderilemeyen kayıtlar {@code nextAttemptAt} zamanına kadar bekletilir; deneme sınırını
+ * aşan kayıtlar {@link OrderEventOutboxStatus#DEAD} durumuna alınır ve relay tarafından atlanır.
+ */
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+@ToString
+@Entity
+@Table(name = "EmirOlayGidenKutusu", indexes = {
+        @Index(name = "IX_EmirOlayGidenKutusu_published_at", columnList = "published_at, id"),
+        @Index(name = "IX_EmirOlayGidenKutusu_status", columnList = "status, id"),
+        @Index(name = "IX_EmirOlayGidenKutusu_order_id", columnList = "order_id, id")
+})
+public class OrderEventOutbox {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "EmirOlayGidenKutusu_SEQ")
+    @SequenceGenerator(name = "EmirOlayGidenKutusu_SEQ", sequenceName = "EmirOlayGidenKutusu_SEQ", allocationSize = 50)
+    @Column(name = "id")
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 30)
+    private OrderEventType eventType;
+
+    @Column(name = "order_id", nullable = false)
+    private Integer orderId;
+
+    @Column(name = "customer_account_id", nullable = false)
+    private Integer customerAccountId;
+
+    @Column(name = "asset_id", nullable = false)
+    private Integer assetId;
+
+    @Lob
+    @Column(name = "payload", nullable = false)
+    private String payload;
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "status", nullable = false, length = 20)
+    private OrderEventOutboxStatus status;
+
+    @Column(name = "published_at")
+    private LocalDateTime publishedAt;
+
+    @Column(name = "attempt_count", nullable = false)
+    private int attemptCount;
+
+    @Column(name = "next_attempt_at")
+    private LocalDateTime nextAttemptAt;
+
+    @Column(name = "last_error", length = 500)
+    private String lastError;
+}
@@ -15,11 +15,14 @@ import java.time.LocalDateTime;
 @AllArgsConstructor
 @ToString(exclude = "order")
 @Entity
-@Table(name = "EmirGerceklesmeleri")
+@Table(name = "EmirGerceklesmeleri", indexes = {
+        @Index(name = "IX_EmirGerceklesmeleri_is_settled_settlement_date", columnList = "is_settled, settlement_date")
+})
 public class OrderExecution {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "EmirGerceklesmeleri_SEQ")
+    @SequenceGenerator(name = "EmirGerceklesmeleri_SEQ", sequenceName = "EmirGerceklesmeleri_SEQ", allocationSize = 50)
     @Column(name = "id")
     private Long id;
 
@@ -0,0 +1,7 @@
+package com.example.finchange.execution.model.enums;
+
+public enum OrderEventOutboxStatus {
+    PENDING,
+    PUBLISHED,
+    DEAD
+}
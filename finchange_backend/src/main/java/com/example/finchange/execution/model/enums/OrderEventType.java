@@ -0,0 +1,6 @@
+package com.example.finchange.execution.model.enums;
+
+public enum OrderEventType {
+    ORDER_EXECUTED,
+    ORDER_CANCELLED
+}
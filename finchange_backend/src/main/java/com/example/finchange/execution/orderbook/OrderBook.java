@@ -0,0 +1,92 @@
+package com.example.finchange.execution.orderbook;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.model.enums.TransactionType;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.TreeSet;
+
+/**
+ * Tek bir varlığa ait bekleyen limit emirlerin fiyat-zaman öncelikli defteri.
+ * Alış tarafı en yüksek fiyattan, satış tarafı en düşük fiyattan başlar;
+ * aynı fiyat seviyesindeki emirler oluşturulma zamanına göre (FIFO) sıralanır.
+ */
+public class OrderBook {
+
+    private static final Comparator<OrderBookEntry> TIME_PRIORITY = Comparator
+            .comparing(OrderBookEntry::createdAt, Comparator.nullsLast(Comparator.<LocalDateTime>naturalOrder()))
+            .thenComparing(OrderBookEntry::orderId);
+
+    private final String bistCode;
+    private final TreeMap<Money, TreeSet<OrderBookEntry>> bids = new TreeMap<>(Comparator.reverseOrder());
+    private final TreeMap<Money, TreeSet<OrderBookEntry>> asks = new TreeMap<>();
+    private int size;
+
+    public OrderBook(String bistCode) {
+        this.bistCode = bistCode;
+    }
+
+    public String getBistCode() {
+        return bistCode;
+    }
+
+    public synchronized void add(OrderBookEntry entry) {
+        if (sideOf(entry.transactionType()).computeIfAbsent(entry.limitPrice(), p -> new TreeSet<>(TIME_PRIORITY)).add(entry)) {
+            size++;
+        }
+    }
+
+    public synchronized boolean remove(OrderBookEntry entry) {
+        TreeMap<Money, TreeSet<OrderBookEntry>> side = sideOf(entry.transactionType());
+        TreeSet<OrderBookEntry> level = side.get(entry.limitPrice());
+        if (level == null || !level.remove(entry)) {
+            return false;
+        }
+        if (level.isEmpty()) {
+            side.remove(entry.limitPrice());
+        }
+        size--;
+        return true;
+    }
+
+    /**
+     * Verilen fiyatla kesişen alış emirlerini (limit >= fiyat) öncelik sırasıyla döner.
+     */
+    public synchronized List<Integer> crossingBuyOrderIds(Money price) {
+        return collectIds(bids.headMap(price, true));
+    }
+
+    /**
+     * Verilen fiyatla kesişen satış emirlerini (limit <= fiyat) öncelik sırasıyla döner.
+     */
+    public synchronized List<Integer> crossingSellOrderIds(Money price) {
+        return collectIds(asks.headMap(price, true));
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private TreeMap<Money, TreeSet<OrderBookEntry>> sideOf(TransactionType transactionType) {
+        return transactionType == TransactionType.BUY ? bids : asks;
+    }
+
+    private static List<Integer> collectIds(NavigableMap<Money, TreeSet<OrderBookEntry>> levels) {
+        if (levels.isEmpty()) {
+            return List.of();
+        }
+        List<Integer> ids = new ArrayList<>();
+        for (Collection<OrderBookEntry> level : levels.values()) {
+            for (OrderBookEntry entry : level) {
+                ids.add(entry.orderId());
+            }
+        }
+        return ids;
+    }
+}
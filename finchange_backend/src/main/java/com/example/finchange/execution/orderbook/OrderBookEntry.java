@@ -0,0 +1,16 @@
+package com.example.finchange.execution.orderbook;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.model.enums.TransactionType;
+
+import java.time.LocalDateTime;
+
+public record OrderBookEntry(
+        Integer orderId,
+        Integer assetId,
+        String bistCode,
+        TransactionType transactionType,
+        Money limitPrice,
+        LocalDateTime createdAt
+) {
+}
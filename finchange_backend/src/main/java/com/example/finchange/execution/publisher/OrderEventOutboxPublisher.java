@@ -0,0 +1,91 @@
+package com.example.finchange.execution.publisher;
+
+import com.example.finchange.execution.dto.event.OrderCancelledEvent;
+import com.example.finchange.execution.dto.event.OrderExecutedEvent;
+import com.example.finchange.execution.model.Order;
+import com.example.finchange.execution.model.OrderEventOutbox;
+import com.example.finchange.execution.model.OrderExecution;
+import com.example.finchange.execution.model.enums.OrderEventOutboxStatus;
+import com.example.finchange.execution.model.enums.OrderEventType;
+import com.example.finchange.execution.repository.OrderEventOutboxRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Olayları doğrudan Kafka'ya göndermek yerine çağıranın transaction'ı içinde giden kutusuna
+ * yazar. Müşteri ve varlık bilgisi burada aranmaz; {@link OrderEventOutboxRelay} gönderim
+ * sırasında toplu olarak tamamlar.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderEventOutboxPublisher implements OrderEventPublisher {
+
+    private final OrderEventOutboxRepository outboxRepository;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderExecutedEvent(Order order, OrderExecution execution) {
+        OrderExecutedEvent event = new OrderExecutedEvent(
+                order.getId(),
+                null,
+                null,
+                order.getAssetId(),
+                null,
+                order.getTransactionType().name(),
+                order.getStatus().name(),
+                execution.getExecutedLotAmount(),
+                execution.getExecutedPrice(),
+                execution.getCommissionAmount(),
+                order.getInitialLotAmount() - order.getFilledLotAmount(),
+                Instant.now()
+        );
+        enqueue(OrderEventType.ORDER_EXECUTED, order, event);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void publishOrderCancelledEvent(Order order, int cancelledLots) {
+        OrderCancelledEvent event = new OrderCancelledEvent(
+                order.getId(),
+                null,
+                order.getAssetId(),
+                null,
+                order.getTransactionType().name(),
+                order.getStatus().name(),
+                cancelledLots,
+                Instant.now()
+        );
+        enqueue(OrderEventType.ORDER_CANCELLED, order, event);
+    }
+
+    private void enqueue(OrderEventType eventType, Order order, Object event) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Emir olayı serileştirilemedi. Order ID: " + order.getId(), e);
+        }
+
+        outboxRepository.save(OrderEventOutbox.builder()
+                .eventType(eventType)
+                .orderId(order.getId())
+                .customerAccountId(order.getCustomerAccountId())
+                .assetId(order.getAssetId())
+                .payload(payload)
+                .createdAt(LocalDateTime.now())
+                .status(OrderEventOutboxStatus.PENDING)
+                .attemptCount(0)
+                .build());
+        log.debug("{} olayı giden kutusuna yazıldı: Order ID {}", eventType, order.getId());
+    }
+}
@@ -0,0 +1,222 @@
+package com.example.finchange.execution.publisher;
+
+import com.example.finchange.customer.model.CustomerAccount;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.execution.dto.event.OrderCancelledEvent;
+import com.example.finchange.execution.dto.event.OrderExecutedEvent;
+import com.example.finchange.execution.model.OrderEventOutbox;
+import com.example.finchange.execution.model.enums.OrderEventType;
+import com.example.finchange.execution.repository.OrderEventOutboxRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Giden kutusundaki olayları partiler halinde 'order-events' topic'ine aktarır.
+ * Müşteri ve varlık bilgileri parti başına tek sorguyla tamamlanır. Gönderilemeyen
+ * bir olaydan sonra aynı emre ait olaylar sırayı korumak için Kafka'ya hiç verilmeden
+ * bekletilir; başarısız kayıt geri çekilme süresi dolunca sırasıyla yeniden denenir.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class OrderEventOutboxRelay {
+
+    static final String ORDER_EVENTS_TOPIC = "order-events";
+
+    private final OrderEventOutboxRepository outboxRepository;
+    private final CustomerAccountRepository customerAccountRepository;
+    private final AssetRegistry assetRegistry;
+    private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final ObjectMapper objectMapper;
+
+    @Value("${order-events.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order-events.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${order-events.outbox.max-attempts:12}")
+    private int maxAttempts = 12;
+
+    @Value("${order-events.outbox.initial-backoff-ms:1000}")
+    private long initialBackoffMs = 1000;
+
+    @Value("${order-events.outbox.max-backoff-ms:600000}")
+    private long maxBackoffMs = 600000;
+
+    @Scheduled(fixedDelayString = "${order-events.outbox.relay-interval-ms:500}")
+    public void relayPendingEvents() {
+        List<OrderEventOutbox> batch;
+        do {
+            batch = outboxRepository.findPending(LocalDateTime.now(), PageRequest.of(0, batchSize));
+            if (batch.isEmpty()) {
+                return;
+            }
+        } while (relayBatch(batch) == batch.size() && batch.size() == batchSize);
+    }
+
+    /**
+     * Olaylar dalgalar halinde gönderilir: her dalgada bekleyen her emrin yalnızca sıradaki ilk
+     * olayı Kafka'ya verilir ve sonuçları beklenir. Bir olay hazırlanamaz ya da gönderilemezse
+     * emrin kalan olayları bu turda hiç gönderilmez, bekler durumda kalır.
+     *
+     * @return başarıyla gönderilen olay sayısı
+     */
+    int relayBatch(List<OrderEventOutbox> batch) {
+        Map<Integer, CustomerAccount> accountsById = customerAccountRepository.findAllWithCustomerByIdIn(
+                        batch.stream().map(OrderEventOutbox::getCustomerAccountId).collect(Collectors.toSet()))
+                .stream().collect(Collectors.toMap(CustomerAccount::getId, Function.identity()));
+
+        Map<Integer, Deque<OrderEventOutbox>> pendingByOrder = new LinkedHashMap<>();
+        for (OrderEventOutbox entry : batch) {
+            pendingByOrder.computeIfAbsent(entry.getOrderId(), id -> new ArrayDeque<>()).add(entry);
+        }
+
+        List<Long> publishedIds = new ArrayList<>();
+        Map<OrderEventOutbox, String> failures = new LinkedHashMap<>();
+        while (!pendingByOrder.isEmpty()) {
+            Map<OrderEventOutbox, CompletableFuture<SendResult<String, Object>>> wave = new LinkedHashMap<>();
+            Iterator<Deque<OrderEventOutbox>> orders = pendingByOrder.values().iterator();
+            while (orders.hasNext()) {
+                Deque<OrderEventOutbox> queue = orders.next();
+                OrderEventOutbox entry = queue.poll();
+                if (queue.isEmpty()) {
+                    orders.remove();
+                }
+                try {
+                    Object event = toEnrichedEvent(entry, accountsById.get(entry.getCustomerAccountId()), assetRegistry.getBistCode(entry.getAssetId()));
+                    wave.put(entry, kafkaTemplate.send(ORDER_EVENTS_TOPIC, String.valueOf(entry.getOrderId()), event));
+                } catch (Exception e) {
+                    failures.put(entry, e.getMessage());
+                    pendingByOrder.remove(entry.getOrderId());
+                    log.error("Giden kutusu kaydı {} hazırlanırken hata oluştu: {}", entry.getId(), e.getMessage(), e);
+                }
+            }
+
+            for (Map.Entry<OrderEventOutbox, CompletableFuture<SendResult<String, Object>>> sent : wave.entrySet()) {
+                OrderEventOutbox entry = sent.getKey();
+                try {
+                    sent.getValue().get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+                    publishedIds.add(entry.getId());
+                } catch (Exception e) {
+                    if (e instanceof InterruptedException) {
+                        Thread.currentThread().interrupt();
+                    }
+                    failures.put(entry, e.getMessage());
+                    pendingByOrder.remove(entry.getOrderId());
+                    log.warn("Order ID {} olayı '{}' topic'ine gönderilemedi, tekrar denenecek: {}", entry.getOrderId(), ORDER_EVENTS_TOPIC, e.getMessage());
+                }
+            }
+        }
+
+        if (!publishedIds.isEmpty()) {
+            outboxRepository.markPublished(publishedIds, LocalDateTime.now());
+        }
+        recordFailures(failures);
+        log.debug("Giden kutusu turu tamamlandı: {} gönderildi, {} başarısız.", publishedIds.size(), failures.size());
+        return publishedIds.size();
+    }
+
+    /**
+     * Başarısız kayıtları deneme sayısına göre üstel geri çekilmeyle yeniden planlar; deneme
+     * sınırına ulaşanlar DEAD durumuna alınır ve aynı emrin sonraki olaylarının önü açılır.
+     */
+    private void recordFailures(Map<OrderEventOutbox, String> failures) {
+        if (failures.isEmpty()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        Map<Integer, List<Long>> retryByAttempt = new TreeMap<>();
+        List<Long> deadIds = new ArrayList<>();
+        String lastError = null;
+        for (Map.Entry<OrderEventOutbox, String> failure : failures.entrySet()) {
+            OrderEventOutbox entry = failure.getKey();
+            int attempt = entry.getAttemptCount() + 1;
+            lastError = failure.getValue();
+            if (attempt >= maxAttempts) {
+                deadIds.add(entry.getId());
+                log.error("Giden kutusu kaydı {} (Order ID {}, {}) {} denemede gönderilemedi, DEAD olarak işaretlendi. Son hata: {}",
+                        entry.getId(), entry.getOrderId(), entry.getEventType(), attempt, failure.getValue());
+            } else {
+                retryByAttempt.computeIfAbsent(attempt, a -> new ArrayList<>()).add(entry.getId());
+            }
+        }
+        for (Map.Entry<Integer, List<Long>> retry : retryByAttempt.entrySet()) {
+            outboxRepository.markFailed(retry.getValue(), truncate(lastError), now.plus(backoff(retry.getKey())));
+        }
+        if (!deadIds.isEmpty()) {
+            outboxRepository.markDead(deadIds, truncate(lastError));
+        }
+    }
+
+    Duration backoff(int attempt) {
+        long delay = initialBackoffMs << Math.min(attempt - 1, 30);
+        return Duration.ofMillis(delay > 0 ? Math.min(delay, maxBackoffMs) : maxBackoffMs);
+    }
+
+    @Scheduled(cron = "0 30 3 * * *", zone = "Europe/Istanbul")
+    public void purgePublishedEvents() {
+        int deleted = outboxRepository.deletePublishedBefore(LocalDateTime.now().minusDays(7));
+        log.info("Giden kutusundan {} adet gönderilmiş olay temizlendi.", deleted);
+    }
+
+    private Object toEnrichedEvent(OrderEventOutbox entry, CustomerAccount account, String bistCode) throws Exception {
+        Integer customerId = account != null ? account.getCustomer().getId() : null;
+        if (entry.getEventType() == OrderEventType.ORDER_EXECUTED) {
+            OrderExecutedEvent raw = objectMapper.readValue(entry.getPayload(), OrderExecutedEvent.class);
+            return new OrderExecutedEvent(
+                    raw.orderId(),
+                    customerId,
+                    account != null ? account.getCustomer().getCustomerCode() : null,
+                    raw.assetId(),
+                    bistCode,
+                    raw.transactionType(),
+                    raw.newStatus(),
+                    raw.executedLots(),
+                    raw.executedPrice(),
+                    raw.commissionAmount(),
+                    raw.remainingLots(),
+                    raw.eventTimestamp());
+        }
+        OrderCancelledEvent raw = objectMapper.readValue(entry.getPayload(), OrderCancelledEvent.class);
+        return new OrderCancelledEvent(
+                raw.orderId(),
+                customerId,
+                raw.assetId(),
+                bistCode,
+                raw.transactionType(),
+                raw.newStatus(),
+                raw.cancelledLots(),
+                raw.eventTimestamp());
+    }
+
+    private static String truncate(String message) {
+        if (message == null) {
+            return null;
+        }
+        return message.length() <= 500 ? message : message.substring(0, 500);
+    }
+}
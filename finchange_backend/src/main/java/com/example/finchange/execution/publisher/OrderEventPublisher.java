@@ -1,10 +1,10 @@
 package com.example.finchange.execution.publisher;
 
-import com.example.finchange.execution.dto.event.OrderCancelledEvent;
-import com.example.finchange.execution.dto.event.OrderExecutedEvent;
+import com.example.finchange.execution.model.Order;
+import com.example.finchange.execution.model.OrderExecution;
 
 public interface OrderEventPublisher {
 
-    void publishOrderExecutedEvent(OrderExecutedEvent event);
-    void publishOrderCancelledEvent(OrderCancelledEvent event); 
-}
\ No newline at end of file
+    void publishOrderExecutedEvent(Order order, OrderExecution execution);
+    void publishOrderCancelledEvent(Order order, int cancelledLots);
+}
@@ -0,0 +1,54 @@
+package com.example.finchange.execution.repository;
+
+import com.example.finchange.execution.model.OrderEventOutbox;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+public interface OrderEventOutboxRepository extends JpaRepository<OrderEventOutbox, Long> {
+
+    /**
+     * Zamanı gelmiş bekleyen kayıtlar. Aynı emrin daha önceki bir kaydı geri çekilme süresini
+     * beklerken sonraki kayıtları da döndürülmez; böylece emir içi sıra bozulmaz.
+     */
+    @Query("""
+            SELECT o FROM OrderEventOutbox o
+            WHERE o.status = com.example.finchange.execution.model.enums.OrderEventOutboxStatus.PENDING
+              AND (o.nextAttemptAt IS NULL OR o.nextAttemptAt <= :now)
+              AND NOT EXISTS (
+                  SELECT 1 FROM OrderEventOutbox p
+                  WHERE p.orderId = o.orderId AND p.id < o.id
+                    AND p.status = com.example.finchange.execution.model.enums.OrderEventOutboxStatus.PENDING
+                    AND p.nextAttemptAt > :now)
+            ORDER BY o.id ASC""")
+    List<OrderEventOutbox> findPending(@Param("now") LocalDateTime now, Pageable pageable);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderEventOutbox o SET o.publishedAt = :publishedAt, " +
+            "o.status = com.example.finchange.execution.model.enums.OrderEventOutboxStatus.PUBLISHED WHERE o.id IN :ids")
+    int markPublished(@Param("ids") List<Long> ids, @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderEventOutbox o SET o.attemptCount = o.attemptCount + 1, o.lastError = :error, " +
+            "o.nextAttemptAt = :nextAttemptAt WHERE o.id IN :ids")
+    int markFailed(@Param("ids") List<Long> ids, @Param("error") String error, @Param("nextAttemptAt") LocalDateTime nextAttemptAt);
+
+    @Modifying
+    @Transactional
+    @Query("UPDATE OrderEventOutbox o SET o.attemptCount = o.attemptCount + 1, o.lastError = :error, o.nextAttemptAt = NULL, " +
+            "o.status = com.example.finchange.execution.model.enums.OrderEventOutboxStatus.DEAD WHERE o.id IN :ids")
+    int markDead(@Param("ids") List<Long> ids, @Param("error") String error);
+
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM OrderEventOutbox o WHERE o.publishedAt IS NOT NULL AND o.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
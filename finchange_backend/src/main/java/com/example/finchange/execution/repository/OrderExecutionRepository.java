@@ -1,18 +1,78 @@
 package com.example.finchange.execution.repository;
 
+import com.example.finchange.execution.dto.SettlementExecutionView;
 import com.example.finchange.execution.model.OrderExecution;
+import jakarta.persistence.QueryHint;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Stream;
 
 public interface OrderExecutionRepository extends JpaRepository<OrderExecution, Long> {
-    @Query("SELECT e FROM OrderExecution e WHERE e.isSettled = false AND e.executionTimestamp >= :startOfDay AND e.executionTimestamp < :endOfDay")
-    List<OrderExecution> findUnsettledExecutionsByTimestampBetween(LocalDateTime startOfDay, LocalDateTime endOfDay);
+    // Takas tarihi verilen güne eşit olan netleşmemiş işlemler (is_settled, settlement_date) indeksinden okunur
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("""
+        SELECT new com.example.finchange.execution.dto.SettlementExecutionView(
+            e.id, o.id, o.customerAccountId, ca.customer.id, o.assetId, o.transactionType, o.status,
+            e.executedLotAmount, e.executedPrice, e.commissionAmount, e.settlementDate)
+        FROM OrderExecution e
+        JOIN e.order o
+        JOIN o.customerAccount ca
+        WHERE e.isSettled = false AND e.settlementDate = :settlementDate
+        ORDER BY e.id
+    """)
+    Stream<SettlementExecutionView> streamDueOn(@Param("settlementDate") LocalDate settlementDate);
+
+    // Telafi modu: önceki günlerde kaçırılanlar dahil, takas tarihi gelmiş tüm netleşmemiş işlemler
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("""
+        SELECT new com.example.finchange.execution.dto.SettlementExecutionView(
+            e.id, o.id, o.customerAccountId, ca.customer.id, o.assetId, o.transactionType, o.status,
+            e.executedLotAmount, e.executedPrice, e.commissionAmount, e.settlementDate)
+        FROM OrderExecution e
+        JOIN e.order o
+        JOIN o.customerAccount ca
+        WHERE e.isSettled = false AND e.settlementDate <= :settlementDate
+        ORDER BY e.id
+    """)
+    Stream<SettlementExecutionView> streamDueUpTo(@Param("settlementDate") LocalDate settlementDate);
 
-    // Override modunda geçmiş dahil tüm netleşmemiş işlemleri almak için
-    List<OrderExecution> findByIsSettled(boolean isSettled);
+    // Takas tarihi yazılmamış eski kayıtlar için işlem zamanına göre telafi
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("""
+        SELECT new com.example.finchange.execution.dto.SettlementExecutionView(
+            e.id, o.id, o.customerAccountId, ca.customer.id, o.assetId, o.transactionType, o.status,
+            e.executedLotAmount, e.executedPrice, e.commissionAmount, e.settlementDate)
+        FROM OrderExecution e
+        JOIN e.order o
+        JOIN o.customerAccount ca
+        WHERE e.isSettled = false AND e.settlementDate IS NULL AND e.executionTimestamp < :executedBefore
+        ORDER BY e.id
+    """)
+    Stream<SettlementExecutionView> streamUndatedExecutedBefore(@Param("executedBefore") LocalDateTime executedBefore);
+
+    @Modifying
+    @Query("UPDATE OrderExecution e SET e.isSettled = true WHERE e.id IN :ids AND e.isSettled = false")
+    int markSettled(@Param("ids") List<Long> ids);
+
+    // Override modunda takas tarihine bakılmaksızın tüm netleşmemiş işlemler
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("""
+        SELECT new com.example.finchange.execution.dto.SettlementExecutionView(
+            e.id, o.id, o.customerAccountId, ca.customer.id, o.assetId, o.transactionType, o.status,
+            e.executedLotAmount, e.executedPrice, e.commissionAmount, e.settlementDate)
+        FROM OrderExecution e
+        JOIN e.order o
+        JOIN o.customerAccount ca
+        WHERE e.isSettled = false
+        ORDER BY e.id
+    """)
+    Stream<SettlementExecutionView> streamAllUnsettled();
 
     @Query("""
         select oe from OrderExecution oe
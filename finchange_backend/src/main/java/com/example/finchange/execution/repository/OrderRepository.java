@@ -1,7 +1,9 @@
 package com.example.finchange.execution.repository;
 
+import com.example.finchange.common.model.Money;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.enums.OrderStatus; 
+import com.example.finchange.execution.orderbook.OrderBookEntry;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
@@ -10,15 +12,14 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.data.repository.query.Param;
-import java.math.BigDecimal;
 import java.util.List;
 
 public interface OrderRepository extends JpaRepository<Order, Integer>,JpaSpecificationExecutor<Order> { 
     @Query("SELECT o FROM Order o WHERE o.assetId = :assetId AND o.status = 'ACTIVE' AND o.transactionType = 'BUY' AND o.limitPrice >= :newPrice ORDER BY o.limitPrice DESC, o.createdAt ASC")
-    List<Order> findMatchingBuyOrders(Integer assetId, BigDecimal newPrice);
+    List<Order> findMatchingBuyOrders(Integer assetId, Money newPrice);
 
     @Query("SELECT o FROM Order o WHERE o.assetId = :assetId AND o.status = 'ACTIVE' AND o.transactionType = 'SELL' AND o.limitPrice <= :newPrice ORDER BY o.limitPrice ASC, o.createdAt ASC")
-    List<Order> findMatchingSellOrders(Integer assetId, BigDecimal newPrice);
+    List<Order> findMatchingSellOrders(Integer assetId, Money newPrice);
 
     List<Order> findByStatusIn(List<OrderStatus> statuses);
 
@@ -28,4 +29,8 @@ public interface OrderRepository extends JpaRepository<Order, Integer>,JpaSpecif
 
     @Query("SELECT o FROM Order o JOIN FETCH o.asset WHERE o.id IN :ids")
     List<Order> findByIdInWithAsset(@Param("ids") List<Integer> ids);
-}
\ No newline at end of file
+
+    @Query("SELECT new com.example.finchange.execution.orderbook.OrderBookEntry(o.id, o.assetId, a.bistCode, o.transactionType, o.limitPrice, o.createdAt) " +
+           "FROM Order o JOIN o.asset a WHERE o.status = 'ACTIVE' AND o.limitPrice IS NOT NULL")
+    List<OrderBookEntry> findActiveOrderBookEntries();
+}
@@ -0,0 +1,23 @@
+package com.example.finchange.execution.service;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.model.Order;
+
+import java.util.List;
+
+public interface OrderBookService {
+
+    void reload();
+
+    void add(Order order);
+
+    void addAll(List<Order> orders);
+
+    void remove(Integer orderId);
+
+    List<Integer> findCrossingBuyOrderIds(String bistCode, Money price);
+
+    List<Integer> findCrossingSellOrderIds(String bistCode, Money price);
+
+    int size();
+}
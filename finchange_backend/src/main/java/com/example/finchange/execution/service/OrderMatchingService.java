@@ -2,7 +2,15 @@ package com.example.finchange.execution.service;
 
 import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
 
+import java.math.BigDecimal;
+
 public interface OrderMatchingService {
 
     void handlePriceUpdate(PriceUpdateEvent message);
+
+    /**
+     * Birleştirilmiş tick aralığı için eşleştirme: alış emirleri aralığın en düşük,
+     * satış emirleri en yüksek fiyatıyla değerlendirilir.
+     */
+    void handlePriceRange(String assetCode, BigDecimal low, BigDecimal high);
 }
\ No newline at end of file
@@ -1,3 +1,22 @@
 package com.example.finchange.execution.service;
 
-public interface SettlementService { void performDailySettlement(); }
\ No newline at end of file
+import com.example.finchange.execution.dto.SettlementReport;
+
+import java.time.LocalDate;
+
+public interface SettlementService {
+
+    void performDailySettlement();
+
+    /**
+     * Takas tarihi verilen gün olan netleşmemiş işlemleri hesap bazında netleştirerek takas eder.
+     * Telafi modunda önceki günlerde kaçırılan işlemler de dahil edilir.
+     */
+    SettlementReport settleDue(LocalDate settlementDate, boolean catchUp);
+
+    /**
+     * Takas kontrolleri kapatıldığında takas tarihine bakılmaksızın bekleyen tüm işlemleri
+     * aynı netleştirme hattından geçirir.
+     */
+    SettlementReport settleAllPending();
+}
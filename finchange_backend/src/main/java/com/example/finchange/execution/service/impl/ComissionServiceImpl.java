@@ -1,11 +1,13 @@
 package com.example.finchange.execution.service.impl;
 
 import com.example.finchange.brokerage.service.BrokerageFirmService;
+import com.example.finchange.common.model.Money;
 import com.example.finchange.execution.service.ComissionService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 
 @Service
 @RequiredArgsConstructor
@@ -16,6 +18,6 @@ public class ComissionServiceImpl implements ComissionService {
     @Override
     public BigDecimal calculateCommission(BigDecimal totalValue) {
         BigDecimal rate = brokerageFirmService.getActiveCommissionRate();
-        return totalValue.multiply(rate);
+        return totalValue.multiply(rate).setScale(Money.SCALE, RoundingMode.HALF_UP);
     }
 }
\ No newline at end of file
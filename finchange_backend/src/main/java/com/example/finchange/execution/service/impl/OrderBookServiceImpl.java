@@ -0,0 +1,173 @@
+package com.example.finchange.execution.service.impl;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.model.Order;
+import com.example.finchange.execution.model.enums.OrderStatus;
+import com.example.finchange.execution.orderbook.OrderBook;
+import com.example.finchange.execution.orderbook.OrderBookEntry;
+import com.example.finchange.execution.repository.OrderRepository;
+import com.example.finchange.execution.service.OrderBookService;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class OrderBookServiceImpl implements OrderBookService {
+
+    private final OrderRepository orderRepository;
+    private final AssetRegistry assetRegistry;
+
+    private final Map<String, OrderBook> books = new ConcurrentHashMap<>();
+    private final Map<Integer, OrderBookEntry> entriesByOrderId = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Emir defteri başlangıçta yüklenemedi. Bir sonraki senkronizasyonda tekrar denenecek. Hata: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Defteri veritabanındaki ACTIVE emirlerden yeniden kurar. Canlı akışta kaçan
+     * bir güncelleme olursa periyodik senkronizasyon bunu telafi eder.
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${matching.order-book.resync-ms:300000}", initialDelayString = "${matching.order-book.resync-ms:300000}")
+    public synchronized void reload() {
+        List<OrderBookEntry> activeEntries = orderRepository.findActiveOrderBookEntries();
+
+        Map<String, OrderBook> newBooks = new ConcurrentHashMap<>();
+        Map<Integer, OrderBookEntry> newEntries = new ConcurrentHashMap<>();
+        for (OrderBookEntry entry : activeEntries) {
+            newBooks.computeIfAbsent(entry.bistCode(), OrderBook::new).add(entry);
+            newEntries.put(entry.orderId(), entry);
+        }
+
+        books.keySet().retainAll(newBooks.keySet());
+        books.putAll(newBooks);
+        entriesByOrderId.clear();
+        entriesByOrderId.putAll(newEntries);
+
+        log.info("Emir defteri yüklendi: {} varlık için {} aktif emir.", newBooks.size(), newEntries.size());
+    }
+
+    /**
+     * Emir, açık bir transaction varsa commit sonrasında deftere girer; böylece
+     * eşleştirme motoru henüz görünür olmayan bir emri asla görmez.
+     */
+    @Override
+    public void add(Order order) {
+        addAll(List.of(order));
+    }
+
+    @Override
+    public void addAll(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    orders.forEach(OrderBookServiceImpl.this::addNow);
+                }
+            });
+        } else {
+            orders.forEach(this::addNow);
+        }
+    }
+
+    private synchronized void addNow(Order order) {
+        if (order.getStatus() != OrderStatus.ACTIVE || order.getLimitPrice() == null || order.getId() == null) {
+            return;
+        }
+        String bistCode = resolveBistCode(order);
+        if (bistCode == null) {
+            log.warn("Emir ID {} için varlık kodu bulunamadı, emir defterine eklenemedi.", order.getId());
+            return;
+        }
+
+        removeNow(order.getId());
+        OrderBookEntry entry = new OrderBookEntry(order.getId(), order.getAssetId(), bistCode,
+                order.getTransactionType(), order.getLimitPrice(), order.getCreatedAt());
+        books.computeIfAbsent(bistCode, OrderBook::new).add(entry);
+        entriesByOrderId.put(entry.orderId(), entry);
+    }
+
+    /**
+     * Emir defterden hemen çıkarılır; böylece iptal/güncelleme sürerken eşleşmez. Açık bir
+     * transaction geri alınırsa aynı kayıt (fiyat ve zaman önceliğiyle) deftere geri konur.
+     */
+    @Override
+    public synchronized void remove(Integer orderId) {
+        OrderBookEntry entry = removeNow(orderId);
+        if (entry == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                if (status == STATUS_ROLLED_BACK) {
+                    restore(entry);
+                }
+            }
+        });
+    }
+
+    private synchronized OrderBookEntry removeNow(Integer orderId) {
+        if (orderId == null) {
+            return null;
+        }
+        OrderBookEntry entry = entriesByOrderId.remove(orderId);
+        if (entry == null) {
+            return null;
+        }
+        OrderBook book = books.get(entry.bistCode());
+        if (book != null) {
+            book.remove(entry);
+        }
+        return entry;
+    }
+
+    private synchronized void restore(OrderBookEntry entry) {
+        // Bu arada emir için daha yeni bir kayıt eklendiyse o korunur.
+        if (entriesByOrderId.putIfAbsent(entry.orderId(), entry) == null) {
+            books.computeIfAbsent(entry.bistCode(), OrderBook::new).add(entry);
+            log.debug("Geri alınan transaction sonrası emir ID {} deftere geri kondu.", entry.orderId());
+        }
+    }
+
+    @Override
+    public List<Integer> findCrossingBuyOrderIds(String bistCode, Money price) {
+        OrderBook book = books.get(bistCode);
+        return book == null ? List.of() : book.crossingBuyOrderIds(price);
+    }
+
+    @Override
+    public List<Integer> findCrossingSellOrderIds(String bistCode, Money price) {
+        OrderBook book = books.get(bistCode);
+        return book == null ? List.of() : book.crossingSellOrderIds(price);
+    }
+
+    @Override
+    public int size() {
+        return entriesByOrderId.size();
+    }
+
+    private String resolveBistCode(Order order) {
+        return assetRegistry.getBistCode(order.getAssetId());
+    }
+}
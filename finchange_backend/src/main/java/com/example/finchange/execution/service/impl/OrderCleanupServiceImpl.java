@@ -3,6 +3,7 @@ package com.example.finchange.execution.service.impl;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.enums.OrderStatus;
 import com.example.finchange.execution.repository.OrderRepository;
+import com.example.finchange.execution.service.OrderBookService;
 import com.example.finchange.portfolio.service.PortfolioService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -19,6 +20,7 @@ public class OrderCleanupServiceImpl {
 
     private final OrderRepository orderRepository;
     private final PortfolioService portfolioService;
+    private final OrderBookService orderBookService;
 
     @Scheduled(cron = "0 10 18 * * MON-FRI", zone = "Europe/Istanbul")
     @Transactional
@@ -36,6 +38,7 @@ public class OrderCleanupServiceImpl {
         log.info("{} adet gün sonu açık emir bulundu. İptal işlemleri başlatılıyor...", openOrders.size());
 
         for (Order order : openOrders) {
+            orderBookService.remove(order.getId());
             try {
                 portfolioService.releaseBlockForCancelledOrder(order);
 
@@ -1,6 +1,5 @@
 package com.example.finchange.execution.service.impl;
 
-import com.example.finchange.execution.dto.event.OrderExecutedEvent;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.OrderExecution;
 import com.example.finchange.execution.model.enums.OrderStatus;
@@ -10,23 +9,21 @@ import com.example.finchange.execution.publisher.OrderEventPublisher;
 import com.example.finchange.execution.repository.OrderExecutionRepository;
 import com.example.finchange.execution.repository.OrderRepository;
 import com.example.finchange.execution.service.ComissionService;
+import com.example.finchange.execution.service.OrderBookService;
 import com.example.finchange.execution.service.OrderExecutionService;
 import com.example.finchange.execution.util.BusinessDayCalculator;
+import com.example.finchange.portfolio.lane.AccountLaneExecutor;
+import com.example.finchange.portfolio.service.AssetRegistry;
 import com.example.finchange.portfolio.service.PortfolioService;
 import com.example.finchange.marketSimulation.service.MarketSessionService;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
-import java.time.Instant;
 import java.time.LocalDateTime;
-import com.example.finchange.customer.repository.CustomerAccountRepository;
-import com.example.finchange.customer.model.CustomerAccount;
-import com.example.finchange.portfolio.repository.AssetRepository;
-import com.example.finchange.portfolio.model.Asset;
-import jakarta.persistence.EntityNotFoundException;
 
 @Service
 @Slf4j
@@ -40,65 +37,91 @@ public class OrderExecutionServiceImpl implements OrderExecutionService {
     private final BusinessDayCalculator businessDayCalculator;
     private final PortfolioService portfolioService;
     private final MarketSessionService marketSessionService;
-    private final CustomerAccountRepository customerAccountRepository;
-    private final AssetRepository assetRepository;
-
+    private final OrderBookService orderBookService;
+    private final AssetRegistry assetRegistry;
+    private final AccountLaneExecutor accountLanes;
+
+    /**
+     * Gerçekleşme hesabın şeridine gönderilir; aynı hesabın blokaj, iade ve gerçekleşmeleri sırayla
+     * ve şeridin transaction'ında uygulanır. Çağıran transaction'a katılmaz.
+     */
     @Override
-    @Transactional
     public void executeSingleOrder(Order order, BigDecimal executionPrice) {
+        Integer orderId = order.getId();
+        Integer accountId = order.getCustomerAccountId();
+        accountLanes.submit(accountId, () -> fill(orderId, executionPrice))
+                .whenComplete((ignored, error) -> {
+                    if (error != null) {
+                        markFailed(orderId, accountId, error);
+                    }
+                });
+    }
 
-        try {
-            int remainingLots = order.getInitialLotAmount() - order.getFilledLotAmount();
-            if (remainingLots <= 0) return;
-            
-            int lotsToExecute = remainingLots; 
+    private void fill(Integer orderId, BigDecimal executionPrice) {
+        Order order = orderRepository.findById(orderId)
+                .orElseThrow(() -> new EntityNotFoundException("Gerçekleşecek emir bulunamadı: " + orderId));
+        if (order.getStatus() != OrderStatus.ACTIVE && order.getStatus() != OrderStatus.PARTIALLY_FILLED) {
+            log.info("Emir ID {} artık eşleşmeye uygun değil (durum: {}), gerçekleşme atlandı.", orderId, order.getStatus());
+            return;
+        }
 
-            BigDecimal totalValue = executionPrice.multiply(new BigDecimal(lotsToExecute));
-            BigDecimal commissionAmount = comissionService.calculateCommission(totalValue);
+        int remainingLots = order.getInitialLotAmount() - order.getFilledLotAmount();
+        if (remainingLots <= 0) return;
 
-            OrderExecution execution = createExecutionRecord(order, executionPrice, commissionAmount, lotsToExecute);
-            orderExecutionRepository.save(execution);
+        int lotsToExecute = remainingLots;
 
-            order.setFilledLotAmount(order.getFilledLotAmount() + lotsToExecute);
-            order.setStatus(order.getFilledLotAmount() >= order.getInitialLotAmount() ? OrderStatus.FILLED : OrderStatus.PARTIALLY_FILLED);
-            orderRepository.save(order);
+        BigDecimal totalValue = executionPrice.multiply(BigDecimal.valueOf(lotsToExecute));
+        BigDecimal commissionAmount = comissionService.calculateCommission(totalValue);
 
-            log.info("BAŞARILI: Emir ID {} için {} lot gerçekleşti.", order.getId(), lotsToExecute);
+        OrderExecution execution = createExecutionRecord(order, executionPrice, commissionAmount, lotsToExecute);
+        orderExecutionRepository.save(execution);
 
-            try {
+        order.setFilledLotAmount(order.getFilledLotAmount() + lotsToExecute);
+        order.setStatus(order.getFilledLotAmount() >= order.getInitialLotAmount() ? OrderStatus.FILLED : OrderStatus.PARTIALLY_FILLED);
+        orderRepository.save(order);
+        orderBookService.remove(order.getId());
 
-                boolean isSettlementControlsActive = marketSessionService.areSettlementControlsActive();
+        log.info("BAŞARILI: Emir ID {} için {} lot gerçekleşti.", order.getId(), lotsToExecute);
 
-                if (order.getTransactionType() == TransactionType.BUY) {
-                    if (isSettlementControlsActive) {
-                        portfolioService.blockAssetForBuyExecution(execution);
-                    } else {
-                        portfolioService.increaseHoldingsImmediately(execution);
-                    }
-                } else if (order.getTransactionType() == TransactionType.SELL) {
-                    if (isSettlementControlsActive) {
-                        portfolioService.applySellExecutionHold(execution);
-                    } else {
-                        portfolioService.settleSellTransaction(execution);
-                    }
+        try {
+
+            boolean isSettlementControlsActive = marketSessionService.areSettlementControlsActive();
+
+            if (order.getTransactionType() == TransactionType.BUY) {
+                if (isSettlementControlsActive) {
+                    portfolioService.blockAssetForBuyExecution(execution);
+                } else {
+                    portfolioService.increaseHoldingsImmediately(execution);
+                }
+            } else if (order.getTransactionType() == TransactionType.SELL) {
+                if (isSettlementControlsActive) {
+                    portfolioService.applySellExecutionHold(execution);
+                } else {
+                    portfolioService.settleSellTransaction(execution);
                 }
-            } catch (Exception err) {
-                log.error("Execution sonrası settlement override uygulaması sırasında hata: {}", err.getMessage(), err);
             }
+        } catch (OptimisticLockingFailureException conflict) {
+            throw conflict;
+        } catch (Exception err) {
+            log.error("Execution sonrası settlement override uygulaması sırasında hata: {}", err.getMessage(), err);
+        }
 
-            publishOrderEvent(order, execution);
+        orderEventPublisher.publishOrderExecutedEvent(order, execution);
+    }
 
-        } catch (Exception e) {
-            log.error("HATA: Emir ID {} işlenemedi! Sebep: {}. Emir 'FAILED' olarak işaretleniyor.", order.getId(), e.getMessage(), e);
+    private void markFailed(Integer orderId, Integer accountId, Throwable error) {
+        log.error("HATA: Emir ID {} işlenemedi! Sebep: {}. Emir 'FAILED' olarak işaretleniyor.", orderId, error.getMessage(), error);
+        orderBookService.remove(orderId);
+        accountLanes.submit(accountId, () -> orderRepository.findById(orderId).ifPresent(order -> {
             order.setStatus(OrderStatus.FAILED);
             orderRepository.save(order);
-        }
+        }));
     }
 
     private OrderExecution createExecutionRecord(Order order, BigDecimal price, BigDecimal commission, int executedLots) {
         BigDecimal locked = (order.getOrderType() == OrderType.MARKET)
                 ? price
-                : order.getLimitPrice();
+                : order.getLimitPrice().toBigDecimal();
 
         return OrderExecution.builder()
                 .order(order)
@@ -108,36 +131,7 @@ public class OrderExecutionServiceImpl implements OrderExecutionService {
                 .executedLotAmount(executedLots)
                 .executionTimestamp(LocalDateTime.now())
                 .isSettled(false)
-                .settlementDate(businessDayCalculator.getBusinessDayAfter(LocalDateTime.now().toLocalDate(), 2))
+                .settlementDate(businessDayCalculator.getSettlementDate(LocalDateTime.now().toLocalDate(), assetRegistry.getSettlementDays(order.getAssetId())))
                 .build();
     }
-
-    private void publishOrderEvent(Order order, OrderExecution execution) {
-        int remainingLots = order.getInitialLotAmount() - order.getFilledLotAmount();
-
-        CustomerAccount acc = customerAccountRepository.findById(order.getCustomerAccountId())
-                .orElseThrow(() -> new EntityNotFoundException("Müşteri hesabı bulunamadı: " + order.getCustomerAccountId()));
-        Integer customerId = acc.getCustomer().getId();
-        String musteriKodu = acc.getCustomer().getCustomerCode();
-
-        Asset asset = assetRepository.findById(order.getAssetId())
-                .orElseThrow(() -> new EntityNotFoundException("Varlık bulunamadı: " + order.getAssetId()));
-        String bistCode = asset.getBistCode();
-
-        OrderExecutedEvent event = new OrderExecutedEvent(
-                order.getId(),
-                customerId,
-                musteriKodu,
-                order.getAssetId(),
-                bistCode,
-                order.getTransactionType().name(),
-                order.getStatus().name(),
-                execution.getExecutedLotAmount(),
-                execution.getExecutedPrice(),
-                execution.getCommissionAmount(),
-                remainingLots,
-                Instant.now()
-        );
-        orderEventPublisher.publishOrderExecutedEvent(event);
-    }
 }
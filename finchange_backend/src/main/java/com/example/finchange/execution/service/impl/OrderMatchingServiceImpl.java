@@ -1,20 +1,27 @@
 package com.example.finchange.execution.service.impl;
 
+import com.example.finchange.common.model.Money;
 import com.example.finchange.execution.model.Order;
+import com.example.finchange.execution.model.enums.OrderStatus;
+import com.example.finchange.execution.model.enums.TransactionType;
 import com.example.finchange.execution.repository.OrderRepository;
+import com.example.finchange.execution.service.OrderBookService;
 import com.example.finchange.execution.service.OrderExecutionService;
 import com.example.finchange.execution.service.OrderMatchingService;
 import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
-import com.example.finchange.portfolio.repository.AssetRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.kafka.annotation.KafkaListener;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.transaction.support.TransactionSynchronization;
 import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -22,25 +29,35 @@ import java.util.List;
 public class OrderMatchingServiceImpl implements OrderMatchingService {
 
     private final OrderRepository orderRepository;
-    private final AssetRepository assetRepository;
+    private final OrderBookService orderBookService;
     private final OrderExecutionService orderExecutionService; 
 
     @Override
-    @KafkaListener(topics = "market-price-updates", groupId = "finchange-matching-engine", containerFactory = "kafkaListenerContainerFactory")
     @Transactional(readOnly = true) 
     public void handlePriceUpdate(PriceUpdateEvent event) {
+        match(event.getAssetCode(), event.getPrice(), event.getPrice());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public void handlePriceRange(String assetCode, BigDecimal low, BigDecimal high) {
+        match(assetCode, low, high);
+    }
+
+    private void match(String assetCode, BigDecimal buyPrice, BigDecimal sellPrice) {
         try {
-            Integer assetId = assetRepository.findByBistCode(event.getAssetCode())
-                    .map(asset -> asset.getId())
-                    .orElse(null);
+            // Defter anahtarları Money; olay başına tek dönüşüm, tek fiyatlı güncellemede ikisi aynı nesne.
+            Money buyCross = Money.of(buyPrice);
+            Money sellCross = sellPrice == buyPrice ? buyCross : Money.of(sellPrice);
+            List<Integer> buyOrderIds = orderBookService.findCrossingBuyOrderIds(assetCode, buyCross);
+            List<Integer> sellOrderIds = orderBookService.findCrossingSellOrderIds(assetCode, sellCross);
 
-            if (assetId == null) {
-                log.warn("{} için veritabanında varlık tanımı bulunamadı. Eşleştirme atlanıyor.", event.getAssetCode());
+            if (buyOrderIds.isEmpty() && sellOrderIds.isEmpty()) {
                 return;
             }
 
-            List<Order> buyOrders = orderRepository.findMatchingBuyOrders(assetId, event.getPrice());
-            List<Order> sellOrders = orderRepository.findMatchingSellOrders(assetId, event.getPrice());
+            List<Order> buyOrders = loadMatchableOrders(buyOrderIds, TransactionType.BUY, buyCross);
+            List<Order> sellOrders = loadMatchableOrders(sellOrderIds, TransactionType.SELL, sellCross);
 
             if (buyOrders.isEmpty() && sellOrders.isEmpty()) {
                 return;
@@ -49,9 +66,9 @@ public class OrderMatchingServiceImpl implements OrderMatchingService {
             TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
                 @Override
                 public void afterCommit() {
-                    log.info("{} için {} alım ve {} satım emri eşleşme için gönderiliyor.", event.getAssetCode(), buyOrders.size(), sellOrders.size());
-                    buyOrders.forEach(order -> orderExecutionService.executeSingleOrder(order, event.getPrice()));
-                    sellOrders.forEach(order -> orderExecutionService.executeSingleOrder(order, event.getPrice()));
+                    log.info("{} için {} alım ve {} satım emri eşleşme için gönderiliyor.", assetCode, buyOrders.size(), sellOrders.size());
+                    buyOrders.forEach(order -> orderExecutionService.executeSingleOrder(order, buyPrice));
+                    sellOrders.forEach(order -> orderExecutionService.executeSingleOrder(order, sellPrice));
                 }
             });
 
@@ -59,4 +76,34 @@ public class OrderMatchingServiceImpl implements OrderMatchingService {
             log.error("Kafka'dan gelen fiyat güncelleme mesajı işlenirken hata oluştu: {}", e.getMessage(), e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Defterden gelen ID'leri öncelik sırasını koruyarak yükler. Defter ile veritabanı
+     * arasında kayma olmuşsa (emir artık ACTIVE değil ya da fiyatı değişmiş) emir
+     * eşleştirilmez ve defterden düşürülür.
+     */
+    private List<Order> loadMatchableOrders(List<Integer> orderIds, TransactionType transactionType, Money price) {
+        if (orderIds.isEmpty()) {
+            return List.of();
+        }
+        Map<Integer, Order> ordersById = orderRepository.findAllById(orderIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<Order> matchable = new ArrayList<>(orderIds.size());
+        for (Integer orderId : orderIds) {
+            Order order = ordersById.get(orderId);
+            if (order == null || order.getStatus() != OrderStatus.ACTIVE || order.getLimitPrice() == null) {
+                orderBookService.remove(orderId);
+                continue;
+            }
+            int comparison = order.getLimitPrice().compareTo(price);
+            boolean crosses = transactionType == TransactionType.BUY ? comparison >= 0 : comparison <= 0;
+            if (crosses) {
+                matchable.add(order);
+            } else {
+                orderBookService.add(order);
+            }
+        }
+        return matchable;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.data.jpa.domain.Specification;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import com.example.finchange.common.model.Money;
 import com.example.finchange.customer.model.CustomerAccount;
 import com.example.finchange.customer.repository.CustomerAccountRepository;
 import com.example.finchange.execution.dto.BulkOrderRequest;
@@ -28,6 +29,7 @@ import com.example.finchange.portfolio.model.Asset;
 import com.example.finchange.portfolio.model.CustomerAsset;
 import com.example.finchange.portfolio.repository.AssetRepository;
 import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
 import com.example.finchange.portfolio.service.PortfolioService;
 import jakarta.persistence.EntityNotFoundException;
 import com.example.finchange.execution.exception.MarketClosedException;
@@ -39,13 +41,14 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 import org.springframework.context.ApplicationEventPublisher;
 import com.example.finchange.execution.events.OrdersCreatedEvent;
 import com.example.finchange.common.util.SecurityUtils; 
-import com.example.finchange.execution.dto.event.OrderCancelledEvent; 
 import com.example.finchange.execution.publisher.OrderEventPublisher; 
-import java.time.Instant; 
 import com.example.finchange.execution.service.OrderExecutionService;
+import com.example.finchange.execution.service.OrderBookService;
 
 import java.math.BigDecimal;
 import java.util.List;
@@ -63,6 +66,7 @@ public class OrderServiceImpl implements OrderService {
     private final PortfolioService portfolioService;
     private final StringRedisTemplate redisTemplate;
     private final AssetRepository assetRepository;
+    private final AssetRegistry assetRegistry;
     private final CustomerAccountRepository customerAccountRepository;
     private final CustomerAssetRepository customerAssetRepository;
     private final SecurityUtils securityUtils; 
@@ -71,6 +75,7 @@ public class OrderServiceImpl implements OrderService {
     private final OrderMapper orderMapper;
     private final OrderExecutionService orderExecutionService;
     private final ApplicationEventPublisher eventPublisher;
+    private final OrderBookService orderBookService;
 
     @Override
     @Transactional
@@ -92,10 +97,12 @@ public class OrderServiceImpl implements OrderService {
             }
         }
 
+        // Toplu emirdeki tüm emirler aynı kilitli fiyatı paylaşır; Money bir kez oluşturulur.
+        Money lockedMoney = Money.of(lockedPrice);
         if (asset.getMaxOrderValue() != null && asset.getMaxOrderValue().compareTo(BigDecimal.ZERO) > 0) {
+            Money maxOrderValue = Money.of(asset.getMaxOrderValue());
             for (CustomerOrderRequest customerOrder : request.getCustomerOrders()) {
-                BigDecimal orderValue = lockedPrice.multiply(new BigDecimal(customerOrder.getLotAmount()));
-                if (orderValue.compareTo(asset.getMaxOrderValue()) > 0) {
+                if (lockedMoney.times(customerOrder.getLotAmount()).isGreaterThan(maxOrderValue)) {
                     throw new com.example.finchange.execution.exception.MaxOrderValueExceededException(
                             "Emir değeri, bu hisse için belirlenen maksimum değeri (" + asset.getMaxOrderValue() + " " + asset.getCurrency() + ") aşıyor.");
                 }
@@ -104,25 +111,26 @@ public class OrderServiceImpl implements OrderService {
 
         log.info("Ön kontrol adımı başlatılıyor...");
         if (request.getTransactionType() == TransactionType.BUY) {
-            validateBuyOrders(request.getCustomerOrders(), lockedPrice);
+            validateBuyOrders(request.getCustomerOrders(), lockedMoney);
         } else {
             validateSellOrders(request.getCustomerOrders(), asset.getId());
         }
 
         log.info("Asıl işlem döngüsü başlatılıyor...");
         String batchId = UUID.randomUUID().toString();
-        List<Order> createdOrders = new ArrayList<>();
-        request.getCustomerOrders().forEach(customerOrder -> {
-            Order newOrder = createOrderEntity(customerOrder, asset, request, batchId, lockedPrice);
-            Order savedOrder = orderRepository.save(newOrder);
-            
-            if (request.getTransactionType() == TransactionType.BUY) {
-                portfolioService.blockBalanceForBuyOrder(savedOrder);
-            } else {
-                portfolioService.blockAssetForSellOrder(savedOrder);
-            }
-            createdOrders.add(savedOrder);
-        });
+        OrderStatus initialStatus = marketSessionService.isMarketOpenNow() ? OrderStatus.ACTIVE : OrderStatus.QUEUED;
+        List<Order> newOrders = request.getCustomerOrders().stream()
+                .map(customerOrder -> createOrderEntity(customerOrder, asset, request, batchId, lockedMoney, initialStatus))
+                .collect(Collectors.toList());
+        List<Order> createdOrders = orderRepository.saveAll(newOrders);
+
+        if (request.getTransactionType() == TransactionType.BUY) {
+            portfolioService.blockBalancesForBuyOrders(createdOrders);
+        } else {
+            portfolioService.blockAssetsForSellOrders(createdOrders);
+        }
+
+        orderBookService.addAll(createdOrders);
 
         List<Integer> createdOrderIds = createdOrders.stream().map(Order::getId).collect(Collectors.toList());
         eventPublisher.publishEvent(new OrdersCreatedEvent(createdOrderIds));
@@ -135,7 +143,8 @@ public class OrderServiceImpl implements OrderService {
                                     Asset asset,
                                     BulkOrderRequest bulkRequest,
                                     String batchId,
-                                    BigDecimal priceToUse) {
+                                    Money priceToUse,
+                                    OrderStatus initialStatus) {
         return Order.builder()
                 .orderCode(UUID.randomUUID().toString())
                 .batchId(batchId)
@@ -143,7 +152,7 @@ public class OrderServiceImpl implements OrderService {
                 .assetId(asset.getId())
                 .transactionType(bulkRequest.getTransactionType())
                 .orderType(bulkRequest.getOrderType())
-                .status(marketSessionService.isMarketOpenNow() ? OrderStatus.ACTIVE : OrderStatus.QUEUED)
+                .status(initialStatus)
                 .initialLotAmount(customerOrder.getLotAmount())
                 .filledLotAmount(0)
                 .limitPrice(priceToUse)
@@ -151,7 +160,7 @@ public class OrderServiceImpl implements OrderService {
                 .build();
     }
 
-    private void validateBuyOrders(List<CustomerOrderRequest> customerOrders, BigDecimal lockedPrice) {
+    private void validateBuyOrders(List<CustomerOrderRequest> customerOrders, Money lockedMoney) {
         List<Integer> accountIds = customerOrders.stream().map(CustomerOrderRequest::getCustomerAccountId).collect(Collectors.toList());
         Map<Integer, CustomerAccount> accountsMap = customerAccountRepository.findAllById(accountIds).stream()
                 .collect(Collectors.toMap(CustomerAccount::getId, Function.identity()));
@@ -160,10 +169,10 @@ public class OrderServiceImpl implements OrderService {
             CustomerAccount account = accountsMap.get(orderRequest.getCustomerAccountId());
             if (account == null) throw new EntityNotFoundException("Müşteri hesabı bulunamadı: " + orderRequest.getCustomerAccountId());
 
-            BigDecimal requiredAmount = lockedPrice.multiply(new BigDecimal(orderRequest.getLotAmount()));
-            BigDecimal availableBalance = account.getBalance().subtract(account.getBlockedBalance());
+            Money requiredAmount = lockedMoney.times(orderRequest.getLotAmount());
+            Money availableBalance = account.getBalance().minus(account.getBlockedBalance());
 
-            if (availableBalance.compareTo(requiredAmount) < 0) {
+            if (availableBalance.isLessThan(requiredAmount)) {
                 throw new InsufficientFundsException("Hesap ID " + account.getId() + " için yetersiz bakiye.");
             }
         }
@@ -199,7 +208,7 @@ public class OrderServiceImpl implements OrderService {
         if (livePriceStr == null) {
             throw new LivePriceUnavailableException("Piyasa kapalı veya canlı fiyat yok: " + bistCode);
         }
-        return new BigDecimal(livePriceStr);
+        return Money.parse(livePriceStr).toBigDecimal();
     }
 
     @Override
@@ -220,7 +229,7 @@ public class OrderServiceImpl implements OrderService {
                 }
 
                 BigDecimal requiredAmount = priceToUse.multiply(new BigDecimal(request.getLotAmount()));
-                BigDecimal availableBalance = account.getBalance().subtract(account.getBlockedBalance());
+                BigDecimal availableBalance = account.getBalance().minus(account.getBlockedBalance()).toBigDecimal();
 
                 if (availableBalance.compareTo(requiredAmount) < 0) {
                     return ValidateLotResponse.builder().valid(false).message("Yetersiz bakiye.").build();
@@ -288,29 +297,9 @@ public class OrderServiceImpl implements OrderService {
         portfolioService.releaseBlockForCancelledOrder(order);
 
         order.setStatus(OrderStatus.CANCELLED);
+        orderBookService.remove(order.getId());
 
-        Integer customerIdForEvent;
-        String bistCodeForEvent;
-
-        CustomerAccount accForEvent = customerAccountRepository.findById(order.getCustomerAccountId())
-                .orElseThrow(() -> new EntityNotFoundException("Müşteri hesabı bulunamadı: " + order.getCustomerAccountId()));
-        customerIdForEvent = accForEvent.getCustomer().getId();
-
-        Asset assetForEvent = assetRepository.findById(order.getAssetId())
-                .orElseThrow(() -> new EntityNotFoundException("Varlık bulunamadı: " + order.getAssetId()));
-        bistCodeForEvent = assetForEvent.getBistCode();
-
-        OrderCancelledEvent event = new OrderCancelledEvent(
-            order.getId(),
-            customerIdForEvent,
-            order.getAssetId(),
-            bistCodeForEvent,
-            order.getTransactionType().name(),
-            order.getStatus().name(),
-            order.getInitialLotAmount() - order.getFilledLotAmount(),
-            Instant.now()
-        );
-        orderEventPublisher.publishOrderCancelledEvent(event);
+        orderEventPublisher.publishOrderCancelledEvent(order, remainingLotsForCancel);
 
         log.info("Emir ID {} kullanıcı ID {} tarafından başarıyla iptal edildi.", orderId, currentUserId);
     }
@@ -373,6 +362,7 @@ public class OrderServiceImpl implements OrderService {
                 orderId, order.getInitialLotAmount(), request.getLotAmount());
 
         portfolioService.releaseBlockForCancelledOrder(order);
+        orderBookService.remove(order.getId());
 
         order.setOrderType(request.getOrderType());
 
@@ -386,9 +376,9 @@ public class OrderServiceImpl implements OrderService {
             }
             priceToUse = request.getLimitPrice();
         } else {
-            priceToUse = getCurrentMarketPrice(order.getAsset().getBistCode());
+            priceToUse = getCurrentMarketPrice(assetRegistry.getBistCode(order.getAssetId()));
         }
-        order.setLimitPrice(priceToUse);
+        order.setLimitPrice(Money.of(priceToUse));
 
         int oldLotAmount = order.getInitialLotAmount();
         int newLotAmount = request.getLotAmount();
@@ -414,6 +404,7 @@ public class OrderServiceImpl implements OrderService {
         }
 
         Order savedOrder = orderRepository.save(order);
+        orderBookService.add(savedOrder);
         
         log.info("Emir ID {} kullanıcı ID {} tarafından başarıyla güncellendi. Eski lot: {}, Yeni lot: {}",
                 orderId, currentUserId, oldLotAmount, newLotAmount);
@@ -427,7 +418,7 @@ public class OrderServiceImpl implements OrderService {
         if (livePriceStr == null) {
             throw new IllegalStateException("Piyasa emri için canlı fiyat bulunamadı: " + bistCode);
         }
-        return new BigDecimal(livePriceStr);
+        return Money.parse(livePriceStr).toBigDecimal();
     }
 
     @Override
@@ -442,15 +433,15 @@ public class OrderServiceImpl implements OrderService {
             return;
         }
 
-        String bistCode = orders.get(0).getAsset().getBistCode();
-        BigDecimal currentPrice;
+        String bistCode = assetRegistry.getBistCode(orders.get(0).getAssetId());
+        Money currentPrice;
         try {
             String livePriceStr = redisTemplate.opsForValue().get("asset:live_price:" + bistCode);
             if (livePriceStr == null) {
                 log.warn("Anında eşleşme için canlı fiyat bulunamadı: {}", bistCode);
                 return;
             }
-            currentPrice = new BigDecimal(livePriceStr);
+            currentPrice = Money.parse(livePriceStr);
         } catch (Exception e) {
             log.error("Anında eşleşme için canlı fiyat alınırken hata oluştu.", e);
             return;
@@ -458,22 +449,40 @@ public class OrderServiceImpl implements OrderService {
 
         log.info("{} için anında eşleşme kontrolü başlatıldı. Mevcut Fiyat: {}", bistCode, currentPrice);
 
+        BigDecimal executionPrice = currentPrice.toBigDecimal();
+        List<Order> ordersToExecute = new ArrayList<>();
         for (Order order : orders) {
             boolean shouldExecute = false;
             if (order.getOrderType() == OrderType.MARKET) {
                 shouldExecute = true;
             } else if (order.getOrderType() == OrderType.LIMIT) {
-                if (order.getTransactionType() == TransactionType.BUY && order.getLimitPrice().compareTo(currentPrice) >= 0) {
+                Money limitPrice = order.getLimitPrice();
+                if (order.getTransactionType() == TransactionType.BUY && limitPrice.compareTo(currentPrice) >= 0) {
                     shouldExecute = true;
-                } else if (order.getTransactionType() == TransactionType.SELL && order.getLimitPrice().compareTo(currentPrice) <= 0) {
+                } else if (order.getTransactionType() == TransactionType.SELL && limitPrice.compareTo(currentPrice) <= 0) {
                     shouldExecute = true;
                 }
             }
 
             if (shouldExecute) {
                 log.info("ANINDA EŞLEŞME: Emir ID {} gerçekleşiyor.", order.getId());
-                orderExecutionService.executeSingleOrder(order, currentPrice);
+                ordersToExecute.add(order);
             }
         }
+        if (ordersToExecute.isEmpty()) {
+            return;
+        }
+
+        // Gerçekleşme hesap şeridinde ayrı transaction'da çalışır; emir güncellemesi commit edilmeden gönderilmez
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    ordersToExecute.forEach(order -> orderExecutionService.executeSingleOrder(order, executionPrice));
+                }
+            });
+        } else {
+            ordersToExecute.forEach(order -> orderExecutionService.executeSingleOrder(order, executionPrice));
+        }
     }
 }
\ No newline at end of file
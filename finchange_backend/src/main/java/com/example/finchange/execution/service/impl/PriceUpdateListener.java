@@ -0,0 +1,28 @@
+package com.example.finchange.execution.service.impl;
+
+import com.example.finchange.execution.matching.ShardedMatchingEngine;
+import com.example.finchange.execution.service.OrderMatchingService;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class PriceUpdateListener {
+
+    private final ShardedMatchingEngine shardedMatchingEngine;
+    private final OrderMatchingService orderMatchingService;
+
+    @KafkaListener(topics = "market-price-updates", groupId = "finchange-matching-engine", containerFactory = "kafkaListenerContainerFactory")
+    public void onPriceUpdate(PriceUpdateEvent event) {
+        if (event == null || event.getAssetCode() == null || event.getPrice() == null) {
+            return;
+        }
+        if (shardedMatchingEngine.isEnabled()) {
+            shardedMatchingEngine.submit(event);
+        } else {
+            orderMatchingService.handlePriceUpdate(event);
+        }
+    }
+}
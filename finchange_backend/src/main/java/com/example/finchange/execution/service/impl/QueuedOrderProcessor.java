@@ -3,6 +3,7 @@ package com.example.finchange.execution.service.impl;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.enums.OrderStatus;
 import com.example.finchange.execution.repository.OrderRepository;
+import com.example.finchange.execution.service.OrderBookService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
@@ -17,6 +18,7 @@ import java.util.List;
 public class QueuedOrderProcessor {
 
     private final OrderRepository orderRepository;
+    private final OrderBookService orderBookService;
 
     @Scheduled(cron = "0 40 9 * * MON-FRI", zone = "Europe/Istanbul")
     @Transactional
@@ -37,6 +39,7 @@ public class QueuedOrderProcessor {
         }
         
         orderRepository.saveAll(queuedOrders);
+        orderBookService.addAll(queuedOrders);
         log.info("===== [ZAMANLANMIŞ GÖREV] Kuyruktaki Emirleri İşleme Görevi Tamamlandı =====");
     }
 }
@@ -1,83 +1,307 @@
 package com.example.finchange.execution.service.impl;
 
-import com.example.finchange.execution.exception.SettlementFailedException;
-import com.example.finchange.execution.model.OrderExecution;
-import com.example.finchange.execution.model.enums.TransactionType;
-import com.example.finchange.execution.repository.OrderExecutionRepository;
+import com.example.finchange.execution.dto.SettlementChunkReport;
+import com.example.finchange.execution.dto.SettlementPartitionReport;
+import com.example.finchange.execution.dto.SettlementReport;
 import com.example.finchange.execution.service.SettlementService;
+import com.example.finchange.execution.settlement.AccountSettlement;
+import com.example.finchange.execution.settlement.SettlementChunkProcessor;
+import com.example.finchange.execution.settlement.SettlementChunkProcessor.ChunkOutcome;
 import com.example.finchange.execution.util.BusinessDayCalculator;
-import com.example.finchange.portfolio.service.PortfolioService;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
+
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Günlük takas. Takas tarihi bugün olan işlemler (telafi modunda önceki günlerden kalanlar da)
+ * {@code settlement_date} indeksinden okunur; böylece süre yalnızca vadesi gelen işlem sayısına bağlıdır.
+ * İşlemler hesap bazında netleştirilir, müşteri id'sinin hash'ine göre bölümlere
+ * ayrılır ve bölümler sınırlı bir fork/join havuzunda paralel takas edilir. Aynı müşterinin tüm
+ * hesapları aynı bölüme düştüğü için iki bölüm asla aynı MusteriHesaplari/MusteriVarliklari satırına
+ * yazmaz; bölüm içinde de satırlar sabit sırayla güncellenir.
+ * <p>
+ * Her bölüm hesap grupları (chunk) halinde, her grup kendi transaction'ında uygulanır. Hata veren grup
+ * hesap hesap yeniden denenir; yine başarısız olan hesaplar bölüm bazında, diğer bölümlerden bağımsız
+ * olarak tekrar denenir.
+ */
 @Service
 @RequiredArgsConstructor
 public class SettlementServiceImpl implements SettlementService {
 
     private static final Logger log = LoggerFactory.getLogger(SettlementServiceImpl.class);
     private final BusinessDayCalculator businessDayCalculator;
-    private final OrderExecutionRepository executionRepository;
-    private final PortfolioService portfolioService;
+    private final SettlementChunkProcessor chunkProcessor;
+
+    @Value("${settlement.catch-up:true}")
+    private boolean catchUp = true;
+
+    @Value("${settlement.chunk-size:200}")
+    private int chunkSize = 200;
+
+    @Value("${settlement.parallelism:4}")
+    private int parallelism = 4;
+
+    @Value("${settlement.partition-retries:2}")
+    private int partitionRetries = 2;
+
+    @Value("${settlement.retry-backoff-ms:500}")
+    private long retryBackoffMs = 500;
+
+    private ForkJoinPool settlementPool;
+
+    @PostConstruct
+    public void start() {
+        settlementPool = new ForkJoinPool(Math.max(1, parallelism));
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (settlementPool != null) {
+            settlementPool.shutdown();
+        }
+    }
 
     @Override
     @Scheduled(cron = "0 40 9 * * MON-FRI", zone = "Europe/Istanbul")
     public void performDailySettlement() {
-        LocalDate settlementTargetDate = businessDayCalculator.getBusinessDayBefore(LocalDate.now(), 2);
-        log.info("Günlük T+2 Takas Servisi başlatıldı. Hedef işlem tarihi: {}", settlementTargetDate);
+        LocalDate today = LocalDate.now();
+        if (!businessDayCalculator.isBusinessDay(today)) {
+            log.info("{} iş günü değil, takas çalıştırılmadı.", today);
+            return;
+        }
+        settleDue(today, catchUp);
+    }
 
+    @Override
+    public SettlementReport settleDue(LocalDate settlementDate, boolean catchUp) {
+        long startedNanos = System.nanoTime();
+        SettlementReport report = SettlementReport.builder()
+                .settlementDate(settlementDate)
+                .catchUp(catchUp)
+                .startedAt(LocalDateTime.now())
+                .parallelism(Math.max(1, parallelism))
+                .build();
+        log.info("Günlük Takas Servisi başlatıldı. Takas tarihi: {}, telafi modu: {}", settlementDate, catchUp);
 
-        LocalDateTime startOfDay = settlementTargetDate.atStartOfDay();
-        LocalDateTime endOfDay = settlementTargetDate.plusDays(1).atStartOfDay();
+        // Takas tarihi yazılmamış eski kayıtlar için eski kural: T+2 iş günü önce ve daha eskisi
+        LocalDateTime undatedExecutedBefore = businessDayCalculator
+                .getBusinessDayBefore(settlementDate, BusinessDayCalculator.DEFAULT_SETTLEMENT_DAYS)
+                .plusDays(1).atStartOfDay();
+        List<AccountSettlement> accounts = chunkProcessor.collectDue(settlementDate, catchUp, undatedExecutedBefore);
+        report.setCollectMillis(elapsedMillis(startedNanos));
+        report.setAccountCount(accounts.size());
+        report.setExecutionCount(executionCount(accounts));
+        report.setOverdueExecutionCount((int) accounts.stream()
+                .flatMap(account -> account.getExecutions().stream())
+                .filter(execution -> execution.getSettlementDate() == null || execution.getSettlementDate().isBefore(settlementDate))
+                .count());
 
-        List<OrderExecution> executionsToSettle = executionRepository.findUnsettledExecutionsByTimestampBetween(startOfDay, endOfDay);
+        if (accounts.isEmpty()) {
+            log.info("Bugün için takası yapılacak işlem bulunamadı.");
+            report.setTotalMillis(elapsedMillis(startedNanos));
+            return report;
+        }
+        return settle(report, accounts, startedNanos);
+    }
 
-        if (executionsToSettle.isEmpty()) {
-            log.info("Bugün için takası yapılacak T+2 işlemi bulunamadı.");
-            return;
+    @Override
+    public SettlementReport settleAllPending() {
+        long startedNanos = System.nanoTime();
+        SettlementReport report = SettlementReport.builder()
+                .settlementDate(LocalDate.now())
+                .catchUp(true)
+                .startedAt(LocalDateTime.now())
+                .parallelism(Math.max(1, parallelism))
+                .build();
+        log.warn("[OVERRIDE] Bekleyen tüm işlemler takas tarihine bakılmaksızın netleştiriliyor.");
+
+        List<AccountSettlement> accounts = chunkProcessor.collectAllPending();
+        report.setCollectMillis(elapsedMillis(startedNanos));
+        report.setAccountCount(accounts.size());
+        report.setExecutionCount(executionCount(accounts));
+        if (accounts.isEmpty()) {
+            log.info("[OVERRIDE] Netleştirilmeyi bekleyen işlem bulunamadı.");
+            report.setTotalMillis(elapsedMillis(startedNanos));
+            return report;
         }
+        return settle(report, accounts, startedNanos);
+    }
+
+    private SettlementReport settle(SettlementReport report, List<AccountSettlement> accounts, long startedNanos) {
 
-        log.info("{} adet T+2 işlemi takas için bulundu. Netleştirme başlıyor...", executionsToSettle.size());
+        List<List<AccountSettlement>> partitions = partition(accounts, report.getParallelism());
+        log.info("{} hesapta {} adet işlem takas için bulundu ({} tanesi önceki günlerden). {} bölümde paralel netleştirme başlıyor...",
+                report.getAccountCount(), report.getExecutionCount(), report.getOverdueExecutionCount(), partitions.size());
 
-        for (OrderExecution execution : executionsToSettle) {
+        List<ForkJoinTask<SettlementPartitionReport>> tasks = new ArrayList<>(partitions.size());
+        for (int i = 0; i < partitions.size(); i++) {
+            int partitionIndex = i;
+            List<AccountSettlement> partition = partitions.get(i);
+            tasks.add(pool().submit(() -> settlePartition(partitionIndex, partition)));
+        }
+        for (int i = 0; i < tasks.size(); i++) {
+            SettlementPartitionReport partitionReport;
             try {
-                settleSingleTransaction(execution);
-            } catch (SettlementFailedException e) {
-                log.error("KRİTİK TAKAS HATASI! Bu T+2 işlemi atlandı. Detaylar: {}", e.getMessage());
+                partitionReport = tasks.get(i).join();
             } catch (Exception e) {
-                log.error("BEKLENMEDİK HATA! Takas işlemi atlandı. Execution ID: {}. Hata: {}", execution.getId(), e.getMessage(), e);
+                log.error("KRİTİK TAKAS HATASI! Takas bölümü {} beklenmedik şekilde sonlandı. Hata: {}", i, e.getMessage(), e);
+                partitionReport = SettlementPartitionReport.builder()
+                        .partitionIndex(i)
+                        .accountCount(partitions.get(i).size())
+                        .executionCount(executionCount(partitions.get(i)))
+                        .failedAccountCount(partitions.get(i).size())
+                        .build();
             }
+            report.getPartitions().add(partitionReport);
+            report.setSettledExecutionCount(report.getSettledExecutionCount() + partitionReport.getSettledExecutionCount());
+            report.setFailedAccountCount(report.getFailedAccountCount() + partitionReport.getFailedAccountCount());
         }
-        log.info("Günlük T+2 Takas Servisi görevini tamamladı.");
+
+        report.setTotalMillis(elapsedMillis(startedNanos));
+        log.info("Günlük Takas Servisi görevini tamamladı. Netleştirilen işlem: {}/{}, başarısız hesap: {}, bölüm: {}, süre: {} ms (okuma {} ms).",
+                report.getSettledExecutionCount(), report.getExecutionCount(), report.getFailedAccountCount(),
+                report.getPartitions().size(), report.getTotalMillis(), report.getCollectMillis());
+        return report;
     }
 
-    @Transactional
-    public void settleSingleTransaction(OrderExecution execution) {
-        try {
-            TransactionType transactionType = execution.getOrder().getTransactionType();
-
-            if (TransactionType.BUY.equals(transactionType)) {
-                portfolioService.settleBuyTransaction(execution);
-            } else if (TransactionType.SELL.equals(transactionType)) {
-                portfolioService.settleSellTransaction(execution);
-            } else {
-                throw new IllegalStateException("Geçersiz işlem tipiyle takas yapılamaz: " + transactionType);
+    private SettlementPartitionReport settlePartition(int partitionIndex, List<AccountSettlement> accounts) {
+        long startedNanos = System.nanoTime();
+        SettlementPartitionReport report = SettlementPartitionReport.builder()
+                .partitionIndex(partitionIndex)
+                .accountCount(accounts.size())
+                .executionCount(executionCount(accounts))
+                .build();
+
+        List<AccountSettlement> pending = accounts;
+        int size = Math.max(1, chunkSize);
+        while (!pending.isEmpty() && report.getAttempts() <= partitionRetries) {
+            if (report.getAttempts() > 0) {
+                log.warn("Takas bölümü {}: {} başarısız hesap yeniden deneniyor (deneme {}).",
+                        partitionIndex, pending.size(), report.getAttempts() + 1);
+                if (!backoff(report.getAttempts())) {
+                    break;
+                }
             }
+            report.setAttempts(report.getAttempts() + 1);
 
-            execution.setSettled(true);
-            executionRepository.save(execution);
-            log.info("Takas başarılı: Execution ID {} netleştirildi.", execution.getId());
+            List<AccountSettlement> failed = new ArrayList<>();
+            for (int from = 0; from < pending.size(); from += size) {
+                List<AccountSettlement> chunk = pending.subList(from, Math.min(pending.size(), from + size));
+                SettlementChunkReport chunkReport = settleChunk(report.getChunks().size(), chunk, failed);
+                report.getChunks().add(chunkReport);
+                report.setSettledExecutionCount(report.getSettledExecutionCount() + chunkReport.getSettledExecutionCount());
+            }
+            pending = failed;
+        }
+
+        report.setFailedAccountCount(pending.size());
+        report.setDurationMillis(elapsedMillis(startedNanos));
+        report.setExecutionsPerSecond(report.getSettledExecutionCount() * 1000.0 / Math.max(1, report.getDurationMillis()));
+        log.info("Takas bölümü {} tamamlandı: {} hesap, {} işlem, {} netleştirildi, {} başarısız hesap, {} deneme, {} ms ({} işlem/sn).",
+                partitionIndex, report.getAccountCount(), report.getExecutionCount(), report.getSettledExecutionCount(),
+                report.getFailedAccountCount(), report.getAttempts(), report.getDurationMillis(),
+                String.format("%.1f", report.getExecutionsPerSecond()));
+        return report;
+    }
 
+    private SettlementChunkReport settleChunk(int index, List<AccountSettlement> chunk, List<AccountSettlement> failed) {
+        long startedNanos = System.nanoTime();
+        SettlementChunkReport chunkReport = SettlementChunkReport.builder()
+                .chunkIndex(index)
+                .accountCount(chunk.size())
+                .executionCount(executionCount(chunk))
+                .build();
+        int failedBefore = failed.size();
+        try {
+            ChunkOutcome outcome = chunkProcessor.apply(chunk);
+            chunkReport.setSettledExecutionCount(outcome.settledExecutions());
+            collectFailed(chunk, outcome, failed);
         } catch (Exception e) {
-            throw new SettlementFailedException(
-                    "Execution ID " + execution.getId() + " için takas başarısız oldu. Sebep: " + e.getMessage(), e
-            );
+            log.error("Takas parçası {} başarısız oldu, {} hesap tek tek yeniden deneniyor. Hata: {}", index, chunk.size(), e.getMessage());
+            chunkReport.setRetriedPerAccount(true);
+            for (AccountSettlement account : chunk) {
+                try {
+                    ChunkOutcome outcome = chunkProcessor.apply(List.of(account));
+                    chunkReport.setSettledExecutionCount(chunkReport.getSettledExecutionCount() + outcome.settledExecutions());
+                    collectFailed(List.of(account), outcome, failed);
+                } catch (Exception accountError) {
+                    failed.add(account);
+                    log.error("KRİTİK TAKAS HATASI! Hesap ID {} için {} işlem atlandı. Hata: {}",
+                            account.getAccountId(), account.executionCount(), accountError.getMessage(), accountError);
+                }
+            }
+        }
+        chunkReport.setFailedAccountCount(failed.size() - failedBefore);
+        chunkReport.setDurationMillis(elapsedMillis(startedNanos));
+        return chunkReport;
+    }
+
+    private static void collectFailed(List<AccountSettlement> chunk, ChunkOutcome outcome, List<AccountSettlement> failed) {
+        if (outcome.failedAccountIds().isEmpty()) {
+            return;
         }
+        Set<Integer> failedIds = new HashSet<>(outcome.failedAccountIds());
+        for (AccountSettlement account : chunk) {
+            if (failedIds.contains(account.getAccountId())) {
+                failed.add(account);
+            }
+        }
+    }
+
+    /**
+     * Aynı müşterinin hesapları aynı bölüme düşer; böylece müşteri bazlı MusteriVarliklari satırları
+     * da bölümler arasında paylaşılmaz.
+     */
+    public static List<List<AccountSettlement>> partition(List<AccountSettlement> accounts, int partitionCount) {
+        int count = Math.max(1, Math.min(partitionCount, accounts.size()));
+        List<List<AccountSettlement>> partitions = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        for (AccountSettlement account : accounts) {
+            partitions.get(Math.floorMod(Integer.hashCode(account.getCustomerId()), count)).add(account);
+        }
+        partitions.removeIf(List::isEmpty);
+        return partitions;
+    }
+
+    private ForkJoinPool pool() {
+        if (settlementPool == null) {
+            start();
+        }
+        return settlementPool;
+    }
+
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static int executionCount(List<AccountSettlement> accounts) {
+        return accounts.stream().mapToInt(AccountSettlement::executionCount).sum();
+    }
+
+    private static long elapsedMillis(long startedNanos) {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedNanos);
     }
-}
\ No newline at end of file
+}
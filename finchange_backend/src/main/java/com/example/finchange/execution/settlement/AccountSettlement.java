@@ -0,0 +1,71 @@
+package com.example.finchange.execution.settlement;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.dto.SettlementExecutionView;
+import com.example.finchange.execution.model.enums.TransactionType;
+import lombok.Getter;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Bir müşteri hesabının takas günündeki işlemlerinin netleştirilmiş hali: hesap bazında toplam
+ * borç/alacak ve varlık bazında alınan/satılan lot. Defter kayıtları için işlemlerin kendisi de
+ * sırasıyla tutulur.
+ */
+@Getter
+public class AccountSettlement {
+
+    private final int accountId;
+    private final Integer customerId;
+    private final List<SettlementExecutionView> executions = new ArrayList<>();
+    private final Map<Integer, AssetNet> assets = new LinkedHashMap<>();
+    private Money totalDebit = Money.ZERO;
+    private Money totalCredit = Money.ZERO;
+
+    public AccountSettlement(int accountId, Integer customerId) {
+        this.accountId = accountId;
+        this.customerId = customerId;
+    }
+
+    public void add(SettlementExecutionView execution) {
+        executions.add(execution);
+        AssetNet net = assets.computeIfAbsent(execution.getAssetId(), AssetNet::new);
+        if (execution.getTransactionType() == TransactionType.BUY) {
+            net.buyLots += execution.getExecutedLotAmount();
+            totalDebit = totalDebit.plus(buyDebit(execution));
+        } else {
+            net.sellLots += execution.getExecutedLotAmount();
+            totalCredit = totalCredit.plus(sellCredit(execution));
+        }
+    }
+
+    public int executionCount() {
+        return executions.size();
+    }
+
+    /** Alım takasında hesaptan düşülecek tutar: fiyat × lot + komisyon. */
+    public static Money buyDebit(SettlementExecutionView execution) {
+        return Money.of(execution.getExecutedPrice()).times(execution.getExecutedLotAmount())
+                .plus(Money.of(execution.getCommissionAmount()));
+    }
+
+    /** Satım takasında hesaba eklenecek net tutar: fiyat × lot - komisyon. */
+    public static Money sellCredit(SettlementExecutionView execution) {
+        return Money.of(execution.getExecutedPrice()).times(execution.getExecutedLotAmount())
+                .minus(Money.of(execution.getCommissionAmount()));
+    }
+
+    @Getter
+    public static class AssetNet {
+        private final int assetId;
+        private int buyLots;
+        private int sellLots;
+
+        AssetNet(int assetId) {
+            this.assetId = assetId;
+        }
+    }
+}
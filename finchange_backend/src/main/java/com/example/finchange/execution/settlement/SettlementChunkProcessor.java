@@ -0,0 +1,380 @@
+package com.example.finchange.execution.settlement;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.customer.model.CustomerAccount;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.execution.dto.SettlementExecutionView;
+import com.example.finchange.execution.exception.SettlementFailedException;
+import com.example.finchange.execution.model.enums.OrderStatus;
+import com.example.finchange.execution.model.enums.TransactionType;
+import com.example.finchange.execution.repository.OrderExecutionRepository;
+import com.example.finchange.execution.repository.OrderRepository;
+import com.example.finchange.portfolio.model.AccountTransaction;
+import com.example.finchange.portfolio.model.CustomerAsset;
+import com.example.finchange.portfolio.model.OrderReservation;
+import com.example.finchange.portfolio.repository.AccountTransactionRepository;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.repository.OrderReservationRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Takas motorunun veritabanı tarafı. Günün netleşmemiş işlemlerini DTO projeksiyonuyla akıtıp hesap
+ * bazında netleştirir; netleştirilmiş hesap gruplarını kendi transaction'ında toplu okuma ve toplu
+ * yazma ile uygular. Ayrı bir bean olduğu için her {@link #apply(List)} çağrısı gerçekten yeni bir
+ * transaction açar.
+ * <p>
+ * Paralel bölümler kilitlenmesin diye satırlar her zaman aynı sırayla yazılır: hesaplar hesap id'sine,
+ * varlıklar (müşteri id, varlık id) çiftine göre sıralanır.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class SettlementChunkProcessor {
+
+    // SQL Server tek sorguda en fazla 2100 parametre kabul eder
+    private static final int MAX_IN_PARAMS = 1000;
+
+    private final OrderExecutionRepository executionRepository;
+    private final OrderRepository orderRepository;
+    private final CustomerAccountRepository accountRepository;
+    private final CustomerAssetRepository customerAssetRepository;
+    private final AccountTransactionRepository transactionRepository;
+    private final AssetRegistry assetRegistry;
+    private final OrderReservationRepository reservationRepository;
+
+    public record ChunkOutcome(int settledExecutions, List<Integer> failedAccountIds) {
+
+        public int failedAccounts() {
+            return failedAccountIds.size();
+        }
+    }
+
+    static final Comparator<AccountSettlement> LOCK_ORDER = Comparator.comparingInt(AccountSettlement::getAccountId);
+
+    private static final Comparator<CustomerAsset> HOLDING_LOCK_ORDER =
+            Comparator.comparingLong(holding -> holdingKey(holding.getCustomerId(), holding.getAssetId()));
+
+    /**
+     * Takas tarihi {@code settlementDate} olan işlemleri toplar. Telafi modunda önceki günlerden kalan
+     * işlemler ve takas tarihi yazılmamış, {@code undatedExecutedBefore} öncesinde gerçekleşmiş eski
+     * kayıtlar da dahil edilir.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountSettlement> collectDue(LocalDate settlementDate, boolean catchUp, LocalDateTime undatedExecutedBefore) {
+        Map<Integer, AccountSettlement> byAccount = new LinkedHashMap<>();
+        try (Stream<SettlementExecutionView> rows = catchUp
+                ? executionRepository.streamDueUpTo(settlementDate)
+                : executionRepository.streamDueOn(settlementDate)) {
+            rows.forEach(row -> group(byAccount, row));
+        }
+        if (catchUp) {
+            try (Stream<SettlementExecutionView> rows = executionRepository.streamUndatedExecutedBefore(undatedExecutedBefore)) {
+                rows.forEach(row -> group(byAccount, row));
+            }
+        }
+        return new ArrayList<>(byAccount.values());
+    }
+
+    /**
+     * Override modunda takas tarihine bakılmaksızın tüm netleşmemiş işlemleri toplar.
+     */
+    @Transactional(readOnly = true)
+    public List<AccountSettlement> collectAllPending() {
+        Map<Integer, AccountSettlement> byAccount = new LinkedHashMap<>();
+        try (Stream<SettlementExecutionView> rows = executionRepository.streamAllUnsettled()) {
+            rows.forEach(row -> group(byAccount, row));
+        }
+        return new ArrayList<>(byAccount.values());
+    }
+
+    private static void group(Map<Integer, AccountSettlement> byAccount, SettlementExecutionView row) {
+        byAccount.computeIfAbsent(row.getCustomerAccountId(), id -> new AccountSettlement(id, row.getCustomerId()))
+                .add(row);
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ChunkOutcome apply(List<AccountSettlement> accountsToSettle) {
+        List<AccountSettlement> chunk = accountsToSettle.stream().sorted(LOCK_ORDER).toList();
+        Map<Integer, CustomerAccount> accounts = loadAccounts(chunk);
+        Map<Long, CustomerAsset> holdings = loadHoldings(chunk);
+
+        Map<Integer, OrderReservation> reservations = loadReservations(chunk);
+
+        List<AccountTransaction> ledger = new ArrayList<>();
+        List<OrderReservation> touchedReservations = new ArrayList<>();
+        List<CustomerAccount> touchedAccounts = new ArrayList<>();
+        Map<Long, CustomerAsset> touchedHoldings = new TreeMap<>();
+        List<CustomerAsset> emptiedHoldings = new ArrayList<>();
+        List<Long> settledExecutionIds = new ArrayList<>();
+        List<Integer> failedAccountIds = new ArrayList<>();
+
+        for (AccountSettlement settlement : chunk) {
+            CustomerAccount account = accounts.get(settlement.getAccountId());
+            if (account == null) {
+                log.error("KRİTİK TAKAS HATASI! Hesap bulunamadı, {} işlem atlandı. Hesap ID: {}",
+                        settlement.executionCount(), settlement.getAccountId());
+                failedAccountIds.add(settlement.getAccountId());
+                continue;
+            }
+            if (!hasSufficientLotsToSell(settlement, holdings)) {
+                failedAccountIds.add(settlement.getAccountId());
+                continue;
+            }
+
+            Set<Integer> filledOrders = new LinkedHashSet<>();
+            Money balance = account.getBalance();
+            for (SettlementExecutionView execution : settlement.getExecutions()) {
+                if (execution.getTransactionType() == TransactionType.BUY) {
+                    Money debit = AccountSettlement.buyDebit(execution);
+                    balance = balance.minus(debit);
+                    reservations.get(execution.getOrderId()).consume(debit.toBigDecimal());
+                    if (isFilledBuy(execution)) {
+                        filledOrders.add(execution.getOrderId());
+                    }
+                    ledger.add(ledgerRow(account, "TRADE_SETTLEMENT_DEBIT", debit, (short) -1, balance, execution,
+                            String.format("%d lot %s @ %.2f TL alım takası (Komisyon: %.2f)",
+                                    execution.getExecutedLotAmount(), bistCode(execution.getAssetId()),
+                                    execution.getExecutedPrice(), execution.getCommissionAmount())));
+                } else {
+                    Money credit = AccountSettlement.sellCredit(execution);
+                    balance = balance.plus(credit);
+                    ledger.add(ledgerRow(account, "TRADE_SETTLEMENT_CREDIT", credit, (short) 1, balance, execution,
+                            String.format("%d lot %s @ %.2f TL satım takası (Net Gelir: %.2f)",
+                                    execution.getExecutedLotAmount(), bistCode(execution.getAssetId()),
+                                    execution.getExecutedPrice(), credit.toBigDecimal())));
+                }
+                settledExecutionIds.add(execution.getExecutionId());
+            }
+            account.setBalance(balance);
+
+            Money blockedBalance = account.getBlockedBalance();
+            if (blockedBalance.isLessThan(settlement.getTotalDebit())) {
+                log.warn("Takas sırasında blokeli bakiye yetersiz. Hesap ID: {}, Bloke: {}, Gerekli: {}. Fark düzeltiliyor.",
+                        account.getId(), blockedBalance, settlement.getTotalDebit());
+                blockedBalance = Money.ZERO;
+            } else {
+                blockedBalance = blockedBalance.minus(settlement.getTotalDebit());
+            }
+
+            for (Integer orderId : filledOrders) {
+                OrderReservation reservation = reservations.get(orderId);
+                Money remainingBlock = Money.of(reservation.getRemainingAmount());
+                if (!remainingBlock.isPositive()) {
+                    continue;
+                }
+                reservation.release(remainingBlock.toBigDecimal());
+                if (blockedBalance.isLessThan(remainingBlock)) {
+                    log.error("KRİTİK HATA: Kalan blokaj ({}) iade edilemiyor çünkü mevcut blokaj ({}) yetersiz! Hesap ID: {}",
+                            remainingBlock, blockedBalance, account.getId());
+                    blockedBalance = Money.ZERO;
+                } else {
+                    blockedBalance = blockedBalance.minus(remainingBlock);
+                }
+                ledger.add(AccountTransaction.builder()
+                        .account(account)
+                        .transactionType("ORDER_UNBLOCKED")
+                        .amount(remainingBlock.toBigDecimal())
+                        .direction((short) 1)
+                        .balanceAfterTransaction(account.getBalance().toBigDecimal())
+                        .relatedOrder(orderRepository.getReferenceById(orderId))
+                        .description(bistCodeOfOrder(settlement, orderId) + " emir tamamlama sonrası artık blokaj iadesi")
+                        .build());
+            }
+            account.setBlockedBalance(blockedBalance);
+            touchedAccounts.add(account);
+            settlement.getExecutions().stream()
+                    .filter(execution -> execution.getTransactionType() == TransactionType.BUY)
+                    .map(execution -> reservations.get(execution.getOrderId()))
+                    .distinct()
+                    .forEach(touchedReservations::add);
+
+            for (AccountSettlement.AssetNet net : settlement.getAssets().values()) {
+                long key = holdingKey(settlement.getCustomerId(), net.getAssetId());
+                CustomerAsset holding = holdings.computeIfAbsent(key, k -> newHolding(settlement.getCustomerId(), net.getAssetId()));
+                if (net.getSellLots() > 0) {
+                    holding.setBlockedLot(holding.getBlockedLot() - net.getSellLots());
+                    holding.setTotalLot(holding.getTotalLot() - net.getSellLots());
+                }
+                if (net.getBuyLots() > 0) {
+                    if (holding.getBlockedLot() < net.getBuyLots()) {
+                        log.error("KRİTİK TAKAS HATASI: Takası yapılacak lot ({}) mevcut blokajdan ({}) büyük! Müşteri ID: {}, Varlık ID: {}",
+                                net.getBuyLots(), holding.getBlockedLot(), settlement.getCustomerId(), net.getAssetId());
+                        holding.setBlockedLot(0);
+                    } else {
+                        holding.setBlockedLot(holding.getBlockedLot() - net.getBuyLots());
+                    }
+                }
+                if (net.getSellLots() > 0 && holding.getTotalLot() == 0) {
+                    touchedHoldings.remove(key);
+                    emptiedHoldings.add(holding);
+                } else {
+                    touchedHoldings.put(key, holding);
+                }
+            }
+        }
+
+        transactionRepository.saveAll(ledger);
+        reservationRepository.saveAll(touchedReservations);
+        accountRepository.saveAll(touchedAccounts);
+        customerAssetRepository.saveAll(touchedHoldings.values());
+        customerAssetRepository.deleteAll(emptiedHoldings.stream().sorted(HOLDING_LOCK_ORDER).toList());
+
+        int marked = 0;
+        for (List<Long> ids : partition(settledExecutionIds)) {
+            marked += executionRepository.markSettled(ids);
+        }
+        if (marked != settledExecutionIds.size()) {
+            throw new SettlementFailedException("Takas parçasındaki " + (settledExecutionIds.size() - marked)
+                    + " işlem başka bir süreç tarafından netleştirilmiş. Parça geri alınıyor.");
+        }
+        return new ChunkOutcome(settledExecutionIds.size(), failedAccountIds);
+    }
+
+    private boolean hasSufficientLotsToSell(AccountSettlement settlement, Map<Long, CustomerAsset> holdings) {
+        for (AccountSettlement.AssetNet net : settlement.getAssets().values()) {
+            if (net.getSellLots() == 0) {
+                continue;
+            }
+            CustomerAsset holding = holdings.get(holdingKey(settlement.getCustomerId(), net.getAssetId()));
+            if (holding == null || holding.getBlockedLot() < net.getSellLots() || holding.getTotalLot() < net.getSellLots()) {
+                log.error("SELL settlement tutarsız, hesap atlandı: accId={} custId={} assetId={} blockedLot={} totalLot={} soldLots={}",
+                        settlement.getAccountId(), settlement.getCustomerId(), net.getAssetId(),
+                        holding == null ? null : holding.getBlockedLot(),
+                        holding == null ? null : holding.getTotalLot(),
+                        net.getSellLots());
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Map<Integer, CustomerAccount> loadAccounts(List<AccountSettlement> chunk) {
+        List<Integer> accountIds = chunk.stream().map(AccountSettlement::getAccountId).toList();
+        Map<Integer, CustomerAccount> accounts = new HashMap<>(accountIds.size() * 2);
+        for (List<Integer> ids : partition(accountIds)) {
+            accountRepository.findAllById(ids).forEach(account -> accounts.put(account.getId(), account));
+        }
+        return accounts;
+    }
+
+    private Map<Long, CustomerAsset> loadHoldings(List<AccountSettlement> chunk) {
+        Set<Integer> assetIds = chunk.stream()
+                .flatMap(settlement -> settlement.getAssets().keySet().stream())
+                .collect(Collectors.toSet());
+        List<Integer> customerIds = chunk.stream().map(AccountSettlement::getCustomerId).distinct().toList();
+        Map<Long, CustomerAsset> holdings = new HashMap<>();
+        for (List<Integer> customers : partition(customerIds)) {
+            for (List<Integer> assets : partition(new ArrayList<>(assetIds))) {
+                customerAssetRepository.findByCustomerIdInAndAssetIdIn(customers, assets)
+                        .forEach(holding -> holdings.put(holdingKey(holding.getCustomerId(), holding.getAssetId()), holding));
+            }
+        }
+        return holdings;
+    }
+
+    /**
+     * Parçadaki alım emirlerinin rezervasyonları toplu okunur. Rezervasyon kaydından önce açılmış
+     * emirler için satır bir kereye mahsus hareket tablosu toplamlarından türetilir.
+     */
+    private Map<Integer, OrderReservation> loadReservations(List<AccountSettlement> chunk) {
+        Map<Integer, Integer> accountByBuyOrder = new LinkedHashMap<>();
+        chunk.stream()
+                .flatMap(settlement -> settlement.getExecutions().stream())
+                .filter(execution -> execution.getTransactionType() == TransactionType.BUY)
+                .forEach(execution -> accountByBuyOrder.putIfAbsent(execution.getOrderId(), execution.getCustomerAccountId()));
+
+        Map<Integer, OrderReservation> reservations = new HashMap<>(accountByBuyOrder.size() * 2);
+        for (List<Integer> ids : partition(new ArrayList<>(accountByBuyOrder.keySet()))) {
+            reservationRepository.findByOrderIdIn(ids).forEach(reservation -> reservations.put(reservation.getOrderId(), reservation));
+        }
+
+        List<Integer> missing = accountByBuyOrder.keySet().stream().filter(id -> !reservations.containsKey(id)).toList();
+        if (!missing.isEmpty()) {
+            Map<Integer, Money> blocked = sumByOrder("ORDER_BLOCKED", missing);
+            Map<Integer, Money> debited = sumByOrder("TRADE_SETTLEMENT_DEBIT", missing);
+            Map<Integer, Money> unblocked = sumByOrder("ORDER_UNBLOCKED", missing);
+            for (Integer orderId : missing) {
+                OrderReservation reservation = new OrderReservation(orderId, accountByBuyOrder.get(orderId));
+                reservation.block(blocked.getOrDefault(orderId, Money.ZERO).toBigDecimal());
+                reservation.consume(debited.getOrDefault(orderId, Money.ZERO).toBigDecimal());
+                reservation.release(unblocked.getOrDefault(orderId, Money.ZERO).toBigDecimal());
+                reservations.put(orderId, reservation);
+            }
+        }
+        return reservations;
+    }
+
+    private Map<Integer, Money> sumByOrder(String type, List<Integer> orderIds) {
+        Map<Integer, Money> sums = new HashMap<>();
+        for (List<Integer> ids : partition(orderIds)) {
+            transactionRepository.sumAmountsByTypeAndOrderIds(type, ids).forEach(sum ->
+                    sums.put(sum.getOrderId(), Money.of(Optional.ofNullable(sum.getTotalAmount()).orElse(BigDecimal.ZERO))));
+        }
+        return sums;
+    }
+
+    private AccountTransaction ledgerRow(CustomerAccount account, String type, Money amount, short direction, Money balanceAfter,
+                                         SettlementExecutionView execution, String description) {
+        return AccountTransaction.builder()
+                .account(account)
+                .transactionType(type)
+                .amount(amount.toBigDecimal())
+                .direction(direction)
+                .balanceAfterTransaction(balanceAfter.toBigDecimal())
+                .relatedOrder(orderRepository.getReferenceById(execution.getOrderId()))
+                .relatedExecution(executionRepository.getReferenceById(execution.getExecutionId()))
+                .description(description)
+                .build();
+    }
+
+    private static boolean isFilledBuy(SettlementExecutionView execution) {
+        return execution.getTransactionType() == TransactionType.BUY && execution.getOrderStatus() == OrderStatus.FILLED;
+    }
+
+    private String bistCodeOfOrder(AccountSettlement settlement, Integer orderId) {
+        return settlement.getExecutions().stream()
+                .filter(execution -> orderId.equals(execution.getOrderId()))
+                .findFirst()
+                .map(execution -> bistCode(execution.getAssetId()))
+                .orElse("UNKNOWN_ASSET");
+    }
+
+    private String bistCode(int assetId) {
+        String bistCode = assetRegistry.getBistCode(assetId);
+        return bistCode != null ? bistCode : String.valueOf(assetId);
+    }
+
+    private static CustomerAsset newHolding(Integer customerId, int assetId) {
+        CustomerAsset holding = new CustomerAsset();
+        holding.setCustomerId(customerId);
+        holding.setAssetId(assetId);
+        holding.setTotalLot(0);
+        holding.setBlockedLot(0);
+        holding.setAverageCost(BigDecimal.ZERO);
+        return holding;
+    }
+
+    static long holdingKey(Integer customerId, int assetId) {
+        return ((long) customerId << 32) | (assetId & 0xffffffffL);
+    }
+
+    private static <T> List<List<T>> partition(List<T> values) {
+        List<List<T>> slices = new ArrayList<>((values.size() + MAX_IN_PARAMS - 1) / MAX_IN_PARAMS);
+        for (int i = 0; i < values.size(); i += MAX_IN_PARAMS) {
+            slices.add(values.subList(i, Math.min(values.size(), i + MAX_IN_PARAMS)));
+        }
+        return slices;
+    }
+}
@@ -5,20 +5,37 @@ import com.example.finchange.operation.repository.HolidayRepository;
 import jakarta.annotation.PostConstruct;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
-import java.util.Collections;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 
+/**
+ * İş günü hesaplamaları önceden hesaplanmış bir takvim indeksi üzerinden yapılır: pencere içindeki
+ * T+N / T-N sorguları dizi erişimiyle çözülür. Pencere dışındaki tarihler için gün gün yürüyen eski
+ * yönteme düşülür. Tatil eklendiğinde, güncellendiğinde veya silindiğinde indeks yeniden oluşturulup
+ * tek bir referans değişimiyle yayınlanır.
+ */
 @Service
 public class BusinessDayCalculator{
     private static final Logger log = LoggerFactory.getLogger(BusinessDayCalculator.class);
+
+    public static final int DEFAULT_SETTLEMENT_DAYS = 2;
+
     private final HolidayRepository holidayRepository;
-    private Set<LocalDate> holidayCache = Collections.newSetFromMap(new ConcurrentHashMap<>());
+
+    @Value("${business-calendar.years-back:2}")
+    private int yearsBack = 2;
+
+    @Value("${business-calendar.years-ahead:5}")
+    private int yearsAhead = 5;
+
+    private volatile CalendarIndex calendar = CalendarIndex.build(LocalDate.now(), LocalDate.now(), Set.of());
 
     public BusinessDayCalculator(HolidayRepository holidayRepository) {
         this.holidayRepository = holidayRepository;
@@ -29,11 +46,33 @@ public class BusinessDayCalculator{
         log.info("Tatil listesi ilk kez hafızaya yükleniyor...");
         refreshHolidayCache();
     }
+
     @Scheduled(cron = "0 5 4 * * *")
     public void refreshHolidayCache() {
-        this.holidayCache = holidayRepository.findAllHolidayDates();
-        log.info("{} adet resmi tatil veritabanından hafızaya yüklendi.", holidayCache.size());
+        Set<LocalDate> holidays = holidayRepository.findAllHolidayDates();
+        LocalDate today = LocalDate.now();
+        this.calendar = CalendarIndex.build(today.minusYears(yearsBack), today.plusYears(yearsAhead), holidays);
+        log.info("{} adet resmi tatil veritabanından hafızaya yüklendi. Takvim indeksi: {} - {}",
+                holidays.size(), calendar.start(), calendar.end());
     }
+
+    /**
+     * Tatil tablosundaki bir değişiklikten sonra çağrılır. Aktif bir transaction varsa indeks commit
+     * sonrasında, yoksa hemen yeniden oluşturulur.
+     */
+    public void refreshAfterCommit() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    refreshHolidayCache();
+                }
+            });
+        } else {
+            refreshHolidayCache();
+        }
+    }
+
     public LocalDate getBusinessDayBefore(LocalDate fromDate, int businessDaysToSubtract) {
         if (businessDaysToSubtract < 0) {
             throw new IllegalArgumentException("Gün sayısı negatif olamaz");
@@ -41,6 +80,10 @@ public class BusinessDayCalculator{
         if(businessDaysToSubtract == 0){
             return fromDate;
         }
+        LocalDate indexed = calendar.businessDayBefore(fromDate, businessDaysToSubtract);
+        if (indexed != null) {
+            return indexed;
+        }
         LocalDate result = fromDate;
         int businessDaysCounted = 0;
         while (businessDaysCounted < businessDaysToSubtract) {
@@ -51,17 +94,22 @@ public class BusinessDayCalculator{
         }
         return result;
     }
+
     public boolean isBusinessDay(LocalDate date) {
-        DayOfWeek dayOfWeek = date.getDayOfWeek();
-        if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) return false;
-        if (holidayCache.contains(date)) return false;
-        return true;
+        return calendar.isBusinessDay(date);
     }
 
     public LocalDate getBusinessDayAfter(LocalDate fromDate, int businessDaysToAdd) {
         if (businessDaysToAdd < 0) {
             throw new IllegalArgumentException("Gün sayısı negatif olamaz");
         }
+        if (businessDaysToAdd == 0) {
+            return fromDate;
+        }
+        LocalDate indexed = calendar.businessDayAfter(fromDate, businessDaysToAdd);
+        if (indexed != null) {
+            return indexed;
+        }
         LocalDate result = fromDate;
         int businessDaysCounted = 0;
         while (businessDaysCounted < businessDaysToAdd) {
@@ -73,4 +121,98 @@ public class BusinessDayCalculator{
         return result;
     }
 
+    /**
+     * İşlem tarihinden itibaren varlığın takas süresi kadar iş günü sonrasını döner. Varlıkta takas
+     * süresi tanımlı değilse T+{@value #DEFAULT_SETTLEMENT_DAYS} kullanılır.
+     */
+    public LocalDate getSettlementDate(LocalDate tradeDate, Integer settlementDays) {
+        return getBusinessDayAfter(tradeDate, settlementDays == null ? DEFAULT_SETTLEMENT_DAYS : settlementDays);
+    }
+
+    /**
+     * Pencere içindeki her gün için o güne kadar (dahil) geçen iş günü sayısını ve iş günlerinin
+     * sıralı listesini tutar. Değişmezdir; yeniden oluşturulup bütün olarak değiştirilir.
+     */
+    static final class CalendarIndex {
+
+        private final long startEpochDay;
+        private final Set<LocalDate> holidays;
+        // businessDaysUpTo[i]: pencere başlangıcından (start + i) gününe kadar (dahil) iş günü sayısı
+        private final int[] businessDaysUpTo;
+        // businessDayOffsets[k]: k. iş gününün pencere başlangıcına göre gün farkı
+        private final int[] businessDayOffsets;
+
+        private CalendarIndex(long startEpochDay, Set<LocalDate> holidays, int[] businessDaysUpTo, int[] businessDayOffsets) {
+            this.startEpochDay = startEpochDay;
+            this.holidays = holidays;
+            this.businessDaysUpTo = businessDaysUpTo;
+            this.businessDayOffsets = businessDayOffsets;
+        }
+
+        static CalendarIndex build(LocalDate start, LocalDate end, Set<LocalDate> holidays) {
+            Set<LocalDate> holidaySet = Set.copyOf(holidays);
+            int length = (int) (end.toEpochDay() - start.toEpochDay()) + 1;
+            int[] upTo = new int[length];
+            int[] offsets = new int[length];
+            int count = 0;
+            LocalDate day = start;
+            for (int i = 0; i < length; i++, day = day.plusDays(1)) {
+                if (isBusinessDay(day, holidaySet)) {
+                    offsets[count++] = i;
+                }
+                upTo[i] = count;
+            }
+            int[] businessDayOffsets = new int[count];
+            System.arraycopy(offsets, 0, businessDayOffsets, 0, count);
+            return new CalendarIndex(start.toEpochDay(), holidaySet, upTo, businessDayOffsets);
+        }
+
+        LocalDate start() {
+            return LocalDate.ofEpochDay(startEpochDay);
+        }
+
+        LocalDate end() {
+            return LocalDate.ofEpochDay(startEpochDay + businessDaysUpTo.length - 1);
+        }
+
+        boolean isBusinessDay(LocalDate date) {
+            int i = indexOf(date);
+            if (i < 0) {
+                return isBusinessDay(date, holidays);
+            }
+            return businessDaysUpTo[i] != (i == 0 ? 0 : businessDaysUpTo[i - 1]);
+        }
+
+        /** Pencere dışına taşarsa {@code null} döner. */
+        LocalDate businessDayAfter(LocalDate fromDate, int n) {
+            int i = indexOf(fromDate);
+            if (i < 0) {
+                return null;
+            }
+            int k = businessDaysUpTo[i] + n - 1;
+            return k < businessDayOffsets.length ? LocalDate.ofEpochDay(startEpochDay + businessDayOffsets[k]) : null;
+        }
+
+        /** Pencere dışına taşarsa {@code null} döner. */
+        LocalDate businessDayBefore(LocalDate fromDate, int n) {
+            int i = indexOf(fromDate);
+            if (i < 0) {
+                return null;
+            }
+            int before = i == 0 ? 0 : businessDaysUpTo[i - 1];
+            int k = before - n;
+            return k >= 0 ? LocalDate.ofEpochDay(startEpochDay + businessDayOffsets[k]) : null;
+        }
+
+        private int indexOf(LocalDate date) {
+            long offset = date.toEpochDay() - startEpochDay;
+            return offset >= 0 && offset < businessDaysUpTo.length ? (int) offset : -1;
+        }
+
+        private static boolean isBusinessDay(LocalDate date, Set<LocalDate> holidays) {
+            DayOfWeek dayOfWeek = date.getDayOfWeek();
+            if (dayOfWeek == DayOfWeek.SATURDAY || dayOfWeek == DayOfWeek.SUNDAY) return false;
+            return !holidays.contains(date);
+        }
+    }
 }
@@ -0,0 +1,128 @@
+package com.example.finchange.execution.util;
+
+import com.example.finchange.common.model.Money;
+
+/**
+ * BIST pay piyasası fiyat adımı tablosu. Fiyatlar {@link Money} ile aynı ölçekte (10^4)
+ * long olarak işlenir; kademe sınırları ve adımlar önceden hesaplanmıştır, çağrılar nesne
+ * üretmez.
+ * <p>
+ * Her kademenin başlangıç fiyatı hem kendi adımının hem de bir önceki kademenin adımının
+ * katıdır; bu sayede geçerli fiyatlar kademeler boyunca kesintisiz tek bir dizi oluşturur.
+ */
+public final class TickSizeTable {
+
+    private static final long[] BAND_STARTS = {
+            0L, 200_000L, 500_000L, 1_000_000L, 2_500_000L, 5_000_000L, 10_000_000L, 25_000_000L
+    };
+
+    private static final long[] TICKS = {
+            100L, 200L, 500L, 1_000L, 2_500L, 5_000L, 10_000L, 25_000L
+    };
+
+    /** Her kademenin başlangıç fiyatının, 0'dan itibaren kaçıncı adım olduğu. */
+    private static final long[] BAND_START_ORDINALS = new long[BAND_STARTS.length];
+
+    static {
+        for (int i = 1; i < BAND_STARTS.length; i++) {
+            BAND_START_ORDINALS[i] = BAND_START_ORDINALS[i - 1] + (BAND_STARTS[i] - BAND_STARTS[i - 1]) / TICKS[i - 1];
+        }
+    }
+
+    private TickSizeTable() {
+    }
+
+    public static long tickSize(long priceUnits) {
+        return TICKS[bandOf(priceUnits)];
+    }
+
+    public static boolean isValid(long priceUnits) {
+        return priceUnits > 0 && priceUnits % TICKS[bandOf(priceUnits)] == 0;
+    }
+
+    public static boolean isValid(Money price) {
+        return price != null && isValid(price.units());
+    }
+
+    /**
+     * Fiyata eşit ya da ondan küçük en büyük geçerli fiyat. En küçük adımın altındaki
+     * pozitif fiyatlar için 0 döner.
+     */
+    public static long roundDown(long priceUnits) {
+        requirePositive(priceUnits);
+        long tick = TICKS[bandOf(priceUnits)];
+        return priceUnits - priceUnits % tick;
+    }
+
+    /**
+     * Fiyata eşit ya da ondan büyük en küçük geçerli fiyat. Kademe sınırında sonuç bir sonraki
+     * kademenin başlangıcı olabilir; o fiyat da geçerlidir.
+     */
+    public static long roundUp(long priceUnits) {
+        requirePositive(priceUnits);
+        long tick = TICKS[bandOf(priceUnits)];
+        long remainder = priceUnits % tick;
+        return remainder == 0 ? priceUnits : Math.addExact(priceUnits, tick - remainder);
+    }
+
+    public static long roundToTick(long priceUnits, boolean up) {
+        return up ? roundUp(priceUnits) : roundDown(priceUnits);
+    }
+
+    /**
+     * En yakın geçerli fiyat; eşit uzaklıkta yukarı yuvarlanır. Sonuç her zaman en az bir adımdır.
+     */
+    public static long roundToNearest(long priceUnits) {
+        if (priceUnits <= TICKS[0]) {
+            return TICKS[0];
+        }
+        long down = roundDown(priceUnits);
+        long up = roundUp(priceUnits);
+        return (priceUnits - down) < (up - priceUnits) ? down : up;
+    }
+
+    public static Money roundDown(Money price) {
+        return Money.ofUnits(roundDown(price.units()));
+    }
+
+    public static Money roundUp(Money price) {
+        return Money.ofUnits(roundUp(price.units()));
+    }
+
+    public static Money roundToNearest(Money price) {
+        return Money.ofUnits(roundToNearest(price.units()));
+    }
+
+    /**
+     * İki geçerli fiyat arasındaki adım sayısı; {@code to < from} ise negatiftir.
+     */
+    public static long ticksBetween(long fromUnits, long toUnits) {
+        return ordinal(toUnits) - ordinal(fromUnits);
+    }
+
+    public static long ticksBetween(Money from, Money to) {
+        return ticksBetween(from.units(), to.units());
+    }
+
+    private static long ordinal(long priceUnits) {
+        if (!isValid(priceUnits)) {
+            throw new IllegalArgumentException("Fiyat adımına uygun olmayan fiyat: " + Money.ofUnits(priceUnits));
+        }
+        int band = bandOf(priceUnits);
+        return BAND_START_ORDINALS[band] + (priceUnits - BAND_STARTS[band]) / TICKS[band];
+    }
+
+    private static int bandOf(long priceUnits) {
+        int band = BAND_STARTS.length - 1;
+        while (band > 0 && priceUnits < BAND_STARTS[band]) {
+            band--;
+        }
+        return band;
+    }
+
+    private static void requirePositive(long priceUnits) {
+        if (priceUnits <= 0) {
+            throw new IllegalArgumentException("Fiyat pozitif olmalıdır: " + Money.ofUnits(priceUnits));
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.finchange.marketSimulation.client;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Saniyede {@code ratePerSecond} jeton üreten, en fazla {@code burst} jeton biriktiren kova.
+ * {@link #acquire()} jeton yoksa borçlanarak sıradaki jetonun zamanını ayırır ve kilidi bıraktıktan
+ * sonra bekler; böylece bekleyen sanal thread'ler kilit tutmaz ve çağıranlar geliş sırasıyla geçer.
+ */
+public final class TokenBucketRateLimiter {
+
+    private final double ratePerNano;
+    private final double burst;
+    private final LongSupplier nanoClock;
+    private final ReentrantLock lock = new ReentrantLock();
+
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucketRateLimiter(double ratePerSecond, int burst) {
+        this(ratePerSecond, burst, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(double ratePerSecond, int burst, LongSupplier nanoClock) {
+        if (!(ratePerSecond > 0) || burst < 1) {
+            throw new IllegalArgumentException("Hız sıfırdan, kova kapasitesi birden büyük olmalıdır.");
+        }
+        this.ratePerNano = ratePerSecond / 1_000_000_000d;
+        this.burst = burst;
+        this.nanoClock = nanoClock;
+        this.tokens = burst;
+        this.lastRefill = nanoClock.getAsLong();
+    }
+
+    /**
+     * Bir jeton alır; gerekirse jeton oluşana kadar bekler.
+     */
+    public void acquire() throws InterruptedException {
+        long wait = reserve();
+        if (wait > 0) {
+            long deadline = nanoClock.getAsLong() + wait;
+            while ((wait = deadline - nanoClock.getAsLong()) > 0) {
+                LockSupport.parkNanos(wait);
+                if (Thread.interrupted()) {
+                    throw new InterruptedException();
+                }
+            }
+        }
+    }
+
+    /**
+     * @return jetonun kullanılabilmesi için beklenmesi gereken süre (ns), hemen kullanılabiliyorsa 0
+     */
+    long reserve() {
+        lock.lock();
+        try {
+            long now = nanoClock.getAsLong();
+            tokens = Math.min(burst, tokens + (now - lastRefill) * ratePerNano);
+            lastRefill = now;
+            tokens -= 1;
+            return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / ratePerNano);
+        } finally {
+            lock.unlock();
+        }
+    }
+}
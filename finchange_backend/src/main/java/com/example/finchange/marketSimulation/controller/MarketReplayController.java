@@ -0,0 +1,52 @@
+package com.example.finchange.marketSimulation.controller;
+
+import com.example.finchange.common.model.dto.response.SuccessResponse;
+import com.example.finchange.marketSimulation.dto.MarketReplayStatus;
+import com.example.finchange.marketSimulation.dto.ReplayMode;
+import com.example.finchange.marketSimulation.service.MarketReplayService;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/market-replay")
+@RequiredArgsConstructor
+public class MarketReplayController {
+
+    private final MarketReplayService marketReplayService;
+
+    @GetMapping("/journals")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SuccessResponse<List<String>> listJournals() {
+        return SuccessResponse.success(marketReplayService.listJournals());
+    }
+
+    @PostMapping("/start")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SuccessResponse<MarketReplayStatus> start(@RequestParam String journal,
+                                                     @RequestParam(defaultValue = "ORIGINAL") ReplayMode mode,
+                                                     @RequestParam(defaultValue = "1") double speed) {
+        return SuccessResponse.success(marketReplayService.start(journal, mode, speed));
+    }
+
+    @PostMapping("/stop")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SuccessResponse<MarketReplayStatus> stop() {
+        return SuccessResponse.success(marketReplayService.stop()
+                .orElseThrow(() -> new EntityNotFoundException("Oynatma bulunamadı.")));
+    }
+
+    @GetMapping("/status")
+    @PreAuthorize("hasRole('ADMIN')")
+    public SuccessResponse<MarketReplayStatus> getStatus() {
+        return SuccessResponse.success(marketReplayService.getStatus()
+                .orElseThrow(() -> new EntityNotFoundException("Oynatma bulunamadı.")));
+    }
+}
@@ -1,18 +1,21 @@
 package com.example.finchange.marketSimulation.controller;
 
 import com.example.finchange.common.model.dto.response.SuccessResponse;
+import com.example.finchange.marketSimulation.dto.MarketSessionState;
 import com.example.finchange.marketSimulation.service.MarketSessionService;
+import com.example.finchange.portfolio.dto.BlockReleaseJobStatus;
+import com.example.finchange.portfolio.service.BlockReleaseService;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import com.example.finchange.execution.service.impl.QueuedOrderProcessor;
-import com.example.finchange.portfolio.service.PortfolioService;
 
 @RestController
 @RequestMapping("/api/v1/market-session")
@@ -20,46 +23,40 @@ import com.example.finchange.portfolio.service.PortfolioService;
 public class MarketSessionController {
 
     private final MarketSessionService marketSessionService;
-    private final StringRedisTemplate redisTemplate;
     private final QueuedOrderProcessor queuedOrderProcessor;
-    private final PortfolioService portfolioService;
+    private final BlockReleaseService blockReleaseService;
 
     @GetMapping("/status")
     @PreAuthorize("isAuthenticated()")
     public SuccessResponse<Map<String, Object>> getStatus() {
-        boolean isOpen = marketSessionService.isMarketOpenNow();
-        String sim = safeGet("market:override:simulation");
-        String trading = safeGet("market:override:trading");
-        String settlementControls = safeGet("market:override:settlement_controls");
-        boolean simulationOverride = "true".equalsIgnoreCase(sim);
-        boolean simulationActive = isOpen || simulationOverride; 
+        MarketSessionState state = marketSessionService.getState();
         return SuccessResponse.success(Map.of(
-                "open", isOpen,
-                "overrideSimulation", simulationOverride,
-                "overrideTrading", "true".equalsIgnoreCase(trading),
-                "simulationActive", simulationActive,
-                "settlementControlsActive", !"false".equalsIgnoreCase(settlementControls) // default: true
+                "open", state.open(),
+                "overrideSimulation", state.simulationOverride(),
+                "overrideTrading", state.tradingOverride(),
+                "simulationActive", state.simulationActive(),
+                "settlementControlsActive", state.settlementControlsActive()
         ));
     }
 
     @PostMapping("/override/simulation/open")
     @PreAuthorize("hasAuthority('order:create')")
     public SuccessResponse<Map<String, Object>> openSimulationOverride() {
-        redisTemplate.opsForValue().set("market:override:simulation", "true");
+        marketSessionService.setSimulationOverride(true);
         return SuccessResponse.success(Map.of("overrideSimulation", true));
     }
 
     @PostMapping("/override/simulation/close")
     @PreAuthorize("hasAuthority('order:create')")
     public SuccessResponse<Map<String, Object>> closeSimulationOverride() {
-        redisTemplate.opsForValue().set("market:override:simulation", "false");
+        marketSessionService.setSimulationOverride(false);
         return SuccessResponse.success(Map.of("overrideSimulation", false));
     }
 
     @PostMapping("/override/trading/open")
     @PreAuthorize("hasAuthority('order:create')")
     public SuccessResponse<Map<String, Object>> openTradingOverride() {
-        redisTemplate.opsForValue().set("market:override:trading", "true");
+        marketSessionService.setTradingOverride(true);
         queuedOrderProcessor.processQueuedOrders();
         return SuccessResponse.success(Map.of("overrideTrading", true));
     }
@@ -67,30 +64,41 @@ public class MarketSessionController {
     @PostMapping("/override/trading/close")
     @PreAuthorize("hasAuthority('order:create')")
     public SuccessResponse<Map<String, Object>> closeTradingOverride() {
-        redisTemplate.opsForValue().set("market:override:trading", "false");
+        marketSessionService.setTradingOverride(false);
         return SuccessResponse.success(Map.of("overrideTrading", false));
     }
 
     @PostMapping("/override/settlement/open")
     @PreAuthorize("hasAuthority('order:create')")
     public SuccessResponse<Map<String, Object>> openSettlementControls() {
-        redisTemplate.opsForValue().set("market:override:settlement_controls", "true");
+        marketSessionService.setSettlementControlsActive(true);
         return SuccessResponse.success(Map.of("settlementControlsActive", true));
     }
 
     @PostMapping("/override/settlement/close")
     @PreAuthorize("hasAuthority('order:create')")
     public SuccessResponse<Map<String, Object>> closeSettlementControls() {
-        redisTemplate.opsForValue().set("market:override:settlement_controls", "false");
-        try {
-            portfolioService.releaseAllBlocksForOverride();
-        } catch (Exception e) {
-        }
-        return SuccessResponse.success(Map.of("settlementControlsActive", false));
+        marketSessionService.setSettlementControlsActive(false);
+        BlockReleaseJobStatus job = blockReleaseService.startRelease();
+        return SuccessResponse.success(Map.of(
+                "settlementControlsActive", false,
+                "releaseJobId", job.getJobId(),
+                "releaseJobState", job.getState()
+        ));
+    }
+
+    @GetMapping("/override/settlement/release-jobs/latest")
+    @PreAuthorize("hasAuthority('order:create')")
+    public SuccessResponse<BlockReleaseJobStatus> getLatestReleaseJob() {
+        return SuccessResponse.success(blockReleaseService.getLatestJob()
+                .orElseThrow(() -> new EntityNotFoundException("Blokaj serbest bırakma işi bulunamadı.")));
     }
 
-    private String safeGet(String key) {
-        try { return redisTemplate.opsForValue().get(key); } catch (Exception e) { return null; }
+    @GetMapping("/override/settlement/release-jobs/{jobId}")
+    @PreAuthorize("hasAuthority('order:create')")
+    public SuccessResponse<BlockReleaseJobStatus> getReleaseJob(@PathVariable String jobId) {
+        return SuccessResponse.success(blockReleaseService.getJob(jobId)
+                .orElseThrow(() -> new EntityNotFoundException("Blokaj serbest bırakma işi bulunamadı: " + jobId)));
     }
 }
 
@@ -0,0 +1,42 @@
+package com.example.finchange.marketSimulation.dto;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * Tick journal oynatmasının anlık durumu. Oynatma ilerlerken sayaçlar güncellenir; durum uç
+ * noktası her çağrıda son değerleri döner.
+ */
+@Getter
+@Setter
+public class MarketReplayStatus {
+
+    public enum State { RUNNING, COMPLETED, STOPPED, FAILED }
+
+    private final String journal;
+    private final ReplayMode mode;
+    private final double speed;
+    private final long capacity;
+    private final LocalDateTime startedAt;
+    private volatile State state = State.RUNNING;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    private volatile long replayedCount;
+    private volatile long skippedCount;
+    private volatile long elapsedMillis;
+
+    public MarketReplayStatus(String journal, ReplayMode mode, double speed, long capacity, LocalDateTime startedAt) {
+        this.journal = journal;
+        this.mode = mode;
+        this.speed = speed;
+        this.capacity = capacity;
+        this.startedAt = startedAt;
+    }
+
+    public double getEventsPerSecond() {
+        return elapsedMillis > 0 ? replayedCount * 1000.0 / elapsedMillis : 0;
+    }
+}
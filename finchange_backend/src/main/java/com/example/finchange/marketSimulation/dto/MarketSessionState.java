@@ -0,0 +1,38 @@
+package com.example.finchange.marketSimulation.dto;
+
+/**
+ * Piyasa seansının bellekteki anlık görüntüsü. {@code scheduledOpen} yalnızca seans saatlerine ve
+ * iş günü takvimine göre hesaplanır; override'lar ayrı tutulur.
+ */
+public record MarketSessionState(boolean scheduledOpen,
+                                 boolean tradingOverride,
+                                 boolean simulationOverride,
+                                 boolean settlementControlsActive) {
+
+    /** Redis'e ulaşılamadığında kullanılan güvenli varsayılanlar: override yok, takas kontrolleri aktif. */
+    public static final MarketSessionState DEFAULT = new MarketSessionState(false, false, false, true);
+
+    public boolean open() {
+        return tradingOverride || scheduledOpen;
+    }
+
+    public boolean simulationActive() {
+        return open() || simulationOverride;
+    }
+
+    public MarketSessionState withScheduledOpen(boolean value) {
+        return new MarketSessionState(value, tradingOverride, simulationOverride, settlementControlsActive);
+    }
+
+    public MarketSessionState withTradingOverride(boolean value) {
+        return new MarketSessionState(scheduledOpen, value, simulationOverride, settlementControlsActive);
+    }
+
+    public MarketSessionState withSimulationOverride(boolean value) {
+        return new MarketSessionState(scheduledOpen, tradingOverride, value, settlementControlsActive);
+    }
+
+    public MarketSessionState withSettlementControlsActive(boolean value) {
+        return new MarketSessionState(scheduledOpen, tradingOverride, simulationOverride, value);
+    }
+}
@@ -0,0 +1,42 @@
+package com.example.finchange.marketSimulation.dto;
+
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Bir OHLC toplama koşusunun özeti. Her sembol için fiyat API'si gecikmesi ve sonucu tutulur;
+ * gecikme rate limit beklemesini içermez.
+ */
+public record OhlcCollectionReport(LocalDateTime startedAt,
+                                   long elapsedMillis,
+                                   List<SymbolResult> results) {
+
+    public enum Outcome { STORED, NO_DATA, FETCH_FAILED, WRITE_FAILED }
+
+    public record SymbolResult(String bistCode, long latencyMillis, Outcome outcome, String error) {
+    }
+
+    public long count(Outcome outcome) {
+        return results.stream().filter(result -> result.outcome() == outcome).count();
+    }
+
+    public List<SymbolResult> failures() {
+        return results.stream()
+                .filter(result -> result.outcome() == Outcome.FETCH_FAILED || result.outcome() == Outcome.WRITE_FAILED)
+                .toList();
+    }
+
+    /**
+     * @param percentile 0-100 arası
+     * @return sembol gecikmelerinin verilen yüzdeliği (ms), sonuç yoksa 0
+     */
+    public long latencyPercentile(double percentile) {
+        List<Long> sorted = results.stream().map(SymbolResult::latencyMillis).sorted(Comparator.naturalOrder()).toList();
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.size()) - 1;
+        return sorted.get(Math.max(0, Math.min(sorted.size() - 1, index)));
+    }
+}
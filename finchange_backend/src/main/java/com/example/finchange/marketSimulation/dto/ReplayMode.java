@@ -0,0 +1,13 @@
+package com.example.finchange.marketSimulation.dto;
+
+/**
+ * Tick journal oynatma hızı.
+ */
+public enum ReplayMode {
+    /** Kayıttaki tick aralıkları korunur. */
+    ORIGINAL,
+    /** Aralıklar verilen çarpana bölünür (ör. 10 = 10 kat hızlı). */
+    SCALED,
+    /** Bekleme yapılmaz; hız eşleştirme motorunun kuyruklarıyla sınırlanır. */
+    MAX
+}
@@ -0,0 +1,33 @@
+package com.example.finchange.marketSimulation.events;
+
+import com.example.finchange.marketSimulation.dto.MarketSessionState;
+
+/**
+ * Seans durumu değiştiğinde (açılış/kapanış veya override değişikliği) yayınlanır. Dinleyiciler
+ * durumu değiştiren iş parçacığında senkron çalışır; uzun işler kendi executor'larına taşınmalıdır.
+ */
+public class MarketSessionTransitionEvent {
+    private final MarketSessionState previous;
+    private final MarketSessionState current;
+
+    public MarketSessionTransitionEvent(MarketSessionState previous, MarketSessionState current) {
+        this.previous = previous;
+        this.current = current;
+    }
+
+    public MarketSessionState getPrevious() {
+        return previous;
+    }
+
+    public MarketSessionState getCurrent() {
+        return current;
+    }
+
+    public boolean isOpened() {
+        return !previous.open() && current.open();
+    }
+
+    public boolean isClosed() {
+        return previous.open() && !current.open();
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.finchange.marketSimulation.journal;
+
+/**
+ * Tick journal dosya biçimi. Dosya 16 baytlık bir başlıkla ({@code FCTJ} sihirli sayısı, sürüm,
+ * long kayıt sayısı) başlar; ardından sabit 20 baytlık kayıtlar gelir:
+ * <pre>
+ *   int  assetId
+ *   long priceUnits      (Money birimi, 10^4 ölçekli)
+ *   long timestampNanos  (epoch'tan itibaren nanosaniye)
+ * </pre>
+ * Yazıcı dosyayı parça parça önceden büyüttüğü için düzgün kapanmamış bir dosyanın sonu sıfırlarla
+ * dolu olabilir; okuyucu tamamen sıfır bir kayıtta durur. Kayıt sayısı yazıcı kapanırken yazılır;
+ * 0 ise dosya düzgün kapanmamıştır ve okuyucu sayıyı dosya boyundan türetir.
+ */
+public final class TickJournal {
+
+    public static final int MAGIC = 0x4643544A; // "FCTJ"
+    public static final int VERSION = 1;
+    public static final int HEADER_BYTES = 16;
+    public static final int RECORD_COUNT_OFFSET = 8;
+    public static final int RECORD_BYTES = 20;
+    public static final String FILE_SUFFIX = ".ticks";
+
+    private TickJournal() {
+    }
+}
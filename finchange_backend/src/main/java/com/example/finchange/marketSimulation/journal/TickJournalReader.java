@@ -0,0 +1,111 @@
+package com.example.finchange.marketSimulation.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tick journal'ı salt okunur bellek eşlemeyle sırayla okur. Kayıtlar nesne üretmeden imleç
+ * üzerinden okunur: {@link #advance()} sonrası alanlar getter'lardan alınır.
+ */
+public final class TickJournalReader implements Closeable {
+
+    // Bir eşleme 2 GB'ı aşamaz; parça boyu kayıt boyunun katı tutulur ki kayıt bölünmesin.
+    private static final long MAX_CHUNK_BYTES = (Integer.MAX_VALUE / TickJournal.RECORD_BYTES) * (long) TickJournal.RECORD_BYTES;
+
+    private final FileChannel channel;
+    private final long end;
+    private final long chunkBytes;
+    private MappedByteBuffer buffer;
+    private long nextChunkStart = TickJournal.HEADER_BYTES;
+
+    private int assetId;
+    private long priceUnits;
+    private long timestampNanos;
+
+    private TickJournalReader(FileChannel channel, long end, long chunkBytes) {
+        this.channel = channel;
+        this.end = end;
+        this.chunkBytes = chunkBytes;
+    }
+
+    public static TickJournalReader open(Path path) throws IOException {
+        return open(path, MAX_CHUNK_BYTES);
+    }
+
+    static TickJournalReader open(Path path, long chunkBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            long size = channel.size();
+            ByteBuffer header = ByteBuffer.allocate(TickJournal.HEADER_BYTES);
+            if (size < TickJournal.HEADER_BYTES || channel.read(header, 0) < TickJournal.HEADER_BYTES
+                    || header.getInt(0) != TickJournal.MAGIC || header.getInt(4) != TickJournal.VERSION) {
+                throw new IllegalArgumentException("Geçersiz tick journal dosyası: " + path.getFileName());
+            }
+            long records = (size - TickJournal.HEADER_BYTES) / TickJournal.RECORD_BYTES;
+            long recordCount = header.getLong(TickJournal.RECORD_COUNT_OFFSET);
+            if (recordCount > 0) {
+                records = Math.min(records, recordCount);
+            }
+            long alignedChunk = Math.max(1, chunkBytes / TickJournal.RECORD_BYTES) * TickJournal.RECORD_BYTES;
+            return new TickJournalReader(channel, TickJournal.HEADER_BYTES + records * TickJournal.RECORD_BYTES, alignedChunk);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    /**
+     * @return düzgün kapanmış dosyada başlıktaki kayıt sayısı; kapanmamış dosyada üst sınır
+     *         (sondaki boş alan dahil)
+     */
+    public long capacity() {
+        return (end - TickJournal.HEADER_BYTES) / TickJournal.RECORD_BYTES;
+    }
+
+    /**
+     * Bir sonraki kayda ilerler.
+     *
+     * @return kayıt kalmadıysa false
+     */
+    public boolean advance() throws IOException {
+        if (buffer == null || !buffer.hasRemaining()) {
+            if (nextChunkStart >= end) {
+                return false;
+            }
+            long length = Math.min(chunkBytes, end - nextChunkStart);
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, nextChunkStart, length);
+            nextChunkStart += length;
+        }
+        assetId = buffer.getInt();
+        priceUnits = buffer.getLong();
+        timestampNanos = buffer.getLong();
+        if (assetId == 0 && timestampNanos == 0) {
+            buffer = null;
+            nextChunkStart = end;
+            return false;
+        }
+        return true;
+    }
+
+    public int assetId() {
+        return assetId;
+    }
+
+    public long priceUnits() {
+        return priceUnits;
+    }
+
+    public long timestampNanos() {
+        return timestampNanos;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.finchange.marketSimulation.journal;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * {@code market-price-updates} konusundaki her fiyat güncellemesini tick journal'a ekler.
+ * Listener yalnızca {@code market-simulation.journal.enabled=true} iken başlar; her uygulama
+ * başlangıcında yeni bir dosya açılır. Replay Kafka'yı atladığı için oynatılan tick'ler tekrar
+ * kaydedilmez.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class TickJournalRecorder {
+
+    private static final DateTimeFormatter FILE_NAME_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss").withZone(ZoneId.of("Europe/Istanbul"));
+
+    private final AssetRegistry assetRegistry;
+
+    @Value("${market-simulation.journal.dir:./tick-journal}")
+    private String journalDir = "./tick-journal";
+
+    @Value("${market-simulation.journal.segment-bytes:67108864}")
+    private long segmentBytes = 64L * 1024 * 1024;
+
+    private TickJournalWriter writer;
+    private boolean failed;
+
+    @KafkaListener(topics = "market-price-updates", groupId = "finchange-tick-journal",
+            containerFactory = "kafkaListenerContainerFactory",
+            autoStartup = "${market-simulation.journal.enabled:false}")
+    public void onPriceUpdate(PriceUpdateEvent event) {
+        if (event == null || event.getAssetCode() == null || event.getPrice() == null) {
+            return;
+        }
+        Integer assetId = assetRegistry.getAssetId(event.getAssetCode());
+        if (assetId == null) {
+            log.debug("{} için varlık kimliği bulunamadı, tick kaydedilmedi.", event.getAssetCode());
+            return;
+        }
+        Instant timestamp = event.getTimestamp() != null ? event.getTimestamp() : Instant.now();
+        record(assetId, Money.of(event.getPrice()).units(),
+                timestamp.getEpochSecond() * 1_000_000_000L + timestamp.getNano());
+    }
+
+    synchronized void record(int assetId, long priceUnits, long timestampNanos) {
+        if (failed) {
+            return;
+        }
+        try {
+            if (writer == null) {
+                writer = openWriter();
+            }
+            writer.append(assetId, priceUnits, timestampNanos);
+        } catch (IOException e) {
+            // Disk hatasında eşleştirmeyi etkilememek için kayıt durdurulur, listener çalışmaya devam eder.
+            failed = true;
+            log.error("Tick journal'a yazılamadı, kayıt durduruldu. Hata: {}", e.getMessage(), e);
+        }
+    }
+
+    @PreDestroy
+    public synchronized void close() {
+        if (writer == null) {
+            return;
+        }
+        try {
+            writer.close();
+            log.info("Tick journal kapatıldı: {} kayıt.", writer.getRecordCount());
+        } catch (IOException e) {
+            log.warn("Tick journal kapatılırken hata oluştu: {}", e.getMessage());
+        } finally {
+            writer = null;
+        }
+    }
+
+    private TickJournalWriter openWriter() throws IOException {
+        Path dir = Path.of(journalDir);
+        Files.createDirectories(dir);
+        Path file = dir.resolve("ticks-" + FILE_NAME_FORMAT.format(Instant.now()) + TickJournal.FILE_SUFFIX);
+        log.info("Tick journal kaydı başladı: {}", file.toAbsolutePath());
+        return TickJournalWriter.create(file, segmentBytes);
+    }
+}
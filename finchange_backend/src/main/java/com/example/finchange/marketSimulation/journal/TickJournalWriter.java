@@ -0,0 +1,84 @@
+package com.example.finchange.marketSimulation.journal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Tick journal'a bellek eşlemeli (mmap) ekleme yapar. Dosya {@code segmentBytes} büyüklüğünde
+ * parçalar halinde eşlenir; kayıtlar doğrudan sayfa önbelleğine yazılır, tick başına sistem çağrısı
+ * yapılmaz. Tek yazıcı içindir; eşzamanlı çağrılar dışarıda sıralanmalıdır.
+ */
+public final class TickJournalWriter implements Closeable {
+
+    private final FileChannel channel;
+    private final long segmentBytes;
+    private MappedByteBuffer buffer;
+    private long position;
+    private long recordCount;
+
+    private TickJournalWriter(FileChannel channel, long segmentBytes) {
+        this.channel = channel;
+        this.segmentBytes = Math.max(TickJournal.RECORD_BYTES, segmentBytes);
+    }
+
+    public static TickJournalWriter create(Path path, long segmentBytes) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        TickJournalWriter writer = new TickJournalWriter(channel, segmentBytes);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(TickJournal.HEADER_BYTES)
+                    .putInt(TickJournal.MAGIC)
+                    .putInt(TickJournal.VERSION)
+                    .putLong(0L)
+                    .flip();
+            channel.write(header, 0);
+            writer.position = TickJournal.HEADER_BYTES;
+            writer.mapNextSegment();
+        } catch (IOException e) {
+            channel.close();
+            throw e;
+        }
+        return writer;
+    }
+
+    public void append(int assetId, long priceUnits, long timestampNanos) throws IOException {
+        if (buffer.remaining() < TickJournal.RECORD_BYTES) {
+            mapNextSegment();
+        }
+        buffer.putInt(assetId).putLong(priceUnits).putLong(timestampNanos);
+        position += TickJournal.RECORD_BYTES;
+        recordCount++;
+    }
+
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * Eşlenmiş sayfaları diske zorlar, dosyayı önceden büyütülmüş boş alan kadar kısaltır ve kayıt
+     * sayısını başlığa yazar. Sayı en son yazılır; kapanış yarıda kalırsa başlıkta 0 kalır.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            buffer.force();
+            channel.truncate(position);
+            channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, recordCount), TickJournal.RECORD_COUNT_OFFSET);
+            channel.force(false);
+        } finally {
+            channel.close();
+        }
+    }
+
+    private void mapNextSegment() throws IOException {
+        if (buffer != null) {
+            buffer.force();
+        }
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, position, segmentBytes);
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.finchange.marketSimulation.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * {@code S(t+dt) = S(t) * exp((mu - sigma^2/2) dt + sigma sqrt(dt) Z)}.
+ */
+public final class GeometricBrownianMotion implements PriceProcess {
+
+    private final double drift;
+
+    /**
+     * @param drift saniye başına beklenen log-getiri
+     */
+    public GeometricBrownianMotion(double drift) {
+        this.drift = drift;
+    }
+
+    @Override
+    public void advance(PriceBatch batch, double dt, SplittableRandom random) {
+        PriceProcess.fillNormals(batch, random);
+        double sqrtDt = Math.sqrt(dt);
+        double[] prices = batch.prices;
+        double[] sigmas = batch.sigmas;
+        double[] normals = batch.normals;
+        for (int i = 0; i < batch.size; i++) {
+            double sigma = sigmas[i];
+            prices[i] *= Math.exp((drift - 0.5 * sigma * sigma) * dt + sigma * sqrtDt * normals[i]);
+        }
+    }
+}
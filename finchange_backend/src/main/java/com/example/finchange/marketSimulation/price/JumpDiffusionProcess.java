@@ -0,0 +1,48 @@
+package com.example.finchange.marketSimulation.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * Merton sıçrama-difüzyon: GBM adımına, saniyede {@code lambda} yoğunlukla gelen ve log-boyutu
+ * {@code N(jumpMean, jumpStdDev)} olan sıçramalar eklenir. Difüzyon kayması sıçramaların
+ * beklenen getirisi kadar düzeltilir; süreç ortalamada sürüklenmez.
+ */
+public final class JumpDiffusionProcess implements PriceProcess {
+
+    private final GeometricBrownianMotion diffusion;
+    private final double intensity;
+    private final double jumpMean;
+    private final double jumpStdDev;
+
+    /**
+     * @param intensity saniye başına beklenen sıçrama sayısı
+     */
+    public JumpDiffusionProcess(double drift, double intensity, double jumpMean, double jumpStdDev) {
+        double compensator = intensity * (Math.exp(jumpMean + 0.5 * jumpStdDev * jumpStdDev) - 1);
+        this.diffusion = new GeometricBrownianMotion(drift - compensator);
+        this.intensity = intensity;
+        this.jumpMean = jumpMean;
+        this.jumpStdDev = jumpStdDev;
+    }
+
+    @Override
+    public void advance(PriceBatch batch, double dt, SplittableRandom random) {
+        diffusion.advance(batch, dt, random);
+        if (intensity <= 0) {
+            return;
+        }
+        double[] prices = batch.prices;
+        for (int i = 0; i < batch.size; i++) {
+            // Üstel bekleme süreleriyle dt içindeki sıçrama sayısı; küçük dt'de çoğunlukla sıfır.
+            double elapsed = random.nextExponential() / intensity;
+            double logJump = 0;
+            while (elapsed < dt) {
+                logJump += jumpMean + jumpStdDev * random.nextGaussian();
+                elapsed += random.nextExponential() / intensity;
+            }
+            if (logJump != 0) {
+                prices[i] *= Math.exp(logJump);
+            }
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.finchange.marketSimulation.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * Log-fiyat üzerinde Ornstein-Uhlenbeck, tam ayrıklaştırmayla:
+ * {@code x += (1 - e^(-theta dt)) (ln A - x) + sigma sqrt((1 - e^(-2 theta dt)) / 2 theta) Z}.
+ * Çapa ({@code A}) varlığın günlük açılış fiyatıdır; adım büyüklüğünden bağımsız olarak kararlıdır.
+ */
+public final class MeanReversionProcess implements PriceProcess {
+
+    private final double theta;
+
+    /**
+     * @param halfLifeSeconds sapmanın yarıya inme süresi
+     */
+    public MeanReversionProcess(double halfLifeSeconds) {
+        this.theta = Math.log(2) / halfLifeSeconds;
+    }
+
+    @Override
+    public void advance(PriceBatch batch, double dt, SplittableRandom random) {
+        PriceProcess.fillNormals(batch, random);
+        double pull = 1 - Math.exp(-theta * dt);
+        double noiseScale = Math.sqrt((1 - Math.exp(-2 * theta * dt)) / (2 * theta));
+        double[] prices = batch.prices;
+        double[] sigmas = batch.sigmas;
+        double[] anchors = batch.anchors;
+        double[] normals = batch.normals;
+        for (int i = 0; i < batch.size; i++) {
+            double logPrice = Math.log(prices[i]);
+            logPrice += pull * (Math.log(anchors[i]) - logPrice) + sigmas[i] * noiseScale * normals[i];
+            prices[i] = Math.exp(logPrice);
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.finchange.marketSimulation.price;
+
+/**
+ * Bir tick'te tüm varlıklar için işlenen sütun dizileri. Fiyatlar ve çapalar {@code Money}
+ * birimindedir; volatiliteler saniyenin kareköküne göre, log-getiri cinsindendir. Diziler iş
+ * parçacığı başına bir kez ayrılır ve tick'ler arasında yeniden kullanılır.
+ */
+public final class PriceBatch {
+
+    double[] prices = new double[0];
+    double[] sigmas = new double[0];
+    double[] anchors = new double[0];
+    double[] normals = new double[0];
+    int size;
+
+    void reset(int count) {
+        if (prices.length < count) {
+            int capacity = Math.max(count, prices.length * 2);
+            prices = new double[capacity];
+            sigmas = new double[capacity];
+            anchors = new double[capacity];
+            normals = new double[capacity];
+        }
+        size = count;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public double price(int i) {
+        return prices[i];
+    }
+}
@@ -0,0 +1,104 @@
+package com.example.finchange.marketSimulation.price;
+
+import com.example.finchange.marketSimulation.state.SimulatedAsset;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.SplittableRandom;
+
+/**
+ * Seçilen fiyat sürecini bir tick'te tüm varlıklara tek parti halinde uygular. Varlık başına
+ * volatilite OHLC aralığından (Parkinson tahmincisi) türetilir ve seans süresine göre saniyeye
+ * ölçeklenir. Her iş parçacığı kök tohumdan bölünmüş kendi {@link SplittableRandom}'unu kullanır;
+ * {@code market-simulation.seed} verildiğinde aynı varlık kümesi için koşular tekrarlanabilir.
+ */
+@Component
+@Slf4j
+public class PriceEngine {
+
+    @Value("${market-simulation.price-model:GBM}")
+    private PriceModel model = PriceModel.GBM;
+
+    @Value("${market-simulation.seed:#{null}}")
+    private Long seed;
+
+    @Value("${market-simulation.tick-ms:5000}")
+    private long tickMs = 5000;
+
+    @Value("${market-simulation.session-seconds:29400}")
+    private double sessionSeconds = 29400;
+
+    @Value("${market-simulation.volatility-multiplier:1.0}")
+    private double volatilityMultiplier = 1.0;
+
+    @Value("${market-simulation.min-daily-volatility:0.01}")
+    private double minDailyVolatility = 0.01;
+
+    @Value("${market-simulation.daily-drift:0.0}")
+    private double dailyDrift = 0.0;
+
+    @Value("${market-simulation.mean-reversion.half-life-seconds:900}")
+    private double halfLifeSeconds = 900;
+
+    @Value("${market-simulation.jump.daily-intensity:2.0}")
+    private double dailyJumpIntensity = 2.0;
+
+    @Value("${market-simulation.jump.mean:0.0}")
+    private double jumpMean = 0.0;
+
+    @Value("${market-simulation.jump.std-dev:0.02}")
+    private double jumpStdDev = 0.02;
+
+    private PriceProcess process;
+    private SplittableRandom root;
+    private double volatilityScale;
+    private final ThreadLocal<Worker> workers = ThreadLocal.withInitial(this::newWorker);
+
+    @PostConstruct
+    public void init() {
+        root = seed != null ? new SplittableRandom(seed) : new SplittableRandom();
+        volatilityScale = volatilityMultiplier / Math.sqrt(sessionSeconds);
+        process = switch (model) {
+            case GBM -> new GeometricBrownianMotion(dailyDrift / sessionSeconds);
+            case MEAN_REVERSION -> new MeanReversionProcess(halfLifeSeconds);
+            case JUMP_DIFFUSION -> new JumpDiffusionProcess(dailyDrift / sessionSeconds,
+                    dailyJumpIntensity / sessionSeconds, jumpMean, jumpStdDev);
+        };
+        log.info("Fiyat motoru hazır: model={}, tick={}ms, tohum={}", model, tickMs, seed != null ? seed : "rastgele");
+    }
+
+    /**
+     * Varlıkların mevcut fiyatlarından bir tick sonraki ham (adıma oturtulmamış) fiyatları üretir.
+     * Dönen parti çağıran iş parçacığına aittir ve bir sonraki çağrıda üzerine yazılır.
+     */
+    public PriceBatch next(SimulatedAsset[] assets) {
+        Worker worker = workers.get();
+        PriceBatch batch = worker.batch;
+        batch.reset(assets.length);
+        for (int i = 0; i < assets.length; i++) {
+            SimulatedAsset asset = assets[i];
+            SimulatedAsset.Bounds bounds = asset.getBounds();
+            double price = Math.max(1, asset.getModelPrice());
+            long anchor = bounds.openUnits() > 0 ? bounds.openUnits() : bounds.previousCloseUnits();
+            batch.prices[i] = price;
+            batch.anchors[i] = anchor > 0 ? anchor : price;
+            batch.sigmas[i] = Math.max(minDailyVolatility, asset.getDailyVolatility()) * volatilityScale;
+        }
+        process.advance(batch, tickMs / 1000.0, worker.random);
+        return batch;
+    }
+
+    private Worker newWorker() {
+        synchronized (root) {
+            return new Worker(root.split());
+        }
+    }
+
+    private record Worker(SplittableRandom random, PriceBatch batch) {
+        Worker(SplittableRandom random) {
+            this(random, new PriceBatch());
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.finchange.marketSimulation.price;
+
+/**
+ * Simülasyonda kullanılabilecek fiyat süreçleri; {@code market-simulation.price-model} ile seçilir.
+ */
+public enum PriceModel {
+    /** Geometrik Brown hareketi. */
+    GBM,
+    /** Açılış fiyatına log-uzayda geri dönen Ornstein-Uhlenbeck süreci. */
+    MEAN_REVERSION,
+    /** GBM'e Poisson zamanlı, log-normal boyutlu sıçramalar eklenmiş Merton modeli. */
+    JUMP_DIFFUSION
+}
@@ -0,0 +1,25 @@
+package com.example.finchange.marketSimulation.price;
+
+import java.util.SplittableRandom;
+
+/**
+ * Bir fiyat sürecinin tek adımı. Uygulamalar tüm partiyi tek döngüde, yerinde günceller; rastgele
+ * sayılar yalnızca verilen üreteçten çekilir, böylece aynı tohumla aynı yol elde edilir.
+ */
+public interface PriceProcess {
+
+    /**
+     * @param dt adım süresi (saniye)
+     */
+    void advance(PriceBatch batch, double dt, SplittableRandom random);
+
+    /**
+     * Partinin {@code normals} dizisini standart normal değerlerle doldurur.
+     */
+    static void fillNormals(PriceBatch batch, SplittableRandom random) {
+        double[] normals = batch.normals;
+        for (int i = 0; i < batch.size; i++) {
+            normals[i] = random.nextGaussian();
+        }
+    }
+}
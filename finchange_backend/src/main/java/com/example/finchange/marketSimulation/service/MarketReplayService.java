@@ -0,0 +1,30 @@
+package com.example.finchange.marketSimulation.service;
+
+import com.example.finchange.marketSimulation.dto.MarketReplayStatus;
+import com.example.finchange.marketSimulation.dto.ReplayMode;
+
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Kaydedilmiş tick journal'larını simülatörü ve Kafka'yı atlayarak doğrudan eşleştirme hattına
+ * besler. Aynı anda tek bir oynatma çalışır; oynatma sürerken simülatör tick üretmez.
+ * Oynatma canlı emirleri gerçekleştirdiği için yalnızca {@code market-replay.enabled=true}
+ * olan test/simülasyon ortamlarında açılmalıdır.
+ */
+public interface MarketReplayService {
+
+    List<String> listJournals();
+
+    /**
+     * @param speed yalnızca {@link ReplayMode#SCALED} için kullanılır
+     * @throws IllegalStateException oynatma devre dışıysa veya başka bir oynatma sürüyorsa
+     */
+    MarketReplayStatus start(String journal, ReplayMode mode, double speed);
+
+    Optional<MarketReplayStatus> stop();
+
+    Optional<MarketReplayStatus> getStatus();
+
+    boolean isReplayActive();
+}
@@ -1,8 +1,12 @@
 package com.example.finchange.marketSimulation.service;
 
+import com.example.finchange.marketSimulation.dto.MarketSessionState;
+
 public interface MarketSessionService {
     boolean isMarketOpenNow();
     boolean areSettlementControlsActive();
+    MarketSessionState getState();
+    void setTradingOverride(boolean active);
+    void setSimulationOverride(boolean active);
+    void setSettlementControlsActive(boolean active);
 }
-
-
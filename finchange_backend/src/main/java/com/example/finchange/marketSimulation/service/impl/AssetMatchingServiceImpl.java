@@ -4,6 +4,7 @@ import com.example.finchange.marketSimulation.client.ExternalAssetClient;
 import com.example.finchange.marketSimulation.client.dto.ExternalApiResponseDto;
 import com.example.finchange.marketSimulation.client.dto.ExternalAssetDto;
 import com.example.finchange.marketSimulation.service.AssetMatchingService;
+import com.example.finchange.marketSimulation.state.AssetKeyIndex;
 import com.example.finchange.portfolio.model.Asset;
 import com.example.finchange.portfolio.repository.AssetRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -29,6 +30,7 @@ public class AssetMatchingServiceImpl implements AssetMatchingService {
     private final AssetRepository assetRepository; // Doğrudan Repository ile konuşuyoruz.
     private final ObjectMapper objectMapper;
     private final StringRedisTemplate redisTemplate;
+    private final AssetKeyIndex assetKeyIndex;
 
     @Override
     public void findAndWriteAllMatchesToRedis() {
@@ -108,6 +110,7 @@ public class AssetMatchingServiceImpl implements AssetMatchingService {
 
             redisTemplate.opsForHash().putAll(redisKey, dataForRedis);
             redisTemplate.expire(redisKey, 7, TimeUnit.DAYS);
+            assetKeyIndex.addInfo(asset.getBistCode());
 
             log.info(" -> {} için hibrit kimlik bilgileri Redis'e başarıyla yazıldı.", asset.getBistCode());
         } catch (Exception e) {
@@ -2,86 +2,204 @@ package com.example.finchange.marketSimulation.service.impl;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
 import com.example.finchange.marketSimulation.client.PriceDataClient;
+import com.example.finchange.marketSimulation.client.TokenBucketRateLimiter;
 import com.example.finchange.marketSimulation.client.dto.OhlcDataDto;
 import com.example.finchange.marketSimulation.client.dto.PriceApiResponseDto;
+import com.example.finchange.marketSimulation.dto.OhlcCollectionReport;
+import com.example.finchange.marketSimulation.dto.OhlcCollectionReport.Outcome;
+import com.example.finchange.marketSimulation.dto.OhlcCollectionReport.SymbolResult;
+import com.example.finchange.marketSimulation.state.AssetKeyIndex;
+import com.example.finchange.marketSimulation.state.MarketSimulationState;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
 
+/**
+ * Kayıtlı varlıkların günlük OHLC verisini fiyat API'sinden çeker. İstekler sanal thread'lerde
+ * paralel yürür; eşzamanlı istek sayısı {@code market-data.collector.concurrency}, istek hızı ise
+ * jeton kovasıyla ({@code market-data.collector.rate-per-second}) sınırlanır. Sonuçlar tek bir
+ * Redis pipeline'ında yazılır ve her koşu sembol bazında gecikme ve hata raporu üretir.
+ */
 @Service
 @Slf4j
 @RequiredArgsConstructor
 public class DataCollectorService {
 
+    private static final long OHLC_TTL_SECONDS = TimeUnit.DAYS.toSeconds(1);
 
     private final StringRedisTemplate redisTemplate;
     private final PriceDataClient priceDataClient;
+    private final MarketSimulationState simulationState;
+    private final AssetKeyIndex assetKeyIndex;
 
+    @Value("${market-data.collector.concurrency:16}")
+    private int concurrency = 16;
 
+    @Value("${market-data.collector.rate-per-second:20}")
+    private double ratePerSecond = 20;
+
+    @Value("${market-data.collector.burst:20}")
+    private int burst = 20;
+
+    private volatile OhlcCollectionReport lastReport;
 
     @Scheduled(cron = "0 45 * * * *", zone = "Europe/Istanbul")
     public void collectAndStoreDailyOhlcData() {
         log.info("===== Günlük OHLC Veri Toplama Görevi Başladı =====");
 
-        Set<String> assetInfoKeys = fetchAssetKeysFromRedis();
-        if (assetInfoKeys.isEmpty()) {
+        List<String> bistCodes = fetchAssetCodesFromRedis();
+        if (bistCodes.isEmpty()) {
             log.warn("Redis'te 'asset:info:*' cache'inde hiç varlık bulunamadı. Görev sonlandırılıyor.");
             return;
         }
-        log.info("{} adet kayıtlı varlık için fiyat verisi çekilecek.", assetInfoKeys.size());
+        log.info("{} adet kayıtlı varlık için fiyat verisi çekilecek (eşzamanlılık {}, saniyede en fazla {} istek).",
+                bistCodes.size(), concurrency, ratePerSecond);
+
+        OhlcCollectionReport report = collect(bistCodes);
+        lastReport = report;
+
+        report.failures().forEach(failure -> log.error(" -> {} için OHLC toplanamadı ({}, {} ms): {}",
+                failure.bistCode(), failure.outcome(), failure.latencyMillis(), failure.error()));
+        log.info("===== Günlük OHLC Veri Toplama Görevi Tamamlandı: {} yazıldı, {} veri yok, {} hata; süre {} ms, gecikme p50={} ms p95={} ms max={} ms =====",
+                report.count(Outcome.STORED), report.count(Outcome.NO_DATA), report.failures().size(),
+                report.elapsedMillis(), report.latencyPercentile(50), report.latencyPercentile(95), report.latencyPercentile(100));
+    }
+
+    public Optional<OhlcCollectionReport> getLastReport() {
+        return Optional.ofNullable(lastReport);
+    }
 
+    /**
+     * Verilen semboller için OHLC verisini paralel çeker ve başarılı olanları tek pipeline'da yazar.
+     */
+    public OhlcCollectionReport collect(List<String> bistCodes) {
+        LocalDateTime startedAt = LocalDateTime.now();
+        long start = System.nanoTime();
+        Semaphore permits = new Semaphore(Math.max(1, concurrency));
+        TokenBucketRateLimiter rateLimiter = new TokenBucketRateLimiter(ratePerSecond, burst);
+        ConcurrentLinkedQueue<SymbolResult> results = new ConcurrentLinkedQueue<>();
+        Map<String, FetchedOhlc> fetched = new ConcurrentHashMap<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (String bistCode : bistCodes) {
+                executor.submit(() -> fetch(bistCode, permits, rateLimiter, results, fetched));
+            }
+        }
 
-        for (String key : assetInfoKeys) {
-            String bistCode = key.substring("asset:info:".length());
+        writeOhlcDataToRedis(fetched, results);
+        return new OhlcCollectionReport(startedAt, (System.nanoTime() - start) / 1_000_000, List.copyOf(results));
+    }
 
+    private void fetch(String bistCode, Semaphore permits, TokenBucketRateLimiter rateLimiter,
+                       ConcurrentLinkedQueue<SymbolResult> results, Map<String, FetchedOhlc> fetched) {
+        long requestStart = 0;
+        try {
+            permits.acquire();
             try {
+                rateLimiter.acquire();
+                requestStart = System.nanoTime();
                 PriceApiResponseDto apiResponse = priceDataClient.fetchOhlcDataForAsset(bistCode);
+                long latency = (System.nanoTime() - requestStart) / 1_000_000;
 
-                OhlcDataDto ohlcData = apiResponse.getOhlcData();
-
+                OhlcDataDto ohlcData = apiResponse != null ? apiResponse.getOhlcData() : null;
                 if (ohlcData != null) {
-                    writeOhlcDataToRedis(bistCode, ohlcData);
+                    // Sonuç, pipeline yazımından sonra STORED ya da WRITE_FAILED olarak eklenir.
+                    fetched.put(bistCode, new FetchedOhlc(toRedisHash(ohlcData), latency));
                 } else {
                     log.warn(" -> {} için Fiyat API'sinden veri alınamadı.", bistCode);
+                    results.add(new SymbolResult(bistCode, latency, Outcome.NO_DATA, null));
                 }
-
-            } catch (Exception e) {
-                log.error(" -> {} için veri çekme veya işleme sırasında bir hata oluştu: {}", bistCode, e.getMessage());
+            } finally {
+                permits.release();
             }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            results.add(new SymbolResult(bistCode, 0, Outcome.FETCH_FAILED, "Kesildi"));
+        } catch (Exception e) {
+            long latency = requestStart > 0 ? (System.nanoTime() - requestStart) / 1_000_000 : 0;
+            results.add(new SymbolResult(bistCode, latency, Outcome.FETCH_FAILED, e.getMessage()));
         }
-
-        log.info("===== Günlük OHLC Veri Toplama Görevi Tamamlandı =====");
     }
 
 
-    private Set<String> fetchAssetKeysFromRedis() {
-        return redisTemplate.keys("asset:info:*");
+    /**
+     * Kayıtlı varlıkları KEYS yerine indeks set'inden okur; {@code asset:info} anahtarı süresi dolmuş
+     * kodlar indeksten çıkarılır.
+     */
+    private List<String> fetchAssetCodesFromRedis() {
+        List<String> bistCodes = new ArrayList<>(assetKeyIndex.getInfoCodes());
+        if (bistCodes.isEmpty()) {
+            return bistCodes;
+        }
+        Set<String> missing = assetKeyIndex.findMissingInfo(bistCodes);
+        assetKeyIndex.removeInfo(missing);
+        bistCodes.removeAll(missing);
+        return bistCodes;
     }
 
 
-
-    private void writeOhlcDataToRedis(String bistCode, OhlcDataDto ohlcData) {
-        String redisKey = "asset:ohlc:" + bistCode;
-
+    private static Map<String, String> toRedisHash(OhlcDataDto ohlcData) {
         Map<String, String> dataForRedis = new HashMap<>();
         dataForRedis.put("previousClose", String.valueOf(ohlcData.getClosePrice()));
         dataForRedis.put("dailyHigh", String.valueOf(ohlcData.getHighPrice()));
         dataForRedis.put("dailyLow", String.valueOf(ohlcData.getLowPrice()));
         dataForRedis.put("openPrice", String.valueOf(ohlcData.getOpenPrice()));
-        dataForRedis.put("dataDate", ohlcData.getDataDate());
+        if (ohlcData.getDataDate() != null) {
+            dataForRedis.put("dataDate", ohlcData.getDataDate());
+        }
+        return dataForRedis;
+    }
 
-        redisTemplate.opsForHash().putAll(redisKey, dataForRedis);
+    /**
+     * Çekilen tüm OHLC hash'lerini, TTL'lerini ve indeks üyeliklerini tek pipeline'da yazar; ardından
+     * bellekteki simülasyon durumunu günceller.
+     */
+    private void writeOhlcDataToRedis(Map<String, FetchedOhlc> fetched, ConcurrentLinkedQueue<SymbolResult> results) {
+        String writeError = null;
+        if (!fetched.isEmpty()) {
+            try {
+                redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+                    StringRedisConnection stringConnection = (StringRedisConnection) connection;
+                    fetched.forEach((bistCode, ohlc) -> {
+                        String redisKey = MarketSimulationState.OHLC_KEY_PREFIX + bistCode;
+                        stringConnection.hMSet(redisKey, ohlc.hash());
+                        stringConnection.expire(redisKey, OHLC_TTL_SECONDS);
+                        stringConnection.sAdd(AssetKeyIndex.OHLC_INDEX_KEY, bistCode);
+                    });
+                    return null;
+                });
+                fetched.forEach((bistCode, ohlc) -> simulationState.updateOhlc(bistCode, ohlc.hash()));
+            } catch (Exception e) {
+                writeError = e.getMessage();
+                log.error("OHLC verileri Redis'e yazılamadı: {}", writeError, e);
+            }
+        }
 
-        redisTemplate.expire(redisKey, 1, TimeUnit.DAYS);
+        Outcome writeOutcome = writeError == null ? Outcome.STORED : Outcome.WRITE_FAILED;
+        String error = writeError;
+        fetched.forEach((bistCode, ohlc) -> results.add(new SymbolResult(bistCode, ohlc.latencyMillis(), writeOutcome, error)));
+    }
 
-        log.info(" -> {} için OHLC verileri Redis'e başarıyla yazıldı. Kapanış: {}", bistCode, ohlcData.getClosePrice());
+    private record FetchedOhlc(Map<String, String> hash, long latencyMillis) {
     }
-}
\ No newline at end of file
+}
@@ -4,22 +4,24 @@ import com.example.finchange.marketSimulation.dto.AssetDetailResponse;
 import com.example.finchange.marketSimulation.dto.MarketDataResponse;
 import com.example.finchange.marketSimulation.mapper.MarketDataMapper;
 import com.example.finchange.marketSimulation.service.MarketDataService;
+import com.example.finchange.marketSimulation.state.AssetKeyIndex;
 import com.example.finchange.operation.service.SystemDateService;
 import com.example.finchange.portfolio.model.Asset;
 import com.example.finchange.portfolio.repository.AssetRepository;
 
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.stereotype.Service;
 
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 
 
@@ -32,22 +34,35 @@ public class MarketDataServiceImpl implements MarketDataService {
     private final StringRedisTemplate redisTemplate;
     private final AssetRepository assetRepository;
     private final SystemDateService systemDateService;
+    private final AssetKeyIndex assetKeyIndex;
 
     @Override
     public MarketDataResponse getActiveAssetsWithInitialPrices() {
         LocalDateTime systemDateTime = systemDateService.getSystemDateTime();
-        Set<String> ohlcKeys = redisTemplate.keys("asset:ohlc:*");
-        if (ohlcKeys == null || ohlcKeys.isEmpty()) {
+        List<String> bistCodes = new ArrayList<>(assetKeyIndex.getOhlcCodes());
+        if (bistCodes.isEmpty()) {
             return new MarketDataResponse(systemDateTime, Collections.emptyList());
         }
 
-        List<Map<String, Object>> assets = ohlcKeys.stream()
-                .map(key -> {
-                    String bistCode = key.substring("asset:ohlc:".length());
-                    Map<Object, Object> ohlcData = redisTemplate.opsForHash().entries(key);
-                    return MarketDataMapper.mapOhlcDataToAssetMap(bistCode, ohlcData);
-                })
-                .collect(Collectors.toList());
+        // Tüm OHLC hash'leri tek pipeline'da okunur; süresi dolanlar indeksten temizlenir.
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            bistCodes.forEach(bistCode -> stringConnection.hGetAll("asset:ohlc:" + bistCode));
+            return null;
+        });
+
+        List<Map<String, Object>> assets = new ArrayList<>(bistCodes.size());
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < bistCodes.size(); i++) {
+            @SuppressWarnings("unchecked")
+            Map<Object, Object> ohlcData = (Map<Object, Object>) hashes.get(i);
+            if (ohlcData == null || ohlcData.isEmpty()) {
+                expired.add(bistCodes.get(i));
+                continue;
+            }
+            assets.add(MarketDataMapper.mapOhlcDataToAssetMap(bistCodes.get(i), ohlcData));
+        }
+        assetKeyIndex.removeOhlc(expired);
 
         return new MarketDataResponse(systemDateTime, assets);
     }
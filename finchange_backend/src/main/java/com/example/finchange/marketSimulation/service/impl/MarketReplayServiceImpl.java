@@ -0,0 +1,209 @@
+package com.example.finchange.marketSimulation.service.impl;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.service.impl.PriceUpdateListener;
+import com.example.finchange.marketSimulation.dto.MarketReplayStatus;
+import com.example.finchange.marketSimulation.dto.ReplayMode;
+import com.example.finchange.marketSimulation.journal.TickJournal;
+import com.example.finchange.marketSimulation.journal.TickJournalReader;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.marketSimulation.service.MarketReplayService;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class MarketReplayServiceImpl implements MarketReplayService {
+
+    // Sayaçlar her kayıtta değil bu aralıkla yayınlanır; sıcak döngüde volatile yazım yapılmaz.
+    private static final int STATUS_PUBLISH_INTERVAL = 4096;
+
+    private final PriceUpdateListener priceUpdateListener;
+    private final AssetRegistry assetRegistry;
+
+    @Value("${market-simulation.journal.dir:./tick-journal}")
+    private String journalDir = "./tick-journal";
+
+    // Oynatılan fiyatlar canlı eşleştirmeye gider ve gerçek emirleri gerçekleştirir; varsayılan kapalı.
+    @Value("${market-replay.enabled:false}")
+    private boolean enabled;
+
+    private volatile Replay current;
+
+    @Override
+    public List<String> listJournals() {
+        Path dir = Path.of(journalDir);
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.endsWith(TickJournal.FILE_SUFFIX))
+                    .sorted()
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public synchronized MarketReplayStatus start(String journal, ReplayMode mode, double speed) {
+        if (!enabled) {
+            throw new IllegalStateException("Piyasa oynatma devre dışı (market-replay.enabled=false).");
+        }
+        if (isReplayActive()) {
+            throw new IllegalStateException("Devam eden bir oynatma var: " + current.status.getJournal());
+        }
+        if (mode == ReplayMode.SCALED && !(speed > 0)) {
+            throw new IllegalArgumentException("SCALED oynatma için hız çarpanı sıfırdan büyük olmalıdır.");
+        }
+        double effectiveSpeed = mode == ReplayMode.SCALED ? speed : 1.0;
+
+        TickJournalReader reader;
+        try {
+            reader = TickJournalReader.open(resolve(journal));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        MarketReplayStatus status = new MarketReplayStatus(journal, mode, effectiveSpeed, reader.capacity(), LocalDateTime.now());
+        Replay replay = new Replay(status, reader);
+        current = replay;
+        replay.thread = Thread.ofPlatform().name("market-replay").start(() -> run(replay));
+        log.info("Tick journal oynatması başladı: {} (mod={}, hız={}, en fazla {} kayıt)", journal, mode, effectiveSpeed, reader.capacity());
+        return status;
+    }
+
+    @Override
+    public Optional<MarketReplayStatus> stop() {
+        Replay replay = current;
+        if (replay == null) {
+            return Optional.empty();
+        }
+        replay.stopRequested = true;
+        Thread thread = replay.thread;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        return Optional.of(replay.status);
+    }
+
+    @Override
+    public Optional<MarketReplayStatus> getStatus() {
+        Replay replay = current;
+        return replay == null ? Optional.empty() : Optional.of(replay.status);
+    }
+
+    @Override
+    public boolean isReplayActive() {
+        Replay replay = current;
+        return replay != null && replay.status.getState() == MarketReplayStatus.State.RUNNING;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        stop();
+    }
+
+    private void run(Replay replay) {
+        MarketReplayStatus status = replay.status;
+        boolean paced = status.getMode() != ReplayMode.MAX;
+        double speed = status.getSpeed();
+        long startWall = System.nanoTime();
+        long firstTimestamp = Long.MIN_VALUE;
+        long replayed = 0;
+        long skipped = 0;
+
+        try (TickJournalReader reader = replay.reader) {
+            while (!replay.stopRequested && reader.advance()) {
+                long timestamp = reader.timestampNanos();
+                if (paced) {
+                    if (firstTimestamp == Long.MIN_VALUE) {
+                        firstTimestamp = timestamp;
+                    }
+                    long due = startWall + (long) ((timestamp - firstTimestamp) / speed);
+                    long wait;
+                    while ((wait = due - System.nanoTime()) > 0 && !replay.stopRequested) {
+                        LockSupport.parkNanos(wait);
+                    }
+                }
+
+                String bistCode = assetRegistry.getBistCode(reader.assetId());
+                if (bistCode == null) {
+                    skipped++;
+                } else {
+                    Instant instant = Instant.ofEpochSecond(Math.floorDiv(timestamp, 1_000_000_000L), Math.floorMod(timestamp, 1_000_000_000L));
+                    priceUpdateListener.onPriceUpdate(
+                            new PriceUpdateEvent(bistCode, Money.ofUnits(reader.priceUnits()).toBigDecimal(), instant));
+                    replayed++;
+                }
+
+                if ((replayed + skipped) % STATUS_PUBLISH_INTERVAL == 0) {
+                    publish(status, replayed, skipped, startWall);
+                }
+            }
+            publish(status, replayed, skipped, startWall);
+            status.setState(replay.stopRequested ? MarketReplayStatus.State.STOPPED : MarketReplayStatus.State.COMPLETED);
+            log.info("Tick journal oynatması bitti: {} kayıt oynatıldı, {} atlandı, {} tick/sn.", replayed, skipped, Math.round(status.getEventsPerSecond()));
+        } catch (Exception e) {
+            publish(status, replayed, skipped, startWall);
+            if (replay.stopRequested) {
+                // stop() iş parçacığını keser; eşleştirme kuyruğunda beklerken gelen kesme hata sayılmaz.
+                status.setState(MarketReplayStatus.State.STOPPED);
+                log.info("Tick journal oynatması durduruldu: {} kayıt oynatıldı, {} atlandı.", replayed, skipped);
+            } else {
+                status.setError(e.getMessage());
+                status.setState(MarketReplayStatus.State.FAILED);
+                log.error("Tick journal oynatması başarısız oldu: {}", e.getMessage(), e);
+            }
+        } finally {
+            status.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private static void publish(MarketReplayStatus status, long replayed, long skipped, long startWall) {
+        status.setReplayedCount(replayed);
+        status.setSkippedCount(skipped);
+        status.setElapsedMillis((System.nanoTime() - startWall) / 1_000_000);
+    }
+
+    private Path resolve(String journal) {
+        Path dir = Path.of(journalDir).toAbsolutePath().normalize();
+        Path file = dir.resolve(journal).normalize();
+        if (!file.getParent().equals(dir) || !journal.endsWith(TickJournal.FILE_SUFFIX)) {
+            throw new IllegalArgumentException("Geçersiz journal adı: " + journal);
+        }
+        if (!Files.isRegularFile(file)) {
+            throw new EntityNotFoundException("Tick journal bulunamadı: " + journal);
+        }
+        return file;
+    }
+
+    private static final class Replay {
+        private final MarketReplayStatus status;
+        private final TickJournalReader reader;
+        private volatile boolean stopRequested;
+        private volatile Thread thread;
+
+        private Replay(MarketReplayStatus status, TickJournalReader reader) {
+            this.status = status;
+            this.reader = reader;
+        }
+    }
+}
@@ -1,15 +1,35 @@
 package com.example.finchange.marketSimulation.service.impl;
 
 import com.example.finchange.execution.util.BusinessDayCalculator;
+import com.example.finchange.marketSimulation.dto.MarketSessionState;
+import com.example.finchange.marketSimulation.events.MarketSessionTransitionEvent;
 import com.example.finchange.marketSimulation.service.MarketSessionService;
-import com.example.finchange.operation.service.SystemDateService;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.time.*;
-import org.springframework.data.redis.core.StringRedisTemplate;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
 
+/**
+ * Seans durumunu bellekte tutar; {@link #isMarketOpenNow()} ve {@link #areSettlementControlsActive()}
+ * Redis'e gitmeden volatile bir okuma yapar.
+ * <p>
+ * Override değişiklikleri Redis'e yazılır ve pub/sub kanalıyla tüm düğümlere duyurulur. Kaçan
+ * mesajlar periyodik senkronizasyonla telafi edilir; Redis geçici olarak erişilemezse son bilinen
+ * durum kullanılmaya devam eder. Durum her değiştiğinde {@link MarketSessionTransitionEvent} yayınlanır.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -19,20 +39,142 @@ public class MarketSessionServiceImpl implements MarketSessionService {
     private static final LocalTime MARKET_OPEN = LocalTime.of(9, 55);
     private static final LocalTime MARKET_CLOSE = LocalTime.of(18, 5);
 
+    static final String TRADING_OVERRIDE_KEY = "market:override:trading";
+    static final String SIMULATION_OVERRIDE_KEY = "market:override:simulation";
+    static final String SETTLEMENT_CONTROLS_KEY = "market:override:settlement_controls";
+
     private final BusinessDayCalculator businessDayCalculator;
     private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer listenerContainer;
+    private final ApplicationEventPublisher eventPublisher;
+
+    @Value("${market-session.override-channel:market:session:overrides}")
+    private String overrideChannel;
+
+    private volatile MarketSessionState state = MarketSessionState.DEFAULT;
+    // Her override uygulamasında artar; MGET sürerken gelen bir güncellemeyi senkronizasyonun ezmesini önler.
+    private final AtomicLong overrideVersion = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        listenerContainer.addMessageListener(this::onOverrideMessage, new ChannelTopic(overrideChannel));
+        evaluateSchedule();
+        resyncOverrides();
+    }
 
     @Override
     public boolean isMarketOpenNow() {
+        return state.open();
+    }
+
+    @Override
+    public boolean areSettlementControlsActive() {
+        return state.settlementControlsActive();
+    }
+
+    @Override
+    public MarketSessionState getState() {
+        return state;
+    }
+
+    @Override
+    public void setTradingOverride(boolean active) {
+        writeOverride(TRADING_OVERRIDE_KEY, active);
+    }
+
+    @Override
+    public void setSimulationOverride(boolean active) {
+        writeOverride(SIMULATION_OVERRIDE_KEY, active);
+    }
+
+    @Override
+    public void setSettlementControlsActive(boolean active) {
+        writeOverride(SETTLEMENT_CONTROLS_KEY, active);
+    }
+
+    @Scheduled(fixedDelayString = "${market-session.evaluate-ms:1000}")
+    public void evaluateSchedule() {
+        ZonedDateTime now = ZonedDateTime.now(ISTANBUL_ZONE);
+        boolean scheduledOpen = isWithinSession(now);
+        if (scheduledOpen != state.scheduledOpen()) {
+            update(current -> current.withScheduledOpen(scheduledOpen));
+        }
+    }
+
+    /**
+     * Override değerlerini tek bir MGET ile Redis'ten okur. Hata durumunda son bilinen durum korunur.
+     * MGET başladıktan sonra pub/sub ya da yerel yazımla bir override uygulanmışsa okunan değerler
+     * eski olabileceğinden bu tur atlanır; bir sonraki senkronizasyon farkı kapatır.
+     */
+    @Scheduled(fixedDelayString = "${market-session.resync-ms:30000}", initialDelayString = "${market-session.resync-ms:30000}")
+    public void resyncOverrides() {
+        long version = overrideVersion.get();
+        List<String> values;
+        try {
+            values = redisTemplate.opsForValue().multiGet(List.of(TRADING_OVERRIDE_KEY, SIMULATION_OVERRIDE_KEY, SETTLEMENT_CONTROLS_KEY));
+        } catch (Exception e) {
+            log.warn("Seans override'ları Redis'ten okunamadı, son bilinen durum kullanılıyor: {}", e.getMessage());
+            return;
+        }
+        if (values == null || values.size() != 3) {
+            return;
+        }
+        update(current -> overrideVersion.get() != version ? current : current
+                .withTradingOverride("true".equalsIgnoreCase(values.get(0)))
+                .withSimulationOverride("true".equalsIgnoreCase(values.get(1)))
+                // Varsayılan: kontroller AKTİF. Sadece "false" ise devre dışı.
+                .withSettlementControlsActive(!"false".equalsIgnoreCase(values.get(2))));
+    }
+
+    void onOverrideMessage(Message message, byte[] pattern) {
+        String body = new String(message.getBody(), StandardCharsets.UTF_8);
+        int separator = body.lastIndexOf('=');
+        if (separator <= 0) {
+            log.warn("Geçersiz seans override mesajı yok sayıldı: {}", body);
+            return;
+        }
+        applyOverride(body.substring(0, separator), Boolean.parseBoolean(body.substring(separator + 1)));
+    }
+
+    private void writeOverride(String key, boolean active) {
+        String value = String.valueOf(active);
+        redisTemplate.opsForValue().set(key, value);
+        applyOverride(key, active);
         try {
-            String tradingOverride = redisTemplate.opsForValue().get("market:override:trading");
-            if ("true".equalsIgnoreCase(tradingOverride)) {
-                return true;
+            redisTemplate.convertAndSend(overrideChannel, key + "=" + value);
+        } catch (Exception e) {
+            log.warn("Seans override bildirimi yayınlanamadı ({}={}), diğer düğümler periyodik senkronizasyonla güncellenecek: {}", key, value, e.getMessage());
+        }
+    }
+
+    private void applyOverride(String key, boolean active) {
+        // Sürüm, durum güncellemesinden önce artırılır; kontrol kilit altında yapıldığından senkronizasyon
+        // ya bu güncellemeyi görür ve turu atlar ya da güncelleme ondan sonra uygulanır.
+        overrideVersion.incrementAndGet();
+        switch (key) {
+            case TRADING_OVERRIDE_KEY -> update(current -> current.withTradingOverride(active));
+            case SIMULATION_OVERRIDE_KEY -> update(current -> current.withSimulationOverride(active));
+            case SETTLEMENT_CONTROLS_KEY -> update(current -> current.withSettlementControlsActive(active));
+            default -> log.warn("Bilinmeyen seans override anahtarı yok sayıldı: {}", key);
+        }
+    }
+
+    private void update(UnaryOperator<MarketSessionState> change) {
+        MarketSessionState previous;
+        MarketSessionState next;
+        synchronized (this) {
+            previous = state;
+            next = change.apply(previous);
+            if (next.equals(previous)) {
+                return;
             }
-        } catch (Exception ignored) {
+            state = next;
         }
+        log.info("Seans durumu değişti: {} -> {}", previous, next);
+        eventPublisher.publishEvent(new MarketSessionTransitionEvent(previous, next));
+    }
 
-        ZonedDateTime now = ZonedDateTime.now(ISTANBUL_ZONE);
+    private boolean isWithinSession(ZonedDateTime now) {
         DayOfWeek day = now.getDayOfWeek();
         if (day == DayOfWeek.SATURDAY || day == DayOfWeek.SUNDAY) return false;
 
@@ -42,18 +184,4 @@ public class MarketSessionServiceImpl implements MarketSessionService {
         LocalTime time = now.toLocalTime();
         return !time.isBefore(MARKET_OPEN) && !time.isAfter(MARKET_CLOSE);
     }
-
-    @Override
-    public boolean areSettlementControlsActive() {
-        try {
-            String settlementOverride = redisTemplate.opsForValue().get("market:override:settlement_controls");
-            // Varsayılan: kontroller AKTİF. Sadece "false" ise devre dışı.
-            return !"false".equalsIgnoreCase(settlementOverride);
-        } catch (Exception e) {
-            log.error("Redis'ten takas kontrol durumu okunurken hata! Güvenlik amacıyla kontroller AKTİF varsayılıyor.", e);
-            return true;
-        }
-    }
 }
-
-
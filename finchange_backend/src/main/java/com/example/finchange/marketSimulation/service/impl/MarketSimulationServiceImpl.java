@@ -1,8 +1,15 @@
 package com.example.finchange.marketSimulation.service.impl;
 
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.util.TickSizeTable;
 import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.marketSimulation.price.PriceBatch;
+import com.example.finchange.marketSimulation.price.PriceEngine;
+import com.example.finchange.marketSimulation.service.MarketReplayService;
 import com.example.finchange.marketSimulation.service.MarketSessionService; // YENİ IMPORT
 import com.example.finchange.marketSimulation.service.MarketSimulationService;
+import com.example.finchange.marketSimulation.state.MarketSimulationState;
+import com.example.finchange.marketSimulation.state.SimulatedAsset;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.redis.core.StringRedisTemplate;
@@ -13,9 +20,8 @@ import org.springframework.stereotype.Service;
 import java.math.BigDecimal;
 import java.math.RoundingMode;
 import java.time.Instant;
+import java.util.HashMap;
 import java.util.Map;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -27,73 +33,97 @@ public class MarketSimulationServiceImpl implements MarketSimulationService {
     private final StringRedisTemplate redisTemplate;
     private final KafkaTemplate<String, Object> kafkaTemplate;
     private final MarketSessionService marketSessionService; // YENİ: Merkezi seans servisini inject et
+    private final MarketSimulationState simulationState;
+    private final PriceEngine priceEngine;
+    private final MarketReplayService marketReplayService;
 
     @Override
-    @Scheduled(fixedRate = 5000) // Her 5 saniyede bir çalışır
+    @Scheduled(fixedRateString = "${market-simulation.tick-ms:5000}") // Varsayılan: her 5 saniyede bir çalışır
     public void simulatePriceMovement() {
-        // 1. Merkezi servisten piyasanın açık olup olmadığını kontrol et.
-        boolean isOpen = marketSessionService.isMarketOpenNow();
-        boolean simulationOverride = false;
-        try {
-            String simOverrideStr = redisTemplate.opsForValue().get("market:override:simulation");
-            simulationOverride = "true".equalsIgnoreCase(simOverrideStr);
-        } catch (Exception ignored) {
-            // Redis erişimi sorunluysa override'ı yok sayıp normal kurallara göre devam ederiz
-        }
-        if (!isOpen && !simulationOverride) {
+        // 1. Seans ve simülasyon override'ı bellekteki seans durumundan okunur; milisaniyelik
+        // tick'lerde her adımda Redis'e gidilmez.
+        if (!marketSessionService.getState().simulationActive()) {
             return; // Piyasa kapalı ve override yoksa çalışmayız.
         }
+        if (marketReplayService.isReplayActive()) {
+            return; // Kayıttan oynatma sürerken fiyatlar journal'dan gelir.
+        }
 
-        // 2. Simüle edilecek varlıkları (OHLC verisi olanları) Redis'ten al.
-        Set<String> assetsToSimulate = getAssetsToSimulate();
-        if (assetsToSimulate.isEmpty()) {
+        // 2. Simüle edilecek varlıklar bellekte tutulur; tick başına Redis'ten okuma yapılmaz.
+        SimulatedAsset[] assetsToSimulate = simulationState.snapshot();
+        if (assetsToSimulate.length == 0) {
             // Bu artık bir uyarı değil, normal bir durum olabilir (örn: sabah 09:45'ten önce)
             log.trace("Simüle edilecek OHLC verisine sahip hisse bulunamadı.");
             return;
         }
 
-        log.debug("--- Piyasa Simülasyonu Tick Başladı ({} varlık için) ---", assetsToSimulate.size());
+        log.debug("--- Piyasa Simülasyonu Tick Başladı ({} varlık için) ---", assetsToSimulate.length);
 
-        for (String bistCode : assetsToSimulate) {
+        // 3. Tüm varlıkların ham fiyatları fiyat motorunda tek partide üretilir.
+        PriceBatch batch = priceEngine.next(assetsToSimulate);
+
+        // 4. Yalnızca fiyatı değişen varlıklar tek MSET ile yazılır ve Kafka'ya yayınlanır.
+        Map<String, String> changedPrices = new HashMap<>();
+        Map<String, BigDecimal> changedEvents = new HashMap<>();
+        SimulatedAsset[] changedAssets = new SimulatedAsset[assetsToSimulate.length];
+        long[] changedUnits = new long[assetsToSimulate.length];
+        int changedCount = 0;
+        for (int i = 0; i < assetsToSimulate.length; i++) {
+            SimulatedAsset asset = assetsToSimulate[i];
             try {
-                simulatePriceForAsset(bistCode);
+                SimulatedAsset.Bounds bounds = asset.getBounds();
+                double modelPrice = clamp(batch.price(i), bounds);
+                asset.setModelPrice(modelPrice);
+                long currentUnits = asset.getPriceUnits();
+                long newUnits = snapToBounds(Math.round(modelPrice), bounds);
+                if (newUnits == currentUnits) {
+                    continue;
+                }
+                BigDecimal newPrice = Money.ofUnits(newUnits).toBigDecimal().setScale(2, RoundingMode.HALF_UP);
+                changedPrices.put(MarketSimulationState.LIVE_PRICE_KEY_PREFIX + asset.getBistCode(), newPrice.toPlainString());
+                changedEvents.put(asset.getBistCode(), newPrice);
+                changedAssets[changedCount] = asset;
+                changedUnits[changedCount++] = newUnits;
             } catch (Exception e) {
-                log.error(" -> {} için simülasyon sırasında bir hata oluştu: {}", bistCode, e.getMessage());
+                log.error(" -> {} için simülasyon sırasında bir hata oluştu: {}", asset.getBistCode(), e.getMessage());
             }
         }
-    }
-
-    private void simulatePriceForAsset(String bistCode) {
-        Map<Object, Object> ohlcRules = redisTemplate.opsForHash().entries("asset:ohlc:" + bistCode);
-        if (ohlcRules.isEmpty()) {
-            log.debug(" -> {} için OHLC kuralları (asset:ohlc) bulunamadı. Simülasyon pas geçiliyor.", bistCode);
+        if (changedPrices.isEmpty()) {
             return;
         }
 
-        BigDecimal dailyHigh = new BigDecimal((String) ohlcRules.get("dailyHigh"));
-        BigDecimal dailyLow = new BigDecimal((String) ohlcRules.get("dailyLow"));
-        BigDecimal previousClose = new BigDecimal((String) ohlcRules.get("previousClose"));
-
-        String livePriceStr = redisTemplate.opsForValue().get("asset:live_price:" + bistCode);
-        BigDecimal currentPrice = (livePriceStr != null) ? new BigDecimal(livePriceStr) : previousClose;
-
-        BigDecimal newPrice = generateNewPrice(currentPrice, dailyLow, dailyHigh);
-
-        redisTemplate.opsForValue().set("asset:live_price:" + bistCode, newPrice.toPlainString());
-
-        publishPriceUpdate(bistCode, newPrice);
+        // Bellekteki fiyat yalnızca MSET başarılı olursa güncellenir; aksi halde bir sonraki tick
+        // Redis ile tutarsız bir fiyatla karşılaştırır ve değişiklik hiç yayınlanmaz.
+        try {
+            redisTemplate.opsForValue().multiSet(changedPrices);
+        } catch (Exception e) {
+            log.error("{} varlığın canlı fiyatı Redis'e yazılamadı, tick yayınlanmadı: {}", changedPrices.size(), e.getMessage());
+            return;
+        }
+        for (int i = 0; i < changedCount; i++) {
+            changedAssets[i].setPriceUnits(changedUnits[i]);
+        }
+        changedEvents.forEach(this::publishPriceUpdate);
     }
 
-    private BigDecimal generateNewPrice(BigDecimal currentPrice, BigDecimal low, BigDecimal high) {
-        double volatility = 0.005; // Fiyatın her adımda max %0.5 değişebileceğini varsayalım
-        double changePercentage = (Math.random() - 0.5) * 2 * volatility;
-        BigDecimal newPrice = currentPrice.multiply(BigDecimal.valueOf(1 + changePercentage));
+    private double clamp(double price, SimulatedAsset.Bounds bounds) {
+        if (bounds.highUnits() > 0 && price > bounds.highUnits()) return bounds.highUnits();
+        return Math.max(price, bounds.lowUnits());
+    }
 
+    private long snapToBounds(long newUnits, SimulatedAsset.Bounds bounds) {
         // Fiyatın gün içi en yüksek ve en düşük sınırları aşmamasını sağla
-        if (newPrice.compareTo(high) > 0) newPrice = high;
-        if (newPrice.compareTo(low) < 0) newPrice = low;
-
-        return newPrice.setScale(2, RoundingMode.HALF_UP);
+        long highUnits = bounds.highUnits();
+        long lowUnits = bounds.lowUnits();
+        if (highUnits > 0 && newUnits > highUnits) newUnits = highUnits;
+        if (newUnits < lowUnits) newUnits = lowUnits;
+
+        // İşlem görebilir bir fiyat üretmek için en yakın fiyat adımına oturt; bu, günlük
+        // aralığın dışına taşırsa aralık içindeki en yakın geçerli fiyat kullanılır.
+        long snapped = TickSizeTable.roundToNearest(newUnits);
+        if (snapped > highUnits && highUnits > 0) snapped = TickSizeTable.roundDown(highUnits);
+        if (snapped < lowUnits) snapped = TickSizeTable.roundUp(lowUnits);
+        return snapped;
     }
 
     private void publishPriceUpdate(String bistCode, BigDecimal newPrice) {
@@ -101,13 +131,4 @@ public class MarketSimulationServiceImpl implements MarketSimulationService {
         kafkaTemplate.send(KAFKA_TOPIC, bistCode, event);
        // log.info(" -> Fiyat Güncellemesi Kafka'ya Yayınlandı: {} - {} TL", bistCode, newPrice);
     }
-    private Set<String> getAssetsToSimulate() {
-        Set<String> ohlcKeys = redisTemplate.keys("asset:ohlc:*");
-        if (ohlcKeys == null) {
-            return Set.of();
-        }
-        return ohlcKeys.stream()
-                .map(key -> key.substring("asset:ohlc:".length()))
-                .collect(Collectors.toSet());
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,122 @@
+package com.example.finchange.marketSimulation.state;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Redis'teki varlık anahtarlarının ({@code asset:info:*}, {@code asset:ohlc:*}) BIST kodlarını
+ * açık set'lerde tutar. Okuyucular KEYS yerine bu set'leri kullanır; böylece maliyet toplam
+ * anahtar sayısıyla değil sembol sayısıyla ölçeklenir. TTL ile düşen anahtarlar set'te kalabileceği
+ * için okuyucular eksik bulduklarını {@link #removeInfo}/{@link #removeOhlc} ile temizler.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class AssetKeyIndex {
+
+    public static final String INFO_KEY_PREFIX = "asset:info:";
+    public static final String INFO_INDEX_KEY = "asset:index:info";
+    public static final String OHLC_INDEX_KEY = "asset:index:ohlc";
+
+    private static final int SCAN_COUNT = 500;
+
+    private final StringRedisTemplate redisTemplate;
+
+    /**
+     * Set'ler henüz yoksa (ilk kurulum) mevcut anahtarlardan SCAN ile bir kez doldurulur.
+     */
+    @PostConstruct
+    public void init() {
+        try {
+            backfillIfMissing(INFO_INDEX_KEY, INFO_KEY_PREFIX);
+            backfillIfMissing(OHLC_INDEX_KEY, MarketSimulationState.OHLC_KEY_PREFIX);
+        } catch (Exception e) {
+            log.error("Varlık indeks set'leri Redis'ten doldurulamadı. Hata: {}", e.getMessage(), e);
+        }
+    }
+
+    public void addInfo(String bistCode) {
+        redisTemplate.opsForSet().add(INFO_INDEX_KEY, bistCode);
+    }
+
+    public void addOhlc(String bistCode) {
+        redisTemplate.opsForSet().add(OHLC_INDEX_KEY, bistCode);
+    }
+
+    public void removeInfo(Collection<String> bistCodes) {
+        remove(INFO_INDEX_KEY, bistCodes);
+    }
+
+    public void removeOhlc(Collection<String> bistCodes) {
+        remove(OHLC_INDEX_KEY, bistCodes);
+    }
+
+    public Set<String> getInfoCodes() {
+        return members(INFO_INDEX_KEY);
+    }
+
+    public Set<String> getOhlcCodes() {
+        return members(OHLC_INDEX_KEY);
+    }
+
+    /**
+     * @return verilen kodlardan anahtarı Redis'te artık bulunmayanlar (tek pipeline'da EXISTS)
+     */
+    public Set<String> findMissingInfo(List<String> bistCodes) {
+        List<Object> exists = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (String bistCode : bistCodes) {
+                connection.keyCommands().exists((INFO_KEY_PREFIX + bistCode).getBytes(StandardCharsets.UTF_8));
+            }
+            return null;
+        });
+        Set<String> missing = new HashSet<>();
+        for (int i = 0; i < bistCodes.size(); i++) {
+            if (!Boolean.TRUE.equals(exists.get(i))) {
+                missing.add(bistCodes.get(i));
+            }
+        }
+        return missing;
+    }
+
+    private Set<String> members(String indexKey) {
+        Set<String> members = redisTemplate.opsForSet().members(indexKey);
+        return members != null ? members : Set.of();
+    }
+
+    private void remove(String indexKey, Collection<String> bistCodes) {
+        if (bistCodes.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForSet().remove(indexKey, bistCodes.toArray());
+        log.debug("{} indeksinden süresi dolmuş {} kod çıkarıldı.", indexKey, bistCodes.size());
+    }
+
+    private void backfillIfMissing(String indexKey, String keyPrefix) {
+        if (Boolean.TRUE.equals(redisTemplate.hasKey(indexKey))) {
+            return;
+        }
+        List<String> bistCodes = new ArrayList<>();
+        ScanOptions options = ScanOptions.scanOptions().match(keyPrefix + "*").count(SCAN_COUNT).build();
+        try (Cursor<String> cursor = redisTemplate.scan(options)) {
+            cursor.forEachRemaining(key -> bistCodes.add(key.substring(keyPrefix.length())));
+        }
+        if (bistCodes.isEmpty()) {
+            return;
+        }
+        redisTemplate.opsForSet().add(indexKey, bistCodes.toArray(String[]::new));
+        log.info("{} indeksi mevcut anahtarlardan dolduruldu: {} kod.", indexKey, bistCodes.size());
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.finchange.marketSimulation.state;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.marketSimulation.state.SimulatedAsset.Bounds;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Simülasyonun OHLC sınırlarını ve güncel fiyatlarını bellekte tutar; tick başına Redis'ten okuma
+ * yapılmaz. Sınırlar OHLC yazıldığında {@link #updateOhlc} ile, diğer düğümlerin yazdıkları ise
+ * periyodik yeniden yüklemeyle (indeks set'i + tek pipeline'da HGETALL) güncellenir. Canlı fiyat
+ * yalnızca bellekte henüz olmayan varlıklar için tek MGET ile okunur; yüklenmiş bir varlığın fiyatı
+ * bellekte tutulur ve tick'lerle ilerler, Redis'teki değer onu geri almaz.
+ */
+@Component
+@Slf4j
+@RequiredArgsConstructor
+public class MarketSimulationState {
+
+    public static final String OHLC_KEY_PREFIX = "asset:ohlc:";
+    public static final String LIVE_PRICE_KEY_PREFIX = "asset:live_price:";
+
+    private final StringRedisTemplate redisTemplate;
+    private final AssetKeyIndex assetKeyIndex;
+
+    private final Map<String, SimulatedAsset> assets = new ConcurrentHashMap<>();
+    // Varlık kümesi değiştiğinde yeniden kurulan, koda göre sıralı görüntü; tohumlu koşularda
+    // rastgele sayıların varlıklara hep aynı sırayla dağıtılmasını sağlar.
+    private final AtomicLong membershipVersion = new AtomicLong();
+    private volatile Snapshot snapshot;
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Simülasyon durumu başlangıçta Redis'ten yüklenemedi. Periyodik yeniden yükleme bekleniyor. Hata: {}", e.getMessage(), e);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${market-simulation.state-refresh-ms:60000}", initialDelayString = "${market-simulation.state-refresh-ms:60000}")
+    public void reload() {
+        List<String> bistCodes = new ArrayList<>(assetKeyIndex.getOhlcCodes());
+        if (bistCodes.isEmpty()) {
+            assets.clear();
+            membershipVersion.incrementAndGet();
+            return;
+        }
+
+        List<Object> hashes = redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            StringRedisConnection stringConnection = (StringRedisConnection) connection;
+            for (String bistCode : bistCodes) {
+                stringConnection.hGetAll(OHLC_KEY_PREFIX + bistCode);
+            }
+            return null;
+        });
+        Map<String, String> livePrices = fetchLivePrices(bistCodes.stream()
+                .filter(code -> !assets.containsKey(code))
+                .toList());
+
+        Set<String> loaded = new HashSet<>(bistCodes.size() * 2);
+        List<String> expired = new ArrayList<>();
+        for (int i = 0; i < bistCodes.size(); i++) {
+            Map<?, ?> hash = (Map<?, ?>) hashes.get(i);
+            if (hash == null || hash.isEmpty()) {
+                expired.add(bistCodes.get(i));
+                continue;
+            }
+            Bounds bounds = Bounds.fromRedisHash(hash);
+            if (bounds == null) {
+                continue;
+            }
+            apply(bistCodes.get(i), bounds, livePrices.get(bistCodes.get(i)));
+            loaded.add(bistCodes.get(i));
+        }
+        if (assets.keySet().retainAll(loaded)) {
+            membershipVersion.incrementAndGet();
+        }
+        assetKeyIndex.removeOhlc(expired);
+        log.debug("Simülasyon durumu yüklendi: {} varlık.", assets.size());
+    }
+
+    /**
+     * OHLC verisi Redis'e yazıldıktan sonra çağrılır; mevcut fiyat korunur, bir sonraki tick yeni
+     * sınırlara oturtur.
+     */
+    public void updateOhlc(String bistCode, Map<String, String> ohlcHash) {
+        Bounds bounds = Bounds.fromRedisHash(ohlcHash);
+        if (bounds == null) {
+            log.warn(" -> {} için OHLC verisi eksik, simülasyon durumu güncellenmedi.", bistCode);
+            return;
+        }
+        apply(bistCode, bounds, null);
+    }
+
+    public SimulatedAsset[] snapshot() {
+        long version = membershipVersion.get();
+        Snapshot current = snapshot;
+        if (current != null && current.version() == version) {
+            return current.assets();
+        }
+        SimulatedAsset[] sorted = assets.values().stream()
+                .sorted(Comparator.comparing(SimulatedAsset::getBistCode))
+                .toArray(SimulatedAsset[]::new);
+        snapshot = new Snapshot(version, sorted);
+        return sorted;
+    }
+
+    public int size() {
+        return assets.size();
+    }
+
+    private Map<String, String> fetchLivePrices(List<String> newCodes) {
+        if (newCodes.isEmpty()) {
+            return Map.of();
+        }
+        List<String> values = redisTemplate.opsForValue()
+                .multiGet(newCodes.stream().map(code -> LIVE_PRICE_KEY_PREFIX + code).toList());
+        if (values == null) {
+            return Map.of();
+        }
+        Map<String, String> livePrices = new HashMap<>(newCodes.size() * 2);
+        for (int i = 0; i < newCodes.size(); i++) {
+            if (values.get(i) != null) {
+                livePrices.put(newCodes.get(i), values.get(i));
+            }
+        }
+        return livePrices;
+    }
+
+    private void apply(String bistCode, Bounds bounds, String livePrice) {
+        SimulatedAsset existing = assets.get(bistCode);
+        if (existing != null) {
+            existing.setBounds(bounds);
+            return;
+        }
+        long startUnits = livePrice != null ? Money.parse(livePrice).units()
+                : bounds.previousCloseUnits() > 0 ? bounds.previousCloseUnits() : bounds.openUnits();
+        assets.put(bistCode, new SimulatedAsset(bistCode, bounds, startUnits));
+        membershipVersion.incrementAndGet();
+    }
+
+    private record Snapshot(long version, SimulatedAsset[] assets) {
+    }
+}
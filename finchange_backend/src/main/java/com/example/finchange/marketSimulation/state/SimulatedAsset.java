@@ -0,0 +1,107 @@
+package com.example.finchange.marketSimulation.state;
+
+import com.example.finchange.common.model.Money;
+
+import java.math.BigDecimal;
+import java.util.Map;
+
+/**
+ * Simüle edilen tek bir varlığın günlük sınırları ve güncel fiyatı. Sınırlar OHLC yazıldığında
+ * tek seferde değiştirilir; fiyat yalnızca simülasyon iş parçacığı tarafından yazılır. Tutarlar
+ * {@link Money} birimindedir (10^4 ölçekli long).
+ */
+public final class SimulatedAsset {
+
+    private final String bistCode;
+    private volatile Bounds bounds;
+    private volatile double dailyVolatility;
+    private volatile long priceUnits;
+    // Fiyat sürecinin adıma oturtulmamış değeri; milisaniyelik tick'lerde fiyat adımından küçük
+    // hareketlerin yuvarlamayla kaybolmaması için bir sonraki adım bundan başlar.
+    private double modelPrice = Double.NaN;
+
+    SimulatedAsset(String bistCode, Bounds bounds, long priceUnits) {
+        this.bistCode = bistCode;
+        this.priceUnits = priceUnits;
+        setBounds(bounds);
+    }
+
+    public String getBistCode() {
+        return bistCode;
+    }
+
+    public Bounds getBounds() {
+        return bounds;
+    }
+
+    /**
+     * @return günlük aralıktan Parkinson tahmincisiyle hesaplanan günlük log-getiri volatilitesi
+     */
+    public double getDailyVolatility() {
+        return dailyVolatility;
+    }
+
+    public long getPriceUnits() {
+        return priceUnits;
+    }
+
+    public void setPriceUnits(long priceUnits) {
+        this.priceUnits = priceUnits;
+    }
+
+    /**
+     * @return sürecin son ham fiyatı (birim); henüz adım atılmamışsa güncel fiyat
+     */
+    public double getModelPrice() {
+        return Double.isNaN(modelPrice) ? priceUnits : modelPrice;
+    }
+
+    public void setModelPrice(double modelPrice) {
+        this.modelPrice = modelPrice;
+    }
+
+    void setBounds(Bounds bounds) {
+        this.bounds = bounds;
+        this.dailyVolatility = bounds.parkinsonVolatility();
+    }
+
+    /**
+     * Günlük OHLC kuralları; Redis'teki {@code asset:ohlc:<kod>} hash'inin bellekteki karşılığı.
+     */
+    public record Bounds(long previousCloseUnits, long openUnits, long lowUnits, long highUnits) {
+
+        private static final double PARKINSON_DENOMINATOR = Math.sqrt(4 * Math.log(2));
+
+        /**
+         * {@code ln(high / low) / sqrt(4 ln 2)}; aralık yoksa 0.
+         */
+        double parkinsonVolatility() {
+            if (lowUnits <= 0 || highUnits <= lowUnits) {
+                return 0;
+            }
+            return Math.log((double) highUnits / lowUnits) / PARKINSON_DENOMINATOR;
+        }
+
+        /**
+         * @return hash eksik veya bozuksa null
+         */
+        static Bounds fromRedisHash(Map<?, ?> hash) {
+            if (hash == null || hash.isEmpty()) {
+                return null;
+            }
+            try {
+                return new Bounds(units(hash.get("previousClose")), units(hash.get("openPrice")),
+                        units(hash.get("dailyLow")), units(hash.get("dailyHigh")));
+            } catch (RuntimeException e) {
+                return null;
+            }
+        }
+
+        private static long units(Object value) {
+            if (value == null || "null".equals(value)) {
+                return 0L;
+            }
+            return Money.of(new BigDecimal(value.toString())).units();
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.finchange.operation.controller;
+
+import com.example.finchange.common.cache.TwoLevelCacheManager;
+import com.example.finchange.common.model.dto.CacheStatsDto;
+import com.example.finchange.common.model.dto.response.SuccessResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/v1/system/caches")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final TwoLevelCacheManager cacheManager;
+
+    @GetMapping
+    @PreAuthorize("hasAuthority('order:read:all')")
+    public ResponseEntity<SuccessResponse<List<CacheStatsDto>>> getCacheStats() {
+        return ResponseEntity.ok(SuccessResponse.success(cacheManager.getStats()));
+    }
+}
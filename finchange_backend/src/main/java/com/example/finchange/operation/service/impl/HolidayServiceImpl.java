@@ -1,5 +1,6 @@
 package com.example.finchange.operation.service.impl;
 
+import com.example.finchange.execution.util.BusinessDayCalculator;
 import com.example.finchange.operation.dto.HolidayRequest;
 import com.example.finchange.operation.dto.HolidayResponse;
 import com.example.finchange.operation.exception.HolidayAlreadyException;
@@ -24,6 +25,7 @@ public class HolidayServiceImpl implements HolidayService {
 
     private final HolidayRepository holidayRepository;
     private final SystemDateServiceImpl systemDateService;
+    private final BusinessDayCalculator businessDayCalculator;
 
     @Override
     public HolidayResponse createHoliday(HolidayRequest request) {
@@ -46,6 +48,7 @@ public class HolidayServiceImpl implements HolidayService {
         // Eğer tüm kontrollerden geçerse, kaydı oluştur.
         Holiday holiday = HolidayMapper.toEntity(request);
         Holiday saved = holidayRepository.save(holiday);
+        businessDayCalculator.refreshAfterCommit();
         return HolidayMapper.toResponse(saved);
     }
 
@@ -68,6 +71,7 @@ public class HolidayServiceImpl implements HolidayService {
         // Eğer kontrol başarılıysa, entity'i güncelle ve kaydet.
         HolidayMapper.updateEntityFromRequest(holiday, request);
         Holiday updated = holidayRepository.save(holiday);
+        businessDayCalculator.refreshAfterCommit();
         return HolidayMapper.toResponse(updated);
     }
 
@@ -79,6 +83,7 @@ public class HolidayServiceImpl implements HolidayService {
             throw new HolidayNotFoundException(" bu tarihle ilgili id bulunamadı: " + id);
         }
         holidayRepository.deleteById(id);
+        businessDayCalculator.refreshAfterCommit();
     }
 
     @Override
@@ -0,0 +1,41 @@
+package com.example.finchange.portfolio.controller;
+
+import com.example.finchange.common.model.dto.response.SuccessResponse;
+import com.example.finchange.portfolio.dto.AccountBalanceResponse;
+import com.example.finchange.portfolio.dto.AccountStatementResponse;
+import com.example.finchange.portfolio.service.AccountStatementService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.web.bind.annotation.*;
+
+import java.time.LocalDateTime;
+
+@RestController
+@RequestMapping("/api/v1/clients/accounts/{accountId}")
+@RequiredArgsConstructor
+public class AccountStatementController {
+
+    private final AccountStatementService accountStatementService;
+
+    @GetMapping("/statement")
+    @PreAuthorize("hasAuthority('client:read:all')")
+    public ResponseEntity<SuccessResponse<AccountStatementResponse>> getStatement(
+            @PathVariable Integer accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "100") int size) {
+        return ResponseEntity.ok(SuccessResponse.success(
+                accountStatementService.getStatement(accountId, from, to, cursor, size)));
+    }
+
+    @GetMapping("/balance-at")
+    @PreAuthorize("hasAuthority('client:read:all')")
+    public ResponseEntity<SuccessResponse<AccountBalanceResponse>> getBalanceAt(
+            @PathVariable Integer accountId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime at) {
+        return ResponseEntity.ok(SuccessResponse.success(accountStatementService.getBalanceAt(accountId, at)));
+    }
+}
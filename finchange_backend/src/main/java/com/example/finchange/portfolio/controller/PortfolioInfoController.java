@@ -1,12 +1,14 @@
 package com.example.finchange.portfolio.controller;
 
 import com.example.finchange.execution.util.BusinessDayCalculator;
+import com.example.finchange.marketSimulation.service.MarketSessionService;
+import com.example.finchange.portfolio.dto.PortfolioValuationResponse;
 import com.example.finchange.portfolio.dto.SettlementInfoResponse;
 import com.example.finchange.portfolio.model.CustomerAsset;
-import com.example.finchange.portfolio.repository.AssetRepository;
 import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import com.example.finchange.portfolio.service.PortfolioValuationService;
 import lombok.RequiredArgsConstructor;
-import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,6 +18,7 @@ import org.springframework.web.bind.annotation.RestController;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.Optional;
 
 @RestController
 @RequestMapping("/api/portfolio")
@@ -24,8 +27,15 @@ public class PortfolioInfoController {
 
     private final CustomerAssetRepository customerAssetRepository;
     private final BusinessDayCalculator businessDayCalculator;
-    private final StringRedisTemplate redisTemplate;
-    private final AssetRepository assetRepository;
+    private final MarketSessionService marketSessionService;
+    private final AssetRegistry assetRegistry;
+    private final PortfolioValuationService portfolioValuationService;
+
+    @GetMapping("/customers/{customerId}/valuation")
+    @PreAuthorize("hasAuthority('client:read:all')")
+    public ResponseEntity<PortfolioValuationResponse> getValuation(@PathVariable Integer customerId) {
+        return ResponseEntity.ok(portfolioValuationService.getCustomerValuation(customerId));
+    }
 
     @GetMapping("/customers/{customerId}/assets/{assetId}/settlement-info")
     @PreAuthorize("hasAuthority('client:read:all') or hasAuthority('order:create')")
@@ -47,17 +57,10 @@ public class PortfolioInfoController {
         int blocked = asset.getBlockedLot();
         int available = Math.max(0, total - blocked);
 
-        boolean settlementControlsActive = true;
-        try {
-            String val = redisTemplate.opsForValue().get("market:override:settlement_controls");
-            if ("false".equalsIgnoreCase(val)) {
-                settlementControlsActive = false;
-            }
-        } catch (Exception ignore) {}
+        boolean settlementControlsActive = marketSessionService.areSettlementControlsActive();
 
-        int settlementDays = assetRepository.findById(assetId)
-                .map(a -> a.getSettlementDays() == null ? 2 : a.getSettlementDays())
-                .orElse(2);
+        Integer assetSettlementDays = assetRegistry.getSettlementDays(assetId);
+        int settlementDays = assetSettlementDays == null ? BusinessDayCalculator.DEFAULT_SETTLEMENT_DAYS : assetSettlementDays;
         LocalDate tPlusN = businessDayCalculator.getBusinessDayAfter(LocalDate.now(), settlementDays);
         LocalDateTime unlockAt = tPlusN.atTime(9, 0);
 
@@ -92,8 +95,8 @@ public class PortfolioInfoController {
             @PathVariable Integer customerId,
             @PathVariable String bistCode
     ) {
-        return assetRepository.findByBistCode(bistCode)
-                .map(a -> getSettlementInfo(customerId, a.getId()))
+        return Optional.ofNullable(assetRegistry.getAssetId(bistCode))
+                .map(assetId -> getSettlementInfo(customerId, assetId))
                 .orElseGet(() -> {
                     SettlementInfoResponse resp = SettlementInfoResponse.builder()
                             .customerId(customerId)
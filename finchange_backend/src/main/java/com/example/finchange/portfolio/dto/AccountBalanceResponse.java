@@ -0,0 +1,22 @@
+package com.example.finchange.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceResponse {
+    private Integer accountId;
+    private LocalDateTime at;
+    private BigDecimal balance;
+    // Hesaplamanın başladığı gün sonu noktası; hiç nokta yoksa null
+    private LocalDate checkpointDate;
+}
@@ -0,0 +1,25 @@
+package com.example.finchange.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountStatementResponse {
+    private Integer accountId;
+    private LocalDateTime from;
+    private LocalDateTime to;
+    // Aralık başındaki bakiye; yalnızca ilk sayfada doldurulur
+    private BigDecimal openingBalance;
+    private List<StatementEntryResponse> entries;
+    // Sonraki sayfa için imleç; son sayfada null
+    private String nextCursor;
+}
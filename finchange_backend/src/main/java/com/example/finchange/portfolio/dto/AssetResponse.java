@@ -1,12 +1,16 @@
 package com.example.finchange.portfolio.dto;
 
+import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.math.BigDecimal;
 
 @Data
 @Builder
+@NoArgsConstructor
+@AllArgsConstructor
 public class AssetResponse {
     private Integer id;
     private String isinCode;
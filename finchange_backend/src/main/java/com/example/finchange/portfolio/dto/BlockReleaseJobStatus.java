@@ -0,0 +1,58 @@
+package com.example.finchange.portfolio.dto;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Override blokaj serbest bırakma işinin anlık durumu. İş arka planda ilerlerken alanlar
+ * güncellenir; durum uç noktası her çağrıda son değerleri döner.
+ */
+@Getter
+@Setter
+public class BlockReleaseJobStatus {
+
+    public enum State { RUNNING, COMPLETED, FAILED }
+
+    public enum Phase { QUEUED, SETTLING, RELEASING_BALANCES, RELEASING_LOTS, DONE }
+
+    private final String jobId;
+    private final LocalDateTime startedAt;
+    private volatile State state = State.RUNNING;
+    private volatile Phase phase = Phase.QUEUED;
+    private volatile LocalDateTime finishedAt;
+    private volatile String error;
+
+    private volatile int pendingExecutionCount;
+    private volatile int settledExecutionCount;
+    private volatile int failedSettlementAccountCount;
+
+    private volatile long accountsToRelease;
+    private volatile long accountsReleased;
+    private volatile BigDecimal releasedAmount = BigDecimal.ZERO;
+
+    private volatile long holdingsToRelease;
+    private volatile long holdingsReleased;
+
+    private volatile int chunkCount;
+
+    public BlockReleaseJobStatus(String jobId, LocalDateTime startedAt) {
+        this.jobId = jobId;
+        this.startedAt = startedAt;
+    }
+
+    @JsonProperty("progressPercent")
+    public int getProgressPercent() {
+        if (state == State.COMPLETED) {
+            return 100;
+        }
+        long total = accountsToRelease + holdingsToRelease;
+        if (total == 0) {
+            return 0;
+        }
+        return (int) Math.min(99, (accountsReleased + holdingsReleased) * 100 / total);
+    }
+}
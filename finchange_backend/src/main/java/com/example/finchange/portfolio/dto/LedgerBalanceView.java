@@ -0,0 +1,19 @@
+package com.example.finchange.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Hesabın belirli bir andaki son hareketi: gün sonu noktası üretimi ve tarihsel bakiye için.
+ */
+@Getter
+@AllArgsConstructor
+public class LedgerBalanceView {
+    private final Integer accountId;
+    private final Integer transactionId;
+    private final LocalDateTime createdAt;
+    private final BigDecimal balanceAfterTransaction;
+}
@@ -0,0 +1,8 @@
+package com.example.finchange.portfolio.dto;
+
+import java.math.BigDecimal;
+
+public interface OrderAmountSumDTO {
+    Integer getOrderId();
+    BigDecimal getTotalAmount();
+}
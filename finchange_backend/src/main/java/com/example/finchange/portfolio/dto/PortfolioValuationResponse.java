@@ -0,0 +1,25 @@
+package com.example.finchange.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+@Getter
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class PortfolioValuationResponse {
+    // CUSTOMER veya GROUP
+    private String scope;
+    private Integer id;
+    private BigDecimal marketValue;
+    private BigDecimal costBasis;
+    private BigDecimal unrealizedPnl;
+    private int positionCount;
+    // Değerin en son değiştiği an; hiç pozisyon yoksa null
+    private Instant valuedAt;
+}
@@ -0,0 +1,20 @@
+package com.example.finchange.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+
+/**
+ * Değerleme motorunun başlangıç yüklemesi için açık pozisyonun yalnızca gerekli kolonları.
+ */
+@Getter
+@AllArgsConstructor
+public class PositionValuationView {
+    private final Integer customerAssetId;
+    private final Integer customerId;
+    private final Integer assetId;
+    private final int totalLot;
+    private final BigDecimal averageCost;
+    private final Long version;
+}
@@ -0,0 +1,20 @@
+package com.example.finchange.portfolio.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Getter
+@AllArgsConstructor
+public class StatementEntryResponse {
+    private final Integer id;
+    private final LocalDateTime createdAt;
+    private final String transactionType;
+    private final BigDecimal amount;
+    private final short direction;
+    private final BigDecimal balanceAfterTransaction;
+    private final Integer relatedOrderId;
+    private final String description;
+}
@@ -0,0 +1,190 @@
+package com.example.finchange.portfolio.lane;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Hesap bakiyesini değiştiren işleri hesap ID'sine göre sabit bir şeride (tek iş parçacıklı kuyruk) yönlendirir.
+ * Aynı hesabın işleri sırayla çalışır; şeritte birikmiş aynı hesaba ait işler tek transaction'da uygulanır,
+ * böylece hesap satırı bir kez yazılır ve süreç içinde iyimser kilit çakışması oluşmaz.
+ */
+@Component
+@Slf4j
+public class AccountLaneExecutor {
+
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${portfolio.account-lanes.stripes:8}")
+    private int stripes = 8;
+
+    @Value("${portfolio.account-lanes.max-batch:64}")
+    private int maxBatch = 64;
+
+    @Value("${portfolio.account-lanes.optimistic-retries:3}")
+    private int optimisticRetries = 3;
+
+    @Value("${portfolio.account-lanes.retry-backoff-ms:20}")
+    private long retryBackoffMs = 20;
+
+    private Lane[] lanes;
+
+    public AccountLaneExecutor(PlatformTransactionManager transactionManager) {
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    @PostConstruct
+    public void start() {
+        Lane[] created = new Lane[Math.max(1, stripes)];
+        for (int i = 0; i < created.length; i++) {
+            created[i] = new Lane(i);
+        }
+        lanes = created;
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (lanes != null) {
+            for (Lane lane : lanes) {
+                lane.worker.shutdown();
+            }
+        }
+    }
+
+    /**
+     * İşi hesabın şeridine ekler. İş, şeridin açtığı transaction içinde çalışır; dönen future iş
+     * commit edildiğinde tamamlanır, yeniden denemeler tükenirse hatayla tamamlanır.
+     */
+    public CompletableFuture<Void> submit(Integer accountId, Runnable mutation) {
+        Objects.requireNonNull(accountId, "accountId");
+        PendingMutation pending = new PendingMutation(accountId, mutation, new CompletableFuture<>());
+        Lane lane = laneFor(accountId);
+        lane.queue.add(pending);
+        lane.schedule();
+        return pending.result();
+    }
+
+    private Lane laneFor(Integer accountId) {
+        if (lanes == null) {
+            start();
+        }
+        return lanes[Math.floorMod(accountId.hashCode(), lanes.length)];
+    }
+
+    private void applyGroup(Integer accountId, List<PendingMutation> group) {
+        if (group.size() > 1) {
+            try {
+                runInTransaction(() -> group.forEach(pending -> pending.mutation().run()));
+                group.forEach(pending -> pending.result().complete(null));
+                log.debug("Hesap ID {}: {} bekleyen işlem tek transaction'da uygulandı.", accountId, group.size());
+                return;
+            } catch (RuntimeException e) {
+                log.warn("Hesap ID {}: {} birleşik işlem uygulanamadı, işlemler tek tek deneniyor. Sebep: {}",
+                        accountId, group.size(), e.getMessage());
+            }
+        }
+        for (PendingMutation pending : group) {
+            try {
+                runInTransaction(pending.mutation());
+                pending.result().complete(null);
+            } catch (RuntimeException e) {
+                pending.result().completeExceptionally(e);
+            }
+        }
+    }
+
+    private void runInTransaction(Runnable work) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                transactionTemplate.executeWithoutResult(status -> work.run());
+                return;
+            } catch (OptimisticLockingFailureException e) {
+                if (attempt > optimisticRetries || !backoff(attempt)) {
+                    throw e;
+                }
+                log.info("Hesap şeridinde iyimser kilit çakışması, {}. deneme yapılıyor. Sebep: {}", attempt + 1, e.getMessage());
+            }
+        }
+    }
+
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(retryBackoffMs * attempt);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private record PendingMutation(Integer accountId, Runnable mutation, CompletableFuture<Void> result) {
+    }
+
+    private final class Lane {
+
+        private final ExecutorService worker;
+        private final Queue<PendingMutation> queue = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private Lane(int index) {
+            this.worker = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "account-lane-" + index);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+
+        private void schedule() {
+            if (!scheduled.compareAndSet(false, true)) {
+                return;
+            }
+            try {
+                worker.execute(this::drain);
+            } catch (RejectedExecutionException e) {
+                scheduled.set(false);
+                PendingMutation pending;
+                while ((pending = queue.poll()) != null) {
+                    pending.result().completeExceptionally(e);
+                }
+            }
+        }
+
+        private void drain() {
+            try {
+                Map<Integer, List<PendingMutation>> byAccount = new LinkedHashMap<>();
+                PendingMutation pending;
+                int taken = 0;
+                while (taken < maxBatch && (pending = queue.poll()) != null) {
+                    byAccount.computeIfAbsent(pending.accountId(), k -> new ArrayList<>()).add(pending);
+                    taken++;
+                }
+                byAccount.forEach(AccountLaneExecutor.this::applyGroup);
+            } finally {
+                scheduled.set(false);
+                if (!queue.isEmpty()) {
+                    schedule();
+                }
+            }
+        }
+    }
+}
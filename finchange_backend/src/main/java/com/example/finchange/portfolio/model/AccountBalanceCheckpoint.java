@@ -0,0 +1,49 @@
+package com.example.finchange.portfolio.model;
+
+import com.example.finchange.common.model.SequenceAuditableBaseEntity;
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import lombok.experimental.SuperBuilder;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Hesabın gün sonu bakiyesi. Yalnızca o gün hareketi olan hesaplar için yazılır; bir tarihteki
+ * bakiye en yakın önceki noktadan başlanarak hesaplanır, hareket tablosunun tamamı taranmaz.
+ */
+@Entity
+@Table(name = "HesapBakiyeNoktalari",
+        uniqueConstraints = @UniqueConstraint(name = "UX_HesapBakiyeNoktalari_account_id_checkpoint_date",
+                columnNames = {"account_id", "checkpoint_date"}))
+@Getter
+@Setter
+@SuperBuilder
+@NoArgsConstructor
+@AllArgsConstructor
+public class AccountBalanceCheckpoint extends SequenceAuditableBaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "HesapBakiyeNoktalari_SEQ")
+    @SequenceGenerator(name = "HesapBakiyeNoktalari_SEQ", sequenceName = "HesapBakiyeNoktalari_SEQ", allocationSize = 50)
+    private Integer id;
+
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+
+    @Column(name = "checkpoint_date", nullable = false)
+    private LocalDate checkpointDate;
+
+    @Column(name = "balance", nullable = false, precision = 18, scale = 4)
+    private BigDecimal balance;
+
+    @Column(name = "last_transaction_id", nullable = false)
+    private Integer lastTransactionId;
+
+    @Column(name = "last_transaction_at", nullable = false)
+    private LocalDateTime lastTransactionAt;
+}
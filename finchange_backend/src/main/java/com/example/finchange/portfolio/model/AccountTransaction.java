@@ -1,6 +1,6 @@
 package com.example.finchange.portfolio.model;
 
-import com.example.finchange.common.model.AuditableBaseEntity;
+import com.example.finchange.common.model.SequenceAuditableBaseEntity;
 import com.example.finchange.customer.model.CustomerAccount;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.OrderExecution;
@@ -14,13 +14,21 @@ import lombok.experimental.SuperBuilder;
 import java.math.BigDecimal;
 
 @Entity
-@Table(name = "HesapHareketleri")
+@Table(name = "HesapHareketleri", indexes = {
+        @Index(name = "IX_HesapHareketleri_account_id_created_at", columnList = "account_id, created_at, id"),
+        @Index(name = "IX_HesapHareketleri_created_at", columnList = "created_at")
+})
 @Getter
 @Setter
 @SuperBuilder
 @NoArgsConstructor
 @AllArgsConstructor
-public class AccountTransaction extends AuditableBaseEntity {
+public class AccountTransaction extends SequenceAuditableBaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "HesapHareketleri_SEQ")
+    @SequenceGenerator(name = "HesapHareketleri_SEQ", sequenceName = "HesapHareketleri_SEQ", allocationSize = 50)
+    private Integer id;
 
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "account_id", nullable = false)
@@ -2,6 +2,7 @@ package com.example.finchange.portfolio.model;
 
 import com.example.finchange.common.model.AuditableBaseEntity;
 import com.example.finchange.customer.model.Customers;
+import com.example.finchange.portfolio.service.impl.CustomerAssetValuationListener;
 import jakarta.persistence.*;
 import lombok.*;
 import java.math.BigDecimal;
@@ -13,6 +14,7 @@ import java.math.BigDecimal;
 @ToString
 @Entity
 @Table(name = "MusteriVarliklari")
+@EntityListeners(CustomerAssetValuationListener.class)
 public class CustomerAsset extends AuditableBaseEntity {
 
     @Column(name = "customer_id", nullable = false)
@@ -0,0 +1,70 @@
+package com.example.finchange.portfolio.model;
+
+import com.example.finchange.common.model.SequenceAuditableBaseEntity;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.math.BigDecimal;
+
+/**
+ * Alım emrinin bakiye rezervasyonu. Blokaj, takas ve iade işlemleri hareket kaydını yazarken bu
+ * satırı da artımlı günceller; kalan blokaj hareket tablosunu toplamadan tek satırdan okunur.
+ * Hareket tablosu (HesapHareketleri) denetim için yalnızca eklemeli kalır.
+ */
+@Entity
+@Table(name = "EmirRezervasyonlari",
+        uniqueConstraints = @UniqueConstraint(name = "UX_EmirRezervasyonlari_order_id", columnNames = "order_id"),
+        indexes = @Index(name = "IX_EmirRezervasyonlari_account_id", columnList = "account_id"))
+@Getter
+@Setter
+@NoArgsConstructor
+public class OrderReservation extends SequenceAuditableBaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "EmirRezervasyonlari_SEQ")
+    @SequenceGenerator(name = "EmirRezervasyonlari_SEQ", sequenceName = "EmirRezervasyonlari_SEQ", allocationSize = 50)
+    private Integer id;
+
+    @Column(name = "order_id", nullable = false)
+    private Integer orderId;
+
+    @Column(name = "account_id", nullable = false)
+    private Integer accountId;
+
+    @Column(name = "blocked_amount", nullable = false, precision = 18, scale = 4)
+    private BigDecimal blockedAmount = BigDecimal.ZERO;
+
+    @Column(name = "consumed_amount", nullable = false, precision = 18, scale = 4)
+    private BigDecimal consumedAmount = BigDecimal.ZERO;
+
+    @Column(name = "released_amount", nullable = false, precision = 18, scale = 4)
+    private BigDecimal releasedAmount = BigDecimal.ZERO;
+
+    @Version
+    @Column(name = "version")
+    private Long version;
+
+    public OrderReservation(Integer orderId, Integer accountId) {
+        this.orderId = orderId;
+        this.accountId = accountId;
+    }
+
+    public void block(BigDecimal amount) {
+        blockedAmount = blockedAmount.add(amount);
+    }
+
+    public void consume(BigDecimal amount) {
+        consumedAmount = consumedAmount.add(amount);
+    }
+
+    public void release(BigDecimal amount) {
+        releasedAmount = releasedAmount.add(amount);
+    }
+
+    @Transient
+    public BigDecimal getRemainingAmount() {
+        return blockedAmount.subtract(consumedAmount).subtract(releasedAmount);
+    }
+}
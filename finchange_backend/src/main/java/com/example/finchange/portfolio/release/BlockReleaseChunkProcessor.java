@@ -0,0 +1,84 @@
+package com.example.finchange.portfolio.release;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.customer.dto.BlockedBalanceDTO;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.portfolio.model.AccountTransaction;
+import com.example.finchange.portfolio.repository.AccountTransactionRepository;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.repository.OrderReservationRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Override blokaj serbest bırakmanın tek bir parçası. Her parça id sırasıyla (keyset) seçilen en
+ * fazla {@code limit} satırı kendi transaction'ında toplu UPDATE ile serbest bırakır; bakiye
+ * blokajları için hareket kayıtları toplu insert edilir.
+ */
+@Component
+@RequiredArgsConstructor
+public class BlockReleaseChunkProcessor {
+
+    private final CustomerAccountRepository accountRepository;
+    private final CustomerAssetRepository customerAssetRepository;
+    private final AccountTransactionRepository transactionRepository;
+    private final OrderReservationRepository reservationRepository;
+
+    public record ReleasedChunk(int lastId, int selectedRows, int releasedRows, BigDecimal releasedAmount) {
+        public boolean isLast(int limit) {
+            return selectedRows < limit;
+        }
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ReleasedChunk releaseBalances(int afterId, int limit) {
+        List<Integer> ids = accountRepository.findIdsWithBlockedBalanceAfter(afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return new ReleasedChunk(afterId, 0, 0, BigDecimal.ZERO);
+        }
+        // Önce satırlar kilitlenir, tutarlar kilit altında okunur; böylece hareket kaydı serbest bırakılan tutarla aynıdır
+        accountRepository.lockBlockedForRelease(ids);
+        List<BlockedBalanceDTO> blocked = accountRepository.findBlockedBalancesByIdIn(ids);
+
+        List<AccountTransaction> ledger = new ArrayList<>(blocked.size());
+        List<Integer> releasedIds = new ArrayList<>(blocked.size());
+        Money total = Money.ZERO;
+        for (BlockedBalanceDTO row : blocked) {
+            releasedIds.add(row.getId());
+            total = total.plus(row.getBlockedBalance());
+            ledger.add(AccountTransaction.builder()
+                    .account(accountRepository.getReferenceById(row.getId()))
+                    .transactionType("ORDER_UNBLOCKED")
+                    .amount(row.getBlockedBalance().toBigDecimal())
+                    .direction((short) 1)
+                    .balanceAfterTransaction(row.getBalance().toBigDecimal())
+                    .description("Override ile bakiye blokaj serbest")
+                    .build());
+        }
+        if (!releasedIds.isEmpty()) {
+            LocalDateTime now = LocalDateTime.now();
+            accountRepository.releaseBlockedBalances(releasedIds, now);
+            reservationRepository.releaseOpenByAccountIds(releasedIds, now);
+            transactionRepository.saveAll(ledger);
+        }
+        return new ReleasedChunk(ids.get(ids.size() - 1), ids.size(), releasedIds.size(), total.toBigDecimal());
+    }
+
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public ReleasedChunk releaseLots(int afterId, int limit) {
+        List<Integer> ids = customerAssetRepository.findIdsWithBlockedLotAfter(afterId, PageRequest.of(0, limit));
+        if (ids.isEmpty()) {
+            return new ReleasedChunk(afterId, 0, 0, BigDecimal.ZERO);
+        }
+        int released = customerAssetRepository.releaseBlockedLots(ids, LocalDateTime.now());
+        return new ReleasedChunk(ids.get(ids.size() - 1), ids.size(), released, BigDecimal.ZERO);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.finchange.portfolio.repository;
+
+import com.example.finchange.portfolio.model.AccountBalanceCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.LocalDate;
+import java.util.Optional;
+
+public interface AccountBalanceCheckpointRepository extends JpaRepository<AccountBalanceCheckpoint, Integer> {
+
+    Optional<AccountBalanceCheckpoint> findFirstByAccountIdAndCheckpointDateLessThanOrderByCheckpointDateDesc(
+            Integer accountId, LocalDate before);
+
+    @Query("SELECT MAX(c.checkpointDate) FROM AccountBalanceCheckpoint c")
+    Optional<LocalDate> findLatestCheckpointDate();
+}
@@ -2,13 +2,79 @@ package com.example.finchange.portfolio.repository;
 
 import com.example.finchange.portfolio.model.AccountTransaction;
 import com.example.finchange.execution.model.Order;
+import com.example.finchange.portfolio.dto.LedgerBalanceView;
+import com.example.finchange.portfolio.dto.OrderAmountSumDTO;
+import com.example.finchange.portfolio.dto.StatementEntryResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
 public interface AccountTransactionRepository extends JpaRepository<AccountTransaction, Long> {
     @Query("SELECT COALESCE(SUM(t.amount), 0) FROM AccountTransaction t WHERE t.transactionType = :type AND t.relatedOrder = :order")
     java.math.BigDecimal sumAmountByTypeAndOrder(@Param("type") String type, @Param("order") Order order);
+
+    @Query("SELECT t.relatedOrder.id AS orderId, SUM(t.amount) AS totalAmount FROM AccountTransaction t " +
+            "WHERE t.transactionType = :type AND t.relatedOrder.id IN :orderIds GROUP BY t.relatedOrder.id")
+    List<OrderAmountSumDTO> sumAmountsByTypeAndOrderIds(@Param("type") String type, @Param("orderIds") Collection<Integer> orderIds);
+
+    // Aralıkta hareketi olan her hesabın aralıktaki son hareketi (gün sonu noktası için)
+    @Query("""
+        SELECT new com.example.finchange.portfolio.dto.LedgerBalanceView(
+            t.account.id, t.id, t.createdAt, t.balanceAfterTransaction)
+        FROM AccountTransaction t
+        WHERE t.createdAt >= :from AND t.createdAt < :to
+          AND NOT EXISTS (
+            SELECT 1 FROM AccountTransaction n
+            WHERE n.account = t.account AND n.createdAt < :to
+              AND (n.createdAt > t.createdAt OR (n.createdAt = t.createdAt AND n.id > t.id)))
+        ORDER BY t.account.id
+    """)
+    List<LedgerBalanceView> findLastBalancesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
+
+    @Query("""
+        SELECT new com.example.finchange.portfolio.dto.LedgerBalanceView(
+            t.account.id, t.id, t.createdAt, t.balanceAfterTransaction)
+        FROM AccountTransaction t
+        WHERE t.account.id = :accountId AND t.createdAt >= :since AND t.createdAt < :before
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<LedgerBalanceView> findLastBalanceBetween(@Param("accountId") Integer accountId, @Param("since") LocalDateTime since,
+                                                   @Param("before") LocalDateTime before, Pageable pageable);
+
+    @Query("""
+        SELECT new com.example.finchange.portfolio.dto.LedgerBalanceView(
+            t.account.id, t.id, t.createdAt, t.balanceAfterTransaction)
+        FROM AccountTransaction t
+        WHERE t.account.id = :accountId AND t.createdAt < :before
+        ORDER BY t.createdAt DESC, t.id DESC
+    """)
+    List<LedgerBalanceView> findLastBalanceBefore(@Param("accountId") Integer accountId, @Param("before") LocalDateTime before,
+                                                  Pageable pageable);
+
+    // Ekstre sayfası: (created_at, id) üzerinden keyset; OFFSET kullanılmadığı için derin sayfalar da indeksten okunur
+    @Query("""
+        SELECT new com.example.finchange.portfolio.dto.StatementEntryResponse(
+            t.id, t.createdAt, t.transactionType, t.amount, t.direction, t.balanceAfterTransaction,
+            t.relatedOrder.id, t.description)
+        FROM AccountTransaction t
+        WHERE t.account.id = :accountId AND t.createdAt < :to
+          AND (t.createdAt > :afterTime OR (t.createdAt = :afterTime AND t.id > :afterId))
+        ORDER BY t.createdAt, t.id
+    """)
+    List<StatementEntryResponse> findStatementPage(@Param("accountId") Integer accountId,
+                                                   @Param("afterTime") LocalDateTime afterTime,
+                                                   @Param("afterId") Integer afterId,
+                                                   @Param("to") LocalDateTime to,
+                                                   Pageable pageable);
+
+    @Query("SELECT MIN(t.createdAt) FROM AccountTransaction t")
+    Optional<LocalDateTime> findEarliestCreatedAt();
 }
\ No newline at end of file
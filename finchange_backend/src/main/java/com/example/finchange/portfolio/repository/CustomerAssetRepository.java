@@ -1,9 +1,16 @@
 package com.example.finchange.portfolio.repository;
 
+import com.example.finchange.portfolio.dto.PositionValuationView;
 import com.example.finchange.portfolio.model.CustomerAsset;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -12,5 +19,21 @@ public interface CustomerAssetRepository extends JpaRepository<CustomerAsset, In
     List<CustomerAsset> findByCustomerIdInAndAssetId(List<Integer> customerIds, Integer assetId);
     @EntityGraph(attributePaths = {"asset"}) 
     List<CustomerAsset> findByCustomerIdIn(List<Integer> customerIds);
+    List<CustomerAsset> findByCustomerIdInAndAssetIdIn(Collection<Integer> customerIds, Collection<Integer> assetIds);
+
+    long countByBlockedLotGreaterThan(int lots);
+
+    @Query("SELECT ca.id FROM CustomerAsset ca WHERE ca.id > :afterId AND ca.blockedLot > 0 ORDER BY ca.id")
+    List<Integer> findIdsWithBlockedLotAfter(@Param("afterId") Integer afterId, Pageable pageable);
+
+    @Modifying
+    @Query("UPDATE CustomerAsset ca SET ca.blockedLot = 0, ca.version = ca.version + 1, ca.updatedAt = :now " +
+            "WHERE ca.id IN :ids AND ca.blockedLot > 0")
+    int releaseBlockedLots(@Param("ids") Collection<Integer> ids, @Param("now") LocalDateTime now);
+
+    @Query("SELECT new com.example.finchange.portfolio.dto.PositionValuationView(" +
+            "ca.id, ca.customerId, ca.assetId, ca.totalLot, ca.averageCost, ca.version) " +
+            "FROM CustomerAsset ca WHERE ca.totalLot > 0")
+    List<PositionValuationView> findOpenPositionViews();
 
 }
\ No newline at end of file
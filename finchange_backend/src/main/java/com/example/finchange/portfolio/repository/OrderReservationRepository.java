@@ -0,0 +1,26 @@
+package com.example.finchange.portfolio.repository;
+
+import com.example.finchange.portfolio.model.OrderReservation;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+public interface OrderReservationRepository extends JpaRepository<OrderReservation, Integer> {
+
+    Optional<OrderReservation> findByOrderId(Integer orderId);
+
+    List<OrderReservation> findByOrderIdIn(Collection<Integer> orderIds);
+
+    // Override ile hesabın tüm blokajı kaldırıldığında açık rezervasyonlar da kapatılır
+    @Modifying
+    @Query("UPDATE OrderReservation r SET r.releasedAmount = r.blockedAmount - r.consumedAmount, " +
+            "r.version = r.version + 1, r.updatedAt = :now " +
+            "WHERE r.accountId IN :accountIds AND r.blockedAmount - r.consumedAmount - r.releasedAmount > 0")
+    int releaseOpenByAccountIds(@Param("accountIds") Collection<Integer> accountIds, @Param("now") LocalDateTime now);
+}
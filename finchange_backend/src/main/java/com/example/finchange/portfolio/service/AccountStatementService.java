@@ -0,0 +1,27 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.portfolio.dto.AccountBalanceResponse;
+import com.example.finchange.portfolio.dto.AccountStatementResponse;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public interface AccountStatementService {
+
+    /**
+     * Hesabın verilen andan hemen önceki bakiyesi. En yakın gün sonu noktasından başlanır.
+     */
+    AccountBalanceResponse getBalanceAt(Integer accountId, LocalDateTime at);
+
+    /**
+     * [from, to) aralığındaki hareketleri imleç (keyset) sayfalamasıyla döner. İlk sayfa için cursor null verilir.
+     */
+    AccountStatementResponse getStatement(Integer accountId, LocalDateTime from, LocalDateTime to, String cursor, int size);
+
+    /**
+     * Verilen gün için, o gün hareketi olan hesapların gün sonu bakiye noktalarını yazar.
+     */
+    int createCheckpoints(LocalDate day);
+
+    void createDailyCheckpoints();
+}
@@ -0,0 +1,34 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.portfolio.model.Asset;
+
+/**
+ * Varlık id'si ile BIST kodu arasındaki çeviriyi bellekte tutar; sıcak yollarda
+ * {@code AssetRepository} çağrısı yapılmaması içindir.
+ */
+public interface AssetRegistry {
+
+    void reload();
+
+    /**
+     * Oluşturulan veya güncellenen varlığı kayda alır; aktif bir transaction varsa commit sonrasına ertelenir.
+     */
+    void register(Asset asset);
+
+    /**
+     * @return varlığın BIST kodu, bilinmiyorsa null
+     */
+    String getBistCode(int assetId);
+
+    /**
+     * @return BIST koduna ait varlık id'si, bilinmiyorsa null
+     */
+    Integer getAssetId(String bistCode);
+
+    /**
+     * @return varlığın takas gün sayısı, tanımlı değilse null
+     */
+    Integer getSettlementDays(int assetId);
+
+    int size();
+}
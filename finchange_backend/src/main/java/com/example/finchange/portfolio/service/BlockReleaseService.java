@@ -0,0 +1,18 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.portfolio.dto.BlockReleaseJobStatus;
+
+import java.util.Optional;
+
+public interface BlockReleaseService {
+
+    /**
+     * Takas kontrolleri kapatıldığında bekleyen takasları netleştiren ve tüm bakiye/lot blokajlarını
+     * serbest bırakan işi arka planda başlatır. Çalışan bir iş varsa yenisi açılmaz, o iş döner.
+     */
+    BlockReleaseJobStatus startRelease();
+
+    Optional<BlockReleaseJobStatus> getJob(String jobId);
+
+    Optional<BlockReleaseJobStatus> getLatestJob();
+}
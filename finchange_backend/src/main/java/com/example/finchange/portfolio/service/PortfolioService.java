@@ -4,6 +4,7 @@ import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.OrderExecution;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface PortfolioService {
     void deposit(Integer accountId, BigDecimal amount, String description);
@@ -11,10 +12,11 @@ public interface PortfolioService {
     void blockBalanceForBuyOrder(Order order);
     void releaseBlockForCancelledOrder(Order order);
     void blockAssetForSellOrder(Order order);
+    void blockBalancesForBuyOrders(List<Order> orders);
+    void blockAssetsForSellOrders(List<Order> orders);
     void blockAssetForBuyExecution(OrderExecution orderExecution);
     void increaseHoldingsImmediately(OrderExecution orderExecution);
     void applySellExecutionHold(OrderExecution orderExecution);
-    void releaseAllBlocksForOverride();
     void settleBuyTransaction(OrderExecution orderExecution);
     void settleSellTransaction(OrderExecution orderExecution);
 }
@@ -0,0 +1,48 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.portfolio.dto.PortfolioValuationResponse;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+/**
+ * Açık pozisyonları bellekte varlık bazında tutar ve fiyat geldikçe yalnızca o varlığı tutan
+ * müşterilerin piyasa değeri ile gerçekleşmemiş kâr/zararını artımlı günceller. Müşteri ve
+ * portföy grubu toplamları hazır tutulur; sorgular hesaplama yapmaz.
+ */
+public interface PortfolioValuationService {
+
+    /**
+     * Pozisyonları, grup üyeliklerini ve fiyatları baştan yükler; artımlı güncellemelerde oluşabilecek
+     * kaymaları düzeltir.
+     */
+    void reload();
+
+    void onPriceUpdate(PriceUpdateEvent event);
+
+    /**
+     * Müşteri varlığı kaydedildiğinde çağrılır; aktif bir transaction varsa commit sonrasına ertelenir.
+     */
+    void onPositionChanged(Integer customerAssetId, Integer customerId, Integer assetId,
+                           int totalLot, BigDecimal averageCost, Long version);
+
+    /**
+     * Müşteri varlığı silindiğinde çağrılır; aktif bir transaction varsa commit sonrasına ertelenir.
+     */
+    void onPositionRemoved(Integer customerAssetId, Integer customerId, Integer assetId);
+
+    /**
+     * Grup üyelikleri değiştiğinde grup toplamlarını yeniden kurar; aktif bir transaction varsa commit sonrasına ertelenir.
+     */
+    void refreshGroups();
+
+    PortfolioValuationResponse getCustomerValuation(Integer customerId);
+
+    PortfolioValuationResponse getGroupValuation(Integer groupId);
+
+    /**
+     * @return varlığın son değerleme fiyatı, henüz fiyat gelmemişse boş
+     */
+    Optional<BigDecimal> getMarkPrice(Integer assetId);
+}
@@ -0,0 +1,172 @@
+package com.example.finchange.portfolio.service.impl;
+
+import com.example.finchange.customer.exception.AccountNotFoundException;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.operation.service.SystemDateService;
+import com.example.finchange.portfolio.dto.AccountBalanceResponse;
+import com.example.finchange.portfolio.dto.AccountStatementResponse;
+import com.example.finchange.portfolio.dto.LedgerBalanceView;
+import com.example.finchange.portfolio.dto.StatementEntryResponse;
+import com.example.finchange.portfolio.model.AccountBalanceCheckpoint;
+import com.example.finchange.portfolio.repository.AccountBalanceCheckpointRepository;
+import com.example.finchange.portfolio.repository.AccountTransactionRepository;
+import com.example.finchange.portfolio.service.AccountStatementService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Tarihsel bakiye ve hesap ekstresi. Bir andaki bakiye, o andan önceki en yakın gün sonu noktasından
+ * sonraki son hareketin {@code balanceAfterTransaction} değeridir; böylece yıllarca geçmişi olan
+ * hesaplarda bile yalnızca tek günlük aralık okunur. Ekstre (created_at, id) imleciyle sayfalanır.
+ * <p>
+ * Gün sonu noktaları gece, sistem tarihine göre bir önceki güne kadar yazılır. İlk çalıştırmada en eski
+ * hareketin gününden başlanarak geçmiş doldurulur.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AccountStatementServiceImpl implements AccountStatementService {
+
+    private static final char CURSOR_SEPARATOR = '_';
+
+    private final AccountTransactionRepository transactionRepository;
+    private final AccountBalanceCheckpointRepository checkpointRepository;
+    private final CustomerAccountRepository accountRepository;
+    private final SystemDateService systemDateService;
+
+    @Value("${account-statement.max-page-size:500}")
+    private int maxPageSize = 500;
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountBalanceResponse getBalanceAt(Integer accountId, LocalDateTime at) {
+        ensureAccountExists(accountId);
+        Optional<AccountBalanceCheckpoint> checkpoint = checkpointBefore(accountId, at);
+        return AccountBalanceResponse.builder()
+                .accountId(accountId)
+                .at(at)
+                .balance(balanceBefore(accountId, at, checkpoint))
+                .checkpointDate(checkpoint.map(AccountBalanceCheckpoint::getCheckpointDate).orElse(null))
+                .build();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public AccountStatementResponse getStatement(Integer accountId, LocalDateTime from, LocalDateTime to, String cursor, int size) {
+        if (!from.isBefore(to)) {
+            throw new IllegalArgumentException("Ekstre başlangıcı bitişinden önce olmalıdır.");
+        }
+        ensureAccountExists(accountId);
+        int pageSize = Math.max(1, Math.min(size, maxPageSize));
+
+        LocalDateTime afterTime = from;
+        Integer afterId = Integer.MIN_VALUE;
+        boolean firstPage = cursor == null || cursor.isBlank();
+        if (!firstPage) {
+            int separator = cursor.lastIndexOf(CURSOR_SEPARATOR);
+            try {
+                afterTime = LocalDateTime.parse(cursor.substring(0, separator));
+                afterId = Integer.valueOf(cursor.substring(separator + 1));
+            } catch (DateTimeParseException | NumberFormatException | IndexOutOfBoundsException e) {
+                throw new IllegalArgumentException("Geçersiz ekstre imleci: " + cursor);
+            }
+            if (afterTime.isBefore(from)) {
+                throw new IllegalArgumentException("Ekstre imleci istenen aralığın dışında: " + cursor);
+            }
+        }
+
+        List<StatementEntryResponse> rows = transactionRepository.findStatementPage(
+                accountId, afterTime, afterId, to, PageRequest.of(0, pageSize + 1));
+        boolean hasNext = rows.size() > pageSize;
+        List<StatementEntryResponse> entries = hasNext ? rows.subList(0, pageSize) : rows;
+
+        String nextCursor = null;
+        if (hasNext) {
+            StatementEntryResponse last = entries.get(entries.size() - 1);
+            nextCursor = last.getCreatedAt().toString() + CURSOR_SEPARATOR + last.getId();
+        }
+        return AccountStatementResponse.builder()
+                .accountId(accountId)
+                .from(from)
+                .to(to)
+                .openingBalance(firstPage ? balanceBefore(accountId, from, checkpointBefore(accountId, from)) : null)
+                .entries(entries)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    @Override
+    @Scheduled(cron = "${account-statement.checkpoint-cron:0 30 0 * * *}", zone = "Europe/Istanbul")
+    public void createDailyCheckpoints() {
+        LocalDate lastClosedDay = systemDateService.getSystemDate().minusDays(1);
+        Optional<LocalDate> start = checkpointRepository.findLatestCheckpointDate().map(day -> day.plusDays(1))
+                .or(() -> transactionRepository.findEarliestCreatedAt().map(LocalDateTime::toLocalDate));
+        if (start.isEmpty() || start.get().isAfter(lastClosedDay)) {
+            return;
+        }
+        int written = 0;
+        for (LocalDate day = start.get(); !day.isAfter(lastClosedDay); day = day.plusDays(1)) {
+            try {
+                written += createCheckpoints(day);
+            } catch (DataIntegrityViolationException e) {
+                log.warn("{} için gün sonu bakiye noktaları başka bir süreç tarafından yazılmış, iş sonlandırıldı.", day);
+                return;
+            }
+        }
+        log.info("Gün sonu bakiye noktaları yazıldı: {} - {}, {} hesap-gün.", start.get(), lastClosedDay, written);
+    }
+
+    @Override
+    public int createCheckpoints(LocalDate day) {
+        List<LedgerBalanceView> lastOfDay = transactionRepository.findLastBalancesBetween(
+                day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        if (lastOfDay.isEmpty()) {
+            return 0;
+        }
+        checkpointRepository.saveAll(lastOfDay.stream()
+                .map(row -> AccountBalanceCheckpoint.builder()
+                        .accountId(row.getAccountId())
+                        .checkpointDate(day)
+                        .balance(row.getBalanceAfterTransaction())
+                        .lastTransactionId(row.getTransactionId())
+                        .lastTransactionAt(row.getCreatedAt())
+                        .build())
+                .toList());
+        return lastOfDay.size();
+    }
+
+    // Nokta günün sonunu kapsadığı için yalnızca 'at' gününden önceki noktalar kullanılabilir
+    private Optional<AccountBalanceCheckpoint> checkpointBefore(Integer accountId, LocalDateTime at) {
+        return checkpointRepository.findFirstByAccountIdAndCheckpointDateLessThanOrderByCheckpointDateDesc(accountId, at.toLocalDate());
+    }
+
+    private BigDecimal balanceBefore(Integer accountId, LocalDateTime at, Optional<AccountBalanceCheckpoint> checkpoint) {
+        List<LedgerBalanceView> last = checkpoint.isPresent()
+                ? transactionRepository.findLastBalanceBetween(accountId,
+                        checkpoint.get().getCheckpointDate().plusDays(1).atStartOfDay(), at, PageRequest.of(0, 1))
+                : transactionRepository.findLastBalanceBefore(accountId, at, PageRequest.of(0, 1));
+        if (!last.isEmpty()) {
+            return last.get(0).getBalanceAfterTransaction();
+        }
+        return checkpoint.map(AccountBalanceCheckpoint::getBalance).orElse(BigDecimal.ZERO);
+    }
+
+    private void ensureAccountExists(Integer accountId) {
+        if (!accountRepository.existsById(accountId)) {
+            throw new AccountNotFoundException("Hesap bulunamadı: " + accountId);
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.finchange.portfolio.service.impl;
+
+import com.example.finchange.portfolio.model.Asset;
+import com.example.finchange.portfolio.repository.AssetRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Varlıklar id'ye göre indekslenmiş dizilerde ve BIST kodu → id haritasında tutulur. Okumalar
+ * kilitsizdir: her güncelleme yeni bir değişmez {@link Snapshot} oluşturup referansı değiştirir.
+ * Kayıtta olmayan bir varlık sorulursa (ör. başka bir düğümde yeni oluşturulmuşsa) veritabanından
+ * bir kez okunup kayda eklenir; periyodik yeniden yükleme de diğer düğümlerdeki güncellemeleri yakalar.
+ * Veritabanında da bulunamayan kod ve id'ler bir sonraki yeniden yüklemeye kadar negatif olarak
+ * önbelleğe alınır; kayıtsız bir sembol her tick'te sorguya dönüşmez.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class AssetRegistryImpl implements AssetRegistry {
+
+    private static final int UNKNOWN_SETTLEMENT_DAYS = -1;
+    // Dışarıdan gelen rastgele kodlarla negatif önbelleğin sınırsız büyümesini engeller.
+    private static final int MAX_MISSING_ENTRIES = 10_000;
+
+    private final AssetRepository assetRepository;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+    private final Set<String> missingBistCodes = ConcurrentHashMap.newKeySet();
+    private final Set<Integer> missingAssetIds = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Varlık kaydı başlangıçta yüklenemedi. Eksik varlıklar ilk erişimde veritabanından okunacak. Hata: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${asset-registry.refresh-ms:300000}", initialDelayString = "${asset-registry.refresh-ms:300000}")
+    public synchronized void reload() {
+        List<Asset> assets = assetRepository.findAll();
+        int maxId = assets.stream().mapToInt(Asset::getId).max().orElse(0);
+
+        String[] bistCodes = new String[maxId + 1];
+        int[] settlementDays = new int[maxId + 1];
+        Arrays.fill(settlementDays, UNKNOWN_SETTLEMENT_DAYS);
+        Map<String, Integer> idsByBistCode = new HashMap<>(assets.size() * 2);
+        for (Asset asset : assets) {
+            bistCodes[asset.getId()] = asset.getBistCode();
+            settlementDays[asset.getId()] = asset.getSettlementDays() == null ? UNKNOWN_SETTLEMENT_DAYS : asset.getSettlementDays();
+            idsByBistCode.put(asset.getBistCode(), asset.getId());
+        }
+        snapshot = new Snapshot(bistCodes, settlementDays, idsByBistCode);
+        missingBistCodes.clear();
+        missingAssetIds.clear();
+        log.info("Varlık kaydı yüklendi: {} varlık.", assets.size());
+    }
+
+    @Override
+    public void register(Asset asset) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    registerNow(asset.getId(), asset.getBistCode(), asset.getSettlementDays());
+                }
+            });
+        } else {
+            registerNow(asset.getId(), asset.getBistCode(), asset.getSettlementDays());
+        }
+    }
+
+    @Override
+    public String getBistCode(int assetId) {
+        String bistCode = snapshot.bistCode(assetId);
+        if (bistCode == null && assetId > 0 && !missingAssetIds.contains(assetId)) {
+            bistCode = loadMissing(assetId);
+        }
+        return bistCode;
+    }
+
+    @Override
+    public Integer getAssetId(String bistCode) {
+        if (bistCode == null) {
+            return null;
+        }
+        Integer assetId = snapshot.idsByBistCode().get(bistCode);
+        if (assetId == null && !missingBistCodes.contains(bistCode)) {
+            assetId = assetRepository.findByBistCode(bistCode)
+                    .map(this::registerLoaded)
+                    .orElse(null);
+            if (assetId == null) {
+                rememberMissing(missingBistCodes, bistCode);
+            }
+        }
+        return assetId;
+    }
+
+    @Override
+    public Integer getSettlementDays(int assetId) {
+        if (getBistCode(assetId) == null) {
+            return null;
+        }
+        int days = snapshot.settlementDays(assetId);
+        return days == UNKNOWN_SETTLEMENT_DAYS ? null : days;
+    }
+
+    @Override
+    public int size() {
+        return snapshot.idsByBistCode().size();
+    }
+
+    private String loadMissing(int assetId) {
+        return assetRepository.findById(assetId)
+                .map(asset -> {
+                    registerLoaded(asset);
+                    return asset.getBistCode();
+                })
+                .orElseGet(() -> {
+                    rememberMissing(missingAssetIds, assetId);
+                    return null;
+                });
+    }
+
+    private static <T> void rememberMissing(Set<T> missing, T key) {
+        if (missing.size() < MAX_MISSING_ENTRIES) {
+            missing.add(key);
+        }
+    }
+
+    private Integer registerLoaded(Asset asset) {
+        registerNow(asset.getId(), asset.getBistCode(), asset.getSettlementDays());
+        return asset.getId();
+    }
+
+    private synchronized void registerNow(int assetId, String bistCode, Integer settlementDays) {
+        Snapshot current = snapshot;
+        int length = Math.max(current.bistCodes().length, assetId + 1);
+        String[] bistCodes = Arrays.copyOf(current.bistCodes(), length);
+        int[] days = Arrays.copyOf(current.settlementDays(), length);
+        if (length > current.settlementDays().length) {
+            Arrays.fill(days, current.settlementDays().length, length, UNKNOWN_SETTLEMENT_DAYS);
+        }
+        Map<String, Integer> idsByBistCode = new HashMap<>(current.idsByBistCode());
+
+        String previousCode = bistCodes[assetId];
+        if (previousCode != null && !previousCode.equals(bistCode)) {
+            idsByBistCode.remove(previousCode);
+        }
+        bistCodes[assetId] = bistCode;
+        days[assetId] = settlementDays == null ? UNKNOWN_SETTLEMENT_DAYS : settlementDays;
+        idsByBistCode.put(bistCode, assetId);
+
+        snapshot = new Snapshot(bistCodes, days, idsByBistCode);
+        missingBistCodes.remove(bistCode);
+        missingAssetIds.remove(assetId);
+        log.debug("Varlık kaydı güncellendi: {} -> {}", assetId, bistCode);
+    }
+
+    private record Snapshot(String[] bistCodes, int[] settlementDays, Map<String, Integer> idsByBistCode) {
+
+        static final Snapshot EMPTY = new Snapshot(new String[0], new int[0], Map.of());
+
+        String bistCode(int assetId) {
+            return assetId >= 0 && assetId < bistCodes.length ? bistCodes[assetId] : null;
+        }
+
+        int settlementDays(int assetId) {
+            return assetId >= 0 && assetId < settlementDays.length ? settlementDays[assetId] : UNKNOWN_SETTLEMENT_DAYS;
+        }
+    }
+}
@@ -8,6 +8,7 @@ import com.example.finchange.portfolio.exception.AssetAlreadyExistsException;
 import com.example.finchange.portfolio.exception.AssetNotFoundException;
 import com.example.finchange.portfolio.model.Asset;
 import com.example.finchange.portfolio.repository.AssetRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
 import com.example.finchange.portfolio.service.AssetService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -28,6 +29,7 @@ public class AssetServiceImpl implements AssetService {
 
     private final AssetRepository assetRepository;
     private final AssetMapper assetMapper;
+    private final AssetRegistry assetRegistry;
     private final AssetMatchingServiceImpl assetMatchingService;
 
     @Override
@@ -62,6 +64,7 @@ public class AssetServiceImpl implements AssetService {
 
         Asset assetToCreate = assetMapper.toEntity(request);
         Asset savedAsset = assetRepository.save(assetToCreate);
+        assetRegistry.register(savedAsset);
         log.info("New asset created with ID: {}. Evicting 'assets' cache.", savedAsset.getId());
         assetMatchingService.findAndWriteSingleMatchToRedis(savedAsset.getBistCode());
 
@@ -91,6 +94,7 @@ public class AssetServiceImpl implements AssetService {
         assetMapper.updateAssetFromRequest(request, existingAsset);
 
         Asset updatedAsset = assetRepository.save(existingAsset);
+        assetRegistry.register(updatedAsset);
         log.info("Asset with ID: {} updated. Evicting related caches.", id);
         assetMatchingService.findAndWriteSingleMatchToRedis(updatedAsset.getBistCode());
 
@@ -0,0 +1,145 @@
+package com.example.finchange.portfolio.service.impl;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.execution.dto.SettlementReport;
+import com.example.finchange.execution.service.SettlementService;
+import com.example.finchange.portfolio.dto.BlockReleaseJobStatus;
+import com.example.finchange.portfolio.dto.BlockReleaseJobStatus.Phase;
+import com.example.finchange.portfolio.dto.BlockReleaseJobStatus.State;
+import com.example.finchange.portfolio.release.BlockReleaseChunkProcessor;
+import com.example.finchange.portfolio.release.BlockReleaseChunkProcessor.ReleasedChunk;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.BlockReleaseService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.Executor;
+
+/**
+ * Override blokaj serbest bırakma. HTTP isteği yalnızca işi kuyruğa alır; iş arka planda
+ * önce bekleyen takasları günlük takasla aynı netleştirme hattından geçirir, sonra bakiye ve lot
+ * blokajlarını id sırasıyla parça parça, her parça kendi transaction'ında toplu UPDATE ile kaldırır.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class BlockReleaseServiceImpl implements BlockReleaseService {
+
+    private static final int MAX_RETAINED_JOBS = 20;
+
+    private final SettlementService settlementService;
+    private final BlockReleaseChunkProcessor chunkProcessor;
+    private final CustomerAccountRepository accountRepository;
+    private final CustomerAssetRepository customerAssetRepository;
+    private final Executor taskExecutor;
+
+    @Value("${portfolio.block-release.chunk-size:1000}")
+    private int chunkSize = 1000;
+
+    private final Map<String, BlockReleaseJobStatus> jobs = new LinkedHashMap<>();
+    private BlockReleaseJobStatus latestJob;
+
+    @Override
+    public synchronized BlockReleaseJobStatus startRelease() {
+        if (latestJob != null && latestJob.getState() == State.RUNNING) {
+            log.info("[OVERRIDE] Blokaj serbest bırakma işi zaten çalışıyor. İş ID: {}", latestJob.getJobId());
+            return latestJob;
+        }
+        BlockReleaseJobStatus job = new BlockReleaseJobStatus(UUID.randomUUID().toString(), LocalDateTime.now());
+        try {
+            taskExecutor.execute(() -> run(job));
+        } catch (TaskRejectedException e) {
+            throw new IllegalStateException("Blokaj serbest bırakma işi kuyruğa alınamadı, lütfen tekrar deneyin.", e);
+        }
+        retain(job);
+        log.warn("[OVERRIDE] Takas kontrolleri KAPATILDI: blokaj serbest bırakma işi başlatıldı. İş ID: {}", job.getJobId());
+        return job;
+    }
+
+    @Override
+    public synchronized Optional<BlockReleaseJobStatus> getJob(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId));
+    }
+
+    @Override
+    public synchronized Optional<BlockReleaseJobStatus> getLatestJob() {
+        return Optional.ofNullable(latestJob);
+    }
+
+    void run(BlockReleaseJobStatus job) {
+        try {
+            job.setPhase(Phase.SETTLING);
+            SettlementReport settlement = settlementService.settleAllPending();
+            job.setPendingExecutionCount(settlement.getExecutionCount());
+            job.setSettledExecutionCount(settlement.getSettledExecutionCount());
+            job.setFailedSettlementAccountCount(settlement.getFailedAccountCount());
+
+            job.setAccountsToRelease(accountRepository.countByBlockedBalanceGreaterThan(Money.ZERO));
+            job.setHoldingsToRelease(customerAssetRepository.countByBlockedLotGreaterThan(0));
+
+            job.setPhase(Phase.RELEASING_BALANCES);
+            releaseBalances(job);
+
+            job.setPhase(Phase.RELEASING_LOTS);
+            releaseLots(job);
+
+            job.setPhase(Phase.DONE);
+            job.setState(State.COMPLETED);
+            log.info("[OVERRIDE] Blokaj serbest bırakma işi tamamlandı. İş ID: {}, netleştirilen işlem: {}/{}, " +
+                            "serbest bırakılan hesap: {} ({} TL), varlık: {}, parça: {}",
+                    job.getJobId(), job.getSettledExecutionCount(), job.getPendingExecutionCount(),
+                    job.getAccountsReleased(), job.getReleasedAmount(), job.getHoldingsReleased(), job.getChunkCount());
+        } catch (Exception e) {
+            job.setState(State.FAILED);
+            job.setError(e.getMessage());
+            log.error("[OVERRIDE] Blokaj serbest bırakma işi {} aşamasında başarısız oldu. İş ID: {}. Hata: {}",
+                    job.getPhase(), job.getJobId(), e.getMessage(), e);
+        } finally {
+            job.setFinishedAt(LocalDateTime.now());
+        }
+    }
+
+    private void releaseBalances(BlockReleaseJobStatus job) {
+        int limit = Math.max(1, chunkSize);
+        int afterId = 0;
+        ReleasedChunk chunk;
+        do {
+            chunk = chunkProcessor.releaseBalances(afterId, limit);
+            afterId = chunk.lastId();
+            job.setAccountsReleased(job.getAccountsReleased() + chunk.releasedRows());
+            job.setReleasedAmount(job.getReleasedAmount().add(chunk.releasedAmount()));
+            job.setChunkCount(job.getChunkCount() + 1);
+            log.debug("[OVERRIDE] Bakiye blokajı parçası: son hesap ID {}, {} hesap, {} TL", afterId,
+                    chunk.releasedRows(), chunk.releasedAmount());
+        } while (!chunk.isLast(limit));
+    }
+
+    private void releaseLots(BlockReleaseJobStatus job) {
+        int limit = Math.max(1, chunkSize);
+        int afterId = 0;
+        ReleasedChunk chunk;
+        do {
+            chunk = chunkProcessor.releaseLots(afterId, limit);
+            afterId = chunk.lastId();
+            job.setHoldingsReleased(job.getHoldingsReleased() + chunk.releasedRows());
+            job.setChunkCount(job.getChunkCount() + 1);
+        } while (!chunk.isLast(limit));
+    }
+
+    private void retain(BlockReleaseJobStatus job) {
+        jobs.put(job.getJobId(), job);
+        latestJob = job;
+        if (jobs.size() > MAX_RETAINED_JOBS) {
+            jobs.remove(jobs.keySet().iterator().next());
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.example.finchange.portfolio.service.impl;
+
+import com.example.finchange.portfolio.model.CustomerAsset;
+import com.example.finchange.portfolio.service.PortfolioValuationService;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.PostRemove;
+import jakarta.persistence.PostUpdate;
+import org.springframework.beans.factory.ObjectProvider;
+
+/**
+ * Müşteri varlığındaki lot ve maliyet değişikliklerini değerleme motoruna iletir. Hibernate tarafından
+ * Spring üzerinden oluşturulur; servis, EntityManagerFactory ile döngüsel bağımlılık oluşmaması için
+ * ilk kullanımda çözülür.
+ */
+public class CustomerAssetValuationListener {
+
+    private final ObjectProvider<PortfolioValuationService> valuationService;
+
+    public CustomerAssetValuationListener(ObjectProvider<PortfolioValuationService> valuationService) {
+        this.valuationService = valuationService;
+    }
+
+    @PostPersist
+    @PostUpdate
+    public void onSaved(CustomerAsset asset) {
+        valuationService.ifAvailable(service -> service.onPositionChanged(asset.getId(), asset.getCustomerId(),
+                asset.getAssetId(), asset.getTotalLot(), asset.getAverageCost(), asset.getVersion()));
+    }
+
+    @PostRemove
+    public void onRemoved(CustomerAsset asset) {
+        valuationService.ifAvailable(service -> service.onPositionRemoved(asset.getId(), asset.getCustomerId(), asset.getAssetId()));
+    }
+}
@@ -3,16 +3,17 @@ package com.example.finchange.portfolio.service.impl;
 import com.example.finchange.brokerage.service.BrokerageFirmService;
 import com.example.finchange.customer.model.CustomerAccount;
 import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.common.model.Money;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.OrderExecution;
 import com.example.finchange.execution.model.enums.TransactionType;
 import com.example.finchange.portfolio.model.AccountTransaction;
-import com.example.finchange.execution.repository.OrderExecutionRepository;
 import com.example.finchange.portfolio.model.CustomerAsset;
-import com.example.finchange.portfolio.model.Asset;
+import com.example.finchange.portfolio.model.OrderReservation;
 import com.example.finchange.portfolio.repository.AccountTransactionRepository;
 import com.example.finchange.portfolio.repository.CustomerAssetRepository;
-import com.example.finchange.portfolio.repository.AssetRepository;
+import com.example.finchange.portfolio.repository.OrderReservationRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
 import com.example.finchange.portfolio.service.PortfolioService;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
@@ -22,7 +23,12 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -33,8 +39,8 @@ public class PortfolioServiceImpl implements PortfolioService {
     private final CustomerAssetRepository customerAssetRepository;
     private final AccountTransactionRepository transactionRepository;
     private final BrokerageFirmService brokerageFirmService;
-    private final AssetRepository assetRepository;
-    private final OrderExecutionRepository executionRepository;
+    private final AssetRegistry assetRegistry;
+    private final OrderReservationRepository reservationRepository;
 
     @Override
     @Transactional
@@ -47,7 +53,7 @@ public class PortfolioServiceImpl implements PortfolioService {
         if (!account.isActive()) {
             throw new IllegalStateException("Pasif hesaba para yatırma işlemi yapılamaz. Hesap ID: " + accountId);
         }
-        account.setBalance(account.getBalance().add(amount));
+        account.setBalance(account.getBalance().plus(Money.of(amount)));
 
         createTransaction(account, "DEPOSIT", amount, (short) 1, null, null, description);
         accountRepository.save(account);
@@ -83,11 +89,12 @@ public class PortfolioServiceImpl implements PortfolioService {
         if (!account.isActive()) {
             throw new IllegalStateException("Pasif hesaptan para çekilemez. Hesap ID: " + accountId);
         }
-        BigDecimal availableBalance = account.getBalance().subtract(account.getBlockedBalance());
-        if (availableBalance.compareTo(amount) < 0) {
+        Money withdrawal = Money.of(amount);
+        Money availableBalance = account.getBalance().minus(account.getBlockedBalance());
+        if (availableBalance.isLessThan(withdrawal)) {
             throw new IllegalStateException("Yetersiz kullanılabilir bakiye.");
         }
-        account.setBalance(account.getBalance().subtract(amount));
+        account.setBalance(account.getBalance().minus(withdrawal));
 
         createTransaction(account, "WITHDRAWAL", amount, (short) -1, null, null, description);
         accountRepository.save(account);
@@ -100,24 +107,99 @@ public class PortfolioServiceImpl implements PortfolioService {
         CustomerAccount account = findAccountById(order.getCustomerAccountId());
         BigDecimal commissionRate = brokerageFirmService.getActiveCommissionRate();
         
-        BigDecimal orderValue = order.getLimitPrice().multiply(new BigDecimal(order.getInitialLotAmount()));
-        BigDecimal commission = orderValue.multiply(commissionRate).setScale(4, RoundingMode.HALF_UP);
-        BigDecimal totalBlockAmount = orderValue.add(commission);
-
-        BigDecimal availableBalance = account.getBalance().subtract(account.getBlockedBalance());
-        if (availableBalance.compareTo(totalBlockAmount) < 0) {
-            throw new IllegalStateException("Emir için yetersiz bakiye. Gerekli: " + totalBlockAmount + ", Mevcut: " + availableBalance);
-        }
-
-        account.setBlockedBalance(account.getBlockedBalance().add(totalBlockAmount));
+        BigDecimal totalBlockAmount = reserveBuyBlock(account, order, commissionRate);
         
         String descBlocked = String.format("%d lot %s @ %.2f TL alım emri için blokaj",
-                order.getInitialLotAmount(), getBistCodeForOrder(order), order.getLimitPrice());
+                order.getInitialLotAmount(), getBistCodeForOrder(order), order.getLimitPrice().toBigDecimal());
         createTransaction(account, "ORDER_BLOCKED", totalBlockAmount, (short) -1, order, null, descBlocked);
+        OrderReservation reservation = reservationRepository.findByOrderId(order.getId())
+                .orElseGet(() -> new OrderReservation(order.getId(), account.getId()));
+        reservation.block(totalBlockAmount);
+        reservationRepository.save(reservation);
         accountRepository.save(account);
         log.info("Hesap ID {}: Emir ID {} için {} tutarında bakiye bloke edildi.", account.getId(), order.getId(), totalBlockAmount);
     }
 
+    /**
+     * Toplu alım emirleri için blokaj: hesaplar tek sorguda yüklenir, komisyon oranı bir kez
+     * okunur; hareket kayıtları ve hesap güncellemeleri toplu olarak yazılır.
+     */
+    @Override
+    @Transactional
+    public void blockBalancesForBuyOrders(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<Integer, CustomerAccount> accountsById = loadAccounts(orders);
+        BigDecimal commissionRate = brokerageFirmService.getActiveCommissionRate();
+        String bistCode = getBistCodeForOrder(orders.get(0));
+
+        List<AccountTransaction> transactions = new ArrayList<>(orders.size());
+        List<OrderReservation> reservations = new ArrayList<>(orders.size());
+        for (Order order : orders) {
+            CustomerAccount account = accountsById.get(order.getCustomerAccountId());
+            if (account == null) {
+                throw new EntityNotFoundException("Müşteri hesabı bulunamadı: " + order.getCustomerAccountId());
+            }
+
+            BigDecimal totalBlockAmount = reserveBuyBlock(account, order, commissionRate);
+
+            String descBlocked = String.format("%d lot %s @ %.2f TL alım emri için blokaj",
+                    order.getInitialLotAmount(), bistCode, order.getLimitPrice().toBigDecimal());
+            transactions.add(buildTransaction(account, "ORDER_BLOCKED", totalBlockAmount, (short) -1, order, null, descBlocked));
+            OrderReservation reservation = new OrderReservation(order.getId(), account.getId());
+            reservation.block(totalBlockAmount);
+            reservations.add(reservation);
+        }
+
+        transactionRepository.saveAll(transactions);
+        reservationRepository.saveAll(reservations);
+        accountRepository.saveAll(accountsById.values());
+        log.info("{} adet alım emri için {} hesapta toplu bakiye blokajı yapıldı.", orders.size(), accountsById.size());
+    }
+
+    @Override
+    @Transactional
+    public void blockAssetsForSellOrders(List<Order> orders) {
+        if (orders.isEmpty()) {
+            return;
+        }
+        Map<Integer, CustomerAccount> accountsById = loadAccounts(orders);
+        String bistCode = getBistCodeForOrder(orders.get(0));
+
+        Map<Integer, List<Integer>> customerIdsByAssetId = new HashMap<>();
+        for (Order order : orders) {
+            CustomerAccount account = accountsById.get(order.getCustomerAccountId());
+            if (account == null) {
+                throw new EntityNotFoundException("Müşteri hesabı bulunamadı: " + order.getCustomerAccountId());
+            }
+            customerIdsByAssetId.computeIfAbsent(order.getAssetId(), k -> new ArrayList<>()).add(account.getCustomer().getId());
+        }
+
+        Map<String, CustomerAsset> holdings = new HashMap<>();
+        customerIdsByAssetId.forEach((assetId, customerIds) ->
+                customerAssetRepository.findByCustomerIdInAndAssetId(customerIds, assetId)
+                        .forEach(ca -> holdings.put(ca.getCustomerId() + ":" + ca.getAssetId(), ca)));
+
+        for (Order order : orders) {
+            Integer customerId = accountsById.get(order.getCustomerAccountId()).getCustomer().getId();
+            CustomerAsset asset = holdings.get(customerId + ":" + order.getAssetId());
+            if (asset == null) {
+                throw new EntityNotFoundException("Müşteri varlığı bulunamadı: Müşteri ID " + customerId + ", Varlık ID " + order.getAssetId());
+            }
+
+            int lotsToBlock = order.getInitialLotAmount();
+            int availableLots = asset.getTotalLot() - asset.getBlockedLot();
+            if (availableLots < lotsToBlock) {
+                throw new IllegalStateException("Emir için yetersiz varlık. Gerekli: " + lotsToBlock + ", Mevcut: " + availableLots);
+            }
+            asset.setBlockedLot(asset.getBlockedLot() + lotsToBlock);
+        }
+
+        customerAssetRepository.saveAll(holdings.values());
+        log.info("{} adet satım emri için toplu {} lot blokajı yapıldı.", orders.size(), bistCode);
+    }
+
     @Override
     @Transactional
     public void blockAssetForSellOrder(Order order) {
@@ -144,26 +226,27 @@ public class PortfolioServiceImpl implements PortfolioService {
         
         if (TransactionType.BUY.equals(order.getTransactionType())) {
             CustomerAccount account = findAccountById(order.getCustomerAccountId());
-            
-            BigDecimal totalBlockedForOrder = transactionRepository.sumAmountByTypeAndOrder("ORDER_BLOCKED", order);
-            BigDecimal totalSettledForOrder = transactionRepository.sumAmountByTypeAndOrder("TRADE_SETTLEMENT_DEBIT", order);
-            BigDecimal amountToRelease = totalBlockedForOrder.subtract(totalSettledForOrder);
+            OrderReservation reservation = findReservation(order, account.getId());
+            BigDecimal amountToRelease = reservation.getRemainingAmount();
 
             if (amountToRelease.compareTo(BigDecimal.ZERO) <= 0) {
                 log.warn("İade edilecek bakiye blokajı bulunmuyor (hesaplanan <= 0), Emir ID: {}", order.getId());
                 return;
             }
 
-            if (account.getBlockedBalance().compareTo(amountToRelease) < 0) {
+            Money blockedBalance = account.getBlockedBalance();
+            if (blockedBalance.isLessThan(Money.of(amountToRelease))) {
                 log.error("KRİTİK HATA: İade edilecek tutar ({}) mevcut blokajdan ({}) büyük! Hesap ID: {}. Mevcut blokaj iade ediliyor.",
-                        amountToRelease, account.getBlockedBalance(), account.getId());
-                amountToRelease = account.getBlockedBalance();
+                        amountToRelease, blockedBalance, account.getId());
+                amountToRelease = blockedBalance.toBigDecimal();
             }
 
             if (amountToRelease.compareTo(BigDecimal.ZERO) > 0) {
-                account.setBlockedBalance(account.getBlockedBalance().subtract(amountToRelease));
+                account.setBlockedBalance(blockedBalance.minus(Money.of(amountToRelease)));
                 createTransaction(account, "ORDER_UNBLOCKED", amountToRelease, (short) 1, order, null,
                         "Emir iptali/güncellemesi için blokaj iadesi");
+                reservation.release(amountToRelease);
+                reservationRepository.save(reservation);
                 accountRepository.save(account);
                 log.info("Hesap ID {}: {} tutarında bakiye blokajı iade edildi.", account.getId(), amountToRelease);
             }
@@ -204,23 +287,27 @@ public class PortfolioServiceImpl implements PortfolioService {
         BigDecimal totalDebit = execution.getExecutedPrice().multiply(new BigDecimal(execution.getExecutedLotAmount()))
                 .add(execution.getCommissionAmount());
 
-        BigDecimal accBalBefore = account.getBalance();
-        BigDecimal accBlkBefore = account.getBlockedBalance();
+        Money debit = Money.of(totalDebit);
+        Money accBalBefore = account.getBalance();
+        Money accBlkBefore = account.getBlockedBalance();
         int assetTotalBefore = asset.getTotalLot();
         int assetBlockedBefore = asset.getBlockedLot();
 
-        if (account.getBlockedBalance().compareTo(totalDebit) < 0) {
-            log.warn("Takas sırasında blokeli bakiye yetersiz. Bloke: {}, Gerekli: {}. Fark düzeltiliyor.", account.getBlockedBalance(), totalDebit);
-            account.setBalance(account.getBalance().subtract(totalDebit));
-            account.setBlockedBalance(BigDecimal.ZERO);
+        if (accBlkBefore.isLessThan(debit)) {
+            log.warn("Takas sırasında blokeli bakiye yetersiz. Bloke: {}, Gerekli: {}. Fark düzeltiliyor.", accBlkBefore, totalDebit);
+            account.setBalance(accBalBefore.minus(debit));
+            account.setBlockedBalance(Money.ZERO);
         } else {
-            account.setBalance(account.getBalance().subtract(totalDebit));
-            account.setBlockedBalance(account.getBlockedBalance().subtract(totalDebit));
+            account.setBalance(accBalBefore.minus(debit));
+            account.setBlockedBalance(accBlkBefore.minus(debit));
         }
 
         String descBuySettle = String.format("%d lot %s @ %.2f TL alım takası (Komisyon: %.2f)",
                 execution.getExecutedLotAmount(), getBistCodeForOrder(execution.getOrder()),
                 execution.getExecutedPrice(), execution.getCommissionAmount());
+        // Eski emirlerde rezervasyon hareket tablosundan türetilir; bu yüzden takas kaydı yazılmadan önce okunur
+        OrderReservation reservation = findReservation(execution.getOrder(), account.getId());
+        reservation.consume(totalDebit);
         createTransaction(account, "TRADE_SETTLEMENT_DEBIT", totalDebit, (short) -1, execution.getOrder(), execution, descBuySettle);
 
         int lotsToUnblock = execution.getExecutedLotAmount();
@@ -232,8 +319,8 @@ public class PortfolioServiceImpl implements PortfolioService {
             asset.setBlockedLot(asset.getBlockedLot() - lotsToUnblock);
         }
 
-        accountRepository.saveAndFlush(account);
-        customerAssetRepository.saveAndFlush(asset);
+        accountRepository.save(account);
+        customerAssetRepository.save(asset);
         log.info(
                 "Alım takası tamamlandı: custId={} accId={} assetId={} lots(unblock)={} | AccBalance {} -> {} | AccBlocked {} -> {} | TotalLot sabit {} | BlockedLot {} -> {}",
                 customerId,
@@ -247,26 +334,27 @@ public class PortfolioServiceImpl implements PortfolioService {
         );
 
         if (execution.getOrder().getStatus() == com.example.finchange.execution.model.enums.OrderStatus.FILLED) {
-            BigDecimal remainingBlock = transactionRepository
-                    .sumAmountByTypeAndOrder("ORDER_BLOCKED", execution.getOrder())
-                    .subtract(transactionRepository.sumAmountByTypeAndOrder("TRADE_SETTLEMENT_DEBIT", execution.getOrder()));
+            BigDecimal remainingBlock = reservation.getRemainingAmount();
 
             if (remainingBlock.compareTo(BigDecimal.ZERO) > 0) {
-                if (account.getBlockedBalance().compareTo(remainingBlock) < 0) {
+                Money releasable = Money.of(remainingBlock);
+                if (account.getBlockedBalance().isLessThan(releasable)) {
                     log.error("KRİTİK HATA: Kalan blokaj ({}) iade edilemiyor çünkü mevcut blokaj ({}) yetersiz! Hesap ID: {}",
                             remainingBlock, account.getBlockedBalance(), account.getId());
-                    account.setBlockedBalance(BigDecimal.ZERO);
+                    account.setBlockedBalance(Money.ZERO);
                 } else {
-                    account.setBlockedBalance(account.getBlockedBalance().subtract(remainingBlock));
+                    account.setBlockedBalance(account.getBlockedBalance().minus(releasable));
                 }
 
                 createTransaction(account, "ORDER_UNBLOCKED", remainingBlock, (short) 1, execution.getOrder(), null,
                         getBistCodeForOrder(execution.getOrder()) + " emir tamamlama sonrası artık blokaj iadesi");
+                reservation.release(remainingBlock);
                 accountRepository.save(account);
                 log.info("Hesap ID {}: Emir ID {} tamamlandığı için {} tutarında artık blokaj iade edildi.",
                         account.getId(), execution.getOrder().getId(), remainingBlock);
             }
         }
+        reservationRepository.save(reservation);
     }
 
     @Override
@@ -291,21 +379,21 @@ public class PortfolioServiceImpl implements PortfolioService {
         asset.setBlockedLot(asset.getBlockedLot() - soldLots);
         asset.setTotalLot(asset.getTotalLot() - soldLots);
 
-        BigDecimal accBalBefore = account.getBalance();
-        account.setBalance(account.getBalance().add(netIncome));
+        Money accBalBefore = account.getBalance();
+        account.setBalance(accBalBefore.plus(Money.of(netIncome)));
 
         String descSellSettle = String.format("%d lot %s @ %.2f TL satım takası (Net Gelir: %.2f)",
                 execution.getExecutedLotAmount(), getBistCodeForOrder(execution.getOrder()),
                 execution.getExecutedPrice(), netIncome);
         createTransaction(account, "TRADE_SETTLEMENT_CREDIT", netIncome, (short) 1, execution.getOrder(), execution, descSellSettle);
 
-        accountRepository.saveAndFlush(account);
+        accountRepository.save(account);
         if (asset.getTotalLot() == 0) {
             customerAssetRepository.delete(asset);
             log.info("Müşteri ID {} için {} varlığı tamamen satıldığı için portföyden kaldırıldı.",
                     customerId, getBistCodeForOrder(execution.getOrder()));
         } else {
-            customerAssetRepository.saveAndFlush(asset);
+            customerAssetRepository.save(asset);
         }
         log.info(
                 "Satım takası tamamlandı: custId={} accId={} assetId={} soldLots={} | AccBalance {} -> {} | TotalLot {} -> {} | BlockedLot {} -> {} | NetIncome={}",
@@ -346,7 +434,7 @@ public class PortfolioServiceImpl implements PortfolioService {
         asset.setTotalLot(newTotalLots);
         asset.setBlockedLot(asset.getBlockedLot() + executedLots);
 
-        customerAssetRepository.saveAndFlush(asset);
+        customerAssetRepository.save(asset);
         log.info("BUY execution için T+2 varlık blokajı uygulandı. CustomerId={}, AssetId={}, EklenenLot={}, YeniTotalLot={}, YeniBlockedLot={}",
                 customerId, asset.getAssetId(), executedLots, asset.getTotalLot(), asset.getBlockedLot());
     }
@@ -362,54 +450,23 @@ public class PortfolioServiceImpl implements PortfolioService {
         settleBuyTransaction(execution);
     }
 
-    @Override
-    @Transactional
-    public void releaseAllBlocksForOverride() {
-        log.warn("[OVERRIDE] Takas kontrolleri KAPATILDI: Tüm blokajlar serbest bırakılıyor ve bekleyen takaslar netleştiriliyor.");
-
-        List<OrderExecution> executionsToSettle = executionRepository.findByIsSettled(false);
-        if (!executionsToSettle.isEmpty()) {
-            log.info("[OVERRIDE] Netleştirilmeyi bekleyen {} adet işlem bulundu. Anında netleştirme başlıyor...", executionsToSettle.size());
-            for (OrderExecution execution : executionsToSettle) {
-                try {
-                    if (execution.getOrder().getTransactionType() == TransactionType.BUY) {
-                        settleBuyTransaction(execution);
-                    } else {
-                        settleSellTransaction(execution);
-                    }
-                    execution.setSettled(true);
-                    executionRepository.save(execution);
-                } catch (Exception e) {
-                    log.error("[OVERRIDE] Execution ID {} anında netleştirilirken hata oluştu. Atlanıyor. Hata: {}", execution.getId(), e.getMessage());
-                }
-            }
-        } else {
-            log.info("[OVERRIDE] Netleştirilmeyi bekleyen işlem bulunamadı.");
-        }
-
-        List<CustomerAccount> accounts = accountRepository.findAll();
-        for (CustomerAccount acc : accounts) {
-            BigDecimal blocked = acc.getBlockedBalance();
-            if (blocked != null && blocked.compareTo(BigDecimal.ZERO) > 0) {
-                acc.setBlockedBalance(BigDecimal.ZERO);
-                createTransaction(acc, "ORDER_UNBLOCKED", blocked, (short) 1, null, null, "Override ile bakiye blokaj serbest");
-                accountRepository.save(acc);
-                log.info("[OVERRIDE] Account {} için {} tutarında bakiye blokajı serbest bırakıldı.", acc.getId(), blocked);
-            }
-        }
+    private Map<Integer, CustomerAccount> loadAccounts(List<Order> orders) {
+        List<Integer> accountIds = orders.stream().map(Order::getCustomerAccountId).distinct().collect(Collectors.toList());
+        return accountRepository.findAllById(accountIds).stream()
+                .collect(Collectors.toMap(CustomerAccount::getId, Function.identity()));
+    }
 
-        List<CustomerAsset> assets = customerAssetRepository.findAll();
-        for (CustomerAsset ca : assets) {
-            int blockedLots = ca.getBlockedLot();
-            if (blockedLots > 0) {
-                int beforeBlocked = ca.getBlockedLot();
-                int beforeTotal = ca.getTotalLot();
-                ca.setBlockedLot(0);
-                customerAssetRepository.saveAndFlush(ca);
-                log.info("[OVERRIDE] CustomerId={} AssetId={} blokaj serbest: Blocked {} -> 0 | Total {} -> {}", 
-                        ca.getCustomerId(), ca.getAssetId(), beforeBlocked, beforeTotal, ca.getTotalLot());
-            }
-        }
+    /**
+     * Rezervasyon kaydından önce açılmış emirler için satır bir kereye mahsus hareket tablosundan türetilir.
+     */
+    private OrderReservation findReservation(Order order, Integer accountId) {
+        return reservationRepository.findByOrderId(order.getId()).orElseGet(() -> {
+            OrderReservation reservation = new OrderReservation(order.getId(), accountId);
+            reservation.block(transactionRepository.sumAmountByTypeAndOrder("ORDER_BLOCKED", order));
+            reservation.consume(transactionRepository.sumAmountByTypeAndOrder("TRADE_SETTLEMENT_DEBIT", order));
+            reservation.release(transactionRepository.sumAmountByTypeAndOrder("ORDER_UNBLOCKED", order));
+            return reservation;
+        });
     }
 
     private CustomerAccount findAccountById(Integer accountId) {
@@ -435,18 +492,39 @@ public class PortfolioServiceImpl implements PortfolioService {
                 });
     }
 
+    /**
+     * Emir tutarı + komisyonu sabit noktalı {@link Money} ile hesaplar, kullanılabilir bakiyeyi
+     * kontrol eder ve hesabın bloke bakiyesine ekler. Bloke edilen tutarı döner.
+     */
+    private BigDecimal reserveBuyBlock(CustomerAccount account, Order order, BigDecimal commissionRate) {
+        Money orderValue = order.getLimitPrice().times(order.getInitialLotAmount());
+        Money totalBlockAmount = orderValue.plus(orderValue.multiply(commissionRate));
+
+        Money blockedBalance = account.getBlockedBalance();
+        Money availableBalance = account.getBalance().minus(blockedBalance);
+        if (availableBalance.isLessThan(totalBlockAmount)) {
+            throw new IllegalStateException("Emir için yetersiz bakiye. Gerekli: " + totalBlockAmount + ", Mevcut: " + availableBalance);
+        }
+
+        account.setBlockedBalance(blockedBalance.plus(totalBlockAmount));
+        return totalBlockAmount.toBigDecimal();
+    }
+
     private void createTransaction(CustomerAccount account, String type, BigDecimal amount, short direction, Order order, OrderExecution execution, String description) {
-        AccountTransaction transaction = AccountTransaction.builder()
+        transactionRepository.save(buildTransaction(account, type, amount, direction, order, execution, description));
+    }
+
+    private AccountTransaction buildTransaction(CustomerAccount account, String type, BigDecimal amount, short direction, Order order, OrderExecution execution, String description) {
+        return AccountTransaction.builder()
                 .account(account)
                 .transactionType(type)
                 .amount(amount)
                 .direction(direction)
-                .balanceAfterTransaction(account.getBalance())
+                .balanceAfterTransaction(account.getBalance().toBigDecimal())
                 .relatedOrder(order)
                 .relatedExecution(execution)
                 .description(description)
                 .build();
-        transactionRepository.save(transaction);
     }
 
     private String getBistCodeForOrder(Order order) {
@@ -455,9 +533,8 @@ public class PortfolioServiceImpl implements PortfolioService {
             if (assetId == null) {
                 return "UNKNOWN_ASSET";
             }
-            Asset asset = assetRepository.findById(assetId)
-                    .orElse(null);
-            return asset != null ? asset.getBistCode() : String.valueOf(assetId);
+            String bistCode = assetRegistry.getBistCode(assetId);
+            return bistCode != null ? bistCode : String.valueOf(assetId);
         } catch (Exception e) {
             log.warn("BIST kodu alınırken hata oluştu. Order ID: {}", order != null ? order.getId() : null, e);
             return "UNKNOWN_ASSET";
@@ -0,0 +1,346 @@
+package com.example.finchange.portfolio.service.impl;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.portfolio.dto.PortfolioValuationResponse;
+import com.example.finchange.portfolio.dto.PositionValuationView;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import com.example.finchange.portfolio.service.PortfolioValuationService;
+import com.example.finchange.portfoliogroup.dto.GroupMembershipView;
+import com.example.finchange.portfoliogroup.repository.PortfolioGroupMemberRepository;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Pozisyonlar varlık id'sine göre {@link AssetBook}'larda (varlık → tutan müşteriler ters indeksi)
+ * tutulur. Fiyat geldiğinde yalnızca o varlığın defteri kilitlenir ve her tutucu için piyasa
+ * değeri farkı müşteri ile üyesi olduğu grupların toplamlarına eklenir. Tutarlar {@link Money}
+ * birimi (10^4 ölçekli long) olarak tutulur. Fiyat ve pozisyon güncellemeleri okuma kilidini,
+ * yeniden yükleme yazma kilidini alır; böylece yükleme sırasında yarım uygulanmış fark kalmaz.
+ */
+@Service
+@Slf4j
+@RequiredArgsConstructor
+public class PortfolioValuationServiceImpl implements PortfolioValuationService {
+
+    private static final String LIVE_PRICE_KEY_PREFIX = "asset:live_price:";
+    private static final int[] NO_GROUPS = new int[0];
+
+    private final CustomerAssetRepository customerAssetRepository;
+    private final PortfolioGroupMemberRepository memberRepository;
+    private final AssetRegistry assetRegistry;
+    private final StringRedisTemplate redisTemplate;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Integer, AssetBook> booksByAsset = new ConcurrentHashMap<>();
+    private final Map<Integer, Totals> customerTotals = new ConcurrentHashMap<>();
+    private final Map<Integer, Totals> groupTotals = new ConcurrentHashMap<>();
+    private volatile Map<Integer, int[]> groupIdsByCustomer = Map.of();
+
+    @PostConstruct
+    public void init() {
+        try {
+            reload();
+        } catch (Exception e) {
+            log.error("Portföy değerlemesi başlangıçta yüklenemedi. Periyodik yeniden yükleme bekleniyor. Hata: {}", e.getMessage(), e);
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${portfolio.valuation.reload-ms:900000}", initialDelayString = "${portfolio.valuation.reload-ms:900000}")
+    public void reload() {
+        List<PositionValuationView> positions = customerAssetRepository.findOpenPositionViews();
+        List<GroupMembershipView> memberships = memberRepository.findAllMemberships();
+        Map<Integer, Money> storedPrices = loadStoredPrices(positions);
+
+        lock.writeLock().lock();
+        try {
+            Map<Integer, Money> prices = new HashMap<>(storedPrices);
+            booksByAsset.forEach((assetId, book) -> book.currentPrice().ifPresent(price -> prices.put(assetId, price)));
+
+            booksByAsset.clear();
+            customerTotals.clear();
+            groupTotals.clear();
+            groupIdsByCustomer = indexGroups(memberships);
+
+            for (PositionValuationView position : positions) {
+                AssetBook book = booksByAsset.computeIfAbsent(position.getAssetId(), id -> new AssetBook(prices.get(id)));
+                book.update(position.getCustomerId(), position.getCustomerAssetId(),
+                        position.getVersion(), position.getTotalLot(), Money.of(position.getAverageCost()));
+            }
+            prices.forEach((assetId, price) -> booksByAsset.computeIfAbsent(assetId, id -> new AssetBook(price)));
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Portföy değerlemesi yüklendi: {} pozisyon, {} müşteri, {} grup.",
+                positions.size(), customerTotals.size(), groupTotals.size());
+    }
+
+    @Override
+    public void onPriceUpdate(PriceUpdateEvent event) {
+        if (event == null || event.getAssetCode() == null || event.getPrice() == null) {
+            return;
+        }
+        Integer assetId = assetRegistry.getAssetId(event.getAssetCode());
+        if (assetId == null) {
+            return;
+        }
+        Money price = Money.of(event.getPrice());
+        lock.readLock().lock();
+        try {
+            booksByAsset.computeIfAbsent(assetId, id -> new AssetBook(null)).reprice(price);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public void onPositionChanged(Integer customerAssetId, Integer customerId, Integer assetId,
+                                  int totalLot, BigDecimal averageCost, Long version) {
+        Money cost = Money.of(averageCost == null ? BigDecimal.ZERO : averageCost);
+        afterCommit(() -> applyPosition(customerAssetId, customerId, assetId, version, totalLot, cost));
+    }
+
+    @Override
+    public void onPositionRemoved(Integer customerAssetId, Integer customerId, Integer assetId) {
+        afterCommit(() -> applyPosition(customerAssetId, customerId, assetId, null, 0, Money.ZERO));
+    }
+
+    @Override
+    public void refreshGroups() {
+        afterCommit(this::rebuildGroups);
+    }
+
+    @Override
+    public PortfolioValuationResponse getCustomerValuation(Integer customerId) {
+        return toResponse("CUSTOMER", customerId, customerTotals.get(customerId));
+    }
+
+    @Override
+    public PortfolioValuationResponse getGroupValuation(Integer groupId) {
+        return toResponse("GROUP", groupId, groupTotals.get(groupId));
+    }
+
+    @Override
+    public Optional<BigDecimal> getMarkPrice(Integer assetId) {
+        AssetBook book = assetId == null ? null : booksByAsset.get(assetId);
+        return book == null ? Optional.empty() : book.currentPrice().map(Money::toBigDecimal);
+    }
+
+    private void applyPosition(Integer customerAssetId, Integer customerId, Integer assetId,
+                               Long version, int totalLot, Money averageCost) {
+        lock.readLock().lock();
+        try {
+            booksByAsset.computeIfAbsent(assetId, id -> new AssetBook(null))
+                    .update(customerId, customerAssetId, version, totalLot, averageCost);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void rebuildGroups() {
+        List<GroupMembershipView> memberships = memberRepository.findAllMemberships();
+        lock.writeLock().lock();
+        try {
+            groupIdsByCustomer = indexGroups(memberships);
+            groupTotals.clear();
+            for (GroupMembershipView membership : memberships) {
+                Totals customer = customerTotals.get(membership.getCustomerId());
+                Totals group = groupTotals.computeIfAbsent(membership.getGroupId(), id -> new Totals());
+                if (customer != null) {
+                    group.add(customer.marketValue.get(), customer.costBasis.get(), customer.positions.get());
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Okuma kilidi altında çağrılır: fark müşteriye ve üyesi olduğu tüm gruplara eklenir.
+     */
+    private void applyDelta(Integer customerId, long marketValueDelta, long costDelta, int positionDelta) {
+        if (marketValueDelta == 0 && costDelta == 0 && positionDelta == 0) {
+            return;
+        }
+        customerTotals.computeIfAbsent(customerId, id -> new Totals()).add(marketValueDelta, costDelta, positionDelta);
+        for (int groupId : groupIdsByCustomer.getOrDefault(customerId, NO_GROUPS)) {
+            groupTotals.computeIfAbsent(groupId, id -> new Totals()).add(marketValueDelta, costDelta, positionDelta);
+        }
+    }
+
+    private Map<Integer, Money> loadStoredPrices(List<PositionValuationView> positions) {
+        Set<Integer> assetIds = new HashSet<>();
+        positions.forEach(position -> assetIds.add(position.getAssetId()));
+        List<Integer> ids = new ArrayList<>(assetIds.size());
+        List<String> keys = new ArrayList<>(assetIds.size());
+        for (Integer assetId : assetIds) {
+            String bistCode = assetRegistry.getBistCode(assetId);
+            if (bistCode != null) {
+                ids.add(assetId);
+                keys.add(LIVE_PRICE_KEY_PREFIX + bistCode);
+            }
+        }
+        Map<Integer, Money> prices = new HashMap<>(ids.size() * 2);
+        if (keys.isEmpty()) {
+            return prices;
+        }
+        try {
+            List<String> values = redisTemplate.opsForValue().multiGet(keys);
+            for (int i = 0; values != null && i < values.size(); i++) {
+                if (values.get(i) != null) {
+                    prices.put(ids.get(i), Money.parse(values.get(i)));
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Değerleme için canlı fiyatlar okunamadı, pozisyonlar ilk fiyata kadar maliyetten değerlenecek. Hata: {}", e.getMessage());
+        }
+        return prices;
+    }
+
+    private static Map<Integer, int[]> indexGroups(List<GroupMembershipView> memberships) {
+        Map<Integer, List<Integer>> grouped = new HashMap<>();
+        for (GroupMembershipView membership : memberships) {
+            grouped.computeIfAbsent(membership.getCustomerId(), id -> new ArrayList<>()).add(membership.getGroupId());
+        }
+        Map<Integer, int[]> index = new HashMap<>(grouped.size() * 2);
+        grouped.forEach((customerId, groupIds) -> index.put(customerId, groupIds.stream().mapToInt(Integer::intValue).toArray()));
+        return index;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private static PortfolioValuationResponse toResponse(String scope, Integer id, Totals totals) {
+        long marketValue = totals == null ? 0 : totals.marketValue.get();
+        long costBasis = totals == null ? 0 : totals.costBasis.get();
+        return PortfolioValuationResponse.builder()
+                .scope(scope)
+                .id(id)
+                .marketValue(Money.ofUnits(marketValue).toBigDecimal())
+                .costBasis(Money.ofUnits(costBasis).toBigDecimal())
+                .unrealizedPnl(Money.ofUnits(marketValue - costBasis).toBigDecimal())
+                .positionCount(totals == null ? 0 : totals.positions.get())
+                .valuedAt(totals == null ? null : totals.updatedAt)
+                .build();
+    }
+
+    private static final class Totals {
+        private final AtomicLong marketValue = new AtomicLong();
+        private final AtomicLong costBasis = new AtomicLong();
+        private final AtomicInteger positions = new AtomicInteger();
+        private volatile Instant updatedAt;
+
+        private void add(long marketValueDelta, long costDelta, int positionDelta) {
+            marketValue.addAndGet(marketValueDelta);
+            costBasis.addAndGet(costDelta);
+            positions.addAndGet(positionDelta);
+            updatedAt = Instant.now();
+        }
+    }
+
+    /**
+     * Silinen pozisyon, geç gelen eski sürümlü güncellemenin onu geri getirmemesi için sıfır lotlu
+     * ve en yüksek sürümlü olarak tutulur; yeni kayıt farklı id ile geleceği için etkilenmez.
+     */
+    private record Holding(Integer customerAssetId, long version, int lots, long costUnits) {
+    }
+
+    /**
+     * Tek varlığın fiyatı ve tutucuları; tüm erişim defterin kendi kilidiyle sıralanır.
+     */
+    private final class AssetBook {
+
+        private final Map<Integer, Holding> holdingsByCustomer = new HashMap<>();
+        private long priceUnits;
+        private boolean priced;
+
+        private AssetBook(Money price) {
+            if (price != null) {
+                this.priceUnits = price.units();
+                this.priced = true;
+            }
+        }
+
+        private synchronized Optional<Money> currentPrice() {
+            return priced ? Optional.of(Money.ofUnits(priceUnits)) : Optional.empty();
+        }
+
+        private synchronized void reprice(Money price) {
+            long newPriceUnits = price.units();
+            if (priced && newPriceUnits == priceUnits) {
+                return;
+            }
+            for (Map.Entry<Integer, Holding> entry : holdingsByCustomer.entrySet()) {
+                Holding holding = entry.getValue();
+                long delta = Math.multiplyExact(newPriceUnits, (long) holding.lots()) - marketValue(holding);
+                applyDelta(entry.getKey(), delta, 0, 0);
+            }
+            priceUnits = newPriceUnits;
+            priced = true;
+        }
+
+        /**
+         * @param version null ise pozisyon silinmiştir
+         */
+        private synchronized void update(Integer customerId, Integer customerAssetId, Long version,
+                                         int totalLot, Money averageCost) {
+            Holding current = holdingsByCustomer.get(customerId);
+            boolean sameRow = current != null && current.customerAssetId().equals(customerAssetId);
+            long nextVersion = version == null ? Long.MAX_VALUE : version;
+            if (sameRow && current.version() > nextVersion) {
+                return;
+            }
+            if (current != null && !sameRow && (version == null || customerAssetId < current.customerAssetId())) {
+                return;
+            }
+
+            int lots = Math.max(0, totalLot);
+            Holding next = new Holding(customerAssetId, nextVersion, lots, averageCost.units());
+            long marketValueDelta = marketValue(next) - (current == null ? 0 : marketValue(current));
+            long costDelta = cost(next) - (current == null ? 0 : cost(current));
+            int positionDelta = (lots > 0 ? 1 : 0) - (current != null && current.lots() > 0 ? 1 : 0);
+            holdingsByCustomer.put(customerId, next);
+            applyDelta(customerId, marketValueDelta, costDelta, positionDelta);
+        }
+
+        private long marketValue(Holding holding) {
+            return Math.multiplyExact(priced ? priceUnits : holding.costUnits(), (long) holding.lots());
+        }
+
+        private long cost(Holding holding) {
+            return Math.multiplyExact(holding.costUnits(), (long) holding.lots());
+        }
+    }
+}
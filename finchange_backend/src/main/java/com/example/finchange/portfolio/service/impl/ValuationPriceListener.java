@@ -0,0 +1,19 @@
+package com.example.finchange.portfolio.service.impl;
+
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.portfolio.service.PortfolioValuationService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.kafka.annotation.KafkaListener;
+import org.springframework.stereotype.Component;
+
+@Component
+@RequiredArgsConstructor
+public class ValuationPriceListener {
+
+    private final PortfolioValuationService portfolioValuationService;
+
+    @KafkaListener(topics = "market-price-updates", groupId = "finchange-portfolio-valuation", containerFactory = "kafkaListenerContainerFactory")
+    public void onPriceUpdate(PriceUpdateEvent event) {
+        portfolioValuationService.onPriceUpdate(event);
+    }
+}
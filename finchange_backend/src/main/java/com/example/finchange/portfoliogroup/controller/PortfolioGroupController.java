@@ -1,6 +1,7 @@
 package com.example.finchange.portfoliogroup.controller;
 
 import com.example.finchange.common.model.dto.response.SuccessResponse;
+import com.example.finchange.portfolio.dto.PortfolioValuationResponse;
 import com.example.finchange.portfoliogroup.dto.AddMembersRequest;
 import com.example.finchange.portfoliogroup.dto.CreateGroupRequest;
 import com.example.finchange.portfoliogroup.dto.GroupMemberResponse;
@@ -56,4 +57,10 @@ public class PortfolioGroupController {
         List<GroupMemberResponse> members = portfolioGroupService.getActiveMembersByGroupId(groupId);
         return SuccessResponse.success(members);
     }
-}
\ No newline at end of file
+
+    @GetMapping("/{groupId}/valuation")
+    @PreAuthorize("hasAuthority('client:read:all')")
+    public SuccessResponse<PortfolioValuationResponse> getGroupValuation(@PathVariable Integer groupId) {
+        return SuccessResponse.success(portfolioGroupService.getGroupValuation(groupId));
+    }
+}
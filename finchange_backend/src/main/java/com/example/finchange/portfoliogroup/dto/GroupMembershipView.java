@@ -0,0 +1,11 @@
+package com.example.finchange.portfoliogroup.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+@Getter
+@AllArgsConstructor
+public class GroupMembershipView {
+    private final Integer groupId;
+    private final Integer customerId;
+}
@@ -40,14 +40,14 @@ public interface PortfolioGroupMapper {
     }
 
     default GroupMemberResponse.CustomerAccountInfo toCustomerAccountInfo(CustomerAccount account) {
-        BigDecimal availableBalance = account.getBalance().subtract(account.getBlockedBalance());
+        BigDecimal availableBalance = account.getBalance().minus(account.getBlockedBalance()).toBigDecimal();
         return GroupMemberResponse.CustomerAccountInfo.builder()
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
                 .accountName(account.getAccountName())
                 .currency(account.getCurrency())
-                .balance(account.getBalance())
-                .blockedBalance(account.getBlockedBalance())
+                .balance(account.getBalance().toBigDecimal())
+                .blockedBalance(account.getBlockedBalance().toBigDecimal())
                 .availableBalance(availableBalance)
                 .build();
     }
@@ -73,14 +73,14 @@ public interface PortfolioGroupMapper {
     }
 
     default GroupMemberResponse.CustomerAccountInfo toCustomerAccountInfoWithAssets(CustomerAccount account, List<GroupMemberResponse.CustomerAssetInfo> assets) {
-        BigDecimal availableBalance = account.getBalance().subtract(account.getBlockedBalance());
+        BigDecimal availableBalance = account.getBalance().minus(account.getBlockedBalance()).toBigDecimal();
         return GroupMemberResponse.CustomerAccountInfo.builder()
                 .id(account.getId())
                 .accountNumber(account.getAccountNumber())
                 .accountName(account.getAccountName())
                 .currency(account.getCurrency())
-                .balance(account.getBalance())
-                .blockedBalance(account.getBlockedBalance())
+                .balance(account.getBalance().toBigDecimal())
+                .blockedBalance(account.getBlockedBalance().toBigDecimal())
                 .availableBalance(availableBalance)
                 .assets(assets)
                 .build();
@@ -1,6 +1,7 @@
 package com.example.finchange.portfoliogroup.repository;
 
 import com.example.finchange.customer.model.Customers;
+import com.example.finchange.portfoliogroup.dto.GroupMembershipView;
 import com.example.finchange.portfoliogroup.model.PortfolioGroupMember;
 import com.example.finchange.portfoliogroup.model.PortfolioGroupMemberId;
 
@@ -21,4 +22,8 @@ public interface PortfolioGroupMemberRepository extends JpaRepository<PortfolioG
            "JOIN pgm.customer c " +
            "WHERE pgm.portfolioGroup.id = :groupId")
     List<Customers> findActiveMembersByGroupId(Integer groupId);
+
+    @Query("SELECT new com.example.finchange.portfoliogroup.dto.GroupMembershipView(pgm.portfolioGroup.id, pgm.customer.id) " +
+           "FROM PortfolioGroupMember pgm")
+    List<GroupMembershipView> findAllMemberships();
 }
\ No newline at end of file
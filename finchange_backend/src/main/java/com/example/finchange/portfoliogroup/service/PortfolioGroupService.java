@@ -1,5 +1,6 @@
 package com.example.finchange.portfoliogroup.service;
 
+import com.example.finchange.portfolio.dto.PortfolioValuationResponse;
 import com.example.finchange.portfoliogroup.dto.AddMembersRequest;
 import com.example.finchange.portfoliogroup.dto.CreateGroupRequest;
 import com.example.finchange.portfoliogroup.dto.GroupMemberResponse;
@@ -13,4 +14,5 @@ public interface PortfolioGroupService {
     void addMembersToGroup(Integer groupId, AddMembersRequest request);
     void removeMemberFromGroup(Integer groupId, Integer customerId);
     List<GroupMemberResponse> getActiveMembersByGroupId(Integer groupId);
+    PortfolioValuationResponse getGroupValuation(Integer groupId);
 }
\ No newline at end of file
@@ -6,7 +6,9 @@ import com.example.finchange.customer.model.Customers;
 import com.example.finchange.customer.repository.CustomerRepository;
 import com.example.finchange.customer.repository.CustomerAccountRepository;
 import com.example.finchange.customer.model.CustomerAccount;
+import com.example.finchange.portfolio.dto.PortfolioValuationResponse;
 import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.PortfolioValuationService;
 import com.example.finchange.portfolio.model.CustomerAsset;
 import com.example.finchange.portfoliogroup.dto.AddMembersRequest;
 import com.example.finchange.portfoliogroup.dto.CreateGroupRequest;
@@ -44,6 +46,7 @@ public class PortfolioGroupServiceImpl implements PortfolioGroupService {
     private final CustomerAssetRepository customerAssetRepository; 
     private final SecurityUtils securityUtils;
     private final PortfolioGroupMapper groupMapper;
+    private final PortfolioValuationService portfolioValuationService;
     
     @Override
     @Transactional
@@ -82,6 +85,7 @@ public class PortfolioGroupServiceImpl implements PortfolioGroupService {
         Integer currentUserId = securityUtils.getCurrentUserId();
         findGroupAndVerifyOwner(groupId, currentUserId);
         memberRepository.deleteByPortfolioGroup_IdAndCustomer_Id(groupId, customerId);
+        portfolioValuationService.refreshGroups();
     }
 
     @Override
@@ -134,6 +138,15 @@ public class PortfolioGroupServiceImpl implements PortfolioGroupService {
                 .collect(Collectors.toList());
 
         memberRepository.saveAll(newMembers);
+        portfolioValuationService.refreshGroups();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public PortfolioValuationResponse getGroupValuation(Integer groupId) {
+        Integer currentUserId = securityUtils.getCurrentUserId();
+        findGroupAndVerifyOwner(groupId, currentUserId);
+        return portfolioValuationService.getGroupValuation(groupId);
     }
 
     private PortfolioGroup findGroupAndVerifyOwner(Integer groupId, Integer ownerId) {
@@ -6,6 +6,7 @@ import com.example.finchange.customer.service.CustomerService;
 import com.example.finchange.execution.model.OrderExecution;
 import com.example.finchange.execution.repository.OrderExecutionRepository;
 import com.example.finchange.execution.model.enums.TransactionType; // ENUM import
+import com.example.finchange.portfolio.service.PortfolioValuationService;
 import com.example.finchange.report.dto.*;
 import com.example.finchange.report.repository.ReportCustomerAssetReadRepository;
 import com.example.finchange.report.repository.SuitabilityProfilesReadRepository;
@@ -26,6 +27,7 @@ public class ReportService {
     private final OrderExecutionRepository orderExecutionRepository;
     private final ReportCustomerAssetReadRepository customerAssetRepo;
     private final SuitabilityProfilesReadRepository suitabilityReadRepo;
+    private final PortfolioValuationService portfolioValuationService;
 
     // --- DIŞARIYA AÇIK TEK METOD ---
     public FullReportResponse generateFullReport(String customerCode, LocalDateTime start, LocalDateTime end) {
@@ -79,7 +81,7 @@ public class ReportService {
                         .accountNumber(account.getAccountNumber())
                         .accountName(account.getAccountName())
                         .currency(account.getCurrency())
-                        .balance(account.getBalance())
+                        .balance(account.getBalance().toBigDecimal())
                         .build())
                 .collect(Collectors.toList());
     }
@@ -203,6 +205,10 @@ public class ReportService {
                     BigDecimal avgCost = pos.getAverageCost() != null ? pos.getAverageCost() : BigDecimal.ZERO;
                     LocalDateTime dt = pos.getCreatedAt() != null ? pos.getCreatedAt() : LocalDateTime.now();
                     BigDecimal amount = avgCost.multiply(BigDecimal.valueOf(lot));
+                    // Değerleme motorunda fiyat yoksa pozisyon maliyetten değerlenir
+                    BigDecimal pnl = portfolioValuationService.getMarkPrice(pos.getAssetId())
+                            .map(mark -> mark.subtract(avgCost).multiply(BigDecimal.valueOf(lot)))
+                            .orElse(BigDecimal.ZERO);
                     return OpenPositionRow.builder()
                             .datetime(dt)
                             .market("BIST Pay Piyasası")
@@ -212,7 +218,7 @@ public class ReportService {
                             .lot(lot)
                             .avgCost(avgCost)
                             .amount(amount)
-                            .pnl(BigDecimal.ZERO)
+                            .pnl(pnl)
                             .build();
                 })
                 .collect(Collectors.toList());
@@ -0,0 +1,135 @@
+package com.example.finchange.common.cache;
+
+import com.example.finchange.common.model.dto.CacheStatsDto;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("TwoLevelCacheManager - yerel/Redis katmanları ve düğümler arası silme")
+class TwoLevelCacheManagerTest {
+
+    private static final String CHANNEL = "test:cache:invalidation";
+
+    @Mock private RedisTemplate<String, Object> redisTemplate;
+    @Mock private ValueOperations<String, Object> valueOps;
+    @Mock private StringRedisTemplate invalidationTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private TwoLevelCacheManager localOnly;
+
+    @BeforeEach
+    void setUp() {
+        localOnly = new TwoLevelCacheManager(Duration.ofMinutes(5), 100, null, Duration.ofMinutes(15),
+                invalidationTemplate, CHANNEL, objectMapper);
+    }
+
+    @Test
+    @DisplayName("Aynı anahtar için yükleyici bir kez çağrılır, istatistikler isabet/ıska sayar")
+    void get_loadsOnceAndRecordsStats() {
+        Cache cache = localOnly.getCache("commissionRate");
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            BigDecimal rate = cache.get("active", () -> {
+                loads.incrementAndGet();
+                return new BigDecimal("0.0015");
+            });
+            assertThat(rate).isEqualByComparingTo("0.0015");
+        }
+
+        assertThat(loads).hasValue(1);
+        CacheStatsDto stats = localOnly.getStats().get(0);
+        assertThat(stats.getName()).isEqualTo("commissionRate");
+        assertThat(stats.getLocalHitCount()).isEqualTo(2);
+        assertThat(stats.getLocalMissCount()).isEqualTo(1);
+        assertThat(stats.getLocalSize()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Silme yerel katmanı temizler ve kanala bildirim yayınlar")
+    void evict_publishesInvalidation() throws Exception {
+        Cache cache = localOnly.getCache("asset");
+        cache.put("THYAO", "value");
+
+        cache.evict("THYAO");
+
+        assertThat(cache.get("THYAO")).isNull();
+        ArgumentCaptor<String> payload = ArgumentCaptor.forClass(String.class);
+        verify(invalidationTemplate).convertAndSend(eq(CHANNEL), payload.capture());
+        CacheInvalidationMessage message = objectMapper.readValue(payload.getValue(), CacheInvalidationMessage.class);
+        assertThat(message.cacheName()).isEqualTo("asset");
+        assertThat(message.key()).isEqualTo("THYAO");
+    }
+
+    @Test
+    @DisplayName("Başka düğümden gelen bildirim ilgili anahtarı ya da tüm önbelleği siler")
+    void onMessage_evictsOnlyForeignInvalidations() throws Exception {
+        Cache cache = localOnly.getCache("asset");
+        cache.put("THYAO", "a");
+        cache.put("GARAN", "b");
+
+        localOnly.onMessage(message(new CacheInvalidationMessage("other-node", "asset", "THYAO")), null);
+        assertThat(cache.get("THYAO")).isNull();
+        assertThat(cache.get("GARAN")).isNotNull();
+
+        localOnly.onMessage(message(new CacheInvalidationMessage("other-node", "asset", null)), null);
+        assertThat(cache.get("GARAN")).isNull();
+    }
+
+    @Test
+    @DisplayName("Yerel ıskada Redis katmanı okunur, Redis hatası yükleyiciye düşer")
+    void redisTier_readThroughAndDegradesOnFailure() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOps);
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(Duration.ofMinutes(5), 100, redisTemplate,
+                Duration.ofMinutes(15), null, CHANNEL, objectMapper);
+        Cache cache = manager.getCache("commissionRate");
+
+        when(valueOps.get("cache:commissionRate::active")).thenReturn(new BigDecimal("0.0020"));
+        assertThat(cache.get("active", () -> new BigDecimal("9"))).isEqualByComparingTo("0.0020");
+
+        when(valueOps.get("cache:commissionRate::other")).thenThrow(new IllegalStateException("redis down"));
+        assertThat(cache.get("other", () -> new BigDecimal("0.0030"))).isEqualByComparingTo("0.0030");
+
+        CacheStatsDto stats = manager.getStats().get(0);
+        assertThat(stats.getRemoteHitCount()).isEqualTo(1);
+        assertThat(stats.getRemoteErrorCount()).isEqualTo(1);
+        verify(valueOps, never()).set(eq("cache:commissionRate::active"), any(), any(Duration.class));
+    }
+
+    @Test
+    @DisplayName("Bildirim kapalıyken silme hiçbir şey yayınlamaz")
+    void evict_withoutInvalidationTemplate_doesNotPublish() {
+        TwoLevelCacheManager manager = new TwoLevelCacheManager(Duration.ofMinutes(5), 100, null,
+                Duration.ofMinutes(15), null, CHANNEL, objectMapper);
+        manager.getCache("assets").clear();
+        verify(invalidationTemplate, never()).convertAndSend(anyString(), anyString());
+    }
+
+    private DefaultMessage message(CacheInvalidationMessage invalidation) throws Exception {
+        return new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                objectMapper.writeValueAsBytes(invalidation));
+    }
+}
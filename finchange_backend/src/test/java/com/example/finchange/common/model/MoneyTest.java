@@ -0,0 +1,86 @@
+package com.example.finchange.common.model;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Money - sabit noktalı tutar")
+class MoneyTest {
+
+    @Test
+    @DisplayName("parse, BigDecimal dönüşümüyle aynı sonucu verir ve 5. basamakta HALF_UP yuvarlar")
+    void parse_matchesBigDecimal() {
+        assertThat(Money.parse("123.45")).isEqualTo(Money.of(new BigDecimal("123.45")));
+        assertThat(Money.parse("7").units()).isEqualTo(70_000L);
+        assertThat(Money.parse("0.00005").units()).isEqualTo(1L);
+        assertThat(Money.parse("0.00004").units()).isZero();
+        assertThat(Money.parse("-1.23455").units()).isEqualTo(-12_346L);
+        assertThat(Money.parse(".5")).isEqualTo(Money.parse("0.5"));
+    }
+
+    @Test
+    @DisplayName("Geçersiz metinler NumberFormatException fırlatır")
+    void parse_rejectsInvalidText() {
+        assertThatThrownBy(() -> Money.parse("")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("-")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse("1,5")).isInstanceOf(NumberFormatException.class);
+        assertThatThrownBy(() -> Money.parse(".")).isInstanceOf(NumberFormatException.class);
+    }
+
+    @Test
+    @DisplayName("Lot çarpımı ve komisyon çarpımı BigDecimal hesabıyla aynıdır")
+    void arithmetic_matchesBigDecimal() {
+        Money orderValue = Money.parse("45.62").times(1_250);
+        BigDecimal rate = new BigDecimal("0.00125");
+
+        assertThat(orderValue.toBigDecimal()).isEqualByComparingTo("57025");
+        assertThat(orderValue.multiply(rate).toBigDecimal())
+                .isEqualByComparingTo(new BigDecimal("57025").multiply(rate).setScale(4, RoundingMode.HALF_UP));
+        assertThat(Money.parse("0.0003").multiply(new BigDecimal("0.5")).units()).isEqualTo(2L);
+        assertThat(Money.parse("10").minus(Money.parse("10.0001")).isNegative()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Taşma sessizce sarmalanmaz, ArithmeticException fırlatır")
+    void overflow_throws() {
+        Money big = Money.ofUnits(Long.MAX_VALUE / 2 + 1);
+        assertThatThrownBy(() -> big.plus(big)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> big.times(3)).isInstanceOf(ArithmeticException.class);
+        assertThatThrownBy(() -> Money.of(new BigDecimal("1e30"))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    @DisplayName("multiply long aralığını aşan ara çarpımda BigDecimal'e düşer")
+    void multiply_fallsBackOnLargeIntermediate() {
+        Money large = Money.ofWhole(500_000_000_000L);
+        assertThat(large.multiply(new BigDecimal("0.00125")).toBigDecimal()).isEqualByComparingTo("625000000");
+    }
+
+    @Test
+    @DisplayName("Jackson ile sayı olarak yazılır, sayı veya metinden okunur")
+    void jackson_roundTrip() throws Exception {
+        ObjectMapper mapper = new ObjectMapper();
+        Money price = Money.parse("12.3400");
+
+        assertThat(mapper.writeValueAsString(price)).isEqualTo("12.3400");
+        assertThat(mapper.readValue("12.34", Money.class)).isEqualTo(price);
+        assertThat(mapper.readValue("\"12.34\"", Money.class)).isEqualTo(price);
+        assertThat(mapper.readValue("12", Money.class)).isEqualTo(Money.ofWhole(12));
+    }
+
+    @Test
+    @DisplayName("JPA dönüştürücüsü 4 basamaklı DECIMAL ile birebir eşler")
+    void converter_roundTrip() {
+        MoneyConverter converter = new MoneyConverter();
+        assertThat(converter.convertToDatabaseColumn(Money.parse("1.5"))).isEqualTo(new BigDecimal("1.5000"));
+        assertThat(converter.convertToEntityAttribute(new BigDecimal("1.5000"))).isEqualTo(Money.parse("1.5"));
+        assertThat(converter.convertToDatabaseColumn(null)).isNull();
+        assertThat(converter.convertToEntityAttribute(null)).isNull();
+    }
+}
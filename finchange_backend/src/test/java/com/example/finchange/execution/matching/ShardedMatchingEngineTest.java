@@ -0,0 +1,190 @@
+package com.example.finchange.execution.matching;
+
+import com.example.finchange.execution.dto.MatchingShardStatsDto;
+import com.example.finchange.execution.service.OrderMatchingService;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ShardedMatchingEngine - parçalı eşleştirme ve tick birleştirme")
+class ShardedMatchingEngineTest {
+
+    private final RecordingMatchingService matchingService = new RecordingMatchingService();
+    private ShardedMatchingEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        engine.stop();
+    }
+
+    private void startEngine(int shardCount, ConflationMode mode) {
+        engine = new ShardedMatchingEngine(matchingService);
+        ReflectionTestUtils.setField(engine, "enabled", true);
+        ReflectionTestUtils.setField(engine, "shardCount", shardCount);
+        ReflectionTestUtils.setField(engine, "queueCapacity", 64);
+        ReflectionTestUtils.setField(engine, "conflationMode", mode);
+        engine.start();
+    }
+
+    @Test
+    @DisplayName("Aynı varlığın tick'leri aynı thread'de geliş sırasıyla işlenir")
+    void sameAsset_processedInOrderOnSingleThread() throws InterruptedException {
+        startEngine(3, ConflationMode.NONE);
+        List<String> assets = List.of("THYAO", "AKBNK", "GARAN", "ASELS");
+        int ticksPerAsset = 20;
+        matchingService.expect(assets.size() * ticksPerAsset);
+
+        for (int i = 0; i < ticksPerAsset; i++) {
+            for (String asset : assets) {
+                engine.submit(new PriceUpdateEvent(asset, BigDecimal.valueOf(i), null));
+            }
+        }
+
+        assertTrue(matchingService.await());
+        for (String asset : assets) {
+            List<BigDecimal> prices = matchingService.prices.get(asset);
+            assertEquals(ticksPerAsset, prices.size());
+            for (int i = 0; i < ticksPerAsset; i++) {
+                assertEquals(BigDecimal.valueOf(i), prices.get(i));
+            }
+            assertEquals("matching-shard-" + engine.shardFor(asset), matchingService.threads.get(asset));
+        }
+    }
+
+    @Test
+    @DisplayName("Parça istatistikleri işlenen mesaj sayısını gösterir")
+    void stats_reportProcessedCount() throws InterruptedException {
+        startEngine(3, ConflationMode.NONE);
+        matchingService.expect(5);
+        for (int i = 0; i < 5; i++) {
+            engine.submit(new PriceUpdateEvent("THYAO", BigDecimal.ONE, null));
+        }
+        assertTrue(matchingService.await());
+
+        List<MatchingShardStatsDto> stats = engine.getStats();
+        assertEquals(3, stats.size());
+        MatchingShardStatsDto shard = awaitProcessed("THYAO", 5);
+        assertEquals(5, shard.getProcessedCount());
+        assertEquals(64, shard.getQueueCapacity());
+    }
+
+    @Test
+    @DisplayName("LATEST modunda bekleyen tick'ler birleştirilir, sadece en son fiyat işlenir")
+    void latestMode_onlyNewestPriceEvaluated() throws InterruptedException {
+        startEngine(1, ConflationMode.LATEST);
+        CountDownLatch release = matchingService.blockFirstCall();
+        matchingService.expect(2);
+
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("100"), null));
+        assertTrue(matchingService.firstCallStarted.await(5, TimeUnit.SECONDS));
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("101"), null));
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("95"), null));
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("102"), null));
+        release.countDown();
+
+        assertTrue(matchingService.await());
+        assertEquals(List.of(new BigDecimal("100"), new BigDecimal("102")), matchingService.prices.get("THYAO"));
+        assertTrue(matchingService.ranges.isEmpty());
+        assertEquals(2, awaitProcessed("THYAO", 2).getConflatedCount());
+    }
+
+    @Test
+    @DisplayName("RANGE modunda atlanan tick'lerin en düşük ve en yüksek fiyatı iletilir")
+    void rangeMode_passesLowAndHigh() throws InterruptedException {
+        startEngine(1, ConflationMode.RANGE);
+        CountDownLatch release = matchingService.blockFirstCall();
+        matchingService.expect(2);
+
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("100"), null));
+        assertTrue(matchingService.firstCallStarted.await(5, TimeUnit.SECONDS));
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("101"), null));
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("95"), null));
+        engine.submit(new PriceUpdateEvent("THYAO", new BigDecimal("102"), null));
+        release.countDown();
+
+        assertTrue(matchingService.await());
+        assertEquals(List.of(new BigDecimal("95"), new BigDecimal("102")), matchingService.ranges.get("THYAO"));
+    }
+
+    private MatchingShardStatsDto awaitProcessed(String assetCode, long expected) throws InterruptedException {
+        MatchingShardStatsDto shard = engine.getStats().get(engine.shardFor(assetCode));
+        long deadline = System.currentTimeMillis() + 2000;
+        while (shard.getProcessedCount() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+            shard = engine.getStats().get(engine.shardFor(assetCode));
+        }
+        return shard;
+    }
+
+    private static class RecordingMatchingService implements OrderMatchingService {
+
+        private final Map<String, List<BigDecimal>> prices = new ConcurrentHashMap<>();
+        private final Map<String, List<BigDecimal>> ranges = new ConcurrentHashMap<>();
+        private final Map<String, String> threads = new ConcurrentHashMap<>();
+        private final CountDownLatch firstCallStarted = new CountDownLatch(1);
+        private volatile CountDownLatch firstCallRelease;
+        private volatile CountDownLatch done;
+
+        void expect(int calls) {
+            done = new CountDownLatch(calls);
+        }
+
+        boolean await() throws InterruptedException {
+            return done.await(5, TimeUnit.SECONDS);
+        }
+
+        CountDownLatch blockFirstCall() {
+            firstCallRelease = new CountDownLatch(1);
+            return firstCallRelease;
+        }
+
+        @Override
+        public void handlePriceUpdate(PriceUpdateEvent event) {
+            prices.computeIfAbsent(event.getAssetCode(), k -> new CopyOnWriteArrayList<>()).add(event.getPrice());
+            recordThread(event.getAssetCode());
+            blockIfFirst();
+            done.countDown();
+        }
+
+        @Override
+        public void handlePriceRange(String assetCode, BigDecimal low, BigDecimal high) {
+            ranges.put(assetCode, List.of(low, high));
+            recordThread(assetCode);
+            blockIfFirst();
+            done.countDown();
+        }
+
+        private void recordThread(String assetCode) {
+            String previous = threads.putIfAbsent(assetCode, Thread.currentThread().getName());
+            if (previous != null && !previous.equals(Thread.currentThread().getName())) {
+                threads.put(assetCode, "MULTIPLE");
+            }
+        }
+
+        private void blockIfFirst() {
+            if (firstCallStarted.getCount() == 0) {
+                return;
+            }
+            firstCallStarted.countDown();
+            if (firstCallRelease != null) {
+                try {
+                    firstCallRelease.await(5, TimeUnit.SECONDS);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
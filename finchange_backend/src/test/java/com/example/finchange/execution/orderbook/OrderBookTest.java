@@ -0,0 +1,61 @@
+package com.example.finchange.execution.orderbook;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.model.enums.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("OrderBook - fiyat-zaman önceliği")
+class OrderBookTest {
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2025, 1, 2, 10, 0);
+
+    private OrderBookEntry entry(int id, TransactionType type, String price, int secondsAfterOpen) {
+        return new OrderBookEntry(id, 1, "THYAO", type, Money.parse(price), T0.plusSeconds(secondsAfterOpen));
+    }
+
+    @Test
+    @DisplayName("Alış tarafı yüksek fiyattan, aynı seviyede erken emirden başlar")
+    void buySide_pricePriorityThenTime() {
+        OrderBook book = new OrderBook("THYAO");
+        book.add(entry(1, TransactionType.BUY, "100.00", 5));
+        book.add(entry(2, TransactionType.BUY, "101.00", 10));
+        book.add(entry(3, TransactionType.BUY, "100.00", 1));
+        book.add(entry(4, TransactionType.BUY, "99.00", 0));
+
+        assertEquals(List.of(2, 3, 1), book.crossingBuyOrderIds(Money.parse("100.00")));
+        assertEquals(List.of(2), book.crossingBuyOrderIds(Money.parse("100.50")));
+        assertTrue(book.crossingBuyOrderIds(Money.parse("102.00")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Satış tarafı düşük fiyattan başlar ve sadece kesişen seviyeler döner")
+    void sellSide_onlyCrossingLevels() {
+        OrderBook book = new OrderBook("THYAO");
+        book.add(entry(1, TransactionType.SELL, "101.00", 0));
+        book.add(entry(2, TransactionType.SELL, "100.00", 3));
+        book.add(entry(3, TransactionType.SELL, "102.00", 1));
+
+        assertEquals(List.of(2, 1), book.crossingSellOrderIds(Money.parse("101.00")));
+        assertTrue(book.crossingSellOrderIds(Money.parse("99.99")).isEmpty());
+    }
+
+    @Test
+    @DisplayName("Silinen emir defterden ve boşalan seviye kaldırılır")
+    void remove_dropsEntryAndEmptyLevel() {
+        OrderBook book = new OrderBook("THYAO");
+        OrderBookEntry first = entry(1, TransactionType.BUY, "100.00", 0);
+        book.add(first);
+        book.add(entry(2, TransactionType.BUY, "100.00", 1));
+
+        assertTrue(book.remove(first));
+        assertFalse(book.remove(first));
+        assertEquals(1, book.size());
+        assertEquals(List.of(2), book.crossingBuyOrderIds(Money.parse("100.00")));
+    }
+}
@@ -0,0 +1,191 @@
+package com.example.finchange.execution.publisher;
+
+import com.example.finchange.customer.model.CustomerAccount;
+import com.example.finchange.customer.model.Customers;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.execution.dto.event.OrderCancelledEvent;
+import com.example.finchange.execution.dto.event.OrderExecutedEvent;
+import com.example.finchange.execution.model.OrderEventOutbox;
+import com.example.finchange.execution.model.enums.OrderEventType;
+import com.example.finchange.execution.repository.OrderEventOutboxRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("OrderEventOutboxRelay - giden kutusundan Kafka'ya aktarım")
+class OrderEventOutboxRelayTest {
+
+    @Mock private OrderEventOutboxRepository outboxRepository;
+    @Mock private CustomerAccountRepository customerAccountRepository;
+    @Mock private AssetRegistry assetRegistry;
+    @Mock private KafkaTemplate<String, Object> kafkaTemplate;
+
+    private final ObjectMapper objectMapper = new ObjectMapper()
+            .findAndRegisterModules()
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+    private OrderEventOutboxRelay relay;
+
+    @BeforeEach
+    void setUp() {
+        relay = new OrderEventOutboxRelay(outboxRepository, customerAccountRepository, assetRegistry, kafkaTemplate, objectMapper);
+        ReflectionTestUtils.setField(relay, "batchSize", 10);
+        ReflectionTestUtils.setField(relay, "sendTimeoutMs", 1000L);
+        ReflectionTestUtils.setField(relay, "maxAttempts", 3);
+
+        Customers customer = new Customers();
+        customer.setId(99);
+        customer.setCustomerCode("CUST-99");
+        CustomerAccount account = new CustomerAccount();
+        account.setId(20);
+        account.setCustomer(customer);
+        when(customerAccountRepository.findAllWithCustomerByIdIn(any())).thenReturn(List.of(account));
+
+        when(assetRegistry.getBistCode(10)).thenReturn("AKBNK");
+    }
+
+    private OrderEventOutbox executedEntry(long id, int orderId) throws Exception {
+        OrderExecutedEvent raw = new OrderExecutedEvent(orderId, null, null, 10, null, "BUY", "FILLED",
+                10, new BigDecimal("99.50"), new BigDecimal("1.23"), 0, Instant.parse("2025-01-02T07:00:00Z"));
+        return OrderEventOutbox.builder().id(id).eventType(OrderEventType.ORDER_EXECUTED).orderId(orderId)
+                .customerAccountId(20).assetId(10).payload(objectMapper.writeValueAsString(raw)).build();
+    }
+
+    private OrderEventOutbox cancelledEntry(long id, int orderId) throws Exception {
+        OrderCancelledEvent raw = new OrderCancelledEvent(orderId, null, 10, null, "SELL", "CANCELLED", 5, Instant.now());
+        return OrderEventOutbox.builder().id(id).eventType(OrderEventType.ORDER_CANCELLED).orderId(orderId)
+                .customerAccountId(20).assetId(10).payload(objectMapper.writeValueAsString(raw)).build();
+    }
+
+    @Test
+    @DisplayName("Bekleyen olaylar zenginleştirilip gönderilir ve gönderildi olarak işaretlenir")
+    void pendingEvents_enrichedSentAndMarkedPublished() throws Exception {
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(executedEntry(1L, 1), cancelledEntry(2L, 2)));
+        when(kafkaTemplate.send(anyString(), anyString(), any())).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relayPendingEvents();
+
+        ArgumentCaptor<Object> eventCaptor = ArgumentCaptor.forClass(Object.class);
+        verify(kafkaTemplate).send(eq("order-events"), eq("1"), eventCaptor.capture());
+        OrderExecutedEvent executed = (OrderExecutedEvent) eventCaptor.getValue();
+        assertThat(executed.customerId()).isEqualTo(99);
+        assertThat(executed.customerCode()).isEqualTo("CUST-99");
+        assertThat(executed.bistCode()).isEqualTo("AKBNK");
+        assertThat(executed.executedPrice()).isEqualByComparingTo("99.50");
+
+        verify(kafkaTemplate).send(eq("order-events"), eq("2"), any(OrderCancelledEvent.class));
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+        verify(outboxRepository, never()).markFailed(any(), any(), any());
+        verify(customerAccountRepository, times(1)).findAllWithCustomerByIdIn(any());
+    }
+
+    @Test
+    @DisplayName("Gönderilemeyen olaydan sonra aynı emrin olayları Kafka'ya verilmeden bir sonraki tura bırakılır")
+    void failedSend_blocksLaterEventsOfSameOrder() throws Exception {
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(executedEntry(1L, 1), executedEntry(2L, 2), cancelledEntry(3L, 1)));
+        when(kafkaTemplate.send(anyString(), eq("1"), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+        when(kafkaTemplate.send(anyString(), eq("2"), any())).thenReturn(CompletableFuture.completedFuture(mock(SendResult.class)));
+
+        relay.relayPendingEvents();
+
+        verify(kafkaTemplate, times(1)).send(anyString(), eq("1"), any());
+        verify(kafkaTemplate, never()).send(anyString(), eq("1"), any(OrderCancelledEvent.class));
+        verify(outboxRepository).markPublished(eq(List.of(2L)), any());
+        verify(outboxRepository).markFailed(eq(List.of(1L)), eq("java.lang.RuntimeException: broker down"), any());
+    }
+
+    @Test
+    @DisplayName("Bir emrin olayları sırayla gönderilir; ilk olay başarılı olmadan sonraki gönderilmez")
+    void eventsOfSameOrder_sentInOrder() throws Exception {
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(executedEntry(1L, 1), cancelledEntry(2L, 1)));
+        CompletableFuture<SendResult<String, Object>> first = new CompletableFuture<>();
+        when(kafkaTemplate.send(anyString(), eq("1"), any(OrderExecutedEvent.class))).thenAnswer(invocation -> {
+            first.complete(mock(SendResult.class));
+            return first;
+        });
+        when(kafkaTemplate.send(anyString(), eq("1"), any(OrderCancelledEvent.class))).thenAnswer(invocation -> {
+            assertThat(first).isDone();
+            return CompletableFuture.completedFuture(mock(SendResult.class));
+        });
+
+        relay.relayPendingEvents();
+
+        var inOrder = inOrder(kafkaTemplate);
+        inOrder.verify(kafkaTemplate).send(anyString(), eq("1"), any(OrderExecutedEvent.class));
+        inOrder.verify(kafkaTemplate).send(anyString(), eq("1"), any(OrderCancelledEvent.class));
+        verify(outboxRepository).markPublished(eq(List.of(1L, 2L)), any());
+    }
+
+    @Test
+    @DisplayName("Okunamayan olay gönderilmez ve aynı emrin sonraki olaylarını da bekletir")
+    void corruptPayload_blocksLaterEventsWithoutSending() throws Exception {
+        OrderEventOutbox corrupt = executedEntry(1L, 1);
+        corrupt.setPayload("{bozuk");
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(corrupt, cancelledEntry(2L, 1)));
+
+        relay.relayPendingEvents();
+
+        verifyNoInteractions(kafkaTemplate);
+        verify(outboxRepository).markFailed(eq(List.of(1L)), any(), any());
+        verify(outboxRepository, never()).markPublished(any(), any());
+    }
+
+    @Test
+    @DisplayName("Deneme sınırına ulaşan kayıt DEAD olarak işaretlenir, diğerleri geri çekilmeyle yeniden planlanır")
+    void exhaustedAttempts_deadLettered() throws Exception {
+        OrderEventOutbox exhausted = executedEntry(1L, 1);
+        exhausted.setAttemptCount(2);
+        OrderEventOutbox retried = executedEntry(2L, 2);
+        retried.setAttemptCount(1);
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of(exhausted, retried));
+        when(kafkaTemplate.send(anyString(), anyString(), any()))
+                .thenReturn(CompletableFuture.failedFuture(new RuntimeException("rejected")));
+
+        LocalDateTime before = LocalDateTime.now();
+        relay.relayPendingEvents();
+
+        verify(outboxRepository).markDead(eq(List.of(1L)), any());
+        ArgumentCaptor<LocalDateTime> nextAttempt = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(outboxRepository).markFailed(eq(List.of(2L)), any(), nextAttempt.capture());
+        // İkinci deneme: 1 sn * 2^1
+        assertThat(nextAttempt.getValue()).isAfterOrEqualTo(before.plusSeconds(2));
+        assertThat(relay.backoff(30)).isEqualTo(Duration.ofMinutes(10));
+    }
+
+    @Test
+    @DisplayName("Bekleyen olay yoksa Kafka'ya gidilmez")
+    void noPendingEvents_nothingSent() {
+        when(outboxRepository.findPending(any(), any())).thenReturn(List.of());
+
+        relay.relayPendingEvents();
+
+        verifyNoInteractions(kafkaTemplate);
+    }
+}
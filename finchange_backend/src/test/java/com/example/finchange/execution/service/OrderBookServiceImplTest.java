@@ -0,0 +1,93 @@
+package com.example.finchange.execution.service;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.execution.model.enums.TransactionType;
+import com.example.finchange.execution.orderbook.OrderBookEntry;
+import com.example.finchange.execution.repository.OrderRepository;
+import com.example.finchange.execution.service.impl.OrderBookServiceImpl;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("OrderBookServiceImpl - transaction ile uyumlu defter güncellemeleri")
+class OrderBookServiceImplTest {
+
+    private static final Money PRICE = Money.parse("10.00");
+
+    @Mock private OrderRepository orderRepository;
+    @Mock private AssetRegistry assetRegistry;
+
+    @InjectMocks
+    private OrderBookServiceImpl orderBookService;
+
+    @BeforeEach
+    void setUp() {
+        LocalDateTime now = LocalDateTime.of(2025, 1, 2, 10, 0);
+        when(orderRepository.findActiveOrderBookEntries()).thenReturn(List.of(
+                new OrderBookEntry(1, 7, "THYAO", TransactionType.BUY, Money.parse("10.00"), now),
+                new OrderBookEntry(2, 7, "THYAO", TransactionType.BUY, Money.parse("10.00"), now.plusSeconds(1))));
+        orderBookService.reload();
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static void completeTransaction(int status) {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        TransactionSynchronizationManager.clearSynchronization();
+        synchronizations.forEach(sync -> sync.afterCompletion(status));
+    }
+
+    @Test
+    @DisplayName("İptal transaction'ı geri alınırsa emir öncelik sırasıyla defterde kalır")
+    void remove_rolledBack_restoresEntry() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        orderBookService.remove(1);
+        assertThat(orderBookService.findCrossingBuyOrderIds("THYAO", PRICE)).containsExactly(2);
+
+        completeTransaction(TransactionSynchronization.STATUS_ROLLED_BACK);
+
+        assertThat(orderBookService.findCrossingBuyOrderIds("THYAO", PRICE)).containsExactly(1, 2);
+        assertThat(orderBookService.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("İptal transaction'ı commit olursa emir defterden çıkmış kalır")
+    void remove_committed_staysRemoved() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        orderBookService.remove(1);
+        completeTransaction(TransactionSynchronization.STATUS_COMMITTED);
+
+        assertThat(orderBookService.findCrossingBuyOrderIds("THYAO", PRICE)).containsExactly(2);
+        assertThat(orderBookService.size()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Transaction dışında silme hemen uygulanır")
+    void remove_withoutTransaction_immediate() {
+        orderBookService.remove(2);
+
+        assertThat(orderBookService.findCrossingBuyOrderIds("THYAO", PRICE)).containsExactly(1);
+    }
+}
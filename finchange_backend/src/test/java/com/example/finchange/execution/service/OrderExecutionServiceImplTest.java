@@ -1,9 +1,6 @@
 package com.example.finchange.execution.service;
 
-import com.example.finchange.customer.model.Customers;
-import com.example.finchange.customer.model.CustomerAccount;
-import com.example.finchange.customer.repository.CustomerAccountRepository;
-import com.example.finchange.execution.dto.event.OrderExecutedEvent;
+import com.example.finchange.common.model.Money;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.OrderExecution;
 import com.example.finchange.execution.model.enums.OrderStatus;
@@ -15,8 +12,8 @@ import com.example.finchange.execution.repository.OrderRepository;
 import com.example.finchange.execution.service.impl.OrderExecutionServiceImpl;
 import com.example.finchange.execution.util.BusinessDayCalculator;
 import com.example.finchange.marketSimulation.service.MarketSessionService;
-import com.example.finchange.portfolio.model.Asset;
-import com.example.finchange.portfolio.repository.AssetRepository;
+import com.example.finchange.portfolio.lane.AccountLaneExecutor;
+import com.example.finchange.portfolio.service.AssetRegistry;
 import com.example.finchange.portfolio.service.PortfolioService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -32,6 +29,7 @@ import org.mockito.quality.Strictness;
 import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
@@ -49,8 +47,9 @@ class OrderExecutionServiceImplTest {
     @Mock private BusinessDayCalculator businessDayCalculator;
     @Mock private PortfolioService portfolioService;
     @Mock private MarketSessionService marketSessionService;
-    @Mock private CustomerAccountRepository customerAccountRepository;
-    @Mock private AssetRepository assetRepository;
+    @Mock private OrderBookService orderBookService;
+    @Mock private AssetRegistry assetRegistry;
+    @Mock private AccountLaneExecutor accountLanes;
 
     @InjectMocks
     private OrderExecutionServiceImpl service;
@@ -66,25 +65,21 @@ class OrderExecutionServiceImplTest {
         baseOrder.setInitialLotAmount(10);
         baseOrder.setFilledLotAmount(0);
         baseOrder.setOrderType(OrderType.LIMIT);
-        baseOrder.setLimitPrice(new BigDecimal("100"));
+        baseOrder.setLimitPrice(Money.parse("100"));
         baseOrder.setTransactionType(TransactionType.BUY);
         baseOrder.setStatus(OrderStatus.ACTIVE);
 
         lenient().when(comissionService.calculateCommission(any())).thenReturn(new BigDecimal("1.23"));
-        lenient().when(businessDayCalculator.getBusinessDayAfter(any(LocalDate.class), eq(2))).thenReturn(LocalDate.now().plusDays(2));
-
-        Customers customer = new Customers();
-        customer.setId(99);
-        customer.setCustomerCode("CUST-99");
-        CustomerAccount acc = new CustomerAccount();
-        acc.setId(20);
-        acc.setCustomer(customer);
-        lenient().when(customerAccountRepository.findById(20)).thenReturn(Optional.of(acc));
-
-        Asset asset = new Asset();
-        asset.setId(10);
-        asset.setBistCode("AKBNK");
-        lenient().when(assetRepository.findById(10)).thenReturn(Optional.of(asset));
+        lenient().when(businessDayCalculator.getSettlementDate(any(LocalDate.class), any())).thenReturn(LocalDate.now().plusDays(2));
+        lenient().when(orderRepository.findById(1)).thenReturn(Optional.of(baseOrder));
+        lenient().when(accountLanes.submit(anyInt(), any())).thenAnswer(invocation -> {
+            try {
+                invocation.<Runnable>getArgument(1).run();
+                return CompletableFuture.completedFuture(null);
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
     }
 
     @Test
@@ -120,7 +115,7 @@ class OrderExecutionServiceImplTest {
 
         verify(portfolioService, times(1)).blockAssetForBuyExecution(any(OrderExecution.class));
 
-        verify(orderEventPublisher, times(1)).publishOrderExecutedEvent(any(OrderExecutedEvent.class));
+        verify(orderEventPublisher, times(1)).publishOrderExecutedEvent(eq(baseOrder), any(OrderExecution.class));
     }
 
     @Test
@@ -154,4 +149,24 @@ class OrderExecutionServiceImplTest {
         service.executeSingleOrder(baseOrder, new BigDecimal("50"));
         verify(portfolioService, times(1)).settleSellTransaction(any(OrderExecution.class));
     }
+
+    @Test
+    @DisplayName("Gerçekleşme hesabın şeridine gönderilir, emir şeritte yeniden okunur")
+    void execution_isSubmittedToAccountLane() {
+        service.executeSingleOrder(baseOrder, new BigDecimal("99.50"));
+
+        verify(accountLanes).submit(eq(20), any());
+        verify(orderRepository).findById(1);
+    }
+
+    @Test
+    @DisplayName("Şeride gelene kadar iptal edilen emir gerçekleşmez")
+    void cancelledBeforeLaneRuns_skipsExecution() {
+        baseOrder.setStatus(OrderStatus.CANCELLED);
+
+        service.executeSingleOrder(baseOrder, new BigDecimal("99.50"));
+
+        verify(orderExecutionRepository, never()).save(any());
+        verifyNoInteractions(portfolioService, orderEventPublisher);
+    }
 }
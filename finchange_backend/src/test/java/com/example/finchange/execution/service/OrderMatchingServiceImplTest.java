@@ -1,15 +1,17 @@
 package com.example.finchange.execution.service;
 
+import com.example.finchange.common.model.Money;
 import com.example.finchange.execution.model.Order;
+import com.example.finchange.execution.model.enums.OrderStatus;
+import com.example.finchange.execution.model.enums.TransactionType;
 import com.example.finchange.execution.service.impl.OrderMatchingServiceImpl;
 import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
-import com.example.finchange.portfolio.model.Asset;
-import com.example.finchange.portfolio.repository.AssetRepository;
 import com.example.finchange.execution.repository.OrderRepository;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -19,8 +21,8 @@ import org.springframework.transaction.support.TransactionSynchronizationManager
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -29,7 +31,7 @@ import static org.mockito.Mockito.*;
 class OrderMatchingServiceImplTest {
 
     @Mock private OrderRepository orderRepository;
-    @Mock private AssetRepository assetRepository;
+    @Mock private OrderBookService orderBookService;
     @Mock private OrderExecutionService orderExecutionService;
 
     @InjectMocks
@@ -42,42 +44,38 @@ class OrderMatchingServiceImplTest {
         }
     }
 
-    @Test
-    @DisplayName("Asset bulunamazsa işlem yapılmaz")
-    void assetNotFound_noActions() {
-        when(assetRepository.findByBistCode("AKBNK")).thenReturn(Optional.empty());
-
-        service.handlePriceUpdate(new PriceUpdateEvent("AKBNK", new BigDecimal("10.00"), null));
-
-        verifyNoInteractions(orderRepository, orderExecutionService);
+    private Order order(int id, TransactionType type, OrderStatus status, String limitPrice) {
+        Order order = new Order();
+        order.setId(id);
+        order.setTransactionType(type);
+        order.setStatus(status);
+        order.setLimitPrice(Money.parse(limitPrice));
+        return order;
     }
 
     @Test
-    @DisplayName("Eşleşecek emir yoksa afterCommit olsa bile çağrı yapılmaz")
-    void noMatchingOrders_noExecution() {
-        Asset asset = new Asset(); asset.setId(1); asset.setBistCode("AKBNK");
-        when(assetRepository.findByBistCode("AKBNK")).thenReturn(Optional.of(asset));
-        when(orderRepository.findMatchingBuyOrders(eq(1), any())).thenReturn(List.of());
-        when(orderRepository.findMatchingSellOrders(eq(1), any())).thenReturn(List.of());
+    @DisplayName("Defterde kesişen emir yoksa veritabanına gidilmez")
+    void noCrossingOrders_noDatabaseAccess() {
+        when(orderBookService.findCrossingBuyOrderIds(eq("AKBNK"), any())).thenReturn(List.of());
+        when(orderBookService.findCrossingSellOrderIds(eq("AKBNK"), any())).thenReturn(List.of());
 
         TransactionSynchronizationManager.initSynchronization();
         service.handlePriceUpdate(new PriceUpdateEvent("AKBNK", new BigDecimal("10.00"), null));
-        for (TransactionSynchronization sync : new ArrayList<>(TransactionSynchronizationManager.getSynchronizations())) {
-            sync.afterCommit();
-        }
-        TransactionSynchronizationManager.clearSynchronization();
 
-        verifyNoInteractions(orderExecutionService);
+        verifyNoInteractions(orderRepository, orderExecutionService);
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
     }
 
     @Test
-    @DisplayName("Eşleşen emirler afterCommit ile executeSingleOrder'a gönderilir")
+    @DisplayName("Eşleşen emirler defter sırasıyla afterCommit ile executeSingleOrder'a gönderilir")
     void matchingOrders_executeAfterCommit() {
-        Asset asset = new Asset(); asset.setId(2); asset.setBistCode("THYAO");
-        when(assetRepository.findByBistCode("THYAO")).thenReturn(Optional.of(asset));
-        Order buy = new Order(); Order sell = new Order();
-        when(orderRepository.findMatchingBuyOrders(eq(2), any())).thenReturn(List.of(buy));
-        when(orderRepository.findMatchingSellOrders(eq(2), any())).thenReturn(List.of(sell));
+        Order buyHigh = order(1, TransactionType.BUY, OrderStatus.ACTIVE, "125.00");
+        Order buyLow = order(2, TransactionType.BUY, OrderStatus.ACTIVE, "124.00");
+        Order sell = order(3, TransactionType.SELL, OrderStatus.ACTIVE, "120.00");
+        when(orderBookService.findCrossingBuyOrderIds(eq("THYAO"), any())).thenReturn(List.of(1, 2));
+        when(orderBookService.findCrossingSellOrderIds(eq("THYAO"), any())).thenReturn(List.of(3));
+        when(orderRepository.findAllById(List.of(1, 2))).thenReturn(List.of(buyLow, buyHigh));
+        when(orderRepository.findAllById(List.of(3))).thenReturn(List.of(sell));
 
         TransactionSynchronizationManager.initSynchronization();
         PriceUpdateEvent event = new PriceUpdateEvent("THYAO", new BigDecimal("123.45"), null);
@@ -90,7 +88,26 @@ class OrderMatchingServiceImplTest {
         }
         TransactionSynchronizationManager.clearSynchronization();
 
-        verify(orderExecutionService, times(1)).executeSingleOrder(eq(buy), eq(new BigDecimal("123.45")));
+        InOrder inOrder = inOrder(orderExecutionService);
+        inOrder.verify(orderExecutionService).executeSingleOrder(eq(buyHigh), eq(new BigDecimal("123.45")));
+        inOrder.verify(orderExecutionService).executeSingleOrder(eq(buyLow), eq(new BigDecimal("123.45")));
         verify(orderExecutionService, times(1)).executeSingleOrder(eq(sell), eq(new BigDecimal("123.45")));
     }
+
+    @Test
+    @DisplayName("Artık ACTIVE olmayan ya da bulunamayan emirler eşleştirilmez ve defterden düşürülür")
+    void staleOrders_removedFromBook() {
+        Order filled = order(1, TransactionType.BUY, OrderStatus.FILLED, "125.00");
+        when(orderBookService.findCrossingBuyOrderIds(eq("THYAO"), any())).thenReturn(List.of(1, 2));
+        when(orderBookService.findCrossingSellOrderIds(eq("THYAO"), any())).thenReturn(List.of());
+        when(orderRepository.findAllById(List.of(1, 2))).thenReturn(List.of(filled));
+
+        TransactionSynchronizationManager.initSynchronization();
+        service.handlePriceUpdate(new PriceUpdateEvent("THYAO", new BigDecimal("123.45"), null));
+
+        verify(orderBookService).remove(1);
+        verify(orderBookService).remove(2);
+        verifyNoInteractions(orderExecutionService);
+        assertTrue(TransactionSynchronizationManager.getSynchronizations().isEmpty());
+    }
 }
@@ -1,5 +1,6 @@
 package com.example.finchange.execution.service;
 
+import com.example.finchange.common.model.Money;
 import com.example.finchange.execution.model.Order;
 import com.example.finchange.execution.model.enums.OrderType;
 import com.example.finchange.execution.model.enums.TransactionType;
@@ -46,6 +47,8 @@ class OrderServiceImplTest {
     @Mock private com.example.finchange.execution.mapper.OrderMapper orderMapper;
     @Mock private com.example.finchange.execution.service.OrderExecutionService orderExecutionService;
     @Mock private ApplicationEventPublisher eventPublisher;
+    @Mock private com.example.finchange.execution.service.OrderBookService orderBookService;
+    @Mock private com.example.finchange.portfolio.service.AssetRegistry assetRegistry;
 
     @InjectMocks
     private OrderServiceImpl orderServiceImpl;
@@ -60,9 +63,10 @@ class OrderServiceImplTest {
         Order order = new Order();
         order.setAsset(asset);
         order.setAssetId(1);
+        when(assetRegistry.getBistCode(1)).thenReturn(bistCode);
         order.setTransactionType(txType);
         order.setOrderType(orderType);
-        order.setLimitPrice(limitPrice);
+        order.setLimitPrice(Money.of(limitPrice));
         order.setInitialLotAmount(10);
         order.setFilledLotAmount(0);
         return order;
@@ -81,14 +85,15 @@ class OrderServiceImplTest {
 
         when(valueOps.get("asset:live_price:AKBNK")).thenReturn("10.00");
 
-        var acc1 = new com.example.finchange.customer.model.CustomerAccount(); acc1.setId(1); acc1.setBalance(new BigDecimal("1000")); acc1.setBlockedBalance(BigDecimal.ZERO);
-        var acc2 = new com.example.finchange.customer.model.CustomerAccount(); acc2.setId(2); acc2.setBalance(new BigDecimal("2000")); acc2.setBlockedBalance(BigDecimal.ZERO);
+        var acc1 = new com.example.finchange.customer.model.CustomerAccount(); acc1.setId(1); acc1.setBalance(Money.parse("1000")); acc1.setBlockedBalance(Money.ZERO);
+        var acc2 = new com.example.finchange.customer.model.CustomerAccount(); acc2.setId(2); acc2.setBalance(Money.parse("2000")); acc2.setBlockedBalance(Money.ZERO);
         when(customerAccountRepository.findAllById(any())).thenReturn(java.util.List.of(acc1, acc2));
 
-        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> {
-            Order o = inv.getArgument(0);
-            if (o.getId() == null) o.setId((int)(Math.random()*10000));
-            return o;
+        when(orderRepository.saveAll(anyList())).thenAnswer(inv -> {
+            java.util.List<Order> orders = inv.getArgument(0);
+            int nextId = 1;
+            for (Order o : orders) o.setId(nextId++);
+            return orders;
         });
 
         var co1 = new com.example.finchange.execution.dto.CustomerOrderRequest();
@@ -104,7 +109,10 @@ class OrderServiceImplTest {
         String batchId = orderServiceImpl.createBulkOrder(req);
 
         org.assertj.core.api.Assertions.assertThat(batchId).isNotBlank();
-        verify(portfolioService, times(2)).blockBalanceForBuyOrder(any(Order.class));
+        ArgumentCaptor<java.util.List<Order>> blockedCaptor = ArgumentCaptor.forClass(java.util.List.class);
+        verify(portfolioService, times(1)).blockBalancesForBuyOrders(blockedCaptor.capture());
+        org.assertj.core.api.Assertions.assertThat(blockedCaptor.getValue()).hasSize(2);
+        verify(orderRepository, never()).save(any(Order.class));
 
         ArgumentCaptor<com.example.finchange.execution.events.OrdersCreatedEvent> eventCaptor = ArgumentCaptor.forClass(com.example.finchange.execution.events.OrdersCreatedEvent.class);
         verify(eventPublisher, times(1)).publishEvent(eventCaptor.capture());
@@ -161,7 +169,7 @@ class OrderServiceImplTest {
         var casset = new com.example.finchange.portfolio.model.CustomerAsset(); casset.setCustomerId(1000); casset.setTotalLot(50); casset.setBlockedLot(5);
         when(customerAssetRepository.findByCustomerIdInAndAssetId(any(), eq(80))).thenReturn(java.util.List.of(casset));
 
-        when(orderRepository.save(any(Order.class))).thenAnswer(inv -> { Order o = inv.getArgument(0); o.setId(500); return o; });
+        when(orderRepository.saveAll(anyList())).thenAnswer(inv -> { java.util.List<Order> orders = inv.getArgument(0); orders.forEach(o -> o.setId(500)); return orders; });
 
         var co = new com.example.finchange.execution.dto.CustomerOrderRequest(); co.setCustomerAccountId(10); co.setLotAmount(10);
         var req = new com.example.finchange.execution.dto.BulkOrderRequest();
@@ -172,11 +180,11 @@ class OrderServiceImplTest {
         String batch = orderServiceImpl.createBulkOrder(req);
         org.assertj.core.api.Assertions.assertThat(batch).isNotBlank();
 
-        verify(portfolioService, times(1)).blockAssetForSellOrder(any(Order.class));
+        verify(portfolioService, times(1)).blockAssetsForSellOrders(anyList());
 
-        ArgumentCaptor<Order> orderCaptor = ArgumentCaptor.forClass(Order.class);
-        verify(orderRepository, atLeastOnce()).save(orderCaptor.capture());
-        org.assertj.core.api.Assertions.assertThat(orderCaptor.getAllValues().get(0).getStatus())
+        ArgumentCaptor<java.util.List<Order>> orderCaptor = ArgumentCaptor.forClass(java.util.List.class);
+        verify(orderRepository, times(1)).saveAll(orderCaptor.capture());
+        org.assertj.core.api.Assertions.assertThat(orderCaptor.getValue().get(0).getStatus())
                 .isEqualTo(com.example.finchange.execution.model.enums.OrderStatus.QUEUED);
     }
 
@@ -253,7 +261,7 @@ class OrderServiceImplTest {
 
         orderServiceImpl.tryToMatchOrdersImmediately(List.of(o));
 
-        verify(orderExecutionService, times(1)).executeSingleOrder(eq(o), eq(new BigDecimal("100.50")));
+        verify(orderExecutionService, times(1)).executeSingleOrder(eq(o), eq(new BigDecimal("100.5000")));
     }
 
     @Test
@@ -267,7 +275,7 @@ class OrderServiceImplTest {
 
         orderServiceImpl.tryToMatchOrdersImmediately(List.of(willExecute, wontExecute));
 
-        verify(orderExecutionService, times(1)).executeSingleOrder(eq(willExecute), eq(new BigDecimal("50.00")));
+        verify(orderExecutionService, times(1)).executeSingleOrder(eq(willExecute), eq(new BigDecimal("50.0000")));
         verify(orderExecutionService, never()).executeSingleOrder(eq(wontExecute), any());
     }
 
@@ -287,8 +295,8 @@ class OrderServiceImplTest {
         var acc = new com.example.finchange.customer.model.CustomerAccount();
         acc.setId(5);
         acc.setCustomer(cust);
-        acc.setBalance(new BigDecimal("1000"));
-        acc.setBlockedBalance(new BigDecimal("0"));
+        acc.setBalance(Money.parse("1000"));
+        acc.setBlockedBalance(Money.parse("0"));
         when(customerAccountRepository.findById(5)).thenReturn(java.util.Optional.of(acc));
 
         var asset = new com.example.finchange.portfolio.model.Asset();
@@ -317,8 +325,8 @@ class OrderServiceImplTest {
         var acc = new com.example.finchange.customer.model.CustomerAccount();
         acc.setId(6);
         acc.setCustomer(cust);
-        acc.setBalance(new BigDecimal("1500"));
-        acc.setBlockedBalance(new BigDecimal("0"));
+        acc.setBalance(Money.parse("1500"));
+        acc.setBlockedBalance(Money.parse("0"));
         when(customerAccountRepository.findById(6)).thenReturn(java.util.Optional.of(acc));
 
         var asset = new com.example.finchange.portfolio.model.Asset();
@@ -420,7 +428,7 @@ class OrderServiceImplTest {
         orderServiceImpl.cancelOrder(55);
 
         verify(portfolioService, times(1)).releaseBlockForCancelledOrder(eq(order));
-        verify(orderEventPublisher, times(1)).publishOrderCancelledEvent(any());
+        verify(orderEventPublisher, times(1)).publishOrderCancelledEvent(eq(order), anyInt());
     }
 
     @Test
@@ -469,7 +477,7 @@ class OrderServiceImplTest {
 
         orderServiceImpl.tryToMatchOrdersImmediately(List.of(willExecute, wontExecute));
 
-        verify(orderExecutionService, times(1)).executeSingleOrder(eq(willExecute), eq(new BigDecimal("10.00")));
+        verify(orderExecutionService, times(1)).executeSingleOrder(eq(willExecute), eq(new BigDecimal("10.0000")));
         verify(orderExecutionService, never()).executeSingleOrder(eq(wontExecute), any());
     }
 }
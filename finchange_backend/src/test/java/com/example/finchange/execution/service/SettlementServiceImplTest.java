@@ -1,24 +1,29 @@
 package com.example.finchange.execution.service;
 
-import com.example.finchange.execution.model.Order;
-import com.example.finchange.execution.model.OrderExecution;
+import com.example.finchange.execution.dto.SettlementExecutionView;
+import com.example.finchange.execution.dto.SettlementPartitionReport;
+import com.example.finchange.execution.dto.SettlementReport;
+import com.example.finchange.execution.model.enums.OrderStatus;
 import com.example.finchange.execution.model.enums.TransactionType;
-import com.example.finchange.execution.repository.OrderExecutionRepository;
 import com.example.finchange.execution.service.impl.SettlementServiceImpl;
+import com.example.finchange.execution.settlement.AccountSettlement;
+import com.example.finchange.execution.settlement.SettlementChunkProcessor;
+import com.example.finchange.execution.settlement.SettlementChunkProcessor.ChunkOutcome;
 import com.example.finchange.execution.util.BusinessDayCalculator;
-import com.example.finchange.portfolio.service.PortfolioService;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.util.List;
 
-import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
 
@@ -27,91 +32,171 @@ import static org.mockito.Mockito.*;
 class SettlementServiceImplTest {
 
     @Mock private BusinessDayCalculator businessDayCalculator;
-    @Mock private OrderExecutionRepository executionRepository;
-    @Mock private PortfolioService portfolioService;
+    @Mock private SettlementChunkProcessor chunkProcessor;
 
     @InjectMocks
     private SettlementServiceImpl service;
 
-    private OrderExecution buildExec(TransactionType type) {
-        Order order = new Order();
-        order.setTransactionType(type);
-        OrderExecution ex = new OrderExecution();
-        ex.setOrder(order);
-        ex.setId(1L);
-        ex.setSettled(false);
-        ex.setExecutionTimestamp(LocalDateTime.now().minusDays(2));
-        return ex;
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "retryBackoffMs", 0L);
+        lenient().when(businessDayCalculator.getBusinessDayBefore(any(LocalDate.class), anyInt()))
+                .thenAnswer(invocation -> invocation.<LocalDate>getArgument(0).minusDays(2));
+    }
+
+    private AccountSettlement account(int accountId, TransactionType... types) {
+        return account(accountId, accountId * 10, types);
+    }
+
+    private AccountSettlement account(int accountId, int customerId, TransactionType... types) {
+        AccountSettlement settlement = new AccountSettlement(accountId, customerId);
+        long executionId = accountId * 100L;
+        for (TransactionType type : types) {
+            settlement.add(new SettlementExecutionView(executionId++, accountId, accountId, customerId, 1, type,
+                    OrderStatus.FILLED, 10, new BigDecimal("5.0000"), new BigDecimal("0.0100"), null));
+        }
+        return settlement;
     }
 
     @Test
-    @DisplayName("performDailySettlement: hiç execution yoksa erken döner")
+    @DisplayName("performDailySettlement: bugünün takası telafi moduyla istenir, iş yoksa erken döner")
     void performDailySettlement_noExecutions() {
-        when(businessDayCalculator.getBusinessDayBefore(any(LocalDate.class), eq(2)))
-                .thenReturn(LocalDate.now().minusDays(2));
-        when(executionRepository.findUnsettledExecutionsByTimestampBetween(any(), any())).thenReturn(List.of());
+        LocalDate today = LocalDate.now();
+        LocalDate tradeDate = today.minusDays(2);
+        when(businessDayCalculator.isBusinessDay(today)).thenReturn(true);
+        when(chunkProcessor.collectDue(today, true, tradeDate.plusDays(1).atStartOfDay())).thenReturn(List.of());
 
         service.performDailySettlement();
-        verifyNoInteractions(portfolioService);
+
+        verify(chunkProcessor).collectDue(today, true, tradeDate.plusDays(1).atStartOfDay());
+        verify(chunkProcessor, never()).apply(anyList());
     }
 
     @Test
-    @DisplayName("performDailySettlement: BUY ve SELL işlemleri işlenir, kaydedilir")
-    void performDailySettlement_processesExecutions() {
-        when(businessDayCalculator.getBusinessDayBefore(any(LocalDate.class), eq(2)))
-                .thenReturn(LocalDate.now().minusDays(2));
-        OrderExecution buyEx = buildExec(TransactionType.BUY);
-        OrderExecution sellEx = buildExec(TransactionType.SELL);
-        when(executionRepository.findUnsettledExecutionsByTimestampBetween(any(), any()))
-                .thenReturn(List.of(buyEx, sellEx));
+    @DisplayName("performDailySettlement: iş günü değilse hiçbir şey okunmaz")
+    void performDailySettlement_skipsNonBusinessDay() {
+        when(businessDayCalculator.isBusinessDay(any(LocalDate.class))).thenReturn(false);
 
         service.performDailySettlement();
 
-        verify(portfolioService, times(1)).settleBuyTransaction(eq(buyEx));
-        verify(portfolioService, times(1)).settleSellTransaction(eq(sellEx));
-        verify(executionRepository, times(2)).save(any(OrderExecution.class));
+        verifyNoInteractions(chunkProcessor);
     }
 
     @Test
-    @DisplayName("performDailySettlement: tek bir execution hata verse de diğerleri devam eder")
-    void performDailySettlement_continuesOnError() {
-        when(businessDayCalculator.getBusinessDayBefore(any(LocalDate.class), eq(2)))
-                .thenReturn(LocalDate.now().minusDays(2));
-        OrderExecution failing = buildExec(TransactionType.BUY);
-        OrderExecution ok = buildExec(TransactionType.SELL);
-        when(executionRepository.findUnsettledExecutionsByTimestampBetween(any(), any()))
-                .thenReturn(List.of(failing, ok));
-        doThrow(new RuntimeException("settle fail")).when(portfolioService).settleBuyTransaction(eq(failing));
+    @DisplayName("settleDue: önceki günlerden kalan ve tarihsiz işlemler raporda ayrıca sayılır")
+    void settleDue_countsOverdueExecutions() {
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        LocalDate settlementDate = LocalDate.now();
+        AccountSettlement settlement = new AccountSettlement(1, 10);
+        settlement.add(view(100L, settlementDate));
+        settlement.add(view(101L, settlementDate.minusDays(1)));
+        settlement.add(view(102L, null));
+        when(chunkProcessor.collectDue(eq(settlementDate), eq(true), any())).thenReturn(List.of(settlement));
+        when(chunkProcessor.apply(anyList())).thenReturn(new ChunkOutcome(3, List.of()));
+
+        SettlementReport report = service.settleDue(settlementDate, true);
+
+        assertThat(report.getSettlementDate()).isEqualTo(settlementDate);
+        assertThat(report.isCatchUp()).isTrue();
+        assertThat(report.getExecutionCount()).isEqualTo(3);
+        assertThat(report.getOverdueExecutionCount()).isEqualTo(2);
+    }
 
-        service.performDailySettlement();
+    private static SettlementExecutionView view(long executionId, LocalDate settlementDate) {
+        return new SettlementExecutionView(executionId, 1, 1, 10, 1, TransactionType.SELL,
+                OrderStatus.FILLED, 1, BigDecimal.ONE, BigDecimal.ZERO, settlementDate);
+    }
 
-        verify(portfolioService, times(1)).settleSellTransaction(eq(ok));
+    @Test
+    @DisplayName("settleDue: hesaplar parça parça uygulanır ve rapor parça sürelerini içerir")
+    void settleDue_appliesInChunks() {
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        List<AccountSettlement> accounts = List.of(
+                account(1, TransactionType.BUY, TransactionType.SELL),
+                account(2, TransactionType.BUY),
+                account(3, TransactionType.SELL));
+        when(chunkProcessor.collectDue(any(), anyBoolean(), any())).thenReturn(accounts);
+        when(chunkProcessor.apply(anyList())).thenAnswer(invocation -> {
+            List<AccountSettlement> chunk = invocation.getArgument(0);
+            return new ChunkOutcome(chunk.stream().mapToInt(AccountSettlement::executionCount).sum(), List.of());
+        });
+
+        SettlementReport report = service.settleDue(LocalDate.now(), true);
+
+        verify(chunkProcessor, times(2)).apply(anyList());
+        assertThat(report.getAccountCount()).isEqualTo(3);
+        assertThat(report.getExecutionCount()).isEqualTo(4);
+        assertThat(report.getSettledExecutionCount()).isEqualTo(4);
+        assertThat(report.getPartitions()).hasSize(1);
+        SettlementPartitionReport partition = report.getPartitions().get(0);
+        assertThat(partition.getChunks()).hasSize(2);
+        assertThat(partition.getChunks().get(0).getAccountCount()).isEqualTo(2);
+        assertThat(partition.getChunks().get(1).getExecutionCount()).isEqualTo(1);
+        assertThat(partition.getAttempts()).isEqualTo(1);
     }
 
     @Test
-    @DisplayName("settleSingleTransaction: BUY -> settleBuyTransaction ve save çağrılır")
-    void settleSingleTransaction_buy() {
-        OrderExecution ex = buildExec(TransactionType.BUY);
-        service.settleSingleTransaction(ex);
-        verify(portfolioService, times(1)).settleBuyTransaction(eq(ex));
-        verify(executionRepository, times(1)).save(eq(ex));
+    @DisplayName("settleDue: başarısız parça hesap hesap yeniden denenir, diğer hesaplar devam eder")
+    void settleDue_retriesFailedChunkPerAccount() {
+        ReflectionTestUtils.setField(service, "parallelism", 1);
+        ReflectionTestUtils.setField(service, "partitionRetries", 0);
+        AccountSettlement failing = account(1, TransactionType.BUY);
+        AccountSettlement ok = account(2, TransactionType.SELL);
+        when(chunkProcessor.collectDue(any(), anyBoolean(), any())).thenReturn(List.of(failing, ok));
+        when(chunkProcessor.apply(List.of(failing, ok))).thenThrow(new RuntimeException("chunk fail"));
+        when(chunkProcessor.apply(List.of(failing))).thenThrow(new RuntimeException("settle fail"));
+        when(chunkProcessor.apply(List.of(ok))).thenReturn(new ChunkOutcome(1, List.of()));
+
+        SettlementReport report = service.settleDue(LocalDate.now(), true);
+
+        assertThat(report.getSettledExecutionCount()).isEqualTo(1);
+        assertThat(report.getFailedAccountCount()).isEqualTo(1);
+        assertThat(report.getPartitions().get(0).getChunks().get(0).isRetriedPerAccount()).isTrue();
     }
 
     @Test
-    @DisplayName("settleSingleTransaction: SELL -> settleSellTransaction ve save çağrılır")
-    void settleSingleTransaction_sell() {
-        OrderExecution ex = buildExec(TransactionType.SELL);
-        service.settleSingleTransaction(ex);
-        verify(portfolioService, times(1)).settleSellTransaction(eq(ex));
-        verify(executionRepository, times(1)).save(eq(ex));
+    @DisplayName("partition: aynı müşterinin hesapları aynı bölüme düşer")
+    void partition_keepsCustomerAccountsTogether() {
+        List<AccountSettlement> accounts = List.of(
+                account(1, 100, TransactionType.BUY),
+                account(2, 101, TransactionType.BUY),
+                account(3, 100, TransactionType.SELL),
+                account(4, 102, TransactionType.SELL));
+
+        List<List<AccountSettlement>> partitions = SettlementServiceImpl.partition(accounts, 3);
+
+        assertThat(partitions).hasSize(3);
+        assertThat(partitions).anySatisfy(partition ->
+                assertThat(partition).extracting(AccountSettlement::getAccountId).containsExactly(1, 3));
     }
 
     @Test
-    @DisplayName("settleSingleTransaction: Geçersiz type -> SettlementFailedException atar")
-    void settleSingleTransaction_invalidType_throws() {
-        OrderExecution ex = buildExec(null);
-        assertThatThrownBy(() -> service.settleSingleTransaction(ex))
-                .isInstanceOf(com.example.finchange.execution.exception.SettlementFailedException.class);
-        verify(executionRepository, never()).save(any());
+    @DisplayName("settleDue: bölümler paralel işlenir, başarısız bölüm bağımsız olarak yeniden denenir")
+    void settleDue_retriesFailedPartitionIndependently() {
+        ReflectionTestUtils.setField(service, "parallelism", 2);
+        AccountSettlement flaky = account(1, 100, TransactionType.BUY);
+        AccountSettlement stable = account(2, 101, TransactionType.SELL);
+        when(chunkProcessor.collectDue(any(), anyBoolean(), any())).thenReturn(List.of(flaky, stable));
+        when(chunkProcessor.apply(List.of(stable))).thenReturn(new ChunkOutcome(1, List.of()));
+        when(chunkProcessor.apply(List.of(flaky)))
+                .thenReturn(new ChunkOutcome(0, List.of(1)))
+                .thenReturn(new ChunkOutcome(1, List.of()));
+
+        SettlementReport report;
+        try {
+            report = service.settleDue(LocalDate.now(), true);
+        } finally {
+            service.stop();
+        }
+
+        assertThat(report.getSettledExecutionCount()).isEqualTo(2);
+        assertThat(report.getFailedAccountCount()).isZero();
+        assertThat(report.getPartitions()).hasSize(2);
+        assertThat(report.getPartitions())
+                .extracting(SettlementPartitionReport::getAttempts)
+                .containsExactlyInAnyOrder(1, 2);
+        assertThat(report.getPartitions())
+                .allSatisfy(partition -> assertThat(partition.getExecutionsPerSecond()).isPositive());
     }
 }
@@ -0,0 +1,222 @@
+package com.example.finchange.execution.settlement;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.customer.model.CustomerAccount;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.execution.dto.SettlementExecutionView;
+import com.example.finchange.execution.exception.SettlementFailedException;
+import com.example.finchange.execution.model.enums.OrderStatus;
+import com.example.finchange.execution.model.enums.TransactionType;
+import com.example.finchange.execution.repository.OrderExecutionRepository;
+import com.example.finchange.execution.repository.OrderRepository;
+import com.example.finchange.portfolio.dto.OrderAmountSumDTO;
+import com.example.finchange.portfolio.model.AccountTransaction;
+import com.example.finchange.portfolio.model.CustomerAsset;
+import com.example.finchange.portfolio.model.OrderReservation;
+import com.example.finchange.portfolio.repository.AccountTransactionRepository;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.repository.OrderReservationRepository;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("SettlementChunkProcessor - hesap bazında netleştirme")
+class SettlementChunkProcessorTest {
+
+    private static final int ACCOUNT_ID = 7;
+    private static final int CUSTOMER_ID = 70;
+
+    @Mock private OrderExecutionRepository executionRepository;
+    @Mock private OrderRepository orderRepository;
+    @Mock private CustomerAccountRepository accountRepository;
+    @Mock private CustomerAssetRepository customerAssetRepository;
+    @Mock private AccountTransactionRepository transactionRepository;
+    @Mock private AssetRegistry assetRegistry;
+    @Mock private OrderReservationRepository reservationRepository;
+
+    @InjectMocks
+    private SettlementChunkProcessor processor;
+
+    private CustomerAccount account;
+    private CustomerAsset boughtHolding;
+    private CustomerAsset soldHolding;
+
+    @BeforeEach
+    void setUp() {
+        account = new CustomerAccount();
+        account.setId(ACCOUNT_ID);
+        account.setBalance(Money.parse("1000.0000"));
+        account.setBlockedBalance(Money.parse("200.0000"));
+        boughtHolding = holding(1, 10, 10);
+        soldHolding = holding(2, 4, 4);
+
+        when(accountRepository.findAllById(anyIterable())).thenReturn(List.of(account));
+        when(customerAssetRepository.findByCustomerIdInAndAssetIdIn(anyCollection(), anyCollection()))
+                .thenReturn(List.of(boughtHolding, soldHolding));
+        when(transactionRepository.sumAmountsByTypeAndOrderIds(anyString(), anyCollection())).thenReturn(List.of());
+        when(transactionRepository.sumAmountsByTypeAndOrderIds(eq("ORDER_BLOCKED"), anyCollection()))
+                .thenReturn(List.of(orderSum(11, "60.0000")));
+        when(assetRegistry.getBistCode(anyInt())).thenReturn("THYAO");
+    }
+
+    private static CustomerAsset holding(int assetId, int totalLot, int blockedLot) {
+        CustomerAsset holding = new CustomerAsset();
+        holding.setCustomerId(CUSTOMER_ID);
+        holding.setAssetId(assetId);
+        holding.setTotalLot(totalLot);
+        holding.setBlockedLot(blockedLot);
+        return holding;
+    }
+
+    private static SettlementExecutionView execution(long id, int orderId, int assetId, TransactionType type,
+                                                     int lots, String price, String commission) {
+        return new SettlementExecutionView(id, orderId, ACCOUNT_ID, CUSTOMER_ID, assetId, type, OrderStatus.FILLED,
+                lots, new BigDecimal(price), new BigDecimal(commission), LocalDate.now());
+    }
+
+    private static OrderAmountSumDTO orderSum(int orderId, String amount) {
+        return new OrderAmountSumDTO() {
+            @Override public Integer getOrderId() { return orderId; }
+            @Override public BigDecimal getTotalAmount() { return new BigDecimal(amount); }
+        };
+    }
+
+    private AccountSettlement settlement(SettlementExecutionView... executions) {
+        AccountSettlement settlement = new AccountSettlement(ACCOUNT_ID, CUSTOMER_ID);
+        for (SettlementExecutionView execution : executions) {
+            settlement.add(execution);
+        }
+        return settlement;
+    }
+
+    @Test
+    @DisplayName("collectDue: vadesi gelen ve tarihsiz satırlar hesap bazında gruplanır")
+    void collectDue_catchUp_groupsRowsByAccount() {
+        LocalDate today = LocalDate.now();
+        LocalDateTime undatedBefore = today.minusDays(1).atStartOfDay();
+        SettlementExecutionView undated = new SettlementExecutionView(3L, 13, 8, 80, 1, TransactionType.BUY,
+                OrderStatus.FILLED, 1, BigDecimal.ONE, BigDecimal.ZERO, null);
+        when(executionRepository.streamDueUpTo(today)).thenReturn(Stream.of(
+                execution(1L, 11, 1, TransactionType.BUY, 10, "5.0000", "0.0100"),
+                execution(2L, 12, 2, TransactionType.SELL, 4, "10.0000", "0.0200")));
+        when(executionRepository.streamUndatedExecutedBefore(undatedBefore)).thenReturn(Stream.of(undated));
+
+        List<AccountSettlement> settlements = processor.collectDue(today, true, undatedBefore);
+
+        assertThat(settlements).hasSize(2);
+        assertThat(settlements.get(0).executionCount()).isEqualTo(2);
+        assertThat(settlements.get(0).getTotalDebit().toBigDecimal()).isEqualByComparingTo("50.01");
+        assertThat(settlements.get(0).getTotalCredit().toBigDecimal()).isEqualByComparingTo("39.98");
+        verify(executionRepository, never()).streamDueOn(any());
+    }
+
+    @Test
+    @DisplayName("collectDue: telafi modu kapalıyken yalnızca takas tarihi tam eşleşenler okunur")
+    void collectDue_withoutCatchUp_readsExactDateOnly() {
+        LocalDate today = LocalDate.now();
+        when(executionRepository.streamDueOn(today)).thenReturn(Stream.of(
+                execution(1L, 11, 1, TransactionType.BUY, 10, "5.0000", "0.0100")));
+
+        List<AccountSettlement> settlements = processor.collectDue(today, false, today.atStartOfDay());
+
+        assertThat(settlements).hasSize(1);
+        verify(executionRepository, never()).streamDueUpTo(any());
+        verify(executionRepository, never()).streamUndatedExecutedBefore(any());
+    }
+
+    @Test
+    @DisplayName("apply: nakit ve lot net uygulanır, artık blokaj iade edilir, işlemler toplu işaretlenir")
+    @SuppressWarnings("unchecked")
+    void apply_appliesNetResults() {
+        AccountSettlement settlement = settlement(
+                execution(1L, 11, 1, TransactionType.BUY, 10, "5.0000", "0.0100"),
+                execution(2L, 12, 2, TransactionType.SELL, 4, "10.0000", "0.0200"));
+        when(executionRepository.markSettled(anyList())).thenAnswer(invocation -> ((List<Long>) invocation.getArgument(0)).size());
+
+        SettlementChunkProcessor.ChunkOutcome outcome = processor.apply(List.of(settlement));
+
+        assertThat(outcome.settledExecutions()).isEqualTo(2);
+        assertThat(outcome.failedAccounts()).isZero();
+        assertThat(account.getBalance()).isEqualTo(Money.parse("989.97"));
+        assertThat(account.getBlockedBalance()).isEqualTo(Money.parse("140.00"));
+        assertThat(boughtHolding.getBlockedLot()).isZero();
+        assertThat(boughtHolding.getTotalLot()).isEqualTo(10);
+
+        ArgumentCaptor<Iterable<AccountTransaction>> ledger = ArgumentCaptor.forClass(Iterable.class);
+        verify(transactionRepository).saveAll(ledger.capture());
+        List<String> types = new ArrayList<>();
+        ledger.getValue().forEach(row -> types.add(row.getTransactionType()));
+        assertThat(types).containsExactly("TRADE_SETTLEMENT_DEBIT", "TRADE_SETTLEMENT_CREDIT", "ORDER_UNBLOCKED");
+
+        verify(customerAssetRepository).deleteAll(List.of(soldHolding));
+        verify(executionRepository).markSettled(List.of(1L, 2L));
+        verify(accountRepository, never()).saveAndFlush(any());
+    }
+
+    @Test
+    @DisplayName("apply: rezervasyonu olan emirde kalan blokaj tek satırdan okunur, hareket toplamı sorgulanmaz")
+    void apply_usesReservationInsteadOfLedgerSums() {
+        OrderReservation reservation = new OrderReservation(11, ACCOUNT_ID);
+        reservation.block(new BigDecimal("60.0000"));
+        when(reservationRepository.findByOrderIdIn(anyCollection())).thenReturn(List.of(reservation));
+        when(executionRepository.markSettled(anyList())).thenReturn(1);
+        AccountSettlement settlement = settlement(execution(1L, 11, 1, TransactionType.BUY, 10, "5.0000", "0.0100"));
+
+        processor.apply(List.of(settlement));
+
+        assertThat(reservation.getConsumedAmount()).isEqualByComparingTo("50.01");
+        assertThat(reservation.getReleasedAmount()).isEqualByComparingTo("9.99");
+        assertThat(reservation.getRemainingAmount()).isEqualByComparingTo("0");
+        assertThat(account.getBlockedBalance()).isEqualTo(Money.parse("140.00"));
+        verify(transactionRepository, never()).sumAmountsByTypeAndOrderIds(anyString(), anyCollection());
+        verify(reservationRepository).saveAll(List.of(reservation));
+    }
+
+    @Test
+    @DisplayName("apply: satılacak lot yetersizse hesap atlanır, hiçbir değişiklik yapılmaz")
+    void apply_inconsistentSell_skipsAccount() {
+        soldHolding.setBlockedLot(1);
+        AccountSettlement settlement = settlement(
+                execution(1L, 11, 1, TransactionType.BUY, 10, "5.0000", "0.0100"),
+                execution(2L, 12, 2, TransactionType.SELL, 4, "10.0000", "0.0200"));
+
+        SettlementChunkProcessor.ChunkOutcome outcome = processor.apply(List.of(settlement));
+
+        assertThat(outcome.settledExecutions()).isZero();
+        assertThat(outcome.failedAccounts()).isEqualTo(1);
+        assertThat(account.getBalance()).isEqualTo(Money.parse("1000"));
+        verify(executionRepository, never()).markSettled(anyList());
+    }
+
+    @Test
+    @DisplayName("apply: işlemlerden biri zaten netleştirilmişse parça geri alınır")
+    void apply_concurrentlySettled_throws() {
+        AccountSettlement settlement = settlement(execution(1L, 11, 1, TransactionType.BUY, 10, "5.0000", "0.0100"));
+        when(executionRepository.markSettled(anyList())).thenReturn(0);
+
+        assertThatThrownBy(() -> processor.apply(List.of(settlement)))
+                .isInstanceOf(SettlementFailedException.class);
+    }
+}
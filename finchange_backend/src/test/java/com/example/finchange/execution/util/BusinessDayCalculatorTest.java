@@ -0,0 +1,111 @@
+package com.example.finchange.execution.util;
+
+import com.example.finchange.operation.repository.HolidayRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BusinessDayCalculator - takvim indeksi")
+class BusinessDayCalculatorTest {
+
+    @Mock
+    private HolidayRepository holidayRepository;
+
+    private BusinessDayCalculator calculator;
+
+    private final LocalDate monday = LocalDate.now().with(DayOfWeek.MONDAY).plusWeeks(1);
+
+    @BeforeEach
+    void setUp() {
+        calculator = new BusinessDayCalculator(holidayRepository);
+    }
+
+    @Test
+    @DisplayName("İndeks sonuçları gün gün yürüyen hesapla aynıdır")
+    void index_matchesDayByDayWalk() {
+        Set<LocalDate> holidays = Set.of(monday.plusDays(1), monday.plusDays(9), monday.minusDays(3));
+        when(holidayRepository.findAllHolidayDates()).thenReturn(holidays);
+        calculator.refreshHolidayCache();
+
+        LocalDate from = monday.minusDays(20);
+        for (int d = 0; d < 40; d++) {
+            LocalDate date = from.plusDays(d);
+            for (int n = 0; n <= 7; n++) {
+                assertThat(calculator.getBusinessDayAfter(date, n)).isEqualTo(walk(date, n, 1, holidays));
+                assertThat(calculator.getBusinessDayBefore(date, n)).isEqualTo(walk(date, n, -1, holidays));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Tatil ve hafta sonu atlanır, varlığa özel takas süresi uygulanır")
+    void settlementDate_usesAssetSettlementDays() {
+        when(holidayRepository.findAllHolidayDates()).thenReturn(Set.of(monday.plusDays(1)));
+        calculator.refreshHolidayCache();
+
+        assertThat(calculator.isBusinessDay(monday.plusDays(1))).isFalse();
+        assertThat(calculator.getSettlementDate(monday, null)).isEqualTo(monday.plusDays(3));
+        assertThat(calculator.getSettlementDate(monday, 1)).isEqualTo(monday.plusDays(2));
+        assertThat(calculator.getSettlementDate(monday.plusDays(4), 2)).isEqualTo(monday.plusDays(8));
+    }
+
+    @Test
+    @DisplayName("Yeniden yükleme eklenen tatili hemen yansıtır")
+    void refresh_appliesNewHolidayImmediately() {
+        Set<LocalDate> holidays = new HashSet<>();
+        when(holidayRepository.findAllHolidayDates()).thenAnswer(invocation -> Set.copyOf(holidays));
+        calculator.refreshHolidayCache();
+        assertThat(calculator.getBusinessDayAfter(monday, 1)).isEqualTo(monday.plusDays(1));
+
+        holidays.add(monday.plusDays(1));
+        calculator.refreshAfterCommit();
+
+        assertThat(calculator.getBusinessDayAfter(monday, 1)).isEqualTo(monday.plusDays(2));
+    }
+
+    @Test
+    @DisplayName("Pencere dışındaki tarihler yürüyerek hesaplanır")
+    void outsideWindow_fallsBackToWalk() {
+        when(holidayRepository.findAllHolidayDates()).thenReturn(Set.of());
+        calculator.refreshHolidayCache();
+
+        LocalDate farFuture = monday.plusYears(20).with(DayOfWeek.MONDAY);
+        assertThat(calculator.getBusinessDayAfter(farFuture, 5)).isEqualTo(farFuture.plusDays(7));
+        assertThat(calculator.getBusinessDayBefore(farFuture, 1)).isEqualTo(farFuture.minusDays(3));
+    }
+
+    @Test
+    @DisplayName("Negatif gün sayısı reddedilir")
+    void negativeDays_throws() {
+        assertThatThrownBy(() -> calculator.getBusinessDayAfter(monday, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> calculator.getBusinessDayBefore(monday, -1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static LocalDate walk(LocalDate from, int n, int step, Set<LocalDate> holidays) {
+        LocalDate result = from;
+        int counted = 0;
+        while (counted < n) {
+            result = result.plusDays(step);
+            DayOfWeek day = result.getDayOfWeek();
+            if (day != DayOfWeek.SATURDAY && day != DayOfWeek.SUNDAY && !holidays.contains(result)) {
+                counted++;
+            }
+        }
+        return result;
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.finchange.execution.util;
+
+import com.example.finchange.common.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Eski BigDecimal tabanlı fiyat adımı kontrolü ile {@link TickSizeTable} karşılaştırması.
+ * Surefire tarafından çalıştırılmaz; test sınıfları derlendikten sonra elle başlatılır:
+ * <pre>
+ * mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=cp.txt
+ * java -cp target/test-classes:target/classes:$(cat cp.txt) com.example.finchange.execution.util.TickSizeTableBenchmark
+ * </pre>
+ * {@code -prof gc} ile çalıştırıldığında çağrı başına ayrılan bellek de raporlanır.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TickSizeTableBenchmark {
+
+    private static final int SIZE = 1024;
+
+    private final BigDecimal[] decimalPrices = new BigDecimal[SIZE];
+    private final long[] unitPrices = new long[SIZE];
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42);
+        for (int i = 0; i < SIZE; i++) {
+            long units = 100L + random.nextInt(30_000_000);
+            decimalPrices[i] = BigDecimal.valueOf(units, Money.SCALE);
+            unitPrices[i] = units;
+        }
+    }
+
+    @Benchmark
+    public void legacyBigDecimal(Blackhole bh) {
+        for (BigDecimal price : decimalPrices) {
+            bh.consume(legacyIsPriceTickValid(price));
+        }
+    }
+
+    @Benchmark
+    public void priceValidationUtil(Blackhole bh) {
+        for (BigDecimal price : decimalPrices) {
+            bh.consume(PriceValidationUtil.isPriceTickValid(price));
+        }
+    }
+
+    @Benchmark
+    public void tickSizeTable(Blackhole bh) {
+        for (long price : unitPrices) {
+            bh.consume(TickSizeTable.isValid(price));
+        }
+    }
+
+    @Benchmark
+    public void tickSizeTableRoundToNearest(Blackhole bh) {
+        for (long price : unitPrices) {
+            bh.consume(TickSizeTable.roundToNearest(price));
+        }
+    }
+
+    private static boolean legacyIsPriceTickValid(BigDecimal price) {
+        if (price == null || price.compareTo(BigDecimal.ZERO) <= 0) {
+            return false;
+        }
+        BigDecimal tick;
+        if (price.compareTo(new BigDecimal("19.999")) <= 0) {
+            tick = new BigDecimal("0.010");
+        } else if (price.compareTo(new BigDecimal("49.999")) <= 0) {
+            tick = new BigDecimal("0.020");
+        } else if (price.compareTo(new BigDecimal("99.999")) <= 0) {
+            tick = new BigDecimal("0.050");
+        } else if (price.compareTo(new BigDecimal("249.999")) <= 0) {
+            tick = new BigDecimal("0.100");
+        } else if (price.compareTo(new BigDecimal("499.999")) <= 0) {
+            tick = new BigDecimal("0.250");
+        } else if (price.compareTo(new BigDecimal("999.999")) <= 0) {
+            tick = new BigDecimal("0.500");
+        } else if (price.compareTo(new BigDecimal("2499.999")) <= 0) {
+            tick = new BigDecimal("1.000");
+        } else {
+            tick = new BigDecimal("2.500");
+        }
+        return price.remainder(tick).compareTo(BigDecimal.ZERO) == 0;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(TickSizeTableBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+}
@@ -0,0 +1,85 @@
+package com.example.finchange.execution.util;
+
+import com.example.finchange.common.model.Money;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TickSizeTable - fiyat adımı tablosu")
+class TickSizeTableTest {
+
+    private static long units(String price) {
+        return Money.parse(price).units();
+    }
+
+    @Test
+    @DisplayName("isValid, önceki BigDecimal remainder hesabıyla 0.01 ile 3000 arasında birebir aynıdır")
+    void isValid_matchesLegacyImplementation() {
+        for (long u = 1; u <= 30_000_000L; u += 37) {
+            BigDecimal price = BigDecimal.valueOf(u, Money.SCALE);
+            assertThat(TickSizeTable.isValid(u))
+                    .as("fiyat %s", price)
+                    .isEqualTo(legacyIsValid(price));
+        }
+        for (String boundary : new String[]{"20", "50", "100", "250", "500", "1000", "2500"}) {
+            long start = units(boundary);
+            for (long u = start - 30_000L; u <= start + 30_000L; u++) {
+                assertThat(TickSizeTable.isValid(u))
+                        .as("fiyat %s", BigDecimal.valueOf(u, Money.SCALE))
+                        .isEqualTo(legacyIsValid(BigDecimal.valueOf(u, Money.SCALE)));
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Yukarı/aşağı yuvarlama kademe sınırlarında geçerli fiyat üretir")
+    void roundToTick_respectsBandBoundaries() {
+        assertThat(TickSizeTable.roundDown(units("19.995"))).isEqualTo(units("19.99"));
+        assertThat(TickSizeTable.roundUp(units("19.995"))).isEqualTo(units("20.00"));
+        assertThat(TickSizeTable.roundUp(units("49.99"))).isEqualTo(units("50.00"));
+        assertThat(TickSizeTable.roundDown(units("251.10"))).isEqualTo(units("251.00"));
+        assertThat(TickSizeTable.roundToTick(units("251.10"), true)).isEqualTo(units("251.25"));
+        assertThat(TickSizeTable.roundUp(units("20.02"))).isEqualTo(units("20.02"));
+        assertThat(TickSizeTable.roundToNearest(units("100.04"))).isEqualTo(units("100.00"));
+        assertThat(TickSizeTable.roundToNearest(units("100.05"))).isEqualTo(units("100.10"));
+        assertThat(TickSizeTable.roundToNearest(units("0.001"))).isEqualTo(units("0.01"));
+        assertThatThrownBy(() -> TickSizeTable.roundUp(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("ticksBetween kademeler arasında adımları toplar")
+    void ticksBetween_spansBands() {
+        assertThat(TickSizeTable.ticksBetween(units("19.98"), units("20.04"))).isEqualTo(4);
+        assertThat(TickSizeTable.ticksBetween(units("20.04"), units("19.98"))).isEqualTo(-4);
+        assertThat(TickSizeTable.ticksBetween(units("0.01"), units("20.00"))).isEqualTo(1999);
+        assertThat(TickSizeTable.ticksBetween(Money.parse("2497"), Money.parse("2505"))).isEqualTo(5);
+        assertThatThrownBy(() -> TickSizeTable.ticksBetween(units("1.005"), units("2.00")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static boolean legacyIsValid(BigDecimal price) {
+        BigDecimal tick;
+        if (price.compareTo(new BigDecimal("19.999")) <= 0) {
+            tick = new BigDecimal("0.010");
+        } else if (price.compareTo(new BigDecimal("49.999")) <= 0) {
+            tick = new BigDecimal("0.020");
+        } else if (price.compareTo(new BigDecimal("99.999")) <= 0) {
+            tick = new BigDecimal("0.050");
+        } else if (price.compareTo(new BigDecimal("249.999")) <= 0) {
+            tick = new BigDecimal("0.100");
+        } else if (price.compareTo(new BigDecimal("499.999")) <= 0) {
+            tick = new BigDecimal("0.250");
+        } else if (price.compareTo(new BigDecimal("999.999")) <= 0) {
+            tick = new BigDecimal("0.500");
+        } else if (price.compareTo(new BigDecimal("2499.999")) <= 0) {
+            tick = new BigDecimal("1.000");
+        } else {
+            tick = new BigDecimal("2.500");
+        }
+        return price.remainder(tick).compareTo(BigDecimal.ZERO) == 0;
+    }
+}
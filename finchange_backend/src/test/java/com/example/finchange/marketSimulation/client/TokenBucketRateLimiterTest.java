@@ -0,0 +1,41 @@
+package com.example.finchange.marketSimulation.client;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TokenBucketRateLimiter - jeton kovası")
+class TokenBucketRateLimiterTest {
+
+    private static final long MILLI = 1_000_000L;
+
+    @Test
+    @DisplayName("Kova dolu başlar, boşalınca istekler hıza göre sıraya dizilir")
+    void burstThenPaced() {
+        AtomicLong clock = new AtomicLong();
+        TokenBucketRateLimiter limiter = new TokenBucketRateLimiter(10, 2, clock::get);
+
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        // Saniyede 10 jeton: sıradaki istekler 100 ms, 200 ms sonra geçer.
+        assertThat(limiter.reserve()).isEqualTo(100 * MILLI);
+        assertThat(limiter.reserve()).isEqualTo(200 * MILLI);
+
+        clock.addAndGet(1_000 * MILLI);
+        // Borç ödendikten sonra biriken jetonlar kapasiteyle sınırlıdır.
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isZero();
+        assertThat(limiter.reserve()).isEqualTo(100 * MILLI);
+    }
+
+    @Test
+    @DisplayName("Geçersiz hız veya kapasite reddedilir")
+    void rejectsInvalidConfiguration() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(0, 1)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(5, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+package com.example.finchange.marketSimulation.journal;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("TickJournal - bellek eşlemeli yazma ve okuma")
+class TickJournalTest {
+
+    @TempDir
+    Path dir;
+
+    private static List<long[]> readAll(TickJournalReader reader) throws IOException {
+        List<long[]> records = new ArrayList<>();
+        while (reader.advance()) {
+            records.add(new long[]{reader.assetId(), reader.priceUnits(), reader.timestampNanos()});
+        }
+        return records;
+    }
+
+    @Test
+    @DisplayName("Parça sınırlarını aşan kayıtlar sırayla ve eksiksiz okunur, dosya kısaltılır")
+    void roundTrip_acrossSegments() throws IOException {
+        Path file = dir.resolve("a" + TickJournal.FILE_SUFFIX);
+        // 3 kayıtlık yazma parçaları ve 2 kayıtlık okuma parçalarıyla sınırlar sık aşılır.
+        try (TickJournalWriter writer = TickJournalWriter.create(file, 3L * TickJournal.RECORD_BYTES)) {
+            for (int i = 1; i <= 10; i++) {
+                writer.append(i, 100_0000L + i, 1_000_000_000L * i);
+            }
+        }
+
+        assertThat(Files.size(file)).isEqualTo(TickJournal.HEADER_BYTES + 10L * TickJournal.RECORD_BYTES);
+        assertThat(ByteBuffer.wrap(Files.readAllBytes(file)).getLong(TickJournal.RECORD_COUNT_OFFSET)).isEqualTo(10L);
+        try (TickJournalReader reader = TickJournalReader.open(file, 2L * TickJournal.RECORD_BYTES)) {
+            assertThat(reader.capacity()).isEqualTo(10);
+            List<long[]> records = readAll(reader);
+            assertThat(records).hasSize(10);
+            assertThat(records.get(0)).containsExactly(1, 100_0001L, 1_000_000_000L);
+            assertThat(records.get(9)).containsExactly(10, 100_0010L, 10_000_000_000L);
+        }
+    }
+
+    @Test
+    @DisplayName("Kapatılmamış dosyada önceden büyütülmüş boş alanda okuma durur")
+    void unclosedFile_stopsAtPreallocatedTail() throws IOException {
+        Path file = dir.resolve("b" + TickJournal.FILE_SUFFIX);
+        TickJournalWriter writer = TickJournalWriter.create(file, 64L * TickJournal.RECORD_BYTES);
+        writer.append(7, 5_0000L, 42L);
+        writer.append(8, 6_0000L, 43L);
+
+        try (TickJournalReader reader = TickJournalReader.open(file)) {
+            assertThat(reader.capacity()).isEqualTo(64);
+            assertThat(readAll(reader)).hasSize(2);
+        } finally {
+            writer.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Kapanmış dosyada okuma başlıktaki kayıt sayısında durur")
+    void closedFile_readsUpToHeaderRecordCount() throws IOException {
+        Path file = dir.resolve("d" + TickJournal.FILE_SUFFIX);
+        try (TickJournalWriter writer = TickJournalWriter.create(file, 4L * TickJournal.RECORD_BYTES)) {
+            writer.append(1, 1_0000L, 1L);
+            writer.append(2, 2_0000L, 2L);
+        }
+        byte[] trailing = new byte[TickJournal.RECORD_BYTES];
+        trailing[3] = 9;
+        Files.write(file, trailing, StandardOpenOption.APPEND);
+
+        try (TickJournalReader reader = TickJournalReader.open(file)) {
+            assertThat(reader.capacity()).isEqualTo(2);
+            assertThat(readAll(reader)).hasSize(2);
+        }
+    }
+
+    @Test
+    @DisplayName("Başlığı tanınmayan dosya reddedilir")
+    void invalidHeader_rejected() throws IOException {
+        Path file = dir.resolve("c" + TickJournal.FILE_SUFFIX);
+        Files.write(file, new byte[TickJournal.HEADER_BYTES]);
+
+        assertThatThrownBy(() -> TickJournalReader.open(file)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
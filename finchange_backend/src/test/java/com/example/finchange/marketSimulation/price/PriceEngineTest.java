@@ -0,0 +1,113 @@
+package com.example.finchange.marketSimulation.price;
+
+import com.example.finchange.marketSimulation.state.AssetKeyIndex;
+import com.example.finchange.marketSimulation.state.MarketSimulationState;
+import com.example.finchange.marketSimulation.state.SimulatedAsset;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+
+@DisplayName("PriceEngine - tohumlu, parti halinde fiyat süreçleri")
+class PriceEngineTest {
+
+    private static SimulatedAsset[] assets() {
+        MarketSimulationState state = new MarketSimulationState(null, mock(AssetKeyIndex.class));
+        state.updateOhlc("THYAO", Map.of("previousClose", "100.00", "openPrice", "100.00",
+                "dailyLow", "95.00", "dailyHigh", "105.00"));
+        state.updateOhlc("AKBNK", Map.of("previousClose", "50.00", "openPrice", "50.00",
+                "dailyLow", "49.00", "dailyHigh", "51.00"));
+        return state.snapshot();
+    }
+
+    private static PriceEngine engine(PriceModel model, long seed) {
+        PriceEngine engine = new PriceEngine();
+        ReflectionTestUtils.setField(engine, "model", model);
+        ReflectionTestUtils.setField(engine, "seed", seed);
+        ReflectionTestUtils.setField(engine, "tickMs", 10L);
+        engine.init();
+        return engine;
+    }
+
+    private static double[] path(PriceEngine engine, SimulatedAsset[] assets, int ticks) {
+        double[] last = new double[assets.length];
+        for (int t = 0; t < ticks; t++) {
+            PriceBatch batch = engine.next(assets);
+            for (int i = 0; i < assets.length; i++) {
+                assets[i].setModelPrice(batch.price(i));
+                last[i] = batch.price(i);
+            }
+        }
+        return last;
+    }
+
+    @Test
+    @DisplayName("Aynı tohum aynı fiyat yolunu, farklı tohum farklı yolu üretir")
+    void sameSeed_reproducesPath() {
+        for (PriceModel model : PriceModel.values()) {
+            double[] first = path(engine(model, 42L), assets(), 500);
+            double[] second = path(engine(model, 42L), assets(), 500);
+            double[] other = path(engine(model, 7L), assets(), 500);
+
+            assertThat(second).as(model.name()).containsExactly(first);
+            assertThat(other).as(model.name()).isNotEqualTo(first);
+        }
+    }
+
+    @Test
+    @DisplayName("Varlık volatilitesi OHLC aralığından Parkinson tahmincisiyle türetilir")
+    void dailyVolatility_derivedFromRange() {
+        SimulatedAsset[] assets = assets();
+
+        // AKBNK (49-51) ilk sırada; ln(51/49) / sqrt(4 ln 2)
+        assertThat(assets[0].getBistCode()).isEqualTo("AKBNK");
+        assertThat(assets[0].getDailyVolatility()).isCloseTo(Math.log(51.0 / 49.0) / Math.sqrt(4 * Math.log(2)), within(1e-12));
+        assertThat(assets[1].getDailyVolatility()).isGreaterThan(assets[0].getDailyVolatility());
+    }
+
+    @Test
+    @DisplayName("Ortalamaya dönüş süreci fiyatı çapaya doğru çeker")
+    void meanReversion_pullsTowardAnchor() {
+        PriceBatch batch = new PriceBatch();
+        batch.reset(1);
+        batch.prices[0] = 120;
+        batch.anchors[0] = 100;
+        batch.sigmas[0] = 0;
+
+        new MeanReversionProcess(60).advance(batch, 60, new SplittableRandom(1));
+
+        // Bir yarılanma süresi sonra log-sapma yaklaşık yarıya iner.
+        assertThat(Math.log(batch.price(0) / 100)).isCloseTo(Math.log(1.2) * 0.5, within(0.01));
+    }
+
+    @Test
+    @DisplayName("GBM adımlarının log-getiri dağılımı sigma*sqrt(dt) ile uyumludur")
+    void gbm_logReturnsMatchVolatility() {
+        int n = 20_000;
+        PriceBatch batch = new PriceBatch();
+        batch.reset(n);
+        for (int i = 0; i < n; i++) {
+            batch.prices[i] = 100;
+            batch.sigmas[i] = 0.02;
+        }
+
+        new GeometricBrownianMotion(0).advance(batch, 4, new SplittableRandom(3));
+
+        double sum = 0;
+        double sumSq = 0;
+        for (int i = 0; i < n; i++) {
+            double r = Math.log(batch.price(i) / 100);
+            sum += r;
+            sumSq += r * r;
+        }
+        double mean = sum / n;
+        double std = Math.sqrt(sumSq / n - mean * mean);
+        assertThat(std).isCloseTo(0.04, within(0.001));
+    }
+}
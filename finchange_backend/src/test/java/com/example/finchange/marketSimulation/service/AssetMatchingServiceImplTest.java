@@ -4,6 +4,7 @@ import com.example.finchange.marketSimulation.client.ExternalAssetClient;
 import com.example.finchange.marketSimulation.client.dto.ExternalApiResponseDto;
 import com.example.finchange.marketSimulation.client.dto.ExternalAssetDto;
 import com.example.finchange.marketSimulation.service.impl.AssetMatchingServiceImpl;
+import com.example.finchange.marketSimulation.state.AssetKeyIndex;
 import com.example.finchange.portfolio.model.Asset;
 import com.example.finchange.portfolio.repository.AssetRepository;
 import com.fasterxml.jackson.databind.ObjectMapper;
@@ -42,6 +43,9 @@ class AssetMatchingServiceImplTest {
     @Mock
     private HashOperations<String, Object, Object> hashOperations;
 
+    @Mock
+    private AssetKeyIndex assetKeyIndex;
+
     @InjectMocks
     private AssetMatchingServiceImpl assetMatchingService;
 
@@ -142,4 +146,22 @@ class AssetMatchingServiceImplTest {
         verify(assetRepository, times(1)).findByBistCode("AKBNK");
         verify(hashOperations, never()).putAll(anyString(), anyMap());
     }
+
+    @Test
+    @DisplayName("findAndWriteSingleMatchToRedis - Eşleşen varlık yazılır ve indeks set'ine eklenir")
+    void findAndWriteSingleMatchToRedis_WritesHashAndIndexesCode() {
+        // Given
+        when(externalAssetClient.fetchAllAssetDefinitions()).thenReturn(testApiResponse);
+        when(objectMapper.convertValue(any(Map.class), eq(ExternalAssetDto.class))).thenReturn(testExternalAsset);
+        when(assetRepository.findByBistCode("AKBNK")).thenReturn(Optional.of(testAsset));
+        when(redisTemplate.opsForHash()).thenReturn(hashOperations);
+
+        // When
+        assetMatchingService.findAndWriteSingleMatchToRedis("AKBNK");
+
+        // Then
+        verify(hashOperations, times(1)).putAll(eq("asset:info:AKBNK"), anyMap());
+        verify(assetKeyIndex, times(1)).addInfo("AKBNK");
+        verify(redisTemplate, never()).keys(anyString());
+    }
 }
@@ -0,0 +1,203 @@
+package com.example.finchange.marketSimulation.service;
+
+import com.example.finchange.common.config.RestClientConfig;
+import com.example.finchange.marketSimulation.client.PriceDataClient;
+import com.example.finchange.marketSimulation.client.RestClient;
+import com.example.finchange.marketSimulation.dto.OhlcCollectionReport;
+import com.example.finchange.marketSimulation.dto.OhlcCollectionReport.Outcome;
+import com.example.finchange.marketSimulation.dto.OhlcCollectionReport.SymbolResult;
+import com.example.finchange.marketSimulation.service.impl.DataCollectorService;
+import com.example.finchange.marketSimulation.state.AssetKeyIndex;
+import com.example.finchange.marketSimulation.state.MarketSimulationState;
+import com.example.finchange.operation.service.SystemDateService;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.connection.StringRedisConnection;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("DataCollectorService - sanal thread'lerle paralel OHLC toplama (sahte fiyat API'si)")
+class DataCollectorServiceTest {
+
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private SystemDateService systemDateService;
+    @Mock private MarketSimulationState simulationState;
+    @Mock private AssetKeyIndex assetKeyIndex;
+    @Mock private StringRedisConnection redisConnection;
+
+    private final Map<String, StubResponse> stubs = new ConcurrentHashMap<>();
+    private final Queue<Map<String, String>> requests = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+
+    private HttpServer priceApi;
+    private DataCollectorService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        priceApi = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        priceApi.createContext("/prices", this::handle);
+        priceApi.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        priceApi.start();
+
+        when(systemDateService.getSystemDate()).thenReturn(LocalDate.of(2025, 8, 1));
+        PriceDataClient priceDataClient = new PriceDataClient(new RestClient(new RestClientConfig().restTemplate()), systemDateService);
+        ReflectionTestUtils.setField(priceDataClient, "priceApiBaseUrl", "http://127.0.0.1:" + priceApi.getAddress().getPort() + "/prices");
+        ReflectionTestUtils.setField(priceDataClient, "apiKey", "test-key");
+
+        // Pipeline geri çağrısı sahte bağlantı üzerinde çalıştırılır; yazılan komutlar doğrulanabilir.
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenAnswer(invocation -> {
+            RedisCallback<?> callback = invocation.getArgument(0);
+            callback.doInRedis(redisConnection);
+            return List.of();
+        });
+
+        service = new DataCollectorService(redisTemplate, priceDataClient, simulationState, assetKeyIndex);
+        configure(8, 1_000, 1_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        priceApi.stop(0);
+    }
+
+    private record StubResponse(int status, String body, long delayMillis) {
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        int running = inFlight.incrementAndGet();
+        maxInFlight.accumulateAndGet(running, Math::max);
+        try {
+            Map<String, String> query = Arrays.stream(exchange.getRequestURI().getRawQuery().split("&"))
+                    .map(pair -> pair.split("=", 2))
+                    .collect(Collectors.toMap(kv -> kv[0], kv -> URLDecoder.decode(kv[1], StandardCharsets.UTF_8)));
+            query.put("x-api-key", String.valueOf(exchange.getRequestHeaders().getFirst("x-api-key")));
+            requests.add(query);
+
+            StubResponse stub = stubs.getOrDefault(query.get("asset_code"), new StubResponse(404, "{}", 0));
+            if (stub.delayMillis() > 0) {
+                Thread.sleep(stub.delayMillis());
+            }
+            byte[] body = stub.body().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("Content-Type", "application/json");
+            exchange.sendResponseHeaders(stub.status(), body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.decrementAndGet();
+            exchange.close();
+        }
+    }
+
+    private void configure(int concurrency, double ratePerSecond, int burst) {
+        ReflectionTestUtils.setField(service, "concurrency", concurrency);
+        ReflectionTestUtils.setField(service, "ratePerSecond", ratePerSecond);
+        ReflectionTestUtils.setField(service, "burst", burst);
+    }
+
+    private void stubPrice(String bistCode, int delayMillis) {
+        stubs.put(bistCode + ".E", new StubResponse(200, """
+                {"result":{"data":{"HisseFiyat":[{"asset_code":"%s.E","close_price":10.5,"high_price":11.0,
+                "low_price":10.0,"open_price":10.4,"data_date":"2025-08-01"}]}}}
+                """.formatted(bistCode), delayMillis));
+    }
+
+    @Test
+    @DisplayName("Başarılı, boş ve hatalı yanıtlar sembol bazında raporlanır; yazımlar tek pipeline'da yapılır")
+    void collect_reportsPerSymbolOutcomesAndPipelinesWrites() {
+        stubPrice("THYAO", 0);
+        stubPrice("ASELS", 0);
+        stubs.put("GARAN.E", new StubResponse(200, "{\"result\":{\"data\":{\"HisseFiyat\":[]}}}", 0));
+        stubs.put("AKBNK.E", new StubResponse(500, "{}", 0));
+
+        OhlcCollectionReport report = service.collect(List.of("THYAO", "ASELS", "GARAN", "AKBNK"));
+
+        assertThat(report.results()).hasSize(4);
+        assertThat(report.count(Outcome.STORED)).isEqualTo(2);
+        assertThat(report.count(Outcome.NO_DATA)).isEqualTo(1);
+        assertThat(report.failures()).extracting(SymbolResult::bistCode).containsExactly("AKBNK");
+        assertThat(report.failures().get(0).error()).contains("500");
+
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        ArgumentCaptor<Map<String, String>> hash = ArgumentCaptor.forClass(Map.class);
+        verify(redisConnection).hMSet(eq("asset:ohlc:THYAO"), hash.capture());
+        assertThat(hash.getValue()).containsEntry("previousClose", "10.5").containsEntry("dailyHigh", "11.0");
+        verify(redisConnection).expire("asset:ohlc:ASELS", 86_400L);
+        verify(redisConnection).sAdd(AssetKeyIndex.OHLC_INDEX_KEY, "THYAO");
+        verify(redisConnection, never()).hMSet(eq("asset:ohlc:GARAN"), anyMap());
+        verify(simulationState).updateOhlc(eq("THYAO"), anyMap());
+        verify(simulationState, never()).updateOhlc(eq("AKBNK"), anyMap());
+        assertThat(requests).hasSize(4).allSatisfy(query -> assertThat(query)
+                .containsEntry("x-api-key", "test-key")
+                .containsEntry("data_date", "2025-08-01"));
+    }
+
+    @Test
+    @DisplayName("İstekler paralel yürür ancak eşzamanlılık sınırını aşmaz")
+    void collect_fansOutUpToConcurrencyCap() {
+        List<String> codes = IntStream.range(0, 8).mapToObj(i -> "S" + i).toList();
+        codes.forEach(code -> stubPrice(code, 200));
+
+        configure(4, 1_000, 1_000);
+        OhlcCollectionReport capped = service.collect(codes);
+
+        // 8 istek x 200 ms, 4'lü gruplarla ~400 ms; sıralı olsaydı ~1600 ms sürerdi.
+        assertThat(capped.count(Outcome.STORED)).isEqualTo(8);
+        assertThat(maxInFlight.get()).isEqualTo(4);
+        assertThat(capped.elapsedMillis()).isBetween(390L, 1_500L);
+        assertThat(capped.latencyPercentile(50)).isGreaterThanOrEqualTo(190L);
+    }
+
+    @Test
+    @DisplayName("Jeton kovası fiyat API'sine giden istek hızını sınırlar")
+    void collect_respectsRateLimit() {
+        List<String> codes = List.of("A", "B", "C", "D", "E");
+        codes.forEach(code -> stubPrice(code, 0));
+
+        // Saniyede 10 istek, birikim 1: ilk istek hemen, sonraki 4 istek 100 ms arayla.
+        configure(8, 10, 1);
+        OhlcCollectionReport report = service.collect(codes);
+
+        assertThat(report.count(Outcome.STORED)).isEqualTo(5);
+        assertThat(report.elapsedMillis()).isGreaterThanOrEqualTo(390L);
+    }
+}
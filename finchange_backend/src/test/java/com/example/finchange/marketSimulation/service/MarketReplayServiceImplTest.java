@@ -0,0 +1,159 @@
+package com.example.finchange.marketSimulation.service;
+
+import com.example.finchange.execution.service.impl.PriceUpdateListener;
+import com.example.finchange.marketSimulation.dto.MarketReplayStatus;
+import com.example.finchange.marketSimulation.dto.ReplayMode;
+import com.example.finchange.marketSimulation.journal.TickJournal;
+import com.example.finchange.marketSimulation.journal.TickJournalWriter;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.marketSimulation.service.impl.MarketReplayServiceImpl;
+import com.example.finchange.portfolio.service.AssetRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("MarketReplayServiceImpl - tick journal oynatma")
+class MarketReplayServiceImplTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @TempDir
+    Path dir;
+
+    @Mock private PriceUpdateListener priceUpdateListener;
+    @Mock private AssetRegistry assetRegistry;
+
+    @InjectMocks
+    private MarketReplayServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(service, "journalDir", dir.toString());
+        ReflectionTestUtils.setField(service, "enabled", true);
+        when(assetRegistry.getBistCode(1)).thenReturn("THYAO");
+        when(assetRegistry.getBistCode(2)).thenReturn("AKBNK");
+    }
+
+    private void writeJournal(String name, long stepNanos) throws IOException {
+        try (TickJournalWriter writer = TickJournalWriter.create(dir.resolve(name), 1 << 16)) {
+            writer.append(1, 10_2500L, 1_000 * SECOND);
+            writer.append(99, 1_0000L, 1_000 * SECOND + stepNanos);
+            writer.append(2, 50_0000L, 1_000 * SECOND + 2 * stepNanos);
+            writer.append(1, 10_3000L, 1_000 * SECOND + 3 * stepNanos);
+        }
+    }
+
+    private MarketReplayStatus awaitFinished(MarketReplayStatus status) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (status.getState() == MarketReplayStatus.State.RUNNING && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+        return status;
+    }
+
+    @Test
+    @DisplayName("MAX modunda tüm kayıtlar sırayla eşleştirme hattına verilir, bilinmeyen varlık atlanır")
+    void maxMode_feedsAllTicksInOrder() throws Exception {
+        writeJournal("day" + TickJournal.FILE_SUFFIX, SECOND);
+
+        MarketReplayStatus status = awaitFinished(service.start("day" + TickJournal.FILE_SUFFIX, ReplayMode.MAX, 0));
+
+        assertThat(status.getState()).isEqualTo(MarketReplayStatus.State.COMPLETED);
+        assertThat(status.getReplayedCount()).isEqualTo(3);
+        assertThat(status.getSkippedCount()).isEqualTo(1);
+        // Kayıt aralığı 3 sn olsa da MAX modunda beklenmez.
+        assertThat(status.getElapsedMillis()).isLessThan(1_000);
+
+        ArgumentCaptor<PriceUpdateEvent> events = ArgumentCaptor.forClass(PriceUpdateEvent.class);
+        verify(priceUpdateListener, times(3)).onPriceUpdate(events.capture());
+        List<PriceUpdateEvent> replayed = events.getAllValues();
+        assertThat(replayed).extracting(PriceUpdateEvent::getAssetCode).containsExactly("THYAO", "AKBNK", "THYAO");
+        assertThat(replayed.get(0).getPrice()).isEqualByComparingTo("10.25");
+        assertThat(replayed.get(2).getTimestamp()).isEqualTo(Instant.ofEpochSecond(1_003));
+        assertThat(service.listJournals()).containsExactly("day" + TickJournal.FILE_SUFFIX);
+    }
+
+    @Test
+    @DisplayName("SCALED modunda kayıt aralıkları hız çarpanına bölünerek korunur")
+    void scaledMode_preservesScaledIntervals() throws Exception {
+        // 3 x 200 ms kayıt aralığı, 2 kat hızla yaklaşık 300 ms sürmeli.
+        writeJournal("paced" + TickJournal.FILE_SUFFIX, 200_000_000L);
+
+        MarketReplayStatus status = awaitFinished(service.start("paced" + TickJournal.FILE_SUFFIX, ReplayMode.SCALED, 2));
+
+        assertThat(status.getState()).isEqualTo(MarketReplayStatus.State.COMPLETED);
+        assertThat(status.getElapsedMillis()).isGreaterThanOrEqualTo(290);
+    }
+
+    @Test
+    @DisplayName("Journal dizini dışına çıkan ad reddedilir, oynatma sürerken ikinci oynatma başlatılamaz")
+    void rejectsTraversalAndConcurrentReplay() throws Exception {
+        writeJournal("slow" + TickJournal.FILE_SUFFIX, 10 * SECOND);
+
+        assertThatThrownBy(() -> service.start("../slow" + TickJournal.FILE_SUFFIX, ReplayMode.MAX, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        MarketReplayStatus status = service.start("slow" + TickJournal.FILE_SUFFIX, ReplayMode.ORIGINAL, 0);
+        assertThat(service.isReplayActive()).isTrue();
+        assertThatThrownBy(() -> service.start("slow" + TickJournal.FILE_SUFFIX, ReplayMode.MAX, 0))
+                .isInstanceOf(IllegalStateException.class);
+
+        service.stop();
+        assertThat(awaitFinished(status).getState()).isEqualTo(MarketReplayStatus.State.STOPPED);
+        assertThat(service.isReplayActive()).isFalse();
+    }
+
+    @Test
+    @DisplayName("market-replay.enabled kapalıyken oynatma başlatılamaz")
+    void disabled_rejectsStart() throws Exception {
+        writeJournal("day" + TickJournal.FILE_SUFFIX, SECOND);
+        ReflectionTestUtils.setField(service, "enabled", false);
+
+        assertThatThrownBy(() -> service.start("day" + TickJournal.FILE_SUFFIX, ReplayMode.MAX, 0))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(service.getStatus()).isEmpty();
+        verifyNoInteractions(priceUpdateListener);
+    }
+
+    @Test
+    @DisplayName("Eşleştirme hattında beklerken durdurulan oynatma STOPPED olarak kaydedilir")
+    void stopWhileBlockedInListener_recordedAsStopped() throws Exception {
+        writeJournal("blocked" + TickJournal.FILE_SUFFIX, SECOND);
+        CountDownLatch entered = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            entered.countDown();
+            Thread.sleep(10_000);
+            return null;
+        }).when(priceUpdateListener).onPriceUpdate(any());
+
+        MarketReplayStatus status = service.start("blocked" + TickJournal.FILE_SUFFIX, ReplayMode.MAX, 0);
+        assertThat(entered.await(5, TimeUnit.SECONDS)).isTrue();
+        service.stop();
+
+        assertThat(awaitFinished(status).getState()).isEqualTo(MarketReplayStatus.State.STOPPED);
+        assertThat(status.getError()).isNull();
+    }
+}
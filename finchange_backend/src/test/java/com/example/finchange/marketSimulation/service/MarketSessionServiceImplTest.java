@@ -0,0 +1,133 @@
+package com.example.finchange.marketSimulation.service;
+
+import com.example.finchange.execution.util.BusinessDayCalculator;
+import com.example.finchange.marketSimulation.dto.MarketSessionState;
+import com.example.finchange.marketSimulation.events.MarketSessionTransitionEvent;
+import com.example.finchange.marketSimulation.service.impl.MarketSessionServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("MarketSessionServiceImpl - bellekteki seans durumu")
+class MarketSessionServiceImplTest {
+
+    private static final String CHANNEL = "test:session:overrides";
+
+    @Mock private BusinessDayCalculator businessDayCalculator;
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+    @Mock private RedisMessageListenerContainer listenerContainer;
+    @Mock private ApplicationEventPublisher eventPublisher;
+
+    @InjectMocks
+    private MarketSessionServiceImpl marketSessionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(marketSessionService, "overrideChannel", CHANNEL);
+    }
+
+    @Test
+    @DisplayName("Senkronizasyon override değerlerini tek MGET ile okur")
+    void resyncOverrides_appliesRedisValues() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList("true", null, "false"));
+
+        marketSessionService.resyncOverrides();
+
+        MarketSessionState state = marketSessionService.getState();
+        assertThat(state.tradingOverride()).isTrue();
+        assertThat(state.simulationOverride()).isFalse();
+        assertThat(marketSessionService.isMarketOpenNow()).isTrue();
+        assertThat(marketSessionService.areSettlementControlsActive()).isFalse();
+        verify(valueOperations, never()).get(any());
+    }
+
+    @Test
+    @DisplayName("Redis hatasında son bilinen durum korunur")
+    void resyncOverrides_redisDown_keepsLastState() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList()))
+                .thenReturn(Arrays.asList("true", "true", null))
+                .thenThrow(new IllegalStateException("redis down"));
+
+        marketSessionService.resyncOverrides();
+        marketSessionService.resyncOverrides();
+
+        MarketSessionState state = marketSessionService.getState();
+        assertThat(state.tradingOverride()).isTrue();
+        assertThat(state.simulationActive()).isTrue();
+        assertThat(state.settlementControlsActive()).isTrue();
+    }
+
+    @Test
+    @DisplayName("MGET sürerken gelen override mesajı senkronizasyonla geri alınmaz")
+    void resyncOverrides_messageDuringMultiGet_keepsNewerOverride() {
+        DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "market:override:trading=true".getBytes(StandardCharsets.UTF_8));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList()))
+                .thenAnswer(invocation -> {
+                    ReflectionTestUtils.invokeMethod(marketSessionService, "onOverrideMessage", message, null);
+                    return Arrays.asList("false", null, null);
+                })
+                .thenReturn(Arrays.asList("true", null, null));
+
+        marketSessionService.resyncOverrides();
+
+        assertThat(marketSessionService.getState().tradingOverride()).isTrue();
+        verify(eventPublisher, times(1)).publishEvent(any(MarketSessionTransitionEvent.class));
+
+        marketSessionService.resyncOverrides();
+
+        assertThat(marketSessionService.getState().tradingOverride()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Başka düğümden gelen override mesajı durumu günceller ve geçiş olayı yayınlar")
+    void onOverrideMessage_updatesStateAndPublishesTransition() {
+        DefaultMessage message = new DefaultMessage(CHANNEL.getBytes(StandardCharsets.UTF_8),
+                "market:override:trading=true".getBytes(StandardCharsets.UTF_8));
+
+        ReflectionTestUtils.invokeMethod(marketSessionService, "onOverrideMessage", message, null);
+
+        assertThat(marketSessionService.isMarketOpenNow()).isTrue();
+        ArgumentCaptor<MarketSessionTransitionEvent> event = ArgumentCaptor.forClass(MarketSessionTransitionEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertThat(event.getValue().isOpened()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Override yazımı Redis'e kaydeder, yerelde uygular ve kanala duyurur")
+    void setTradingOverride_writesAppliesAndBroadcasts() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+        marketSessionService.setTradingOverride(true);
+        marketSessionService.setTradingOverride(true);
+
+        verify(valueOperations, times(2)).set("market:override:trading", "true");
+        verify(redisTemplate, times(2)).convertAndSend(CHANNEL, "market:override:trading=true");
+        verify(eventPublisher, times(1)).publishEvent(any(MarketSessionTransitionEvent.class));
+        assertThat(marketSessionService.isMarketOpenNow()).isTrue();
+    }
+}
@@ -1,19 +1,29 @@
 package com.example.finchange.marketSimulation.service;
 
 import com.example.finchange.marketSimulation.service.MarketSessionService;
+import com.example.finchange.marketSimulation.dto.MarketSessionState;
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.marketSimulation.price.PriceEngine;
 import com.example.finchange.marketSimulation.service.impl.MarketSimulationServiceImpl;
+import com.example.finchange.marketSimulation.state.AssetKeyIndex;
+import com.example.finchange.marketSimulation.state.MarketSimulationState;
+import com.example.finchange.marketSimulation.state.SimulatedAsset;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 import org.springframework.kafka.core.KafkaTemplate;
 
-import java.util.Set;
+import java.math.BigDecimal;
+import java.util.Map;
 
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -32,6 +42,15 @@ class MarketSimulationServiceImplTest {
     @Mock
     private ValueOperations<String, String> valueOperations;
 
+    @Mock
+    private MarketSimulationState simulationState;
+
+    @Mock
+    private MarketReplayService marketReplayService;
+
+    @Spy
+    private PriceEngine priceEngine = initializedEngine();
+
     @InjectMocks
     private MarketSimulationServiceImpl marketSimulationService;
 
@@ -39,17 +58,15 @@ class MarketSimulationServiceImplTest {
     @DisplayName("simulatePriceMovement - Piyasa kapalı, override yok")
     void simulatePriceMovement_MarketClosedNoOverride() {
         // Given
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(marketSessionService.isMarketOpenNow()).thenReturn(false);
-        when(valueOperations.get("market:override:simulation")).thenReturn(null);
+        when(marketSessionService.getState()).thenReturn(MarketSessionState.DEFAULT);
 
         // When
         marketSimulationService.simulatePriceMovement();
 
-        // Then
-        verify(marketSessionService, times(1)).isMarketOpenNow();
-        verify(valueOperations, times(1)).get("market:override:simulation");
-        verify(redisTemplate, never()).keys(anyString());
+        // Then: seans durumu bellekten okunur, tick başına Redis'e gidilmez.
+        verify(marketSessionService, times(1)).getState();
+        verify(redisTemplate, never()).opsForValue();
+        verify(simulationState, never()).snapshot();
         verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
     }
 
@@ -57,35 +74,79 @@ class MarketSimulationServiceImplTest {
     @DisplayName("simulatePriceMovement - Simüle edilecek varlık yok")
     void simulatePriceMovement_NoAssetsToSimulate() {
         // Given
-        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(marketSessionService.isMarketOpenNow()).thenReturn(true);
-        when(valueOperations.get("market:override:simulation")).thenReturn(null);
-        when(redisTemplate.keys("asset:ohlc:*")).thenReturn(Set.of());
+        when(marketSessionService.getState()).thenReturn(MarketSessionState.DEFAULT.withSimulationOverride(true));
+        when(simulationState.snapshot()).thenReturn(new SimulatedAsset[0]);
 
         // When
         marketSimulationService.simulatePriceMovement();
 
         // Then
-        verify(marketSessionService, times(1)).isMarketOpenNow();
-        verify(redisTemplate, times(1)).keys("asset:ohlc:*");
+        verify(simulationState, times(1)).snapshot();
+        verify(redisTemplate, never()).keys(anyString());
+        verify(priceEngine, never()).next(any());
         verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
     }
 
     @Test
-    @DisplayName("simulatePriceMovement - Redis keys null döndürür")
-    void simulatePriceMovement_RedisKeysReturnsNull() {
-        // Given
+    @DisplayName("simulatePriceMovement - Yalnızca fiyatı değişen varlıklar tek MSET ile yazılır ve yayınlanır")
+    void simulatePriceMovement_PublishesOnlyChangedAssetsWithSingleMultiSet() {
+        // Given: THYAO'nun aralığı tek fiyata sabit (değişemez), AKBNK önceki kapanıştan aralığa oturur.
+        MarketSimulationState state = new MarketSimulationState(redisTemplate, mock(AssetKeyIndex.class));
+        state.updateOhlc("THYAO", Map.of("previousClose", "10.00", "openPrice", "10.00",
+                "dailyLow", "10.00", "dailyHigh", "10.00"));
+        state.updateOhlc("AKBNK", Map.of("previousClose", "19.00", "openPrice", "20.00",
+                "dailyLow", "20.00", "dailyHigh", "20.00"));
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(marketSessionService.isMarketOpenNow()).thenReturn(true);
-        when(valueOperations.get("market:override:simulation")).thenReturn(null);
-        when(redisTemplate.keys("asset:ohlc:*")).thenReturn(null);
+        when(marketSessionService.getState()).thenReturn(MarketSessionState.DEFAULT.withScheduledOpen(true));
+        when(simulationState.snapshot()).thenReturn(state.snapshot());
 
         // When
         marketSimulationService.simulatePriceMovement();
+        marketSimulationService.simulatePriceMovement();
 
         // Then
-        verify(marketSessionService, times(1)).isMarketOpenNow();
-        verify(redisTemplate, times(1)).keys("asset:ohlc:*");
+        verify(valueOperations, times(1)).multiSet(Map.of("asset:live_price:AKBNK", "20.00"));
+        verify(valueOperations, never()).get(startsWith("asset:live_price:"));
+        verify(kafkaTemplate, times(1)).send(eq("market-price-updates"), eq("AKBNK"),
+                argThat(event -> ((PriceUpdateEvent) event).getPrice().compareTo(new BigDecimal("20.00")) == 0));
+        verify(kafkaTemplate, never()).send(anyString(), eq("THYAO"), any());
+        assertThat(state.size()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("simulatePriceMovement - MSET başarısız olursa bellekteki fiyat değişmez, sonraki tick yeniden yayınlar")
+    void simulatePriceMovement_MultiSetFailure_KeepsInMemoryPriceAndRetries() {
+        // Given
+        MarketSimulationState state = new MarketSimulationState(redisTemplate, mock(AssetKeyIndex.class));
+        state.updateOhlc("AKBNK", Map.of("previousClose", "19.00", "openPrice", "20.00",
+                "dailyLow", "20.00", "dailyHigh", "20.00"));
+        SimulatedAsset[] assets = state.snapshot();
+        long initialUnits = assets[0].getPriceUnits();
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(marketSessionService.getState()).thenReturn(MarketSessionState.DEFAULT.withScheduledOpen(true));
+        when(simulationState.snapshot()).thenReturn(assets);
+        doThrow(new IllegalStateException("redis down")).doNothing()
+                .when(valueOperations).multiSet(Map.of("asset:live_price:AKBNK", "20.00"));
+
+        // When: ilk tick'te MSET hata verir
+        marketSimulationService.simulatePriceMovement();
+
+        // Then
+        assertThat(assets[0].getPriceUnits()).isEqualTo(initialUnits);
         verify(kafkaTemplate, never()).send(anyString(), anyString(), any());
+
+        // When: sonraki tick aynı değişikliği yeniden yazar ve yayınlar
+        marketSimulationService.simulatePriceMovement();
+
+        // Then
+        verify(valueOperations, times(2)).multiSet(Map.of("asset:live_price:AKBNK", "20.00"));
+        verify(kafkaTemplate, times(1)).send(eq("market-price-updates"), eq("AKBNK"), any());
+        assertThat(assets[0].getPriceUnits()).isEqualTo(20_0000L);
+    }
+
+    private static PriceEngine initializedEngine() {
+        PriceEngine engine = new PriceEngine();
+        engine.init();
+        return engine;
     }
 }
@@ -0,0 +1,89 @@
+package com.example.finchange.marketSimulation.state;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class MarketSimulationStateTest {
+
+    private static final Map<String, String> OHLC = Map.of("previousClose", "10.00", "openPrice", "10.00",
+            "dailyLow", "9.00", "dailyHigh", "11.00");
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private AssetKeyIndex assetKeyIndex;
+
+    private MarketSimulationState state;
+
+    @BeforeEach
+    void setUp() {
+        state = new MarketSimulationState(redisTemplate, assetKeyIndex);
+    }
+
+    @Test
+    @DisplayName("reload: yeni varlık Redis'teki canlı fiyattan başlar")
+    void reload_newAssetStartsFromLivePrice() {
+        when(assetKeyIndex.getOhlcCodes()).thenReturn(Set.of("THYAO"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(OHLC));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of("asset:live_price:THYAO"))).thenReturn(List.of("10.50"));
+
+        state.reload();
+
+        assertThat(state.snapshot()[0].getPriceUnits()).isEqualTo(10_5000L);
+    }
+
+    @Test
+    @DisplayName("reload: yüklü varlıkların canlı fiyatı okunmaz, bellekteki fiyat korunur")
+    void reload_skipsLivePriceForLoadedAssets() {
+        state.updateOhlc("THYAO", OHLC);
+        SimulatedAsset thyao = state.snapshot()[0];
+        thyao.setPriceUnits(10_2500L);
+        when(assetKeyIndex.getOhlcCodes()).thenReturn(Set.of("THYAO"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(OHLC));
+
+        state.reload();
+
+        verify(redisTemplate, never()).opsForValue();
+        assertThat(thyao.getPriceUnits()).isEqualTo(10_2500L);
+    }
+
+    @Test
+    @DisplayName("reload: MGET yalnızca bellekte olmayan kodlar için yapılır")
+    void reload_multiGetsOnlyNewCodes() {
+        state.updateOhlc("THYAO", OHLC);
+        when(assetKeyIndex.getOhlcCodes()).thenReturn(Set.of("THYAO", "AKBNK"));
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.<Object>of(OHLC, OHLC));
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList((String) null));
+
+        state.reload();
+
+        verify(valueOperations).multiGet(List.of("asset:live_price:AKBNK"));
+        assertThat(state.size()).isEqualTo(2);
+    }
+}
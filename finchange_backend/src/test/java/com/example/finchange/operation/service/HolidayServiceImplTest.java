@@ -1,5 +1,6 @@
 package com.example.finchange.operation.service;
 
+import com.example.finchange.execution.util.BusinessDayCalculator;
 import com.example.finchange.operation.dto.HolidayRequest;
 import com.example.finchange.operation.dto.HolidayResponse;
 import com.example.finchange.operation.exception.HolidayAlreadyException;
@@ -38,6 +39,9 @@ class HolidayServiceImplTest {
     @Mock
     private SystemDateServiceImpl systemDateService;
 
+    @Mock
+    private BusinessDayCalculator businessDayCalculator;
+
     @InjectMocks
     private HolidayServiceImpl holidayService;
 
@@ -82,6 +86,7 @@ class HolidayServiceImplTest {
         verify(systemDateService, times(1)).getSystemDate();
         verify(holidayRepository, times(1)).existsByHolidayDate(validRequest.getHolidayDate());
         verify(holidayRepository, times(1)).save(any(Holiday.class));
+        verify(businessDayCalculator, times(1)).refreshAfterCommit();
     }
 
     @Test
@@ -205,6 +210,7 @@ class HolidayServiceImplTest {
         // Then
         verify(holidayRepository, times(1)).existsById(holidayId);
         verify(holidayRepository, times(1)).deleteById(holidayId);
+        verify(businessDayCalculator, times(1)).refreshAfterCommit();
     }
 
     @Test
@@ -221,6 +227,7 @@ class HolidayServiceImplTest {
 
         verify(holidayRepository, times(1)).existsById(holidayId);
         verify(holidayRepository, never()).deleteById(anyInt());
+        verify(businessDayCalculator, never()).refreshAfterCommit();
     }
 
     @Test
@@ -0,0 +1,118 @@
+package com.example.finchange.portfolio.lane;
+
+import com.example.finchange.customer.model.CustomerAccount;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AccountLaneExecutor - hesap bazında sıralı işlem şeridi")
+class AccountLaneExecutorTest {
+
+    @Mock private PlatformTransactionManager transactionManager;
+
+    private AccountLaneExecutor executor;
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getTransaction(any())).thenAnswer(invocation -> new SimpleTransactionStatus());
+        executor = new AccountLaneExecutor(transactionManager);
+        ReflectionTestUtils.setField(executor, "stripes", 1);
+        ReflectionTestUtils.setField(executor, "retryBackoffMs", 0L);
+        executor.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    @DisplayName("Şerit meşgulken biriken aynı hesap işleri sırayla ve tek transaction'da uygulanır")
+    void pendingMutationsForSameAccount_areCoalesced() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> applied = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> blocker = occupyLane(release);
+
+        CompletableFuture<Void> first = executor.submit(7, () -> applied.add("block"));
+        CompletableFuture<Void> second = executor.submit(7, () -> applied.add("fill"));
+        CompletableFuture<Void> third = executor.submit(7, () -> applied.add("release"));
+        release.countDown();
+        CompletableFuture.allOf(blocker, first, second, third).get(5, TimeUnit.SECONDS);
+
+        assertThat(applied).containsExactly("block", "fill", "release");
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("İyimser kilit çakışmasında iş yeniden denenir ve hata dışarı taşmaz")
+    void optimisticLockFailure_isRetried() throws Exception {
+        doThrow(new ObjectOptimisticLockingFailureException(CustomerAccount.class, 7))
+                .doNothing()
+                .when(transactionManager).commit(any());
+        List<String> applied = new CopyOnWriteArrayList<>();
+
+        executor.submit(7, () -> applied.add("fill")).get(5, TimeUnit.SECONDS);
+
+        assertThat(applied).containsExactly("fill", "fill");
+        verify(transactionManager, times(2)).commit(any());
+    }
+
+    @Test
+    @DisplayName("Birleşik işlerden biri hata verirse diğerleri ayrı ayrı uygulanır")
+    void failingMutation_doesNotFailOthersInGroup() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> applied = new CopyOnWriteArrayList<>();
+        CompletableFuture<Void> blocker = occupyLane(release);
+
+        CompletableFuture<Void> ok = executor.submit(7, () -> applied.add("fill"));
+        CompletableFuture<Void> failing = executor.submit(7, () -> {
+            throw new IllegalStateException("Yetersiz bakiye");
+        });
+        release.countDown();
+        blocker.get(5, TimeUnit.SECONDS);
+        ok.get(5, TimeUnit.SECONDS);
+
+        assertThat(failing).failsWithin(5, TimeUnit.SECONDS);
+        assertThat(applied).containsExactly("fill", "fill");
+    }
+
+    /**
+     * Şeridi başka bir hesabın işiyle meşgul eder; sonraki işler şerit boşalana kadar kuyrukta bekler.
+     */
+    private CompletableFuture<Void> occupyLane(CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        CompletableFuture<Void> blocker = executor.submit(1, () -> {
+            started.countDown();
+            await(release);
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return blocker;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.operation.service.SystemDateService;
+import com.example.finchange.portfolio.dto.AccountBalanceResponse;
+import com.example.finchange.portfolio.dto.AccountStatementResponse;
+import com.example.finchange.portfolio.dto.LedgerBalanceView;
+import com.example.finchange.portfolio.dto.StatementEntryResponse;
+import com.example.finchange.portfolio.model.AccountBalanceCheckpoint;
+import com.example.finchange.portfolio.repository.AccountBalanceCheckpointRepository;
+import com.example.finchange.portfolio.repository.AccountTransactionRepository;
+import com.example.finchange.portfolio.service.impl.AccountStatementServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.domain.Pageable;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("AccountStatementServiceImpl - gün sonu noktaları ve ekstre")
+class AccountStatementServiceImplTest {
+
+    private static final int ACCOUNT_ID = 3;
+    private static final LocalDate DAY = LocalDate.of(2024, 3, 15);
+
+    @Mock private AccountTransactionRepository transactionRepository;
+    @Mock private AccountBalanceCheckpointRepository checkpointRepository;
+    @Mock private CustomerAccountRepository accountRepository;
+    @Mock private SystemDateService systemDateService;
+
+    @InjectMocks
+    private AccountStatementServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(accountRepository.existsById(ACCOUNT_ID)).thenReturn(true);
+    }
+
+    private static AccountBalanceCheckpoint checkpoint(LocalDate day, String balance) {
+        return AccountBalanceCheckpoint.builder()
+                .accountId(ACCOUNT_ID)
+                .checkpointDate(day)
+                .balance(new BigDecimal(balance))
+                .build();
+    }
+
+    private static StatementEntryResponse entry(int id, LocalDateTime at, String balanceAfter) {
+        return new StatementEntryResponse(id, at, "DEPOSIT", BigDecimal.TEN, (short) 1, new BigDecimal(balanceAfter), null, null);
+    }
+
+    @Test
+    @DisplayName("getBalanceAt: en yakın noktadan sonraki son hareket aranır, yoksa nokta bakiyesi döner")
+    void getBalanceAt_seeksFromNearestCheckpoint() {
+        LocalDateTime at = DAY.atTime(12, 0);
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointDateLessThanOrderByCheckpointDateDesc(ACCOUNT_ID, DAY))
+                .thenReturn(Optional.of(checkpoint(DAY.minusDays(4), "750.0000")));
+        when(transactionRepository.findLastBalanceBetween(eq(ACCOUNT_ID), eq(DAY.minusDays(3).atStartOfDay()), eq(at), any(Pageable.class)))
+                .thenReturn(List.of());
+
+        AccountBalanceResponse response = service.getBalanceAt(ACCOUNT_ID, at);
+
+        assertThat(response.getBalance()).isEqualByComparingTo("750");
+        assertThat(response.getCheckpointDate()).isEqualTo(DAY.minusDays(4));
+        verify(transactionRepository, never()).findLastBalanceBefore(anyInt(), any(), any());
+    }
+
+    @Test
+    @DisplayName("getStatement: bir fazla satır okunur, sonraki sayfa imleci son satırdan üretilir ve geri çözülür")
+    void getStatement_keysetPagination() {
+        LocalDateTime from = DAY.atStartOfDay();
+        LocalDateTime to = DAY.plusDays(1).atStartOfDay();
+        LocalDateTime t1 = DAY.atTime(9, 0);
+        LocalDateTime t2 = DAY.atTime(10, 30, 15);
+        when(checkpointRepository.findFirstByAccountIdAndCheckpointDateLessThanOrderByCheckpointDateDesc(anyInt(), any()))
+                .thenReturn(Optional.empty());
+        when(transactionRepository.findLastBalanceBefore(eq(ACCOUNT_ID), eq(from), any(Pageable.class)))
+                .thenReturn(List.of(new LedgerBalanceView(ACCOUNT_ID, 1, from.minusHours(1), new BigDecimal("100.0000"))));
+        when(transactionRepository.findStatementPage(eq(ACCOUNT_ID), eq(from), eq(Integer.MIN_VALUE), eq(to), any(Pageable.class)))
+                .thenReturn(List.of(entry(10, t1, "110"), entry(11, t2, "120"), entry(12, t2, "130")));
+
+        AccountStatementResponse first = service.getStatement(ACCOUNT_ID, from, to, null, 2);
+
+        assertThat(first.getEntries()).extracting(StatementEntryResponse::getId).containsExactly(10, 11);
+        assertThat(first.getOpeningBalance()).isEqualByComparingTo("100");
+        assertThat(first.getNextCursor()).isEqualTo(t2 + "_11");
+
+        when(transactionRepository.findStatementPage(eq(ACCOUNT_ID), eq(t2), eq(11), eq(to), any(Pageable.class)))
+                .thenReturn(List.of(entry(12, t2, "130")));
+
+        AccountStatementResponse second = service.getStatement(ACCOUNT_ID, from, to, first.getNextCursor(), 2);
+
+        assertThat(second.getEntries()).extracting(StatementEntryResponse::getId).containsExactly(12);
+        assertThat(second.getNextCursor()).isNull();
+        assertThat(second.getOpeningBalance()).isNull();
+    }
+
+    @Test
+    @DisplayName("getStatement: bozuk imleç reddedilir")
+    void getStatement_invalidCursor() {
+        assertThatThrownBy(() -> service.getStatement(ACCOUNT_ID, DAY.atStartOfDay(), DAY.plusDays(1).atStartOfDay(), "abc", 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("createDailyCheckpoints: son noktadan sistem tarihinin önceki gününe kadar her gün yazılır")
+    @SuppressWarnings("unchecked")
+    void createDailyCheckpoints_fillsMissingDays() {
+        when(systemDateService.getSystemDate()).thenReturn(DAY);
+        when(checkpointRepository.findLatestCheckpointDate()).thenReturn(Optional.of(DAY.minusDays(3)));
+        when(transactionRepository.findLastBalancesBetween(any(), any())).thenReturn(List.of());
+        when(transactionRepository.findLastBalancesBetween(DAY.minusDays(1).atStartOfDay(), DAY.atStartOfDay()))
+                .thenReturn(List.of(new LedgerBalanceView(ACCOUNT_ID, 99, DAY.minusDays(1).atTime(17, 0), new BigDecimal("42.0000"))));
+
+        service.createDailyCheckpoints();
+
+        verify(transactionRepository).findLastBalancesBetween(DAY.minusDays(2).atStartOfDay(), DAY.minusDays(1).atStartOfDay());
+        ArgumentCaptor<Iterable<AccountBalanceCheckpoint>> saved = ArgumentCaptor.forClass(Iterable.class);
+        verify(checkpointRepository).saveAll(saved.capture());
+        AccountBalanceCheckpoint written = saved.getValue().iterator().next();
+        assertThat(written.getCheckpointDate()).isEqualTo(DAY.minusDays(1));
+        assertThat(written.getBalance()).isEqualByComparingTo("42");
+        assertThat(written.getLastTransactionId()).isEqualTo(99);
+    }
+}
@@ -0,0 +1,114 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.portfolio.model.Asset;
+import com.example.finchange.portfolio.repository.AssetRepository;
+import com.example.finchange.portfolio.service.impl.AssetRegistryImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AssetRegistryImpl - bellek içi varlık kaydı")
+class AssetRegistryImplTest {
+
+    @Mock private AssetRepository assetRepository;
+
+    @InjectMocks
+    private AssetRegistryImpl assetRegistry;
+
+    private static Asset asset(int id, String bistCode, Integer settlementDays) {
+        Asset asset = new Asset();
+        asset.setId(id);
+        asset.setBistCode(bistCode);
+        asset.setSettlementDays(settlementDays);
+        return asset;
+    }
+
+    @BeforeEach
+    void setUp() {
+        when(assetRepository.findAll()).thenReturn(List.of(asset(1, "THYAO", 2), asset(7, "AKBNK", null)));
+        assetRegistry.reload();
+    }
+
+    @Test
+    @DisplayName("Yüklenen varlıklar veritabanına gitmeden çözülür")
+    void reload_resolvesWithoutRepository() {
+        assertThat(assetRegistry.getBistCode(1)).isEqualTo("THYAO");
+        assertThat(assetRegistry.getAssetId("AKBNK")).isEqualTo(7);
+        assertThat(assetRegistry.getSettlementDays(1)).isEqualTo(2);
+        assertThat(assetRegistry.getSettlementDays(7)).isNull();
+        assertThat(assetRegistry.size()).isEqualTo(2);
+
+        verify(assetRepository, never()).findById(anyInt());
+        verify(assetRepository, never()).findByBistCode(any());
+    }
+
+    @Test
+    @DisplayName("Kayıtta olmayan varlık bir kez veritabanından okunup eklenir")
+    void missingAsset_loadedOnce() {
+        when(assetRepository.findById(42)).thenReturn(Optional.of(asset(42, "GARAN", 1)));
+
+        assertThat(assetRegistry.getBistCode(42)).isEqualTo("GARAN");
+        assertThat(assetRegistry.getBistCode(42)).isEqualTo("GARAN");
+        assertThat(assetRegistry.getAssetId("GARAN")).isEqualTo(42);
+
+        verify(assetRepository, times(1)).findById(42);
+    }
+
+    @Test
+    @DisplayName("Bilinmeyen kod ve id null döner")
+    void unknown_returnsNull() {
+        when(assetRepository.findById(99)).thenReturn(Optional.empty());
+        when(assetRepository.findByBistCode("YOK")).thenReturn(Optional.empty());
+
+        assertThat(assetRegistry.getBistCode(99)).isNull();
+        assertThat(assetRegistry.getAssetId("YOK")).isNull();
+        assertThat(assetRegistry.getSettlementDays(99)).isNull();
+    }
+
+    @Test
+    @DisplayName("Bulunamayan kod ve id yeniden yüklemeye kadar tekrar sorgulanmaz; kayıt olunca çözülür")
+    void unknown_negativeCachedUntilReload() {
+        when(assetRepository.findById(99)).thenReturn(Optional.empty());
+        when(assetRepository.findByBistCode("YOK")).thenReturn(Optional.empty());
+
+        for (int i = 0; i < 3; i++) {
+            assertThat(assetRegistry.getAssetId("YOK")).isNull();
+            assertThat(assetRegistry.getBistCode(99)).isNull();
+        }
+        verify(assetRepository, times(1)).findByBistCode("YOK");
+        verify(assetRepository, times(1)).findById(99);
+
+        assetRegistry.reload();
+        assertThat(assetRegistry.getAssetId("YOK")).isNull();
+        verify(assetRepository, times(2)).findByBistCode("YOK");
+
+        assetRegistry.register(asset(99, "YOK", 2));
+        assertThat(assetRegistry.getAssetId("YOK")).isEqualTo(99);
+        assertThat(assetRegistry.getBistCode(99)).isEqualTo("YOK");
+    }
+
+    @Test
+    @DisplayName("BIST kodu değişen varlığın eski kodu kayıttan düşer")
+    void register_renamedAsset_dropsOldCode() {
+        when(assetRepository.findByBistCode("THYAO")).thenReturn(Optional.empty());
+
+        assetRegistry.register(asset(1, "THYAO2", 3));
+
+        assertThat(assetRegistry.getBistCode(1)).isEqualTo("THYAO2");
+        assertThat(assetRegistry.getAssetId("THYAO2")).isEqualTo(1);
+        assertThat(assetRegistry.getAssetId("THYAO")).isNull();
+        assertThat(assetRegistry.getSettlementDays(1)).isEqualTo(3);
+    }
+}
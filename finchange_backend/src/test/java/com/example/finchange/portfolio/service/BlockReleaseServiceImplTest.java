@@ -0,0 +1,102 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.common.model.Money;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.execution.dto.SettlementReport;
+import com.example.finchange.execution.service.SettlementService;
+import com.example.finchange.portfolio.dto.BlockReleaseJobStatus;
+import com.example.finchange.portfolio.release.BlockReleaseChunkProcessor;
+import com.example.finchange.portfolio.release.BlockReleaseChunkProcessor.ReleasedChunk;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.impl.BlockReleaseServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BlockReleaseServiceImpl - arka planda override blokaj serbest bırakma")
+class BlockReleaseServiceImplTest {
+
+    @Mock private SettlementService settlementService;
+    @Mock private BlockReleaseChunkProcessor chunkProcessor;
+    @Mock private CustomerAccountRepository accountRepository;
+    @Mock private CustomerAssetRepository customerAssetRepository;
+
+    private final List<Runnable> queued = new ArrayList<>();
+    private BlockReleaseServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        service = new BlockReleaseServiceImpl(settlementService, chunkProcessor, accountRepository,
+                customerAssetRepository, queued::add);
+        ReflectionTestUtils.setField(service, "chunkSize", 2);
+    }
+
+    @Test
+    @DisplayName("startRelease: iş hemen döner, parçalar arka planda keyset ile ilerler ve ilerleme raporlanır")
+    void startRelease_runsChunksInBackground() {
+        when(settlementService.settleAllPending()).thenReturn(SettlementReport.builder()
+                .executionCount(5).settledExecutionCount(5).build());
+        when(accountRepository.countByBlockedBalanceGreaterThan(Money.ZERO)).thenReturn(3L);
+        when(customerAssetRepository.countByBlockedLotGreaterThan(0)).thenReturn(1L);
+        when(chunkProcessor.releaseBalances(0, 2)).thenReturn(new ReleasedChunk(4, 2, 2, new BigDecimal("150.00")));
+        when(chunkProcessor.releaseBalances(4, 2)).thenReturn(new ReleasedChunk(9, 1, 1, new BigDecimal("50.00")));
+        when(chunkProcessor.releaseLots(0, 2)).thenReturn(new ReleasedChunk(3, 1, 1, BigDecimal.ZERO));
+
+        BlockReleaseJobStatus job = service.startRelease();
+
+        assertThat(job.getState()).isEqualTo(BlockReleaseJobStatus.State.RUNNING);
+        verifyNoInteractions(settlementService, chunkProcessor);
+
+        queued.forEach(Runnable::run);
+
+        assertThat(job.getState()).isEqualTo(BlockReleaseJobStatus.State.COMPLETED);
+        assertThat(job.getPhase()).isEqualTo(BlockReleaseJobStatus.Phase.DONE);
+        assertThat(job.getSettledExecutionCount()).isEqualTo(5);
+        assertThat(job.getAccountsReleased()).isEqualTo(3);
+        assertThat(job.getReleasedAmount()).isEqualByComparingTo("200.00");
+        assertThat(job.getHoldingsReleased()).isEqualTo(1);
+        assertThat(job.getChunkCount()).isEqualTo(3);
+        assertThat(job.getProgressPercent()).isEqualTo(100);
+        assertThat(job.getFinishedAt()).isNotNull();
+        assertThat(service.getJob(job.getJobId())).containsSame(job);
+        assertThat(service.getLatestJob()).containsSame(job);
+    }
+
+    @Test
+    @DisplayName("startRelease: çalışan iş varken yeni iş açılmaz")
+    void startRelease_returnsRunningJob() {
+        BlockReleaseJobStatus first = service.startRelease();
+        BlockReleaseJobStatus second = service.startRelease();
+
+        assertThat(second).isSameAs(first);
+        assertThat(queued).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("run: hata alan iş FAILED olarak raporlanır, aşama korunur")
+    void run_failureMarksJobFailed() {
+        when(settlementService.settleAllPending()).thenReturn(SettlementReport.builder().build());
+        when(chunkProcessor.releaseBalances(anyInt(), anyInt())).thenThrow(new RuntimeException("db down"));
+
+        BlockReleaseJobStatus job = service.startRelease();
+        queued.forEach(Runnable::run);
+
+        assertThat(job.getState()).isEqualTo(BlockReleaseJobStatus.State.FAILED);
+        assertThat(job.getPhase()).isEqualTo(BlockReleaseJobStatus.Phase.RELEASING_BALANCES);
+        assertThat(job.getError()).isEqualTo("db down");
+        verify(chunkProcessor, never()).releaseLots(anyInt(), anyInt());
+    }
+}
@@ -0,0 +1,259 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.brokerage.service.BrokerageFirmService;
+import com.example.finchange.common.model.Money;
+import com.example.finchange.customer.model.CustomerAccount;
+import com.example.finchange.customer.model.Customers;
+import com.example.finchange.customer.repository.CustomerAccountRepository;
+import com.example.finchange.execution.model.Order;
+import com.example.finchange.execution.model.enums.OrderStatus;
+import com.example.finchange.execution.model.enums.TransactionType;
+import com.example.finchange.portfolio.model.AccountTransaction;
+import com.example.finchange.portfolio.model.CustomerAsset;
+import com.example.finchange.portfolio.model.OrderReservation;
+import com.example.finchange.portfolio.repository.AccountTransactionRepository;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.repository.OrderReservationRepository;
+import com.example.finchange.portfolio.service.impl.PortfolioServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import jakarta.persistence.EntityNotFoundException;
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PortfolioServiceImpl - emir rezervasyonu ve toplu blokaj")
+class PortfolioServiceImplTest {
+
+    @Mock private CustomerAccountRepository accountRepository;
+    @Mock private CustomerAssetRepository customerAssetRepository;
+    @Mock private AccountTransactionRepository transactionRepository;
+    @Mock private BrokerageFirmService brokerageFirmService;
+    @Mock private AssetRegistry assetRegistry;
+    @Mock private OrderReservationRepository reservationRepository;
+
+    @InjectMocks
+    private PortfolioServiceImpl portfolioService;
+
+    private CustomerAccount account;
+    private Order order;
+
+    @BeforeEach
+    void setUp() {
+        account = new CustomerAccount();
+        account.setId(5);
+        account.setBalance(Money.parse("1000.0000"));
+        account.setBlockedBalance(Money.parse("100.0000"));
+        order = new Order();
+        order.setId(42);
+        order.setCustomerAccountId(5);
+        order.setTransactionType(TransactionType.BUY);
+        order.setStatus(OrderStatus.CANCELLED);
+        lenient().when(accountRepository.findById(5)).thenReturn(Optional.of(account));
+    }
+
+    @Test
+    @DisplayName("İptalde kalan blokaj rezervasyon satırından okunur, hareket tablosu toplanmaz")
+    void releaseBlock_readsRemainingFromReservation() {
+        OrderReservation reservation = new OrderReservation(42, 5);
+        reservation.block(new BigDecimal("100.0000"));
+        reservation.consume(new BigDecimal("30.0000"));
+        when(reservationRepository.findByOrderId(42)).thenReturn(Optional.of(reservation));
+
+        portfolioService.releaseBlockForCancelledOrder(order);
+
+        assertThat(account.getBlockedBalance()).isEqualTo(Money.parse("30"));
+        assertThat(reservation.getReleasedAmount()).isEqualByComparingTo("70");
+        assertThat(reservation.getRemainingAmount()).isEqualByComparingTo("0");
+        verify(transactionRepository, never()).sumAmountByTypeAndOrder(anyString(), any());
+        verify(reservationRepository).save(reservation);
+    }
+
+    @Test
+    @DisplayName("Rezervasyonu olmayan eski emirde satır hareket tablosundan bir kez türetilir")
+    void releaseBlock_seedsLegacyOrderFromLedger() {
+        when(reservationRepository.findByOrderId(42)).thenReturn(Optional.empty());
+        when(transactionRepository.sumAmountByTypeAndOrder("ORDER_BLOCKED", order)).thenReturn(new BigDecimal("100.0000"));
+        when(transactionRepository.sumAmountByTypeAndOrder("TRADE_SETTLEMENT_DEBIT", order)).thenReturn(new BigDecimal("30.0000"));
+        when(transactionRepository.sumAmountByTypeAndOrder("ORDER_UNBLOCKED", order)).thenReturn(new BigDecimal("20.0000"));
+
+        portfolioService.releaseBlockForCancelledOrder(order);
+
+        ArgumentCaptor<OrderReservation> saved = ArgumentCaptor.forClass(OrderReservation.class);
+        verify(reservationRepository).save(saved.capture());
+        assertThat(saved.getValue().getOrderId()).isEqualTo(42);
+        assertThat(saved.getValue().getReleasedAmount()).isEqualByComparingTo("70");
+        assertThat(account.getBlockedBalance()).isEqualTo(Money.parse("50"));
+    }
+
+    private static Order newOrder(int id, int accountId, TransactionType type, String limitPrice, int lots) {
+        Order o = new Order();
+        o.setId(id);
+        o.setCustomerAccountId(accountId);
+        o.setAssetId(7);
+        o.setTransactionType(type);
+        o.setStatus(OrderStatus.ACTIVE);
+        o.setLimitPrice(Money.parse(limitPrice));
+        o.setInitialLotAmount(lots);
+        return o;
+    }
+
+    private static CustomerAccount accountOf(int id, int customerId, String balance) {
+        Customers customer = new Customers();
+        customer.setId(customerId);
+        CustomerAccount acc = new CustomerAccount();
+        acc.setId(id);
+        acc.setCustomer(customer);
+        acc.setBalance(Money.parse(balance));
+        acc.setBlockedBalance(Money.ZERO);
+        return acc;
+    }
+
+    private static CustomerAsset holding(int customerId, int totalLot, int blockedLot) {
+        CustomerAsset asset = new CustomerAsset();
+        asset.setCustomerId(customerId);
+        asset.setAssetId(7);
+        asset.setTotalLot(totalLot);
+        asset.setBlockedLot(blockedLot);
+        return asset;
+    }
+
+    @Test
+    @DisplayName("Toplu alım blokajı aynı hesaptaki emirleri biriktirir, emir başına tek hareket ve rezervasyon yazar")
+    void blockBalancesForBuyOrders_accumulatesAndSavesInBatches() {
+        CustomerAccount first = accountOf(5, 99, "1000.0000");
+        first.setBlockedBalance(Money.parse("100.0000"));
+        CustomerAccount second = accountOf(6, 98, "500.0000");
+        when(accountRepository.findAllById(any())).thenReturn(List.of(first, second));
+        when(brokerageFirmService.getActiveCommissionRate()).thenReturn(new BigDecimal("0.001"));
+        when(assetRegistry.getBistCode(7)).thenReturn("THYAO");
+        List<Order> orders = List.of(
+                newOrder(1, 5, TransactionType.BUY, "10.00", 10),
+                newOrder(2, 5, TransactionType.BUY, "10.00", 20),
+                newOrder(3, 6, TransactionType.BUY, "20.00", 5));
+
+        portfolioService.blockBalancesForBuyOrders(orders);
+
+        // 100 + (100 + 0.1) + (200 + 0.2)
+        assertThat(first.getBlockedBalance()).isEqualTo(Money.parse("400.3"));
+        assertThat(second.getBlockedBalance()).isEqualTo(Money.parse("100.1"));
+
+        ArgumentCaptor<List<AccountTransaction>> transactions = ArgumentCaptor.forClass(List.class);
+        verify(transactionRepository, times(1)).saveAll(transactions.capture());
+        assertThat(transactions.getValue()).hasSize(3)
+                .allSatisfy(tx -> assertThat(tx.getTransactionType()).isEqualTo("ORDER_BLOCKED"));
+        assertThat(transactions.getValue()).extracting(tx -> tx.getRelatedOrder().getId()).containsExactly(1, 2, 3);
+        assertThat(transactions.getValue()).extracting(AccountTransaction::getAmount)
+                .usingElementComparator(BigDecimal::compareTo)
+                .containsExactly(new BigDecimal("100.1"), new BigDecimal("200.2"), new BigDecimal("100.1"));
+
+        ArgumentCaptor<List<OrderReservation>> reservations = ArgumentCaptor.forClass(List.class);
+        verify(reservationRepository, times(1)).saveAll(reservations.capture());
+        assertThat(reservations.getValue()).extracting(OrderReservation::getOrderId).containsExactly(1, 2, 3);
+        assertThat(reservations.getValue()).extracting(OrderReservation::getAccountId).containsExactly(5, 5, 6);
+        assertThat(reservations.getValue().get(1).getBlockedAmount()).isEqualByComparingTo("200.2");
+
+        verify(accountRepository, times(1)).saveAll(any());
+        verify(transactionRepository, never()).save(any());
+        verify(reservationRepository, never()).save(any());
+    }
+
+    @Test
+    @DisplayName("Toplu alım blokajında birikmiş tutar bakiyeyi aşarsa hata fırlatılır ve hiçbir şey yazılmaz")
+    void blockBalancesForBuyOrders_insufficientBalance_writesNothing() {
+        when(accountRepository.findAllById(any())).thenReturn(List.of(accountOf(5, 99, "300.0000")));
+        when(brokerageFirmService.getActiveCommissionRate()).thenReturn(BigDecimal.ZERO);
+        List<Order> orders = List.of(
+                newOrder(1, 5, TransactionType.BUY, "10.00", 20),
+                newOrder(2, 5, TransactionType.BUY, "10.00", 20));
+
+        assertThatThrownBy(() -> portfolioService.blockBalancesForBuyOrders(orders))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("yetersiz bakiye");
+
+        verify(transactionRepository, never()).saveAll(any());
+        verify(reservationRepository, never()).saveAll(any());
+        verify(accountRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Toplu alım blokajında hesabı bulunamayan emir EntityNotFoundException fırlatır")
+    void blockBalancesForBuyOrders_missingAccount_throws() {
+        when(accountRepository.findAllById(any())).thenReturn(List.of(accountOf(5, 99, "1000.0000")));
+        when(brokerageFirmService.getActiveCommissionRate()).thenReturn(BigDecimal.ZERO);
+        List<Order> orders = List.of(
+                newOrder(1, 5, TransactionType.BUY, "10.00", 1),
+                newOrder(2, 9, TransactionType.BUY, "10.00", 1));
+
+        assertThatThrownBy(() -> portfolioService.blockBalancesForBuyOrders(orders))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("9");
+
+        verify(transactionRepository, never()).saveAll(any());
+        verify(reservationRepository, never()).saveAll(any());
+        verify(accountRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Toplu satım blokajı aynı varlıktaki emirlerin lotlarını biriktirir ve tek seferde yazar")
+    void blockAssetsForSellOrders_accumulatesLots() {
+        when(accountRepository.findAllById(any())).thenReturn(List.of(accountOf(5, 99, "0")));
+        CustomerAsset asset = holding(99, 100, 10);
+        when(customerAssetRepository.findByCustomerIdInAndAssetId(any(), eq(7))).thenReturn(List.of(asset));
+
+        portfolioService.blockAssetsForSellOrders(List.of(
+                newOrder(1, 5, TransactionType.SELL, "10.00", 30),
+                newOrder(2, 5, TransactionType.SELL, "11.00", 40)));
+
+        assertThat(asset.getBlockedLot()).isEqualTo(80);
+        ArgumentCaptor<Collection<CustomerAsset>> saved = ArgumentCaptor.forClass(Collection.class);
+        verify(customerAssetRepository, times(1)).saveAll(saved.capture());
+        assertThat(saved.getValue()).containsExactly(asset);
+        verify(customerAssetRepository, times(1)).findByCustomerIdInAndAssetId(any(), eq(7));
+    }
+
+    @Test
+    @DisplayName("Toplu satım blokajında birikmiş lot mevcudu aşarsa hata fırlatılır ve hiçbir şey yazılmaz")
+    void blockAssetsForSellOrders_insufficientLots_writesNothing() {
+        when(accountRepository.findAllById(any())).thenReturn(List.of(accountOf(5, 99, "0")));
+        when(customerAssetRepository.findByCustomerIdInAndAssetId(any(), eq(7))).thenReturn(List.of(holding(99, 100, 10)));
+
+        assertThatThrownBy(() -> portfolioService.blockAssetsForSellOrders(List.of(
+                newOrder(1, 5, TransactionType.SELL, "10.00", 30),
+                newOrder(2, 5, TransactionType.SELL, "10.00", 70))))
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("yetersiz varlık");
+
+        verify(customerAssetRepository, never()).saveAll(any());
+    }
+
+    @Test
+    @DisplayName("Toplu satım blokajında hesap ya da varlık bulunamazsa EntityNotFoundException fırlatılır")
+    void blockAssetsForSellOrders_missingAccountOrHolding_throws() {
+        when(accountRepository.findAllById(any())).thenReturn(List.of(accountOf(5, 99, "0")));
+        when(customerAssetRepository.findByCustomerIdInAndAssetId(any(), eq(7))).thenReturn(List.of());
+
+        assertThatThrownBy(() -> portfolioService.blockAssetsForSellOrders(List.of(newOrder(1, 5, TransactionType.SELL, "10.00", 1))))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Müşteri varlığı bulunamadı");
+        assertThatThrownBy(() -> portfolioService.blockAssetsForSellOrders(List.of(newOrder(2, 8, TransactionType.SELL, "10.00", 1))))
+                .isInstanceOf(EntityNotFoundException.class)
+                .hasMessageContaining("Müşteri hesabı bulunamadı");
+
+        verify(customerAssetRepository, never()).saveAll(any());
+    }
+}
@@ -0,0 +1,122 @@
+package com.example.finchange.portfolio.service;
+
+import com.example.finchange.marketSimulation.kafka.PriceUpdateEvent;
+import com.example.finchange.portfolio.dto.PortfolioValuationResponse;
+import com.example.finchange.portfolio.dto.PositionValuationView;
+import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.impl.PortfolioValuationServiceImpl;
+import com.example.finchange.portfoliogroup.dto.GroupMembershipView;
+import com.example.finchange.portfoliogroup.repository.PortfolioGroupMemberRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.mockito.junit.jupiter.MockitoSettings;
+import org.mockito.quality.Strictness;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@MockitoSettings(strictness = Strictness.LENIENT)
+@DisplayName("PortfolioValuationServiceImpl - artımlı piyasa değerlemesi")
+class PortfolioValuationServiceImplTest {
+
+    private static final int THYAO = 1;
+    private static final int AKBNK = 2;
+
+    @Mock private CustomerAssetRepository customerAssetRepository;
+    @Mock private PortfolioGroupMemberRepository memberRepository;
+    @Mock private AssetRegistry assetRegistry;
+    @Mock private StringRedisTemplate redisTemplate;
+    @Mock private ValueOperations<String, String> valueOperations;
+
+    @InjectMocks
+    private PortfolioValuationServiceImpl service;
+
+    @BeforeEach
+    void setUp() {
+        when(assetRegistry.getBistCode(THYAO)).thenReturn("THYAO");
+        when(assetRegistry.getBistCode(AKBNK)).thenReturn("AKBNK");
+        when(assetRegistry.getAssetId("THYAO")).thenReturn(THYAO);
+        when(assetRegistry.getAssetId("AKBNK")).thenReturn(AKBNK);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(anyList())).thenReturn(Arrays.asList("12.0000", null));
+        when(customerAssetRepository.findOpenPositionViews()).thenReturn(List.of(
+                new PositionValuationView(100, 10, THYAO, 10, new BigDecimal("10.0000"), 0L),
+                new PositionValuationView(101, 20, THYAO, 5, new BigDecimal("11.0000"), 0L),
+                new PositionValuationView(102, 10, AKBNK, 4, new BigDecimal("50.0000"), 0L)));
+        when(memberRepository.findAllMemberships()).thenReturn(List.of(
+                new GroupMembershipView(5, 10), new GroupMembershipView(5, 20)));
+        service.reload();
+    }
+
+    private static PriceUpdateEvent tick(String code, String price) {
+        return new PriceUpdateEvent(code, new BigDecimal(price), Instant.now());
+    }
+
+    @Test
+    @DisplayName("Yüklemede fiyatı olan pozisyon piyasadan, olmayan maliyetten değerlenir")
+    void reload_marksPositionsWithStoredPrices() {
+        PortfolioValuationResponse customer = service.getCustomerValuation(10);
+
+        assertThat(customer.getMarketValue()).isEqualByComparingTo("320");
+        assertThat(customer.getCostBasis()).isEqualByComparingTo("300");
+        assertThat(customer.getUnrealizedPnl()).isEqualByComparingTo("20");
+        assertThat(customer.getPositionCount()).isEqualTo(2);
+        assertThat(service.getGroupValuation(5).getMarketValue()).isEqualByComparingTo("380");
+    }
+
+    @Test
+    @DisplayName("Fiyat geldiğinde yalnızca o varlığın tutucuları ve grupları güncellenir")
+    void priceUpdate_touchesOnlyHolders() {
+        service.onPriceUpdate(tick("AKBNK", "55.00"));
+
+        assertThat(service.getCustomerValuation(10).getUnrealizedPnl()).isEqualByComparingTo("40");
+        assertThat(service.getCustomerValuation(20).getUnrealizedPnl()).isEqualByComparingTo("5");
+        assertThat(service.getGroupValuation(5).getUnrealizedPnl()).isEqualByComparingTo("45");
+        assertThat(service.getMarkPrice(AKBNK)).contains(new BigDecimal("55.0000"));
+    }
+
+    @Test
+    @DisplayName("Pozisyon değişikliği farkı uygular, eski sürüm ve silinen pozisyon geri gelmez")
+    void positionChanges_applyDeltasAndIgnoreStaleVersions() {
+        service.onPositionChanged(101, 20, THYAO, 8, new BigDecimal("11.5000"), 2L);
+        service.onPositionChanged(101, 20, THYAO, 5, new BigDecimal("11.0000"), 1L);
+
+        PortfolioValuationResponse customer = service.getCustomerValuation(20);
+        assertThat(customer.getMarketValue()).isEqualByComparingTo("96");
+        assertThat(customer.getCostBasis()).isEqualByComparingTo("92");
+
+        service.onPositionRemoved(101, 20, THYAO);
+        service.onPositionChanged(101, 20, THYAO, 8, new BigDecimal("11.5000"), 2L);
+
+        customer = service.getCustomerValuation(20);
+        assertThat(customer.getMarketValue()).isEqualByComparingTo("0");
+        assertThat(customer.getPositionCount()).isZero();
+        assertThat(service.getGroupValuation(5).getMarketValue()).isEqualByComparingTo("320");
+    }
+
+    @Test
+    @DisplayName("Grup üyeliği değişince grup toplamı müşteri toplamlarından yeniden kurulur")
+    void refreshGroups_rebuildsGroupTotals() {
+        when(memberRepository.findAllMemberships()).thenReturn(List.of(new GroupMembershipView(5, 20)));
+
+        service.refreshGroups();
+        service.onPriceUpdate(tick("THYAO", "13.00"));
+
+        assertThat(service.getGroupValuation(5).getMarketValue()).isEqualByComparingTo("65");
+        assertThat(service.getGroupValuation(5).getPositionCount()).isEqualTo(1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.example.finchange.portfoliogroup.mapper;
 
+import com.example.finchange.common.model.Money;
 import com.example.finchange.customer.model.CustomerAccount;
 import com.example.finchange.customer.model.Customers;
 import com.example.finchange.portfolio.model.Asset;
@@ -8,7 +9,6 @@ import com.example.finchange.portfoliogroup.dto.GroupMemberResponse;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
-import java.math.BigDecimal;
 import java.util.List;
 import java.util.Map;
 
@@ -35,8 +35,8 @@ class PortfolioGroupMapperTest {
         acc.setAccountNumber("ACC-1");
         acc.setAccountName("Main");
         acc.setCurrency("TRY");
-        acc.setBalance(new BigDecimal("1000.00"));
-        acc.setBlockedBalance(new BigDecimal("125.25"));
+        acc.setBalance(Money.parse("1000.00"));
+        acc.setBlockedBalance(Money.parse("125.25"));
 
         GroupMemberResponse.CustomerAccountInfo info = mapper.toCustomerAccountInfo(acc);
         assertThat(info.getAvailableBalance()).isEqualByComparingTo("874.75");
@@ -56,7 +56,7 @@ class PortfolioGroupMapperTest {
 
         CustomerAccount acc = new CustomerAccount();
         acc.setId(1); acc.setAccountNumber("A1"); acc.setAccountName("Spot"); acc.setCurrency("TRY");
-        acc.setBalance(new BigDecimal("500")); acc.setBlockedBalance(new BigDecimal("0"));
+        acc.setBalance(Money.parse("500")); acc.setBlockedBalance(Money.parse("0"));
 
         Asset asset = new Asset();
         asset.setId(10); asset.setBistCode("AKBNK");
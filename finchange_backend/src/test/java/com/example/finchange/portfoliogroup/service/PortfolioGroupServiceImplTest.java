@@ -7,6 +7,7 @@ import com.example.finchange.customer.repository.CustomerAccountRepository;
 import com.example.finchange.customer.repository.CustomerRepository;
 import com.example.finchange.portfolio.model.CustomerAsset;
 import com.example.finchange.portfolio.repository.CustomerAssetRepository;
+import com.example.finchange.portfolio.service.PortfolioValuationService;
 import com.example.finchange.portfoliogroup.dto.AddMembersRequest;
 import com.example.finchange.portfoliogroup.dto.CreateGroupRequest;
 import com.example.finchange.portfoliogroup.dto.GroupMemberResponse;
@@ -48,6 +49,7 @@ class PortfolioGroupServiceImplTest {
     @Mock CustomerAssetRepository customerAssetRepository;
     @Mock SecurityUtils securityUtils;
     @Mock PortfolioGroupMapper groupMapper;
+    @Mock PortfolioValuationService portfolioValuationService;
 
     @InjectMocks
     com.example.finchange.portfoliogroup.service.impl.PortfolioGroupServiceImpl service;